@@ -0,0 +1,238 @@
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Gerador de carga local, sem dependências, para comparar os modos de execução do backend
+ * (platform threads x virtual threads).
+ *
+ * <p>Executado como programa de arquivo único ({@code java LoadBenchmark.java ...}). Cada
+ * worker é um cliente em laço fechado: envia uma requisição, espera a resposta e envia a
+ * próxima, alternando entre listagens e a otimização de produção. Após o aquecimento, mede
+ * a vazão e os percentis de latência (p50/p95/p99) e grava o resultado em JSON.</p>
+ *
+ * <h3>Uso</h3>
+ * <pre>
+ * java LoadBenchmark.java run --url http://localhost:8080 --label platform \
+ *      --concurrency 400 --warmup 10 --duration 30 --output target/bench/platform.json
+ * java LoadBenchmark.java compare target/bench/platform.json target/bench/virtual.json
+ * </pre>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ */
+public class LoadBenchmark {
+
+    private static final List<String> PATHS = List.of(
+            "/api/raw-materials",
+            "/api/products",
+            "/api/production/optimize");
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            usage();
+            return;
+        }
+        switch (args[0]) {
+            case "run" -> run(options(Arrays.copyOfRange(args, 1, args.length)));
+            case "compare" -> compare(Path.of(args[1]), Path.of(args[2]));
+            default -> usage();
+        }
+    }
+
+    private static void usage() {
+        System.err.println("""
+                usage:
+                  java LoadBenchmark.java run --url <base-url> --label <name> [--concurrency 400]
+                                              [--warmup 10] [--duration 30] [--output <file.json>]
+                  java LoadBenchmark.java compare <baseline.json> <candidate.json>
+                """);
+        System.exit(2);
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("url", "http://localhost:8080");
+        options.put("label", "run");
+        options.put("concurrency", "400");
+        options.put("warmup", "10");
+        options.put("duration", "30");
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    // ── run ─────────────────────────────────────────────────────────────────────
+
+    private static void run(Map<String, String> options) throws Exception {
+        String baseUrl = options.get("url");
+        int concurrency = Integer.parseInt(options.get("concurrency"));
+        long warmupNanos = Duration.ofSeconds(Long.parseLong(options.get("warmup"))).toNanos();
+        long durationNanos = Duration.ofSeconds(Long.parseLong(options.get("duration"))).toNanos();
+
+        // O cliente usa virtual threads para que o gerador de carga não seja o gargalo
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(workers)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            long start = System.nanoTime();
+            long measureFrom = start + warmupNanos;
+            long end = measureFrom + durationNanos;
+
+            List<Future<WorkerResult>> futures = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                int offset = i;
+                futures.add(workers.submit(() -> work(client, baseUrl, offset, measureFrom, end)));
+            }
+
+            List<WorkerResult> results = new ArrayList<>(concurrency);
+            for (Future<WorkerResult> future : futures) {
+                results.add(future.get());
+            }
+
+            Summary summary = Summary.of(options.get("label"), concurrency, durationNanos, results);
+            System.out.println(summary.describe());
+
+            String output = options.get("output");
+            if (output != null) {
+                Path path = Path.of(output);
+                if (path.getParent() != null) {
+                    Files.createDirectories(path.getParent());
+                }
+                Files.writeString(path, summary.toJson());
+            }
+        }
+    }
+
+    private static WorkerResult work(HttpClient client, String baseUrl, int offset, long measureFrom, long end) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        long errors = 0;
+        int next = offset;
+
+        while (true) {
+            long sent = System.nanoTime();
+            if (sent >= end) {
+                break;
+            }
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + PATHS.get(next++ % PATHS.size())))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            boolean ok;
+            try {
+                ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+            } catch (IOException ex) {
+                ok = false;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            long elapsed = System.nanoTime() - sent;
+
+            if (sent < measureFrom) {
+                continue; // aquecimento
+            }
+            if (!ok) {
+                errors++;
+                continue;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = elapsed;
+        }
+        return new WorkerResult(Arrays.copyOf(latencies, count), errors);
+    }
+
+    private record WorkerResult(long[] latencies, long errors) {}
+
+    private record Summary(String label, int concurrency, double seconds, long requests, long errors,
+                           double throughput, double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+
+        static Summary of(String label, int concurrency, long durationNanos, List<WorkerResult> results) {
+            int total = results.stream().mapToInt(r -> r.latencies().length).sum();
+            long[] all = new long[total];
+            int position = 0;
+            long errors = 0;
+            for (WorkerResult result : results) {
+                System.arraycopy(result.latencies(), 0, all, position, result.latencies().length);
+                position += result.latencies().length;
+                errors += result.errors();
+            }
+            Arrays.sort(all);
+
+            double seconds = durationNanos / 1e9;
+            return new Summary(label, concurrency, seconds, total, errors, total / seconds,
+                    percentileMs(all, 0.50), percentileMs(all, 0.95), percentileMs(all, 0.99),
+                    total == 0 ? 0 : all[total - 1] / 1e6);
+        }
+
+        private static double percentileMs(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+
+        String describe() {
+            return String.format(Locale.ROOT,
+                    "%-10s concurrency=%d requests=%d errors=%d throughput=%.1f req/s p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms",
+                    label, concurrency, requests, errors, throughput, p50Ms, p95Ms, p99Ms, maxMs);
+        }
+
+        String toJson() {
+            return String.format(Locale.ROOT,
+                    "{\"label\":\"%s\",\"concurrency\":%d,\"seconds\":%.1f,\"requests\":%d,\"errors\":%d,"
+                            + "\"throughput\":%.2f,\"p50Ms\":%.3f,\"p95Ms\":%.3f,\"p99Ms\":%.3f,\"maxMs\":%.3f}%n",
+                    label, concurrency, seconds, requests, errors, throughput, p50Ms, p95Ms, p99Ms, maxMs);
+        }
+    }
+
+    // ── compare ─────────────────────────────────────────────────────────────────
+
+    private static void compare(Path baselineFile, Path candidateFile) throws IOException {
+        Map<String, String> baseline = parse(Files.readString(baselineFile));
+        Map<String, String> candidate = parse(Files.readString(candidateFile));
+
+        System.out.printf(Locale.ROOT, "%-12s %14s %14s %9s%n", "metric", baseline.get("label"), candidate.get("label"), "change");
+        for (String metric : List.of("throughput", "p50Ms", "p95Ms", "p99Ms", "maxMs", "errors")) {
+            double before = Double.parseDouble(baseline.get(metric));
+            double after = Double.parseDouble(candidate.get(metric));
+            String change = before == 0 ? "n/a" : String.format(Locale.ROOT, "%+.1f%%", (after - before) * 100 / before);
+            System.out.printf(Locale.ROOT, "%-12s %14.2f %14.2f %9s%n", metric, before, after, change);
+        }
+    }
+
+    private static Map<String, String> parse(String json) {
+        Map<String, String> values = new LinkedHashMap<>();
+        Matcher matcher = Pattern.compile("\"(\\w+)\":\"?([^,\"}]*)\"?").matcher(json);
+        while (matcher.find()) {
+            values.put(matcher.group(1), matcher.group(2));
+        }
+        return values;
+    }
+}
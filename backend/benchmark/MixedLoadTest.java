@@ -0,0 +1,504 @@
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Teste de carga mista, sem dependências, para comparar releases do backend na mesma máquina.
+ *
+ * <p>Executado como programa de arquivo único ({@code java MixedLoadTest.java ...}) contra um
+ * backend recém-iniciado. Primeiro importa um catálogo sintético por {@code POST /api/batch};
+ * depois os workers, em laço fechado, sorteiam a cada iteração:</p>
+ * <ul>
+ *   <li>leituras — listas e busca por id de produtos e matérias-primas (65%);</li>
+ *   <li>CRUD — ciclos {@code POST → PUT → DELETE} de matérias-primas e produtos (32%);</li>
+ *   <li>importação em massa — um lote de {@code --bulk-size} matérias-primas, removido em seguida (3%).</li>
+ * </ul>
+ * <p>Em paralelo, a cada {@code --optimize-interval} segundos, uma rajada de {@code --optimize-burst}
+ * chamadas simultâneas a {@code GET /api/production/optimize}.</p>
+ *
+ * <p>Após o aquecimento, mede vazão e p50/p95/p99 por endpoint e grava o resultado em JSON,
+ * com a máquina e a JVM que rodaram o teste.</p>
+ *
+ * <h3>Uso</h3>
+ * <pre>
+ * java MixedLoadTest.java run --url http://localhost:8080 --label v1.4.0 --profile medium \
+ *      --concurrency 16 --warmup 10 --duration 60 --output target/benchmark/load-v1.4.0-medium.json
+ * java MixedLoadTest.java compare target/benchmark/load-v1.3.0-medium.json target/benchmark/load-v1.4.0-medium.json
+ * </pre>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ */
+public class MixedLoadTest {
+
+    /**
+     * Tamanho do catálogo importado antes da carga.
+     */
+    private enum CatalogProfile {
+        SMALL(50, 500, 3),
+        MEDIUM(300, 5_000, 5),
+        LARGE(1_000, 20_000, 8);
+
+        final int materials;
+        final int products;
+        final int compositions;
+
+        CatalogProfile(int materials, int products, int compositions) {
+            this.materials = materials;
+            this.products = products;
+            this.compositions = compositions;
+        }
+    }
+
+    /**
+     * Limite de operações por chamada a {@code POST /api/batch} ({@code app.batch.max-operations}).
+     */
+    private static final int BATCH_LIMIT = 200;
+
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            usage();
+            return;
+        }
+        switch (args[0]) {
+            case "run" -> new MixedLoadTest(options(Arrays.copyOfRange(args, 1, args.length))).run();
+            case "compare" -> compare(Path.of(args[1]), Path.of(args[2]));
+            default -> usage();
+        }
+    }
+
+    private static void usage() {
+        System.err.println("""
+                usage:
+                  java MixedLoadTest.java run --url <base-url> --label <name> [--profile small|medium|large]
+                                              [--concurrency 16] [--warmup 10] [--duration 60]
+                                              [--optimize-burst 8] [--optimize-interval 5] [--bulk-size 100]
+                                              [--output <file.json>]
+                  java MixedLoadTest.java compare <baseline.json> <candidate.json>
+                """);
+        System.exit(2);
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("url", "http://localhost:8080");
+        options.put("label", "run");
+        options.put("profile", "small");
+        options.put("concurrency", "16");
+        options.put("warmup", "10");
+        options.put("duration", "60");
+        options.put("optimize-burst", "8");
+        options.put("optimize-interval", "5");
+        options.put("bulk-size", "100");
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    private final Map<String, String> options;
+    private final String baseUrl;
+    private final CatalogProfile profile;
+    private final int bulkSize;
+    private final HttpClient client;
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final AtomicLong codes = new AtomicLong();
+    private volatile boolean measuring;
+
+    private List<Long> materialIds;
+    private List<Long> productIds;
+
+    private MixedLoadTest(Map<String, String> options) {
+        this.options = options;
+        this.baseUrl = options.get("url");
+        this.profile = CatalogProfile.valueOf(options.get("profile").toUpperCase(Locale.ROOT));
+        this.bulkSize = Integer.parseInt(options.get("bulk-size"));
+        this.client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    // ── run ─────────────────────────────────────────────────────────────────────
+
+    private void run() throws Exception {
+        long seedStart = System.nanoTime();
+        seedCatalog();
+        double seedSeconds = (System.nanoTime() - seedStart) / 1e9;
+        System.out.printf(Locale.ROOT, "seeded %d raw materials and %d products in %.1fs%n",
+                materialIds.size(), productIds.size(), seedSeconds);
+
+        drive(Duration.ofSeconds(Long.parseLong(options.get("warmup"))));
+        endpoints.clear();
+        measuring = true;
+        long start = System.nanoTime();
+        drive(Duration.ofSeconds(Long.parseLong(options.get("duration"))));
+        double seconds = (System.nanoTime() - start) / 1e9;
+        measuring = false;
+
+        List<Stats> stats = new TreeMap<>(endpoints).entrySet().stream()
+                .map(entry -> Stats.of(entry.getKey(), entry.getValue(), seconds))
+                .toList();
+        stats.forEach(s -> System.out.println(s.describe()));
+
+        String output = options.get("output");
+        if (output != null) {
+            Path path = Path.of(output);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Files.writeString(path, toJson(stats, seconds, seedSeconds));
+        }
+    }
+
+    private void drive(Duration duration) throws Exception {
+        long end = System.nanoTime() + duration.toNanos();
+        int concurrency = Integer.parseInt(options.get("concurrency"));
+        int burst = Integer.parseInt(options.get("optimize-burst"));
+        long intervalMillis = Duration.ofSeconds(Long.parseLong(options.get("optimize-interval"))).toMillis();
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> tasks = new ArrayList<>(concurrency + 1);
+            for (int i = 0; i < concurrency; i++) {
+                tasks.add(workers.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        step();
+                    }
+                    return null;
+                }));
+            }
+            tasks.add(workers.submit(() -> {
+                while (System.nanoTime() < end) {
+                    List<Future<?>> calls = new ArrayList<>(burst);
+                    for (int i = 0; i < burst; i++) {
+                        calls.add(workers.submit(() -> send("GET /api/production/optimize", "GET",
+                                "/api/production/optimize", null)));
+                    }
+                    for (Future<?> call : calls) {
+                        call.get();
+                    }
+                    Thread.sleep(intervalMillis);
+                }
+                return null;
+            }));
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        }
+    }
+
+    /**
+     * Uma iteração de um worker, sorteada conforme o mix da carga.
+     */
+    private void step() throws InterruptedException {
+        double roll = ThreadLocalRandom.current().nextDouble();
+        if (roll < 0.30) {
+            send("GET /api/products/{id}", "GET", "/api/products/" + pick(productIds), null);
+        } else if (roll < 0.45) {
+            send("GET /api/raw-materials/{id}", "GET", "/api/raw-materials/" + pick(materialIds), null);
+        } else if (roll < 0.55) {
+            send("GET /api/products", "GET", "/api/products", null);
+        } else if (roll < 0.65) {
+            send("GET /api/raw-materials", "GET", "/api/raw-materials", null);
+        } else if (roll < 0.82) {
+            crud("/api/raw-materials", rawMaterial());
+        } else if (roll < 0.97) {
+            crud("/api/products", product());
+        } else {
+            bulkImport();
+        }
+    }
+
+    private void crud(String collection, String body) throws InterruptedException {
+        Response created = send("POST " + collection, "POST", collection, body);
+        Matcher id = ID.matcher(created.body());
+        if (created.status() != 201 || !id.find()) {
+            return;
+        }
+        String item = collection + "/" + id.group(1);
+        send("PUT " + collection + "/{id}", "PUT", item, collection.endsWith("products") ? product() : rawMaterial());
+        send("DELETE " + collection + "/{id}", "DELETE", item, null);
+    }
+
+    private void bulkImport() throws InterruptedException {
+        List<String> operations = new ArrayList<>(bulkSize);
+        for (int i = 0; i < bulkSize; i++) {
+            operations.add(create("RAW_MATERIAL", "rawMaterial", rawMaterial()));
+        }
+        Response imported = send("POST /api/batch (import)", "POST", "/api/batch", batch(operations));
+        if (imported.status() != 200) {
+            return;
+        }
+        // Remove o que foi importado para o catálogo não crescer ao longo da execução
+        List<String> deletes = ids(imported.body()).stream()
+                .map(id -> "{\"op\":\"DELETE\",\"resource\":\"RAW_MATERIAL\",\"id\":" + id + "}")
+                .toList();
+        send("POST /api/batch (cleanup)", "POST", "/api/batch", batch(deletes));
+    }
+
+    private static long pick(List<Long> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    // ── Catálogo sintético ──────────────────────────────────────────────────────
+
+    private void seedCatalog() throws InterruptedException {
+        List<String> materials = new ArrayList<>(profile.materials);
+        for (int i = 0; i < profile.materials; i++) {
+            materials.add(create("RAW_MATERIAL", "rawMaterial", rawMaterial()));
+        }
+        importAll(materials);
+        materialIds = List.copyOf(ids(send("seed", "GET", "/api/raw-materials", null).body()));
+
+        List<String> products = new ArrayList<>(profile.products);
+        for (int i = 0; i < profile.products; i++) {
+            products.add(create("PRODUCT", "product", product()));
+        }
+        importAll(products);
+        // ?fields=id: só os ids de topo, sem os das composições aninhadas
+        productIds = List.copyOf(ids(send("seed", "GET", "/api/products?fields=id", null).body()));
+    }
+
+    private void importAll(List<String> operations) throws InterruptedException {
+        for (int from = 0; from < operations.size(); from += BATCH_LIMIT) {
+            Response response = send("seed", "POST", "/api/batch",
+                    batch(operations.subList(from, Math.min(from + BATCH_LIMIT, operations.size()))));
+            if (response.status() != 200) {
+                throw new IllegalStateException("Seeding failed with " + response.status() + ": " + response.body());
+            }
+        }
+    }
+
+    private String rawMaterial() {
+        long n = codes.incrementAndGet();
+        return String.format(Locale.ROOT,
+                "{\"code\":\"LT%d\",\"name\":\"Matéria-prima sintética %d\",\"stockQuantity\":%d,\"unitOfMeasure\":\"kg\"}",
+                n, n, 1_000 + ThreadLocalRandom.current().nextInt(50_000));
+    }
+
+    private String product() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String compositions = random.ints(0, materialIds.size())
+                .distinct()
+                .limit(profile.compositions)
+                .mapToObj(i -> String.format(Locale.ROOT, "{\"rawMaterialId\":%d,\"requiredQuantity\":%.2f}",
+                        materialIds.get(i), 0.5 + random.nextInt(20) / 4.0))
+                .collect(Collectors.joining(",", "[", "]"));
+        long n = codes.incrementAndGet();
+        return String.format(Locale.ROOT,
+                "{\"code\":\"LTP%d\",\"name\":\"Produto sintético %d\",\"price\":%.2f,"
+                        + "\"description\":\"Produto gerado pelo teste de carga.\",\"compositions\":%s}",
+                n, n, 10 + random.nextInt(2_000) / 4.0, compositions);
+    }
+
+    private static String create(String resource, String field, String body) {
+        return "{\"op\":\"CREATE\",\"resource\":\"" + resource + "\",\"" + field + "\":" + body + "}";
+    }
+
+    private static String batch(List<String> operations) {
+        return "{\"operations\":[" + String.join(",", operations) + "]}";
+    }
+
+    private static Set<Long> ids(String json) {
+        Set<Long> ids = new LinkedHashSet<>();
+        Matcher matcher = ID.matcher(json);
+        while (matcher.find()) {
+            ids.add(Long.parseLong(matcher.group(1)));
+        }
+        return ids;
+    }
+
+    // ── HTTP ────────────────────────────────────────────────────────────────────
+
+    private record Response(int status, String body) {}
+
+    /**
+     * Envia a requisição e, fora do aquecimento, registra a latência no endpoint informado.
+     * Falhas de conexão contam como erro com status {@code 0}.
+     */
+    private Response send(String endpoint, String method, String path, String body) throws InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Accept", "application/json");
+        if (body != null) {
+            request.header("Content-Type", "application/json").method(method, HttpRequest.BodyPublishers.ofString(body));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+
+        long sent = System.nanoTime();
+        Response response;
+        try {
+            HttpResponse<String> http = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            response = new Response(http.statusCode(), http.body());
+        } catch (IOException ex) {
+            response = new Response(0, "");
+        }
+        if (measuring && !endpoint.equals("seed")) {
+            endpoints.computeIfAbsent(endpoint, e -> new Endpoint()).record(System.nanoTime() - sent, response.status());
+        }
+        return response;
+    }
+
+    /**
+     * Latências e erros de um endpoint durante a medição.
+     */
+    private static final class Endpoint {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long clientErrors;
+        private long serverErrors;
+
+        synchronized void record(long nanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (status >= 400 && status < 500) {
+                clientErrors++;
+            } else if (status >= 500 || status == 0) {
+                serverErrors++;
+            }
+        }
+    }
+
+    private record Stats(String endpoint, long requests, long clientErrors, long serverErrors, double throughput,
+                         double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+
+        static Stats of(String name, Endpoint endpoint, double seconds) {
+            long[] sorted;
+            long clientErrors;
+            long serverErrors;
+            synchronized (endpoint) {
+                sorted = Arrays.copyOf(endpoint.latencies, endpoint.count);
+                clientErrors = endpoint.clientErrors;
+                serverErrors = endpoint.serverErrors;
+            }
+            Arrays.sort(sorted);
+            return new Stats(name, sorted.length, clientErrors, serverErrors, sorted.length / seconds,
+                    percentileMs(sorted, 0.50), percentileMs(sorted, 0.95), percentileMs(sorted, 0.99),
+                    percentileMs(sorted, 1.0));
+        }
+
+        private static double percentileMs(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+
+        String describe() {
+            return String.format(Locale.ROOT,
+                    "%-30s requests=%d 4xx=%d 5xx=%d throughput=%.1f req/s p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms",
+                    endpoint, requests, clientErrors, serverErrors, throughput, p50Ms, p95Ms, p99Ms, maxMs);
+        }
+
+        String toJson() {
+            return String.format(Locale.ROOT,
+                    "{\"endpoint\":\"%s\",\"requests\":%d,\"clientErrors\":%d,\"serverErrors\":%d,\"throughput\":%.2f,"
+                            + "\"p50Ms\":%.3f,\"p95Ms\":%.3f,\"p99Ms\":%.3f,\"maxMs\":%.3f}",
+                    endpoint, requests, clientErrors, serverErrors, throughput, p50Ms, p95Ms, p99Ms, maxMs);
+        }
+    }
+
+    /**
+     * Um endpoint por linha, para que o {@code compare} leia o arquivo sem um parser JSON.
+     */
+    private String toJson(List<Stats> stats, double seconds, double seedSeconds) {
+        long requests = stats.stream().mapToLong(Stats::requests).sum();
+        Runtime runtime = Runtime.getRuntime();
+        StringBuilder json = new StringBuilder("{\n");
+        json.append(String.format(Locale.ROOT, "\"label\":\"%s\",\"timestamp\":\"%s\",%n", options.get("label"), Instant.now()));
+        json.append(String.format(Locale.ROOT, "\"os\":\"%s %s\",\"arch\":\"%s\",\"cpus\":%d,\"java\":\"%s\",%n",
+                System.getProperty("os.name"), System.getProperty("os.version"), System.getProperty("os.arch"),
+                runtime.availableProcessors(), System.getProperty("java.version")));
+        json.append(String.format(Locale.ROOT,
+                "\"profile\":\"%s\",\"rawMaterials\":%d,\"products\":%d,\"compositionsPerProduct\":%d,\"seedSeconds\":%.1f,%n",
+                profile.name().toLowerCase(Locale.ROOT), profile.materials, profile.products, profile.compositions, seedSeconds));
+        json.append(String.format(Locale.ROOT,
+                "\"concurrency\":%s,\"optimizeBurst\":%s,\"optimizeInterval\":%s,\"bulkSize\":%d,\"seconds\":%.1f,"
+                        + "\"requests\":%d,\"throughput\":%.2f,%n",
+                options.get("concurrency"), options.get("optimize-burst"), options.get("optimize-interval"),
+                bulkSize, seconds, requests, requests / seconds));
+        json.append("\"endpoints\":[\n");
+        json.append(stats.stream().map(Stats::toJson).collect(Collectors.joining(",\n")));
+        json.append("\n]}\n");
+        return json.toString();
+    }
+
+    // ── compare ─────────────────────────────────────────────────────────────────
+
+    private static void compare(Path baselineFile, Path candidateFile) throws IOException {
+        Map<String, Map<String, String>> baseline = parse(Files.readAllLines(baselineFile));
+        Map<String, Map<String, String>> candidate = parse(Files.readAllLines(candidateFile));
+        System.out.printf(Locale.ROOT, "%s -> %s%n", baseline.get("").get("label"), candidate.get("").get("label"));
+        if (!baseline.get("").get("profile").equals(candidate.get("").get("profile"))) {
+            System.out.println("warning: different catalog profiles");
+        }
+
+        System.out.printf(Locale.ROOT, "%-30s %-10s %12s %12s %9s%n", "endpoint", "metric", "baseline", "candidate", "change");
+        for (Map.Entry<String, Map<String, String>> entry : candidate.entrySet()) {
+            Map<String, String> before = baseline.get(entry.getKey());
+            if (entry.getKey().isEmpty() || before == null) {
+                continue;
+            }
+            for (String metric : List.of("throughput", "p50Ms", "p95Ms", "p99Ms", "serverErrors")) {
+                double b = Double.parseDouble(before.get(metric));
+                double a = Double.parseDouble(entry.getValue().get(metric));
+                String change = b == 0 ? "n/a" : String.format(Locale.ROOT, "%+.1f%%", (a - b) * 100 / b);
+                System.out.printf(Locale.ROOT, "%-30s %-10s %12.2f %12.2f %9s%n", entry.getKey(), metric, b, a, change);
+            }
+        }
+    }
+
+    /**
+     * @return valores por endpoint; a chave {@code ""} guarda os campos de cabeçalho (label, perfil, ...)
+     */
+    private static Map<String, Map<String, String>> parse(List<String> lines) {
+        Pattern field = Pattern.compile("\"(\\w+)\":\"?([^,\"}]*)\"?");
+        Map<String, Map<String, String>> values = new LinkedHashMap<>();
+        values.put("", new LinkedHashMap<>());
+        for (String line : lines) {
+            Map<String, String> fields = new LinkedHashMap<>();
+            Matcher endpoint = Pattern.compile("\"endpoint\":\"([^\"]+)\"").matcher(line);
+            Matcher matcher = field.matcher(line);
+            while (matcher.find()) {
+                fields.put(matcher.group(1), matcher.group(2));
+            }
+            if (endpoint.find()) {
+                values.put(endpoint.group(1), fields);
+            } else {
+                values.get("").putAll(fields);
+            }
+        }
+        return values;
+    }
+}
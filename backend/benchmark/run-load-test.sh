@@ -0,0 +1,43 @@
+#!/usr/bin/env bash
+# Sobe o backend (H2 em memória, vazio), importa um catálogo sintético e roda a carga mista
+# de benchmark/MixedLoadTest.java. Para comparar releases, rode cada uma na mesma máquina e
+# compare os JSONs gerados.
+#
+# Uso: benchmark/run-load-test.sh [profile: small|medium|large] [duration-seconds]
+# Variáveis opcionais: LABEL (padrão: git describe), CONCURRENCY, WARMUP (s), PORT, JAVA_OPTS, SKIP_BUILD=1
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+PROFILE="${1:-small}"
+DURATION="${2:-60}"
+LABEL="${LABEL:-$(git describe --tags --always --dirty 2>/dev/null || echo local)}"
+CONCURRENCY="${CONCURRENCY:-16}"
+WARMUP="${WARMUP:-10}"
+PORT="${PORT:-8080}"
+OUT_DIR="target/benchmark"
+OUTPUT="${OUT_DIR}/load-${LABEL}-${PROFILE}.json"
+
+mkdir -p "$OUT_DIR"
+
+if [[ "${SKIP_BUILD:-0}" != "1" ]]; then
+  ./mvnw -q -B package -DskipTests
+fi
+JAR="$(ls target/*.jar | grep -v plain | head -n 1)"
+
+# Sem limites de admissão: a carga mede o backend, não os 429/503
+java ${JAVA_OPTS:-} -jar "$JAR" --server.port="$PORT" --app.admission.enabled=false \
+    >"${OUT_DIR}/load-${LABEL}-${PROFILE}.log" 2>&1 &
+PID=$!
+trap 'kill "$PID" 2>/dev/null || true' EXIT
+
+for _ in $(seq 1 60); do
+  curl -sf "http://localhost:${PORT}/api/raw-materials" >/dev/null && break
+  sleep 1
+done
+
+java benchmark/MixedLoadTest.java run --url "http://localhost:${PORT}" --label "$LABEL" --profile "$PROFILE" \
+    --concurrency "$CONCURRENCY" --warmup "$WARMUP" --duration "$DURATION" --output "$OUTPUT"
+
+echo "results: ${OUTPUT}"
+echo "compare: java benchmark/MixedLoadTest.java compare <baseline.json> ${OUTPUT}"
@@ -0,0 +1,54 @@
+#!/usr/bin/env bash
+# Compara o backend com platform threads x virtual threads usando o mesmo jar,
+# a mesma carga e o mesmo tamanho de pool JDBC.
+#
+# Uso: benchmark/run-threading-benchmark.sh [concurrency] [duration-seconds]
+# Variáveis opcionais: WARMUP (s), PORT, APP_DB_POOL_SIZE, SKIP_BUILD=1
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+CONCURRENCY="${1:-400}"
+DURATION="${2:-30}"
+WARMUP="${WARMUP:-10}"
+PORT="${PORT:-8080}"
+OUT_DIR="target/benchmark"
+
+mkdir -p "$OUT_DIR"
+
+if [[ "${SKIP_BUILD:-0}" != "1" ]]; then
+  ./mvnw -q -B package -DskipTests
+fi
+JAR="$(ls target/*.jar | grep -v plain | head -n 1)"
+
+wait_ready() {
+  for _ in $(seq 1 60); do
+    curl -sf "http://localhost:${PORT}/api/raw-materials" >/dev/null && return 0
+    sleep 1
+  done
+  echo "backend did not start on port ${PORT}" >&2
+  return 1
+}
+
+run_mode() {
+  local label="$1" virtual="$2"
+  echo "== ${label} (spring.threads.virtual.enabled=${virtual})"
+  APP_VIRTUAL_THREADS="$virtual" java -jar "$JAR" \
+      --server.port="$PORT" --spring.jpa.show-sql=false \
+      >"${OUT_DIR}/${label}.log" 2>&1 &
+  local pid=$!
+  trap 'kill "$pid" 2>/dev/null || true' EXIT
+  wait_ready
+  java benchmark/LoadBenchmark.java run --url "http://localhost:${PORT}" --label "$label" \
+      --concurrency "$CONCURRENCY" --warmup "$WARMUP" --duration "$DURATION" \
+      --output "${OUT_DIR}/${label}.json"
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  trap - EXIT
+}
+
+run_mode platform false
+run_mode virtual true
+
+echo
+java benchmark/LoadBenchmark.java compare "${OUT_DIR}/platform.json" "${OUT_DIR}/virtual.json"
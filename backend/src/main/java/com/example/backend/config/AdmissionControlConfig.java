@@ -0,0 +1,36 @@
+package com.example.backend.config;
+
+import com.example.backend.filter.AdmissionControlFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registra o {@link AdmissionControlFilter} em {@code /api/*}. As rotas efetivamente limitadas
+ * vêm de {@code app.admission.routes.*}; as demais passam direto.
+ *
+ * <p>O filtro roda antes do {@link com.example.backend.filter.IdempotencyFilter}: uma requisição
+ * recusada não chega a reservar a {@code Idempotency-Key}.</p>
+ */
+@Configuration
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+public class AdmissionControlConfig {
+
+    @Bean
+    public AdmissionControlFilter admissionControlFilter(AdmissionControlProperties properties,
+                                                         MeterRegistry registry) {
+        return new AdmissionControlFilter(properties, registry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilterRegistration(
+            AdmissionControlFilter filter) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        registration.setName("admissionControlFilter");
+        registration.setOrder(0);
+        return registration;
+    }
+}
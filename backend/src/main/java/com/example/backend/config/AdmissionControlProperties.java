@@ -0,0 +1,74 @@
+package com.example.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Limites de admissão por rota ({@code app.admission.*}), aplicados pelo
+ * {@link com.example.backend.filter.AdmissionControlFilter}.
+ *
+ * <pre>
+ * app.admission.routes.optimize.paths=/api/production/optimize,/api/production/optimize/**
+ * app.admission.routes.optimize.methods=GET
+ * app.admission.routes.optimize.requests-per-second=2
+ * app.admission.routes.optimize.burst=5
+ * app.admission.routes.optimize.max-concurrent=4
+ * </pre>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.admission")
+public class AdmissionControlProperties {
+
+    /** Desliga todos os limites sem remover a configuração. */
+    private boolean enabled = true;
+
+    /**
+     * Header que identifica o cliente (o nginx grava o IP real em {@code X-Real-IP}). Só é lido
+     * em conexões vindas de {@link #trustedProxies}; nas demais, e sem o header, é usado o
+     * endereço remoto da conexão.
+     */
+    private String clientHeader = "X-Real-IP";
+
+    /** Endereços ou redes (CIDR) dos proxies cujo {@link #clientHeader} é aceito. */
+    private List<String> trustedProxies = new ArrayList<>(List.of("127.0.0.1", "::1"));
+
+    /** Máximo de clientes acompanhados por rota; além disso, os novos dividem um único bucket. */
+    private int maxClients = 10_000;
+
+    /** Intervalo de descarte dos buckets de clientes inativos. */
+    private Duration purgeInterval = Duration.ofMinutes(1);
+
+    /** Rotas limitadas, pelo nome usado nas métricas (tag {@code route}). */
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Route {
+
+        /** Padrões de caminho ({@code /api/batch}, {@code /api/production/optimize/**}). */
+        private List<String> paths = new ArrayList<>();
+
+        /** Métodos HTTP limitados; vazio = todos. */
+        private List<String> methods = new ArrayList<>();
+
+        /** Reposição do token bucket de cada cliente; {@code 0} desliga o limite de taxa. */
+        private double requestsPerSecond;
+
+        /** Capacidade do bucket (rajada permitida); {@code 0} = {@code ceil(requestsPerSecond)}. */
+        private int burst;
+
+        /** Requisições simultâneas na rota, somando todos os clientes; {@code 0} = sem limite. */
+        private int maxConcurrent;
+    }
+}
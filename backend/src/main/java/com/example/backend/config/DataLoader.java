@@ -3,12 +3,25 @@ package com.example.backend.config;
 import com.example.backend.entity.Product;
 import com.example.backend.entity.ProductComposition;
 import com.example.backend.entity.RawMaterial;
+import com.example.backend.entity.StockLot;
 import com.example.backend.repository.ProductRepository;
 import com.example.backend.repository.RawMaterialRepository;
+import com.example.backend.repository.StockLotRepository;
+import com.example.backend.service.CatalogVersion;
+import com.example.backend.service.LotInventory;
+import com.example.backend.service.RowVersions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Componente responsável por popular o banco de dados com dados iniciais
@@ -21,32 +34,86 @@ import org.springframework.stereotype.Component;
  * <h3>Dados carregados</h3>
  * <ul>
  *   <li><strong>5 Matérias-Primas:</strong> Farinha de Trigo, Açúcar, Leite, Ovos, Manteiga</li>
+ *   <li><strong>4 Lotes:</strong> dois de Leite e dois de Ovos, com validades escalonadas</li>
  *   <li><strong>3 Produtos:</strong> Pão Francês, Bolo de Chocolate, Biscoito Amanteigado</li>
  *   <li>Cada produto possui composições vinculando matérias-primas com quantidades necessárias.</li>
  * </ul>
  *
+ * <p>No perfil {@code synthetic} é substituído pelo {@link SyntheticDataLoader}. Com
+ * {@code app.data-loader.deferred=true} (perfil {@code optimized}) a carga roda em uma thread
+ * própria, sem segurar a subida: o servidor já atende enquanto ela termina.</p>
+ *
  * @author Equipe Backend
  * @version 1.0.0
  */
 @Component
+@Profile("!synthetic")
 public class DataLoader implements CommandLineRunner {
 
     private static final Logger log = LoggerFactory.getLogger(DataLoader.class);
 
     private final RawMaterialRepository rawMaterialRepository;
     private final ProductRepository productRepository;
+    private final StockLotRepository stockLotRepository;
+    private final CatalogVersion catalogVersion;
+    private final RowVersions rowVersions;
+    private final LotInventory lotInventory;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean deferred;
 
     public DataLoader(RawMaterialRepository rawMaterialRepository,
-                      ProductRepository productRepository) {
+                      ProductRepository productRepository,
+                      StockLotRepository stockLotRepository,
+                      CatalogVersion catalogVersion,
+                      RowVersions rowVersions,
+                      LotInventory lotInventory,
+                      PlatformTransactionManager transactionManager,
+                      @Value("${app.data-loader.deferred:false}") boolean deferred) {
         this.rawMaterialRepository = rawMaterialRepository;
         this.productRepository = productRepository;
+        this.stockLotRepository = stockLotRepository;
+        this.catalogVersion = catalogVersion;
+        this.rowVersions = rowVersions;
+        this.lotInventory = lotInventory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.deferred = deferred;
     }
 
     @Override
     public void run(String... args) {
+        if (!deferred) {
+            load();
+            return;
+        }
+        Thread.ofPlatform().name("data-loader").daemon().start(() -> {
+            try {
+                load();
+            } catch (RuntimeException e) {
+                log.error("❌ Falha na carga de dados iniciais.", e);
+            }
+        });
+    }
+
+    /**
+     * Grava a carga em uma única transação, como uma escrita feita pela API: com a carga adiada,
+     * o servidor já atende, e um cliente que leu o catálogo vazio precisa receber os dados
+     * depois — as linhas ganham {@code row_version} (sincronização incremental), as versões das
+     * tabelas mudam no commit (ETags) e o índice de lotes é recarregado.
+     */
+    private void load() {
+        List<Long> lotMaterials = transactionTemplate.execute(status -> seed());
+        if (lotMaterials != null) {
+            lotMaterials.forEach(lotInventory::invalidate);
+        }
+    }
+
+    /**
+     * @return matérias-primas com lotes cadastrados, ou {@code null} se o banco já tinha dados
+     */
+    private List<Long> seed() {
         if (rawMaterialRepository.count() > 0) {
             log.info("✅ Banco de dados já possui dados. Carga inicial ignorada.");
-            return;
+            return null;
         }
 
         log.info("📦 Banco vazio detectado. Iniciando carga de dados iniciais...");
@@ -60,6 +127,7 @@ public class DataLoader implements CommandLineRunner {
                         .name("Farinha de Trigo")
                         .stockQuantity(1000.0)
                         .unitOfMeasure("kg")
+                        .rowVersion(rowVersions.next())
                         .build()
         );
 
@@ -69,6 +137,7 @@ public class DataLoader implements CommandLineRunner {
                         .name("Açúcar")
                         .stockQuantity(500.0)
                         .unitOfMeasure("kg")
+                        .rowVersion(rowVersions.next())
                         .build()
         );
 
@@ -78,6 +147,7 @@ public class DataLoader implements CommandLineRunner {
                         .name("Leite")
                         .stockQuantity(300.0)
                         .unitOfMeasure("caixas")
+                        .rowVersion(rowVersions.next())
                         .build()
         );
 
@@ -87,6 +157,7 @@ public class DataLoader implements CommandLineRunner {
                         .name("Ovos")
                         .stockQuantity(200.0)
                         .unitOfMeasure("caixas")
+                        .rowVersion(rowVersions.next())
                         .build()
         );
 
@@ -96,11 +167,30 @@ public class DataLoader implements CommandLineRunner {
                         .name("Manteiga")
                         .stockQuantity(150.0)
                         .unitOfMeasure("kg")
+                        .rowVersion(rowVersions.next())
                         .build()
         );
 
         log.info("   ✔ 5 matérias-primas cadastradas.");
 
+        // =====================================================================
+        // 1.1 Lotes dos perecíveis — somam o estoque central de Leite e Ovos
+        // =====================================================================
+        LocalDate today = LocalDate.now();
+        Instant receivedAt = Instant.now();
+        stockLotRepository.saveAll(List.of(
+                StockLot.builder().lotCode("LT-LEITE-001").rawMaterial(leite).quantity(180.0)
+                        .expiresAt(today.plusDays(5)).receivedAt(receivedAt).build(),
+                StockLot.builder().lotCode("LT-LEITE-002").rawMaterial(leite).quantity(120.0)
+                        .expiresAt(today.plusDays(20)).receivedAt(receivedAt).build(),
+                StockLot.builder().lotCode("LT-OVOS-001").rawMaterial(ovos).quantity(120.0)
+                        .expiresAt(today.plusDays(10)).receivedAt(receivedAt).build(),
+                StockLot.builder().lotCode("LT-OVOS-002").rawMaterial(ovos).quantity(80.0)
+                        .expiresAt(today.plusDays(25)).receivedAt(receivedAt).build()
+        ));
+
+        log.info("   ✔ 4 lotes de perecíveis cadastrados.");
+
         // =====================================================================
         // 2. Produto: Pão Francês (R$ 12.50)
         //    - 200g Farinha, 50ml Leite, 10g Manteiga
@@ -110,6 +200,7 @@ public class DataLoader implements CommandLineRunner {
                 .name("Pão Francês")
                 .price(12.50)
                 .description("Pão crocante por fora e macio por dentro, feito com farinha de trigo, leite e manteiga.")
+                .rowVersion(rowVersions.next())
                 .build();
 
         pao.getCompositions().add(ProductComposition.builder()
@@ -130,6 +221,7 @@ public class DataLoader implements CommandLineRunner {
                 .name("Bolo de Chocolate")
                 .price(35.00)
                 .description("Bolo fofinho de chocolate com cobertura cremosa. Rende 12 fatias.")
+                .rowVersion(rowVersions.next())
                 .build();
 
         bolo.getCompositions().add(ProductComposition.builder()
@@ -154,6 +246,7 @@ public class DataLoader implements CommandLineRunner {
                 .name("Biscoito Amanteigado")
                 .price(8.00)
                 .description("Biscoitos crocantes feitos com manteiga de primeira qualidade.")
+                .rowVersion(rowVersions.next())
                 .build();
 
         biscoito.getCompositions().add(ProductComposition.builder()
@@ -168,7 +261,11 @@ public class DataLoader implements CommandLineRunner {
         productRepository.save(biscoito);
 
         log.info("   ✔ 3 produtos cadastrados com composições.");
+
+        catalogVersion.bump(CatalogVersion.Table.RAW_MATERIAL);
+        catalogVersion.bump(CatalogVersion.Table.PRODUCT);
         log.info("🚀 Carga de dados iniciais concluída com sucesso!");
+        return List.of(leite.getId(), ovos.getId());
     }
 }
 
@@ -0,0 +1,62 @@
+package com.example.backend.config;
+
+import com.example.backend.jfr.FlightRecording;
+import com.example.backend.jfr.FlightRecordingEndpoint;
+import com.example.backend.jfr.RepositoryEventAspect;
+import com.example.backend.jfr.RequestEventFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Eventos JFR da aplicação e gravação contínua.
+ *
+ * <p>O aspecto dos repositórios e o filtro HTTP ficam sempre registrados — sem gravação ativa os
+ * eventos não são montados —, de modo que uma gravação iniciada por
+ * {@code -XX:StartFlightRecording} também os recebe. A gravação própria ({@link FlightRecording})
+ * e o endpoint {@code /actuator/jfr} só existem com {@code app.jfr.enabled=true}.</p>
+ */
+@Configuration
+public class FlightRecorderConfig {
+
+    @Bean
+    public static RepositoryEventAspect repositoryEventAspect() {
+        return new RepositoryEventAspect();
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestEventFilter> requestEventFilter() {
+        FilterRegistrationBean<RequestEventFilter> registration = new FilterRegistrationBean<>(new RequestEventFilter());
+        registration.addUrlPatterns("/api/*");
+        registration.setName("requestEventFilter");
+        // O mais externo: o evento cobre também o tempo gasto nos demais filtros
+        registration.setOrder(-300);
+        return registration;
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "app.jfr.enabled", havingValue = "true")
+    static class RecordingConfig {
+
+        @Bean(initMethod = "start", destroyMethod = "close")
+        public FlightRecording flightRecording(@Value("${app.jfr.settings:default}") String settings,
+                                               @Value("${app.jfr.threshold:5ms}") Duration threshold,
+                                               @Value("${app.jfr.max-age:PT1H}") Duration maxAge,
+                                               @Value("${app.jfr.max-size:64MB}") DataSize maxSize,
+                                               @Value("${app.jfr.dump-dir:jfr}") Path dumpDir,
+                                               @Value("${app.jfr.max-dumps:5}") int maxDumps) {
+            return new FlightRecording(settings, threshold, maxAge, maxSize.toBytes(), dumpDir, maxDumps);
+        }
+
+        @Bean
+        public FlightRecordingEndpoint flightRecordingEndpoint(FlightRecording recording) {
+            return new FlightRecordingEndpoint(recording);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.backend.config;
+
+import com.example.backend.filter.ClientAddressResolver;
+import com.example.backend.filter.IdempotencyFilter;
+import com.example.backend.service.IdempotencyService;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Registra o {@link IdempotencyFilter} nos endpoints {@code POST} que criam recursos
+ * ou alteram estoque, e habilita a limpeza periódica dos registros expirados.
+ */
+@Configuration
+@EnableScheduling
+public class IdempotencyConfig {
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyService service,
+                                                                       AdmissionControlProperties admission) {
+        // Chaves por cliente, identificado como no controle de admissão (X-Real-IP de proxies confiáveis)
+        FilterRegistrationBean<IdempotencyFilter> registration =
+                new FilterRegistrationBean<>(new IdempotencyFilter(service, ClientAddressResolver.of(admission)));
+        registration.addUrlPatterns(
+                "/api/products/*",
+                "/api/raw-materials/*",
+                "/api/production/*",
+                "/api/batch"
+        );
+        registration.setName("idempotencyFilter");
+        return registration;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.backend.config;
+
+import com.example.backend.latency.EndpointLatencies;
+import com.example.backend.latency.LatencyEndpoint;
+import com.example.backend.latency.LatencyFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Histogramas de latência por rota da API ({@code /api/*}), expostos em {@code /actuator/latency}.
+ */
+@Configuration
+public class LatencyConfig {
+
+    @Bean
+    public EndpointLatencies endpointLatencies(@Value("${app.latency.expected-interval:PT0.1S}") Duration expectedInterval) {
+        return new EndpointLatencies(expectedInterval);
+    }
+
+    @Bean
+    public FilterRegistrationBean<LatencyFilter> latencyFilter(EndpointLatencies latencies) {
+        FilterRegistrationBean<LatencyFilter> registration = new FilterRegistrationBean<>(new LatencyFilter(latencies));
+        registration.addUrlPatterns("/api/*");
+        registration.setName("latencyFilter");
+        // Logo dentro do filtro JFR: a latência inclui o admission control e a idempotência
+        registration.setOrder(-250);
+        return registration;
+    }
+
+    @Bean
+    public LatencyEndpoint latencyEndpoint(EndpointLatencies latencies) {
+        return new LatencyEndpoint(latencies);
+    }
+}
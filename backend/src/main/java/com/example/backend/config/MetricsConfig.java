@@ -0,0 +1,40 @@
+package com.example.backend.config;
+
+import com.example.backend.repository.ProductCompositionRepository;
+import com.example.backend.repository.ProductRepository;
+import com.example.backend.repository.RawMaterialRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Métricas do catálogo: {@code catalog.size} por {@code table} ({@code product},
+ * {@code raw_material}, {@code product_composition}).
+ *
+ * <p>Os valores são lidos com {@code count()} a cada coleta (ex.: scrape do Prometheus),
+ * não a cada alteração.</p>
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder catalogSizeMetrics(ProductRepository productRepository,
+                                          RawMaterialRepository rawMaterialRepository,
+                                          ProductCompositionRepository compositionRepository) {
+        return registry -> {
+            Gauge.builder("catalog.size", productRepository, ProductRepository::count)
+                    .description("Rows in the catalog tables")
+                    .tag("table", "product")
+                    .register(registry);
+            Gauge.builder("catalog.size", rawMaterialRepository, RawMaterialRepository::count)
+                    .description("Rows in the catalog tables")
+                    .tag("table", "raw_material")
+                    .register(registry);
+            Gauge.builder("catalog.size", compositionRepository, ProductCompositionRepository::count)
+                    .description("Rows in the catalog tables")
+                    .tag("table", "product_composition")
+                    .register(registry);
+        };
+    }
+}
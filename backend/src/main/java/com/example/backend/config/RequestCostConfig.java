@@ -0,0 +1,25 @@
+package com.example.backend.config;
+
+import com.example.backend.filter.RequestCostFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registra o {@link RequestCostFilter} em {@code /api/*}: CPU e bytes alocados por requisição,
+ * no log de acesso e nas métricas por rota.
+ */
+@Configuration
+public class RequestCostConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestCostFilter> requestCostFilter(MeterRegistry registry) {
+        FilterRegistrationBean<RequestCostFilter> registration = new FilterRegistrationBean<>(new RequestCostFilter(registry));
+        registration.addUrlPatterns("/api/*");
+        registration.setName("requestCostFilter");
+        // Por fora do QueryStatsFilter e dos demais: conta também a gravação do corpo no fim da cadeia
+        registration.setOrder(-240);
+        return registration;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.backend.config;
+
+import com.example.backend.filter.QueryStatsFilter;
+import com.example.backend.jdbc.StatementStatsDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Envolve o {@link DataSource} no {@link StatementStatsDataSource} (contagem por requisição e log
+ * de comandos lentos) e, com {@code app.sql.stats-headers.enabled=true} (perfil {@code dev}),
+ * registra o {@link QueryStatsFilter}, que devolve os contadores nos headers
+ * {@code X-Query-Count} / {@code X-Query-Time}. Desligado por padrão: os headers expõem a
+ * quantidade e o tempo das consultas de cada requisição.
+ */
+@Configuration
+public class SqlStatsConfig {
+
+    @Bean
+    public static BeanPostProcessor statementStatsDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementStatsDataSource)) {
+                    return new StatementStatsDataSource(dataSource,
+                            environment.getProperty("app.sql.slow-query.threshold", Duration.class, Duration.ofMillis(100)),
+                            environment.getProperty("app.sql.slow-query.sample-rate", Double.class, 1.0));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.sql.stats-headers.enabled", havingValue = "true")
+    public FilterRegistrationBean<QueryStatsFilter> queryStatsFilter() {
+        FilterRegistrationBean<QueryStatsFilter> registration = new FilterRegistrationBean<>(new QueryStatsFilter());
+        registration.addUrlPatterns("/api/*");
+        registration.setName("queryStatsFilter");
+        // Mais externo que os demais filtros: um corpo gravado no fim da cadeia (ex.: pelo
+        // IdempotencyFilter) já encontra todos os comandos contados
+        registration.setOrder(-200);
+        return registration;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.backend.config;
+
+import com.example.backend.startup.DeferredBeansPostProcessor;
+import com.example.backend.startup.StartupReport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Tempo de subida: relatório dos beans mais lentos (a linha do tempo completa fica em
+ * {@code /actuator/startup}) e criação adiada dos beans de {@code app.startup.lazy-packages}
+ * — no perfil {@code optimized}, os do springdoc.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    public static DeferredBeansPostProcessor deferredBeansPostProcessor(Environment environment) {
+        return new DeferredBeansPostProcessor(
+                List.of(environment.getProperty("app.startup.lazy-packages", String[].class, new String[0])));
+    }
+
+    @Bean
+    public StartupReport startupReport(@Value("${app.startup.report-size:10}") int size) {
+        return new StartupReport(size);
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.backend.config;
+
+import com.example.backend.jfr.BulkChunkEvent;
+import com.example.backend.service.CatalogVersion;
+import com.example.backend.service.RowVersions;
+import com.example.backend.util.MicroUnits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.LongConsumer;
+
+/**
+ * Substitui o {@link DataLoader} no perfil {@code synthetic}: gera um catálogo de tamanho
+ * configurável ({@link SyntheticDataProperties}) para benchmarks e homologação.
+ *
+ * <p>As linhas são gravadas direto por JDBC, em lotes de {@code app.synthetic.batch-size}
+ * ({@code PreparedStatement.addBatch}), sem passar pelo Hibernate — um catálogo com 1 milhão de
+ * linhas carrega em segundos. Os ids são atribuídos aqui, em sequência, e as sequences das
+ * entidades são reposicionadas no fim para que os cadastros pela API continuem depois deles.</p>
+ *
+ * <p>Como o {@link DataLoader}, só roda com o banco vazio. Cada lote gera um
+ * {@link BulkChunkEvent} ({@code source = "synthetic"}).</p>
+ *
+ * <p>O servidor já atende durante a carga, então cada lote recebe um {@code row_version}
+ * ({@link RowVersions}) e muda a versão da tabela no {@link CatalogVersion} ao confirmar: um ETag
+ * ou cursor de {@code /changes} obtido no meio da carga não esconde as linhas gravadas depois.
+ * As composições não têm versão própria — o lote que as grava reversiona os seus produtos.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see SyntheticDataProperties
+ */
+@Component
+@Profile("synthetic")
+@EnableConfigurationProperties(SyntheticDataProperties.class)
+public class SyntheticDataLoader implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataLoader.class);
+
+    private static final String[] UNITS = {"kg", "g", "ton", "caixas"};
+
+    /** {@code allocationSize} das sequences das entidades. */
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SyntheticDataProperties properties;
+    private final RowVersions rowVersions;
+    private final CatalogVersion catalogVersion;
+
+    public SyntheticDataLoader(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               SyntheticDataProperties properties,
+                               RowVersions rowVersions,
+                               CatalogVersion catalogVersion) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.rowVersions = rowVersions;
+        this.catalogVersion = catalogVersion;
+    }
+
+    @Override
+    public void run(String... args) {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM raw_material", Long.class);
+        if (existing != null && existing > 0) {
+            log.info("✅ Banco de dados já possui dados. Catálogo sintético ignorado.");
+            return;
+        }
+
+        int materials = properties.getRawMaterials();
+        int products = properties.getProducts();
+        if (materials <= 0) {
+            throw new IllegalArgumentException("app.synthetic.raw-materials must be positive.");
+        }
+        log.info("📦 Gerando catálogo sintético: {} matérias-primas, {} produtos...", materials, products);
+        long start = System.nanoTime();
+
+        insertRawMaterials(materials);
+        insertProducts(products);
+        long compositions = insertCompositions(products, materials);
+
+        restartSequence("raw_material_seq", materials);
+        restartSequence("product_seq", products);
+        restartSequence("product_composition_seq", compositions);
+
+        log.info("🚀 Catálogo sintético gerado: {} linhas em {} ms.",
+                materials + products + compositions, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // ── Tabelas ─────────────────────────────────────────────────────────────────
+
+    private void insertRawMaterials(int count) {
+        SplittableRandom random = new SplittableRandom(properties.getSeed());
+        insert("INSERT INTO raw_material (id, code, name, stock_quantity_micros, unit_of_measure, row_version) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", count, CatalogVersion.Table.RAW_MATERIAL, (ps, index, version) -> {
+            long id = index + 1;
+            ps.setLong(1, id);
+            ps.setString(2, String.format("MP%03d", id));
+            ps.setString(3, "Matéria-prima " + id);
+            ps.setLong(4, MicroUnits.toMicros(properties.getStock().sample(random)));
+            ps.setString(5, UNITS[random.nextInt(UNITS.length)]);
+            ps.setLong(6, version);
+        });
+    }
+
+    private void insertProducts(int count) {
+        SplittableRandom random = new SplittableRandom(properties.getSeed() + 1);
+        insert("INSERT INTO product (id, code, name, price_micros, description, row_version) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", count, CatalogVersion.Table.PRODUCT, (ps, index, version) -> {
+            long id = index + 1;
+            ps.setLong(1, id);
+            ps.setString(2, String.format("PRD%03d", id));
+            ps.setString(3, "Produto " + id);
+            ps.setLong(4, MicroUnits.toMicros(properties.getPrice().sample(random)));
+            ps.setString(5, "Produto sintético " + id + ".");
+            ps.setLong(6, version);
+        });
+    }
+
+    /**
+     * Sorteia as composições de cada produto (matérias-primas distintas) e as grava.
+     *
+     * @return quantidade de composições gravadas
+     */
+    private long insertCompositions(int products, int materials) {
+        SplittableRandom random = new SplittableRandom(properties.getSeed() + 2);
+        int min = Math.clamp(properties.getCompositionsPerProduct().getMin(), 0, materials);
+        int max = Math.clamp(properties.getCompositionsPerProduct().getMax(), min, materials);
+
+        // Uma linha por composição: [productId, rawMaterialId], gerada produto a produto
+        List<long[]> pending = new ArrayList<>(properties.getBatchSize());
+        long inserted = 0;
+        long firstProduct = 1;
+        long[] chosen = new long[max];
+        for (long productId = 1; productId <= products; productId++) {
+            int count = min + random.nextInt(max - min + 1);
+            for (int c = 0; c < count; c++) {
+                chosen[c] = distinctMaterial(random, materials, chosen, c);
+                pending.add(new long[]{productId, chosen[c]});
+            }
+            if (pending.size() >= properties.getBatchSize() || productId == products) {
+                List<long[]> rows = List.copyOf(pending);
+                pending.clear();
+                long firstId = inserted + 1;
+                long[] productRange = {firstProduct, productId};
+                insertChunk("INSERT INTO product_composition (id, product_id, raw_material_id, required_quantity_micros) "
+                        + "VALUES (?, ?, ?, ?)", 0, rows.size(), CatalogVersion.Table.PRODUCT, (ps, index, version) -> {
+                    ps.setLong(1, firstId + index);
+                    ps.setLong(2, rows.get(index)[0]);
+                    ps.setLong(3, rows.get(index)[1]);
+                    ps.setLong(4, MicroUnits.toMicros(properties.getRequiredQuantity().sample(random)));
+                }, version -> jdbcTemplate.update("UPDATE product SET row_version = ? WHERE id BETWEEN ? AND ?",
+                        version, productRange[0], productRange[1]));
+                inserted += rows.size();
+                firstProduct = productId + 1;
+            }
+        }
+        return inserted;
+    }
+
+    private static long distinctMaterial(SplittableRandom random, int materials, long[] chosen, int count) {
+        while (true) {
+            long candidate = 1 + random.nextInt(materials);
+            boolean repeated = false;
+            for (int i = 0; i < count && !repeated; i++) {
+                repeated = chosen[i] == candidate;
+            }
+            if (!repeated) {
+                return candidate;
+            }
+        }
+    }
+
+    // ── JDBC ────────────────────────────────────────────────────────────────────
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(PreparedStatement ps, int index, long rowVersion) throws SQLException;
+    }
+
+    private void insert(String sql, int count, CatalogVersion.Table table, RowWriter writer) {
+        for (int from = 0; from < count; from += properties.getBatchSize()) {
+            insertChunk(sql, from, Math.min(properties.getBatchSize(), count - from), table, writer, version -> {});
+        }
+    }
+
+    /**
+     * Grava {@code size} linhas (índices {@code from .. from + size - 1}) em um único lote JDBC,
+     * confirmado em uma transação própria com um {@code row_version} alocado para o lote.
+     * {@code stamp} roda na mesma transação, com essa versão; no commit, {@code table} muda de versão.
+     */
+    private void insertChunk(String sql, int from, int size, CatalogVersion.Table table,
+                             RowWriter writer, LongConsumer stamp) {
+        BulkChunkEvent event = new BulkChunkEvent();
+        event.begin();
+        boolean committed = false;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                long version = rowVersions.next();
+                jdbcTemplate.execute(sql, (PreparedStatement ps) -> {
+                    for (int i = 0; i < size; i++) {
+                        writer.write(ps, from + i, version);
+                        ps.addBatch();
+                    }
+                    return ps.executeBatch();
+                });
+                stamp.accept(version);
+                catalogVersion.bump(table);
+            });
+            committed = true;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.source = "synthetic";
+                event.operations = size;
+                event.committed = committed;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Reposiciona a sequence além dos ids gerados. Com o otimizador {@code pooled} do Hibernate,
+     * um valor {@code v} da sequence libera os ids {@code v - allocationSize + 1 .. v}.
+     */
+    private void restartSequence(String sequence, long lastId) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (lastId + ALLOCATION_SIZE + 1));
+    }
+}
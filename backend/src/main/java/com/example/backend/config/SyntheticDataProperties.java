@@ -0,0 +1,119 @@
+package com.example.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Tamanho e distribuições do catálogo gerado pelo {@link SyntheticDataLoader}
+ * ({@code app.synthetic.*}, perfil {@code synthetic}).
+ *
+ * <pre>
+ * app.synthetic.raw-materials=10000
+ * app.synthetic.products=200000
+ * app.synthetic.compositions-per-product.min=3
+ * app.synthetic.compositions-per-product.max=6
+ * app.synthetic.price.distribution=log-normal
+ * </pre>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.synthetic")
+public class SyntheticDataProperties {
+
+    /** Quantidade de matérias-primas. */
+    private int rawMaterials = 1_000;
+
+    /** Quantidade de produtos. */
+    private int products = 10_000;
+
+    /** Composições por produto (uniforme entre min e max, limitado ao número de matérias-primas). */
+    private Count compositionsPerProduct = new Count(2, 6);
+
+    /** Preço de venda, em R$. */
+    private Range price = new Range(1, 500, Distribution.LOG_NORMAL);
+
+    /** Estoque de cada matéria-prima. */
+    private Range stock = new Range(0, 100_000, Distribution.UNIFORM);
+
+    /** Quantidade necessária de cada matéria-prima por unidade de produto. */
+    private Range requiredQuantity = new Range(0.01, 50, Distribution.LOG_NORMAL);
+
+    /** Semente do gerador: a mesma configuração gera sempre o mesmo catálogo. */
+    private long seed = 42;
+
+    /** Linhas por lote JDBC; cada lote é confirmado em uma transação própria. */
+    private int batchSize = 5_000;
+
+    /**
+     * Forma da distribuição de um {@link Range}.
+     */
+    public enum Distribution {
+        /** Todos os valores do intervalo são igualmente prováveis. */
+        UNIFORM,
+        /**
+         * Concentra os valores perto da média geométrica de min e max, com cauda longa à direita
+         * (muitos itens baratos, poucos caros). ±3 desvios cobrem o intervalo; o resto é truncado.
+         */
+        LOG_NORMAL
+    }
+
+    @Getter
+    @Setter
+    public static class Count {
+
+        private int min;
+        private int max;
+
+        public Count() {
+        }
+
+        public Count(int min, int max) {
+            this.min = min;
+            this.max = max;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Range {
+
+        private double min;
+        private double max;
+        private Distribution distribution = Distribution.UNIFORM;
+
+        public Range() {
+        }
+
+        public Range(double min, double max, Distribution distribution) {
+            this.min = min;
+            this.max = max;
+            this.distribution = distribution;
+        }
+
+        /**
+         * Sorteia um valor em {@code [min, max]}, arredondado a 2 casas decimais.
+         *
+         * @throws IllegalArgumentException se {@code LOG_NORMAL} for usado com {@code min <= 0}
+         */
+        public double sample(RandomGenerator random) {
+            double value;
+            if (distribution == Distribution.LOG_NORMAL) {
+                if (min <= 0) {
+                    throw new IllegalArgumentException("A log-normal range needs min > 0.");
+                }
+                double mu = (Math.log(min) + Math.log(max)) / 2;
+                double sigma = (Math.log(max) - Math.log(min)) / 6;
+                value = Math.exp(mu + sigma * random.nextGaussian());
+            } else {
+                value = min + (max - min) * random.nextDouble();
+            }
+            return Math.round(Math.clamp(value, min, max) * 100) / 100.0;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.backend.config;
+
+import com.example.backend.tracing.InMemoryTraceExporter;
+import com.example.backend.tracing.LoggingTraceExporter;
+import com.example.backend.tracing.TraceEndpoint;
+import com.example.backend.tracing.TraceExporter;
+import com.example.backend.tracing.TracingAspect;
+import com.example.backend.tracing.TracingFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Tracing das requisições da API ({@code /api/*}): spans de controller, serviço, repositório,
+ * comandos SQL e fases do otimizador, com exportação em memória ({@code /actuator/traces}) e em
+ * log para os traces lentos. Desligado com {@code app.tracing.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingConfig {
+
+    @Bean
+    public static TracingAspect tracingAspect() {
+        return new TracingAspect();
+    }
+
+    @Bean
+    public InMemoryTraceExporter inMemoryTraceExporter(@Value("${app.tracing.max-traces:200}") int maxTraces) {
+        return new InMemoryTraceExporter(maxTraces);
+    }
+
+    @Bean
+    public LoggingTraceExporter loggingTraceExporter(@Value("${app.tracing.log-threshold:PT0.5S}") Duration threshold) {
+        return new LoggingTraceExporter(threshold);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(List<TraceExporter> exporters) {
+        TraceExporter exporter = trace -> exporters.forEach(each -> each.export(trace));
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(new TracingFilter(exporter));
+        registration.addUrlPatterns("/api/*");
+        registration.setName("tracingFilter");
+        // Por fora do filtro JFR: o span cobre todos os filtros, e o trace id já está no MDC nos logs deles
+        registration.setOrder(-400);
+        return registration;
+    }
+
+    @Bean
+    public TraceEndpoint traceEndpoint(InMemoryTraceExporter exporter) {
+        return new TraceEndpoint(exporter);
+    }
+}
@@ -29,6 +29,8 @@ public class ApiRootController {
                         "rawMaterials", "/api/raw-materials",
                         "products", "/api/products",
                         "production", "/api/production/optimize",
+                        "productionJobs", "/api/production/jobs",
+                        "batch", "/api/batch",
                         "docs", "/swagger-ui/index.html"
                 )
         ));
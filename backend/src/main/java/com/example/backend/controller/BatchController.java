@@ -0,0 +1,144 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.BatchRequestDTO;
+import com.example.backend.dto.BatchResponseDTO;
+import com.example.backend.service.BatchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller REST que executa <strong>várias operações do catálogo em uma única requisição</strong>.
+ *
+ * <h3>Base path</h3>
+ * <p>{@code /api/batch}</p>
+ *
+ * <h3>Operações disponíveis</h3>
+ * <ul>
+ *   <li>{@code POST /api/batch} — Criar, atualizar e remover matérias-primas e produtos em uma transação</li>
+ * </ul>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see BatchService
+ * @see BatchRequestDTO
+ */
+@RestController
+@RequestMapping("/api/batch")
+@RequiredArgsConstructor
+@Tag(
+        name = "Operações em Lote",
+        description = "Executa várias criações, alterações e remoções de matérias-primas e produtos "
+                + "em uma única requisição e uma única transação."
+)
+public class BatchController {
+
+    private final BatchService service;
+
+    // ────────────────────────────────────────────────────────────────────────────
+    // POST /api/batch — Executar operações em lote
+    // ────────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Executa as operações na ordem recebida, todas ou nenhuma.
+     *
+     * @param request lista ordenada de operações
+     * @return {@code 200 OK} com o resultado de cada operação; em caso de falha, o status da
+     *         operação que falhou ({@code 400}, {@code 404} ou {@code 409}) e nada é aplicado
+     */
+    @PostMapping
+    @Operation(
+            summary = "Executar operações em lote",
+            description = """
+                    Executa uma lista **ordenada** de operações em **uma única transação**:
+                    ou todas são aplicadas, ou nenhuma.
+
+                    ### Operação
+                    - `op` — `CREATE`, `UPDATE` ou `DELETE`.
+                    - `resource` — `RAW_MATERIAL` ou `PRODUCT`.
+                    - `id` — obrigatório em `UPDATE` e `DELETE`.
+                    - `rawMaterial` / `product` — corpo, igual ao de `POST`/`PUT` em `/api/raw-materials` e `/api/products`.
+
+                    ### Resposta
+                    - `200` — `committed: true` e um resultado por operação, com o status que a chamada
+                      individual teria (`201`, `200`, `204`), o `id` e o registro resultante.
+                    - Se uma operação falhar, a resposta usa o status dela (`400`, `404`, `409`),
+                      com `committed: false`. As operações seguintes aparecem com `424` (não executadas).
+
+                    ### Importante
+                    - Os comandos SQL são enviados no commit, agrupados em lotes JDBC.
+                    - Uma violação de integridade detectada apenas no commit (ex.: remover uma matéria-prima
+                      usada em um produto) retorna `409` no formato de erro padrão.
+                    - Limite de operações por lote: `app.batch.max-operations` (padrão 200).
+                    - Aceita o header `Idempotency-Key`.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Todas as operações foram aplicadas",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BatchResponseDTO.class),
+                            examples = @ExampleObject(value = """
+                                    {
+                                      "committed": true,
+                                      "results": [
+                                        { "index": 0, "status": 200, "id": 1, "body": { "id": 1, "code": "MP001", "name": "Farinha de Trigo", "stockQuantity": 450.0, "unitOfMeasure": "kg" } },
+                                        { "index": 1, "status": 204, "id": 3 }
+                                      ]
+                                    }
+                                    """)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Uma operação falhou — nada foi aplicado",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BatchResponseDTO.class),
+                            examples = @ExampleObject(value = """
+                                    {
+                                      "committed": false,
+                                      "results": [
+                                        { "index": 0, "status": 200, "id": 1, "body": { "id": 1, "code": "MP001" } },
+                                        { "index": 1, "status": 409, "error": "Product with code 'PRD001' already exists. Please use a different code." },
+                                        { "index": 2, "status": 424, "error": "Not executed: operation 1 failed." }
+                                      ]
+                                    }
+                                    """)
+                    )
+            ),
+            @ApiResponse(responseCode = "400", description = "Lote vazio, acima do limite ou operação inválida")
+    })
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            description = "Operações a executar, na ordem",
+            required = true,
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = BatchRequestDTO.class),
+                    examples = @ExampleObject(value = """
+                            {
+                              "operations": [
+                                { "op": "UPDATE", "resource": "RAW_MATERIAL", "id": 1,
+                                  "rawMaterial": { "code": "MP001", "name": "Farinha de Trigo", "stockQuantity": 450.0, "unitOfMeasure": "kg" } },
+                                { "op": "DELETE", "resource": "PRODUCT", "id": 3 }
+                              ]
+                            }
+                            """)
+            )
+    )
+    public ResponseEntity<BatchResponseDTO> execute(@RequestBody BatchRequestDTO request) {
+        return ResponseEntity.ok(service.execute(request));
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.CatalogChangeDTO;
+import com.example.backend.service.CatalogChangeBroadcaster;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controller REST que notifica os clientes sobre <strong>alterações no catálogo</strong>
+ * (matérias-primas, estoque e produtos) via Server-Sent Events.
+ *
+ * <h3>Base path</h3>
+ * <p>{@code /api/changes}</p>
+ *
+ * <h3>Operações disponíveis</h3>
+ * <ul>
+ *   <li>{@code GET /api/changes/stream} — Receber as alterações em tempo real</li>
+ * </ul>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see CatalogChangeBroadcaster
+ * @see CatalogChangeDTO
+ */
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+@Tag(
+        name = "Alterações do Catálogo",
+        description = "Notificações em tempo real (SSE) de alterações em matérias-primas, estoque e produtos."
+)
+public class CatalogChangeController {
+
+    private final CatalogChangeBroadcaster broadcaster;
+
+    // ────────────────────────────────────────────────────────────────────────────
+    // GET /api/changes/stream — Receber as alterações em tempo real
+    // ────────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Inscreve o cliente no stream de alterações do catálogo.
+     *
+     * @param lastEventId id do último evento recebido, enviado pelo navegador ao reconectar
+     * @return stream {@code text/event-stream}; {@code 503 Service Unavailable} se o limite
+     *         de inscritos foi atingido
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Receber alterações do catálogo (SSE)",
+            description = """
+                    Mantém a conexão aberta e envia um evento a cada alteração confirmada (após o commit).
+
+                    ### Eventos
+                    - `change` — `{table, action, id}`: `table` é `RAW_MATERIAL` ou `PRODUCT`,
+                      `action` é `CREATED`, `UPDATED` ou `DELETED`. Atualize apenas o item indicado.
+                    - `resync` — eventos foram descartados (cliente lento ou reconexão tardia):
+                      recarregue as listas.
+
+                    ### Importante
+                    - Alterações de estoque por lotes chegam como `UPDATED` da matéria-prima.
+                    - Ao reconectar, o navegador envia `Last-Event-ID` e recebe os eventos perdidos.
+                    - Um comentário `:ping` é enviado periodicamente para manter a conexão viva.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stream de alterações iniciado",
+                    content = @Content(
+                            mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = CatalogChangeDTO.class),
+                            examples = @ExampleObject(value = """
+                                    id:k3x9:12
+                                    event:change
+                                    data:{"table":"RAW_MATERIAL","action":"UPDATED","id":3}
+                                    """)
+                    )
+            ),
+            @ApiResponse(responseCode = "503", description = "Limite de inscritos atingido — tente novamente mais tarde")
+    })
+    public ResponseEntity<SseEmitter> stream(
+            @Parameter(description = "Id do último evento recebido (enviado automaticamente pelo EventSource)")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        return broadcaster.subscribe(lastEventId)
+                // Sem buffer em proxies (nginx): cada evento segue para o navegador na hora
+                .map(emitter -> ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "5")
+                        .build());
+    }
+}
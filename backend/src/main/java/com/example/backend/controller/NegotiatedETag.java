@@ -0,0 +1,107 @@
+package com.example.backend.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * ETag de uma representação do catálogo: o ETag de versão do {@link com.example.backend.service.CatalogVersion}
+ * acrescido do formato negociado pelo {@code Accept} (JSON, CBOR ou Smile).
+ *
+ * <p>As três representações de um mesmo recurso têm bytes diferentes; com um único ETag forte,
+ * um cache intermediário poderia responder {@code 304} a um cliente CBOR com o corpo JSON que
+ * guardou. O formato é escolhido aqui, antes da consulta, e fixado no {@code Content-Type} da
+ * resposta, de modo que ETag e corpo sempre correspondem; todas as respostas (inclusive
+ * {@code 304}) levam {@code Vary: Accept}.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ */
+final class NegotiatedETag {
+
+    static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    /** Formatos do catálogo, na ordem de preferência para {@code Accept: *}{@code /*}. */
+    private static final List<MediaType> FORMATS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, SMILE);
+
+    private final String value;
+    private final MediaType contentType;
+
+    private NegotiatedETag(String value, MediaType contentType) {
+        this.value = value;
+        this.contentType = contentType;
+    }
+
+    /**
+     * @param versionETag ETag de versão, entre aspas (ex.: {@code "p-3f2a-4.7"})
+     * @param request     requisição com o {@code Accept} do cliente
+     */
+    static NegotiatedETag of(String versionETag, WebRequest request) {
+        MediaType format = negotiate(request.getHeader(HttpHeaders.ACCEPT));
+        return new NegotiatedETag(withFormat(versionETag, format != null ? format : MediaType.APPLICATION_JSON), format);
+    }
+
+    /**
+     * @return o ETag de versão com o subtipo do formato antes da aspa final
+     *         ({@code "p-3f2a-4.7-cbor"})
+     */
+    static String withFormat(String versionETag, MediaType format) {
+        String subtype = format.getSubtype().replace("x-jackson-", "");
+        return versionETag.substring(0, versionETag.length() - 1) + "-" + subtype + "\"";
+    }
+
+    /**
+     * Primeiro formato do catálogo aceito pelo cliente, pela ordem de qualidade do {@code Accept};
+     * {@code null} se nenhum for aceito (a negociação do Spring responde {@code 406}).
+     */
+    static MediaType negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        // Ordenação estável: em empate de qualidade vale a ordem enviada pelo cliente
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType format : FORMATS) {
+                if (type.includes(format)) {
+                    return format;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Confere o {@code If-None-Match}; quando coincide, a resposta vira {@code 304}.
+     */
+    boolean checkNotModified(WebRequest request) {
+        if (request instanceof NativeWebRequest nativeRequest
+                && nativeRequest.getNativeResponse(HttpServletResponse.class) instanceof HttpServletResponse response) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return request.checkNotModified(value);
+    }
+
+    /**
+     * Resposta {@code 200} com o ETag e, se negociado, o {@code Content-Type} correspondente.
+     */
+    ResponseEntity.BodyBuilder ok() {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(value);
+        return contentType != null ? builder.contentType(contentType) : builder;
+    }
+}
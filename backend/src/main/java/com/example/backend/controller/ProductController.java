@@ -1,7 +1,11 @@
 package com.example.backend.controller;
 
+import com.example.backend.dto.ChangeSetDTO;
+import com.example.backend.dto.ProductChangeDTO;
 import com.example.backend.dto.ProductDTO;
 import com.example.backend.entity.Product;
+import com.example.backend.service.CatalogVersion;
+import com.example.backend.service.ProductFieldSelection;
 import com.example.backend.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,9 +17,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -31,7 +37,8 @@ import java.util.List;
  *
  * <h3>Operações disponíveis</h3>
  * <ul>
- *   <li>{@code GET    /api/products}      — Listar todos</li>
+ *   <li>{@code GET    /api/products}      — Listar todos ({@code ?fields=}, {@code ?include=compositions})</li>
+ *   <li>{@code GET    /api/products/changes?since=} — Sincronização incremental</li>
  *   <li>{@code GET    /api/products/{id}}  — Buscar por ID</li>
  *   <li>{@code POST   /api/products}      — Cadastrar novo (com composição)</li>
  *   <li>{@code PUT    /api/products/{id}}  — Atualizar existente (redefine composição)</li>
@@ -55,7 +62,14 @@ import java.util.List;
 )
 public class ProductController {
 
+    /**
+     * {@code no-cache}: o navegador pode guardar a resposta, mas revalida a cada uso com
+     * {@code If-None-Match} (sem isso o Spring Security enviaria {@code no-store}).
+     */
+    private static final CacheControl REVALIDATE = CacheControl.noCache();
+
     private final ProductService service;
+    private final CatalogVersion catalogVersion;
 
     // ────────────────────────────────────────────────────────────────────────────
     // GET /api/products — Listar todos os produtos
@@ -67,7 +81,12 @@ public class ProductController {
      * <p>Cada produto inclui suas composições (matérias-primas e quantidades).
      * A lista pode ser vazia caso não haja produtos cadastrados.</p>
      *
-     * @return {@code 200 OK} com a lista de produtos no corpo da resposta
+     * <p>Com {@code fields} e/ou {@code include}, retorna apenas os campos pedidos, lidos por
+     * uma consulta que seleciona somente essas colunas (ver {@link ProductFieldSelection}).</p>
+     *
+     * @param fields  campos a retornar, separados por vírgula (opcional)
+     * @param include {@code compositions} para incluir as composições (opcional)
+     * @return {@code 200 OK} com a lista de produtos no corpo da resposta; {@code 400} para campo desconhecido
      */
     @GetMapping
     @Operation(
@@ -79,6 +98,12 @@ public class ProductController {
                     - Cada produto inclui a lista de **composições** (`compositions`),
                       detalhando as matérias-primas e quantidades necessárias.
                     - A lista pode ser vazia (`[]`) caso não haja produtos cadastrados.
+
+                    ### Campos esparsos
+                    - `?fields=code,name,price` — retorna apenas esses campos (e sempre o `id`).
+                      Campos: `id`, `code`, `name`, `price`, `description`, `rowVersion`, `updatedAt`.
+                    - `?include=compositions` — inclui as composições; sem ele, com `fields`, elas não são carregadas.
+                    - Apenas as colunas pedidas são lidas do banco. Campo desconhecido retorna `400`.
                     """
     )
     @ApiResponses({
@@ -111,10 +136,80 @@ public class ProductController {
                                     ]
                                     """)
                     )
-            )
+            ),
+            @ApiResponse(responseCode = "304", description = "Não modificado — o `If-None-Match` corresponde ao ETag atual")
     })
-    public ResponseEntity<List<Product>> getAll() {
-        return ResponseEntity.ok(service.findAll());
+    public ResponseEntity<List<?>> getAll(
+            @Parameter(description = "Campos a retornar, separados por vírgula", example = "code,name,price")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Relações a incluir (`compositions`)", example = "compositions")
+            @RequestParam(required = false) String include,
+            WebRequest request
+    ) {
+        ProductFieldSelection selection = ProductFieldSelection.parse(fields, include);
+        // ETag calculado antes da consulta: 304 não acessa o banco
+        NegotiatedETag etag = NegotiatedETag.of(catalogVersion.productsETag(), request);
+        if (etag.checkNotModified(request)) {
+            return null;
+        }
+        List<?> body = selection.isDefault() ? service.findAll() : service.findAll(selection);
+        return etag.ok().cacheControl(REVALIDATE).body(body);
+    }
+
+    // ────────────────────────────────────────────────────────────────────────────
+    // GET /api/products/changes — Sincronização incremental
+    // ────────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Retorna apenas os produtos alterados ou removidos após a versão informada.
+     *
+     * @param since cursor ({@code version}) retornado pela chamada anterior (opcional — sem ele, retorna tudo)
+     * @return {@code 200 OK} com o conjunto de alterações; {@code 400 Bad Request} se {@code since} estiver malformado
+     */
+    @GetMapping("/changes")
+    @Operation(
+            summary = "Sincronização incremental",
+            description = """
+                    Retorna somente o que mudou desde `since`, em vez da lista completa.
+
+                    - `changed` — registros criados ou alterados (substituir pelo `id`). As composições trazem
+                      apenas `rawMaterialId`: a matéria-prima vem de `/api/raw-materials/changes`.
+                    - `deleted` — ids removidos.
+                    - `version` — cursor (opaco) a enviar como `since` na próxima chamada.
+                    - `reset` — `true` quando `changed` traz **todos** os registros e o cliente deve substituir
+                      a sua cópia: primeira chamada (sem `since`), cursor de outra execução do servidor ou
+                      remoções mais antigas que `app.sync.tombstone-ttl`.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Alterações desde a versão informada",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ChangeSetDTO.class),
+                            examples = @ExampleObject(value = """
+                                    {
+                                      "version": "k3f9q2:42",
+                                      "reset": false,
+                                      "changed": [
+                                        { "id": 1, "code": "PRD001", "name": "Pão Francês", "price": 13.00,
+                                          "compositions": [ { "rawMaterialId": 1, "requiredQuantity": 0.5 } ],
+                                          "rowVersion": 40,
+                                          "updatedAt": "2026-10-19T10:15:30Z" }
+                                      ],
+                                      "deleted": [ 5 ]
+                                    }
+                                    """)
+                    )
+            ),
+            @ApiResponse(responseCode = "400", description = "`since` malformado")
+    })
+    public ResponseEntity<ChangeSetDTO<ProductChangeDTO>> getChanges(
+            @Parameter(description = "Cursor (`version`) retornado pela chamada anterior", example = "k3f9q2:42")
+            @RequestParam(required = false) String since
+    ) {
+        return ResponseEntity.ok(service.findChanges(since));
     }
 
     // ────────────────────────────────────────────────────────────────────────────
@@ -124,9 +219,12 @@ public class ProductController {
     /**
      * Busca um produto específico pelo seu identificador único.
      *
-     * <p>Retorna o produto com todas as suas composições carregadas.</p>
+     * <p>Retorna o produto com todas as suas composições carregadas — ou apenas os campos
+     * pedidos em {@code fields}/{@code include}.</p>
      *
-     * @param id identificador numérico do produto (path variable)
+     * @param id      identificador numérico do produto (path variable)
+     * @param fields  campos a retornar, separados por vírgula (opcional)
+     * @param include {@code compositions} para incluir as composições (opcional)
      * @return {@code 200 OK} com o produto encontrado, ou {@code 404 Not Found} se não existir
      */
     @GetMapping("/{id}")
@@ -140,6 +238,8 @@ public class ProductController {
                     completos de cada matéria-prima vinculada e a quantidade necessária.
                     
                     Caso o `id` informado não corresponda a nenhum registro, retorna `404 Not Found`.
+
+                    Aceita `?fields=` e `?include=compositions`, como a listagem.
                     """
     )
     @ApiResponses({
@@ -195,13 +295,25 @@ public class ProductController {
                                     }
                                     """)
                     )
-            )
+            ),
+            @ApiResponse(responseCode = "304", description = "Não modificado — o `If-None-Match` corresponde ao ETag atual")
     })
-    public ResponseEntity<Product> getById(
+    public ResponseEntity<Object> getById(
             @Parameter(description = "ID do produto", example = "1", required = true)
-            @PathVariable Long id
+            @PathVariable Long id,
+            @Parameter(description = "Campos a retornar, separados por vírgula", example = "code,name,price")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Relações a incluir (`compositions`)", example = "compositions")
+            @RequestParam(required = false) String include,
+            WebRequest request
     ) {
-        return ResponseEntity.ok(service.findById(id));
+        ProductFieldSelection selection = ProductFieldSelection.parse(fields, include);
+        NegotiatedETag etag = NegotiatedETag.of(catalogVersion.productETag(id), request);
+        if (etag.checkNotModified(request)) {
+            return null;
+        }
+        Object body = selection.isDefault() ? service.findById(id) : service.findById(id, selection);
+        return etag.ok().cacheControl(REVALIDATE).body(body);
     }
 
     // ────────────────────────────────────────────────────────────────────────────
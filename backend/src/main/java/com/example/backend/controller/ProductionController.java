@@ -1,8 +1,10 @@
 package com.example.backend.controller;
 
+import com.example.backend.dto.MultiSiteProductionDTO;
 import com.example.backend.dto.ProductionSuggestionDTO;
 import com.example.backend.service.ProductionOptimizerService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
@@ -14,6 +16,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -31,6 +34,8 @@ import java.util.List;
  * <h3>Operações disponíveis</h3>
  * <ul>
  *   <li>{@code GET /api/production/optimize} — Calcular sugestão ótima de produção</li>
+ *   <li>{@code GET /api/production/optimize?site=} — Calcular sugestão para o estoque de uma planta</li>
+ *   <li>{@code GET /api/production/optimize/sites} — Calcular todas as plantas em paralelo + visão consolidada</li>
  * </ul>
  *
  * <h3>Algoritmo utilizado</h3>
@@ -85,8 +90,13 @@ public class ProductionController {
      * de venda que a fábrica pode atingir com o estoque atual. O cálculo é feito
      * em memória e <strong>não altera</strong> o estoque real no banco de dados.</p>
      *
+     * <p>Com o parâmetro {@code site}, utiliza o estoque daquela planta ({@code site_stock})
+     * em vez do estoque central.</p>
+     *
+     * @param site código da planta (opcional)
      * @return {@code 200 OK} com a lista de sugestões de produção — vazia se não houver
-     *         estoque suficiente para fabricar nenhum produto
+     *         estoque suficiente para fabricar nenhum produto; {@code 404 Not Found} se o
+     *         site não tiver estoque cadastrado
      */
     @GetMapping("/optimize")
     @Operation(
@@ -114,6 +124,10 @@ public class ProductionController {
                     - Se não houver estoque suficiente para nenhum produto, retorna lista vazia `[]`.
                     - Fórmula: `totalValue = quantity × unitPrice`.
                     - A **soma** de todos os `totalValue` = **valor máximo de venda** da fábrica.
+                    
+                    ### Plantas (sites)
+                    Com `?site=SP01`, o cálculo usa o estoque cadastrado para a planta `SP01`
+                    em vez do estoque central. Retorna `404` se o site não tiver estoque cadastrado.
                     """
     )
     @ApiResponses({
@@ -177,8 +191,67 @@ public class ProductionController {
                     )
             )
     })
-    public ResponseEntity<List<ProductionSuggestionDTO>> optimize() {
-        return ResponseEntity.ok(service.optimize());
+    public ResponseEntity<List<ProductionSuggestionDTO>> optimize(
+            @Parameter(description = "Código da planta (opcional)", example = "SP01")
+            @RequestParam(required = false) String site
+    ) {
+        return ResponseEntity.ok(site == null ? service.optimize() : service.optimize(site));
+    }
+
+    // ────────────────────────────────────────────────────────────────────────────
+    // GET /api/production/optimize/sites — Otimizar todas as plantas
+    // ────────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Executa a otimização de todas as plantas com estoque cadastrado, em paralelo.
+     *
+     * <p>Cada planta é resolvida com o seu próprio estoque; a resposta traz as sugestões
+     * por site e uma visão consolidada com as quantidades somadas por produto.</p>
+     *
+     * @return {@code 200 OK} com as sugestões por site e consolidadas
+     */
+    @GetMapping("/optimize/sites")
+    @Operation(
+            summary = "Calcular sugestão de produção de todas as plantas",
+            description = """
+                    Executa o mesmo algoritmo guloso para **cada planta** com estoque cadastrado,
+                    em paralelo. O catálogo é compilado uma única vez e cada planta usa o seu próprio estoque
+                    (as plantas não compartilham matéria-prima).
+                    
+                    - `sites` — sugestões por planta.
+                    - `merged` — quantidades e valores somados por produto em todas as plantas.
+                    - `totalValue` — soma dos valores de venda de todas as plantas.
+                    """
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Sugestões por planta calculadas com sucesso",
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = MultiSiteProductionDTO.class),
+                    examples = @ExampleObject(value = """
+                            {
+                              "sites": {
+                                "MG01": [
+                                  { "productCode": "PRD001", "productName": "Pão Francês",
+                                    "quantity": 2, "unitPrice": 12.50, "totalValue": 25.00 }
+                                ],
+                                "SP01": [
+                                  { "productCode": "PRD001", "productName": "Pão Francês",
+                                    "quantity": 5, "unitPrice": 12.50, "totalValue": 62.50 }
+                                ]
+                              },
+                              "merged": [
+                                { "productCode": "PRD001", "productName": "Pão Francês",
+                                  "quantity": 7, "unitPrice": 12.50, "totalValue": 87.50 }
+                              ],
+                              "totalValue": 87.50
+                            }
+                            """)
+            )
+    )
+    public ResponseEntity<MultiSiteProductionDTO> optimizeAllSites() {
+        return ResponseEntity.ok(service.optimizeAllSites());
     }
 }
 
@@ -0,0 +1,193 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.OptimizationJobDTO;
+import com.example.backend.service.OptimizationJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+
+/**
+ * Controller REST que executa a <strong>otimização de produção em segundo plano</strong>.
+ *
+ * <p>Para catálogos grandes, {@code GET /api/production/optimize} pode exceder o tempo limite
+ * do proxy. Aqui o cálculo é enfileirado e o cliente consulta o andamento até o resultado.</p>
+ *
+ * <h3>Base path</h3>
+ * <p>{@code /api/production/jobs}</p>
+ *
+ * <h3>Operações disponíveis</h3>
+ * <ul>
+ *   <li>{@code POST /api/production/jobs} — Enfileirar uma otimização</li>
+ *   <li>{@code GET /api/production/jobs/{id}} — Consultar estado, progresso e resultado</li>
+ *   <li>{@code DELETE /api/production/jobs/{id}} — Cancelar</li>
+ * </ul>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see OptimizationJobService
+ * @see ProductionController
+ */
+@RestController
+@RequestMapping("/api/production/jobs")
+@RequiredArgsConstructor
+@Tag(name = "Otimização de Produção")
+public class ProductionJobController {
+
+    private final OptimizationJobService service;
+
+    // ────────────────────────────────────────────────────────────────────────────
+    // POST /api/production/jobs — Enfileirar uma otimização
+    // ────────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Enfileira uma otimização e responde imediatamente.
+     *
+     * @param site código da planta (opcional)
+     * @return {@code 202 Accepted} com o job e o header {@code Location}; {@code 429 Too Many Requests}
+     *         se a fila estiver cheia; {@code 400 Bad Request} se o site for inválido
+     */
+    @PostMapping
+    @Operation(
+            summary = "Enfileirar otimização de produção",
+            description = """
+                    Enfileira o mesmo cálculo de `GET /api/production/optimize` e responde na hora com `202`.
+                    Consulte `GET /api/production/jobs/{id}` (header `Location`) até o job terminar.
+
+                    ### Estados
+                    `QUEUED` → `RUNNING` → `SUCCEEDED` | `FAILED` | `CANCELLED`.
+
+                    ### Importante
+                    - No máximo `app.optimization.jobs.workers` jobs executam ao mesmo tempo e
+                      `app.optimization.jobs.queue-capacity` aguardam; com a fila cheia a resposta é `429`
+                      com `Retry-After`.
+                    - Jobs finalizados ficam disponíveis por `app.optimization.jobs.retention`; depois, `404`.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Job enfileirado",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = OptimizationJobDTO.class),
+                            examples = @ExampleObject(value = """
+                                    {
+                                      "id": "0b6f5c1e-8a1d-4a53-9d7e-2f4c1b0e9a10",
+                                      "status": "QUEUED",
+                                      "submittedAt": "2026-03-01T12:00:00Z"
+                                    }
+                                    """)
+                    )
+            ),
+            @ApiResponse(responseCode = "400", description = "Código de site inválido"),
+            @ApiResponse(responseCode = "429", description = "Fila de jobs cheia — tente novamente mais tarde")
+    })
+    public ResponseEntity<OptimizationJobDTO> submit(
+            @Parameter(description = "Código da planta (opcional)", example = "SP01")
+            @RequestParam(required = false) String site
+    ) {
+        return service.submit(site)
+                .map(job -> ResponseEntity.accepted()
+                        .location(URI.create("/api/production/jobs/" + job.getId()))
+                        .body(job))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, "5")
+                        .build());
+    }
+
+    // ────────────────────────────────────────────────────────────────────────────
+    // GET /api/production/jobs/{id} — Consultar um job
+    // ────────────────────────────────────────────────────────────────────────────
+
+    /**
+     * @param id identificador do job
+     * @return {@code 200 OK} com o estado do job; {@code 404 Not Found} se não existir ou já tiver expirado
+     */
+    @GetMapping("/{id}")
+    @Operation(
+            summary = "Consultar job de otimização",
+            description = """
+                    Retorna o estado do job. Durante a execução, `progress` traz o último progresso do otimizador
+                    (mesmo formato de `GET /api/production/optimize/stream`).
+                    `result` só aparece em `SUCCEEDED` e `error` só em `FAILED`.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Estado do job",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = OptimizationJobDTO.class),
+                            examples = @ExampleObject(value = """
+                                    {
+                                      "id": "0b6f5c1e-8a1d-4a53-9d7e-2f4c1b0e9a10",
+                                      "status": "SUCCEEDED",
+                                      "submittedAt": "2026-03-01T12:00:00Z",
+                                      "startedAt": "2026-03-01T12:00:00.010Z",
+                                      "finishedAt": "2026-03-01T12:00:00.035Z",
+                                      "progress": { "incumbentValue": 132.5, "bound": 132.5, "nodesExplored": 2, "totalNodes": 2, "elapsedMs": 25, "done": true },
+                                      "result": [
+                                        { "productCode": "PRD003", "productName": "Bolo de Chocolate", "quantity": 2, "unitPrice": 35.00, "totalValue": 70.00 }
+                                      ]
+                                    }
+                                    """)
+                    )
+            ),
+            @ApiResponse(responseCode = "404", description = "Job não encontrado ou expirado")
+    })
+    public ResponseEntity<OptimizationJobDTO> getById(
+            @Parameter(description = "Identificador do job", required = true)
+            @PathVariable String id
+    ) {
+        return ResponseEntity.ok(service.find(id));
+    }
+
+    // ────────────────────────────────────────────────────────────────────────────
+    // DELETE /api/production/jobs/{id} — Cancelar um job
+    // ────────────────────────────────────────────────────────────────────────────
+
+    /**
+     * @param id identificador do job
+     * @return {@code 200 OK} com o estado após o pedido; {@code 404 Not Found} se não existir
+     */
+    @DeleteMapping("/{id}")
+    @Operation(
+            summary = "Cancelar job de otimização",
+            description = """
+                    Cancela o job. Na fila, ele é removido na hora (`CANCELLED`); em execução, o otimizador é
+                    interrompido no próximo produto avaliado — consulte o job para ver o estado final.
+                    Um job já finalizado não é alterado.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Cancelamento solicitado",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = OptimizationJobDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Job não encontrado ou expirado")
+    })
+    public ResponseEntity<OptimizationJobDTO> cancel(
+            @Parameter(description = "Identificador do job", required = true)
+            @PathVariable String id
+    ) {
+        return ResponseEntity.ok(service.cancel(id));
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.OptimizationProgressDTO;
+import com.example.backend.service.OptimizationStreamService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controller REST que transmite o <strong>progresso da otimização de produção</strong>
+ * via Server-Sent Events.
+ *
+ * <h3>Base path</h3>
+ * <p>{@code /api/production}</p>
+ *
+ * <h3>Operações disponíveis</h3>
+ * <ul>
+ *   <li>{@code GET /api/production/optimize/stream} — Otimizar transmitindo o progresso</li>
+ * </ul>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see OptimizationStreamService
+ * @see ProductionController
+ */
+@RestController
+@RequestMapping("/api/production")
+@RequiredArgsConstructor
+@Tag(name = "Otimização de Produção")
+public class ProductionStreamController {
+
+    private final OptimizationStreamService service;
+
+    // ────────────────────────────────────────────────────────────────────────────
+    // GET /api/production/optimize/stream — Otimizar transmitindo o progresso
+    // ────────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Executa a mesma otimização de {@code GET /api/production/optimize}, transmitindo
+     * o progresso enquanto o cálculo está em andamento.
+     *
+     * @param site código da planta (opcional)
+     * @return stream {@code text/event-stream} com eventos {@code progress}, seguido de
+     *         {@code result} ou {@code error}; {@code 400 Bad Request} se o site for inválido
+     */
+    @GetMapping(value = "/optimize/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Calcular sugestão de produção com progresso (SSE)",
+            description = """
+                    Executa o mesmo algoritmo de `GET /api/production/optimize`, transmitindo o progresso
+                    como **Server-Sent Events**.
+
+                    ### Eventos
+                    - `progress` — valor atual (`incumbentValue`), limite superior (`bound`),
+                      produtos avaliados (`nodesExplored` / `totalNodes`) e tempo decorrido (`elapsedMs`).
+                      No máximo um evento por `app.optimization.progress-interval`; o último tem `done = true`.
+                    - `result` — a lista de sugestões de produção; encerra o stream.
+                    - `error` — `{timestamp, status, error, message}` (ex.: `404` para site sem estoque); encerra o stream.
+
+                    ### Importante
+                    - O otimizador nunca espera pelo cliente: eventos não enviados a tempo são substituídos pelo mais recente.
+                    - Fechar a conexão cancela a otimização.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stream de progresso iniciado",
+                    content = @Content(
+                            mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = OptimizationProgressDTO.class),
+                            examples = @ExampleObject(value = """
+                                    event:progress
+                                    data:{"incumbentValue":70.0,"bound":132.5,"nodesExplored":1,"totalNodes":2,"elapsedMs":3,"done":false}
+
+                                    event:progress
+                                    data:{"incumbentValue":132.5,"bound":132.5,"nodesExplored":2,"totalNodes":2,"elapsedMs":5,"done":true}
+
+                                    event:result
+                                    data:[{"productCode":"PRD003","productName":"Bolo de Chocolate","quantity":2,"unitPrice":35.00,"totalValue":70.00}]
+                                    """)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Código de site inválido",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public ResponseEntity<SseEmitter> stream(
+            @Parameter(description = "Código da planta (opcional)", example = "SP01")
+            @RequestParam(required = false) String site
+    ) {
+        // X-Accel-Buffering: o nginx repassa cada evento sem acumular no buffer do proxy
+        return ResponseEntity.ok().header("X-Accel-Buffering", "no").body(service.stream(site));
+    }
+}
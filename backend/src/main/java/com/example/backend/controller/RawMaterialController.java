@@ -1,7 +1,9 @@
 package com.example.backend.controller;
 
+import com.example.backend.dto.ChangeSetDTO;
 import com.example.backend.dto.RawMaterialDTO;
 import com.example.backend.entity.RawMaterial;
+import com.example.backend.service.CatalogVersion;
 import com.example.backend.service.RawMaterialService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,9 +15,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -31,6 +35,7 @@ import java.util.List;
  * <h3>Operações disponíveis</h3>
  * <ul>
  *   <li>{@code GET    /api/raw-materials}      — Listar todas</li>
+ *   <li>{@code GET    /api/raw-materials/changes?since=} — Sincronização incremental</li>
  *   <li>{@code GET    /api/raw-materials/{id}}  — Buscar por ID</li>
  *   <li>{@code POST   /api/raw-materials}      — Cadastrar nova</li>
  *   <li>{@code PUT    /api/raw-materials/{id}}  — Atualizar existente</li>
@@ -53,7 +58,14 @@ import java.util.List;
 )
 public class RawMaterialController {
 
+    /**
+     * {@code no-cache}: o navegador pode guardar a resposta, mas revalida a cada uso com
+     * {@code If-None-Match} (sem isso o Spring Security enviaria {@code no-store}).
+     */
+    private static final CacheControl REVALIDATE = CacheControl.noCache();
+
     private final RawMaterialService service;
+    private final CatalogVersion catalogVersion;
 
     // ────────────────────────────────────────────────────────────────────────────
     // GET /api/raw-materials — Listar todas as matérias-primas
@@ -104,49 +116,130 @@ public class RawMaterialController {
                                     ]
                                     """)
                     )
-            )
+            ),
+            @ApiResponse(responseCode = "304", description = "Não modificado — o `If-None-Match` corresponde ao ETag atual")
     })
-    public ResponseEntity<List<RawMaterial>> getAll() {
-        return ResponseEntity.ok(service.findAll());
+    public ResponseEntity<List<RawMaterial>> getAll(WebRequest request) {
+        // ETag calculado antes da consulta: 304 não acessa o banco
+        NegotiatedETag etag = NegotiatedETag.of(catalogVersion.rawMaterialsETag(), request);
+        if (etag.checkNotModified(request)) {
+            return null;
+        }
+        return etag.ok().cacheControl(REVALIDATE).body(service.findAll());
     }
 
     // ────────────────────────────────────────────────────────────────────────────
-    // GET /api/raw-materials/next-code — Gerar próximo código sequencial
+    // POST /api/raw-materials/next-code — Reservar próximo código sequencial
     // ────────────────────────────────────────────────────────────────────────────
 
     /**
-     * Returns the next available sequential code for a new raw material.
+     * Allocates the next available sequential code for a new raw material.
      *
      * <p>The code follows the pattern {@code MP001}, {@code MP002}, etc.
-     * If the last registered code is {@code MP005}, this endpoint returns {@code MP006}.</p>
+     * If the last registered code is {@code MP005}, this endpoint returns {@code MP006}.
+     * Every call reserves a new code, so concurrent callers always get different codes.
+     * Because of that side effect the endpoint is a {@code POST}: a {@code GET} could be repeated
+     * by prefetchers, caches and retries, silently consuming codes.</p>
      *
-     * @return {@code 200 OK} with the next code as a JSON object
+     * @param prefix optional code prefix; defaults to the first configured prefix
+     * @return {@code 200 OK} with the next code as a JSON object, or {@code 400 Bad Request}
+     *         for an unknown prefix
      */
-    @GetMapping("/next-code")
+    @PostMapping("/next-code")
     @Operation(
-            summary = "Gerar próximo código sequencial",
+            summary = "Reservar próximo código sequencial",
             description = """
-                    Retorna o próximo código disponível para cadastro de matéria-prima,
+                    Reserva e retorna o próximo código disponível para cadastro de matéria-prima,
                     seguindo o padrão `MP001`, `MP002`, etc.
 
                     Exemplo: se o último código cadastrado é `MP005`, retorna `MP006`.
+
+                    Os códigos são distribuídos a partir de blocos reservados em uma sequence do banco:
+                    chamadas simultâneas nunca recebem o mesmo código, e não há limite em `MP999`
+                    (o próximo é `MP1000`).
+
+                    **Cada chamada consome um código**, mesmo que ele não chegue a ser cadastrado —
+                    por isso o endpoint é `POST`. Códigos não usados ficam como lacunas na numeração.
                     """
     )
-    @ApiResponse(
-            responseCode = "200",
-            description = "Próximo código gerado com sucesso",
-            content = @Content(
-                    mediaType = "application/json",
-                    examples = @ExampleObject(value = """
-                            { "nextCode": "MP006" }
-                            """)
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Próximo código reservado com sucesso",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(value = """
+                                    { "nextCode": "MP006" }
+                                    """)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Prefixo não configurado"
             )
-    )
-    public ResponseEntity<java.util.Map<String, String>> getNextCode() {
-        String nextCode = service.generateNextCode();
+    })
+    public ResponseEntity<java.util.Map<String, String>> getNextCode(
+            @Parameter(description = "Prefixo do código (padrão: primeiro prefixo configurado)", example = "MP")
+            @RequestParam(required = false) String prefix
+    ) {
+        String nextCode = prefix == null ? service.generateNextCode() : service.generateNextCode(prefix);
         return ResponseEntity.ok(java.util.Map.of("nextCode", nextCode));
     }
 
+    // ────────────────────────────────────────────────────────────────────────────
+    // GET /api/raw-materials/changes — Sincronização incremental
+    // ────────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Retorna apenas as matérias-primas alteradas ou removidas após a versão informada.
+     *
+     * @param since cursor ({@code version}) retornado pela chamada anterior (opcional — sem ele, retorna tudo)
+     * @return {@code 200 OK} com o conjunto de alterações; {@code 400 Bad Request} se {@code since} estiver malformado
+     */
+    @GetMapping("/changes")
+    @Operation(
+            summary = "Sincronização incremental",
+            description = """
+                    Retorna somente o que mudou desde `since`, em vez da lista completa.
+
+                    - `changed` — registros criados ou alterados (substituir pelo `id`).
+                    - `deleted` — ids removidos.
+                    - `version` — cursor (opaco) a enviar como `since` na próxima chamada.
+                    - `reset` — `true` quando `changed` traz **todos** os registros e o cliente deve substituir
+                      a sua cópia: primeira chamada (sem `since`), cursor de outra execução do servidor ou
+                      remoções mais antigas que `app.sync.tombstone-ttl`.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Alterações desde a versão informada",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ChangeSetDTO.class),
+                            examples = @ExampleObject(value = """
+                                    {
+                                      "version": "k3f9q2:42",
+                                      "reset": false,
+                                      "changed": [
+                                        { "id": 3, "code": "MP003", "name": "Leite", "stockQuantity": 250.0,
+                                          "unitOfMeasure": "caixas", "rowVersion": 41,
+                                          "updatedAt": "2026-10-19T10:15:30Z" }
+                                      ],
+                                      "deleted": [ 7 ]
+                                    }
+                                    """)
+                    )
+            ),
+            @ApiResponse(responseCode = "400", description = "`since` malformado")
+    })
+    public ResponseEntity<ChangeSetDTO<RawMaterial>> getChanges(
+            @Parameter(description = "Cursor (`version`) retornado pela chamada anterior", example = "k3f9q2:42")
+            @RequestParam(required = false) String since
+    ) {
+        return ResponseEntity.ok(service.findChanges(since));
+    }
+
     // ────────────────────────────────────────────────────────────────────────────
     // GET /api/raw-materials/{id} — Buscar matéria-prima por ID
     // ────────────────────────────────────────────────────────────────────────────
@@ -157,7 +250,8 @@ public class RawMaterialController {
      * @param id identificador numérico da matéria-prima (path variable)
      * @return {@code 200 OK} com a matéria-prima encontrada, ou {@code 404 Not Found} se não existir
      */
-    @GetMapping("/{id}")
+    // Só dígitos: GET /next-code responde 405 em vez de tentar converter "next-code" em id
+    @GetMapping("/{id:\\d+}")
     @Operation(
             summary = "Buscar matéria-prima por ID",
             description = """
@@ -200,13 +294,19 @@ public class RawMaterialController {
                                     }
                                     """)
                     )
-            )
+            ),
+            @ApiResponse(responseCode = "304", description = "Não modificado — o `If-None-Match` corresponde ao ETag atual")
     })
     public ResponseEntity<RawMaterial> getById(
             @Parameter(description = "ID da matéria-prima", example = "1", required = true)
-            @PathVariable Long id
+            @PathVariable Long id,
+            WebRequest request
     ) {
-        return ResponseEntity.ok(service.findById(id));
+        NegotiatedETag etag = NegotiatedETag.of(catalogVersion.rawMaterialETag(id), request);
+        if (etag.checkNotModified(request)) {
+            return null;
+        }
+        return etag.ok().cacheControl(REVALIDATE).body(service.findById(id));
     }
 
     // ────────────────────────────────────────────────────────────────────────────
@@ -0,0 +1,158 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.StockQuantityDTO;
+import com.example.backend.entity.SiteStock;
+import com.example.backend.service.SiteStockService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller REST responsável pelo <strong>estoque por planta</strong> (site) de cada matéria-prima.
+ *
+ * <h3>Base path</h3>
+ * <p>{@code /api/raw-materials/{id}/stock}</p>
+ *
+ * <h3>Operações disponíveis</h3>
+ * <ul>
+ *   <li>{@code GET    /api/raw-materials/{id}/stock} — Listar o estoque da matéria-prima em todas as plantas</li>
+ *   <li>{@code PUT    /api/raw-materials/{id}/stock/{site}} — Definir a quantidade em uma planta</li>
+ *   <li>{@code POST   /api/raw-materials/{id}/stock/{site}/adjustments} — Entrada ou baixa de estoque em uma planta</li>
+ * </ul>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see SiteStockService
+ * @see SiteStock
+ */
+@RestController
+@RequestMapping("/api/raw-materials/{id}/stock")
+@RequiredArgsConstructor
+@Tag(
+        name = "Estoque por Planta",
+        description = "Endpoints para consulta e movimentação do estoque de matérias-primas em cada planta (site)."
+)
+public class SiteStockController {
+
+    private final SiteStockService service;
+
+    // ────────────────────────────────────────────────────────────────────────────
+    // GET /api/raw-materials/{id}/stock — Listar estoque por planta
+    // ────────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Lista o estoque de uma matéria-prima em todas as plantas.
+     *
+     * @param id identificador da matéria-prima
+     * @return {@code 200 OK} com as linhas de estoque, ou {@code 404 Not Found} se a matéria-prima não existir
+     */
+    @GetMapping
+    @Operation(summary = "Listar estoque da matéria-prima por planta")
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Estoque por planta retornado com sucesso",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = SiteStock.class)),
+                            examples = @ExampleObject(value = """
+                                    [
+                                      { "id": 1, "site": "MG01", "rawMaterialId": 1, "quantity": 200.0 },
+                                      { "id": 2, "site": "SP01", "rawMaterialId": 1, "quantity": 800.0 }
+                                    ]
+                                    """)
+                    )
+            ),
+            @ApiResponse(responseCode = "404", description = "Matéria-prima não encontrada")
+    })
+    public ResponseEntity<List<SiteStock>> getAll(
+            @Parameter(description = "ID da matéria-prima", example = "1", required = true)
+            @PathVariable Long id
+    ) {
+        return ResponseEntity.ok(service.findByRawMaterial(id));
+    }
+
+    // ────────────────────────────────────────────────────────────────────────────
+    // PUT /api/raw-materials/{id}/stock/{site} — Definir quantidade na planta
+    // ────────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Define a quantidade absoluta de uma matéria-prima em uma planta.
+     *
+     * @param id   identificador da matéria-prima
+     * @param site código da planta
+     * @param dto  quantidade absoluta
+     * @return {@code 200 OK} com a linha de estoque persistida
+     */
+    @PutMapping("/{site}")
+    @Operation(
+            summary = "Definir estoque da matéria-prima em uma planta",
+            description = """
+                    Define a quantidade **absoluta** de uma matéria-prima em uma planta,
+                    criando o registro caso ainda não exista. A quantidade não pode ser negativa.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Estoque definido com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Site inválido ou quantidade negativa"),
+            @ApiResponse(responseCode = "404", description = "Matéria-prima não encontrada")
+    })
+    public ResponseEntity<SiteStock> setQuantity(
+            @Parameter(description = "ID da matéria-prima", example = "1", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "Código da planta", example = "SP01", required = true)
+            @PathVariable String site,
+            @RequestBody StockQuantityDTO dto
+    ) {
+        return ResponseEntity.ok(service.setQuantity(id, site, dto));
+    }
+
+    // ────────────────────────────────────────────────────────────────────────────
+    // POST /api/raw-materials/{id}/stock/{site}/adjustments — Movimentar estoque
+    // ────────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Aplica uma entrada (valor positivo) ou baixa (valor negativo) ao estoque de uma planta.
+     *
+     * @param id   identificador da matéria-prima
+     * @param site código da planta
+     * @param dto  variação de estoque
+     * @return {@code 200 OK} com a linha de estoque atualizada
+     */
+    @PostMapping("/{site}/adjustments")
+    @Operation(
+            summary = "Movimentar estoque da matéria-prima em uma planta",
+            description = """
+                    Soma a `quantity` informada ao estoque da planta (positiva = entrada, negativa = baixa)
+                    em uma única instrução `UPDATE`, sem bloquear as demais plantas.
+                    
+                    Retorna `400` se a baixa deixar o estoque negativo e `404` se não houver estoque
+                    cadastrado para a matéria-prima na planta.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Estoque movimentado com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Site inválido ou estoque insuficiente"),
+            @ApiResponse(responseCode = "404", description = "Estoque não cadastrado para a planta")
+    })
+    public ResponseEntity<SiteStock> adjust(
+            @Parameter(description = "ID da matéria-prima", example = "1", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "Código da planta", example = "SP01", required = true)
+            @PathVariable String site,
+            @RequestBody StockQuantityDTO dto
+    ) {
+        return ResponseEntity.ok(service.adjust(id, site, dto));
+    }
+}
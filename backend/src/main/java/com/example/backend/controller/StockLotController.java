@@ -0,0 +1,167 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.LotConsumptionDTO;
+import com.example.backend.dto.StockLotDTO;
+import com.example.backend.dto.StockQuantityDTO;
+import com.example.backend.entity.StockLot;
+import com.example.backend.service.StockLotService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller REST responsável pelos <strong>lotes</strong> de matérias-primas perecíveis.
+ *
+ * <h3>Base path</h3>
+ * <p>{@code /api/raw-materials/{id}/lots}</p>
+ *
+ * <h3>Operações disponíveis</h3>
+ * <ul>
+ *   <li>{@code GET    /api/raw-materials/{id}/lots} — Listar os lotes da matéria-prima</li>
+ *   <li>{@code POST   /api/raw-materials/{id}/lots} — Registrar o recebimento de um lote</li>
+ *   <li>{@code POST   /api/raw-materials/{id}/lots/consumptions} — Baixa FEFO dos lotes não vencidos</li>
+ * </ul>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see StockLotService
+ * @see StockLot
+ */
+@RestController
+@RequestMapping("/api/raw-materials/{id}/lots")
+@RequiredArgsConstructor
+@Tag(
+        name = "Lotes",
+        description = "Endpoints para recebimento e consumo FEFO de lotes de matérias-primas perecíveis."
+)
+public class StockLotController {
+
+    private final StockLotService service;
+
+    // ────────────────────────────────────────────────────────────────────────────
+    // GET /api/raw-materials/{id}/lots — Listar lotes
+    // ────────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Lista os lotes de uma matéria-prima, do que vence primeiro para o último.
+     *
+     * @param id identificador da matéria-prima
+     * @return {@code 200 OK} com os lotes, ou {@code 404 Not Found} se a matéria-prima não existir
+     */
+    @GetMapping
+    @Operation(summary = "Listar lotes da matéria-prima")
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Lotes retornados com sucesso",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = StockLot.class)),
+                            examples = @ExampleObject(value = """
+                                    [
+                                      { "id": 1, "lotCode": "LT-LEITE-001", "rawMaterialId": 3, "quantity": 180.0,
+                                        "expiresAt": "2026-10-24", "receivedAt": "2026-10-19T10:00:00Z" }
+                                    ]
+                                    """)
+                    )
+            ),
+            @ApiResponse(responseCode = "404", description = "Matéria-prima não encontrada")
+    })
+    public ResponseEntity<List<StockLot>> getAll(
+            @Parameter(description = "ID da matéria-prima", example = "3", required = true)
+            @PathVariable Long id
+    ) {
+        return ResponseEntity.ok(service.findByRawMaterial(id));
+    }
+
+    // ────────────────────────────────────────────────────────────────────────────
+    // POST /api/raw-materials/{id}/lots — Receber lote
+    // ────────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Registra o recebimento de um lote; a quantidade é somada ao estoque central.
+     *
+     * @param id  identificador da matéria-prima
+     * @param dto dados do lote
+     * @return {@code 201 Created} com o lote persistido
+     */
+    @PostMapping
+    @Operation(
+            summary = "Receber lote de matéria-prima",
+            description = """
+                    Registra um lote com código, quantidade e validade (`expiresAt`, opcional).
+                    A quantidade é somada ao estoque central da matéria-prima.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Lote registrado com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Código ausente ou quantidade não positiva"),
+            @ApiResponse(responseCode = "404", description = "Matéria-prima não encontrada")
+    })
+    public ResponseEntity<StockLot> receive(
+            @Parameter(description = "ID da matéria-prima", example = "3", required = true)
+            @PathVariable Long id,
+            @RequestBody StockLotDTO dto
+    ) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(service.receive(id, dto));
+    }
+
+    // ────────────────────────────────────────────────────────────────────────────
+    // POST /api/raw-materials/{id}/lots/consumptions — Baixa FEFO
+    // ────────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Consome uma quantidade dos lotes não vencidos, do que vence primeiro para o último.
+     *
+     * @param id  identificador da matéria-prima
+     * @param dto quantidade a consumir
+     * @return {@code 200 OK} com as baixas aplicadas por lote
+     */
+    @PostMapping("/consumptions")
+    @Operation(
+            summary = "Consumir lotes em ordem FEFO",
+            description = """
+                    Retira a `quantity` informada dos lotes **não vencidos**, começando pelo que vence
+                    primeiro (FEFO), e a subtrai do estoque central. Lotes vencidos nunca são consumidos.
+                    
+                    Retorna `400` se os lotes não vencidos não cobrirem a quantidade.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Baixa aplicada com sucesso",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = LotConsumptionDTO.class)),
+                            examples = @ExampleObject(value = """
+                                    [
+                                      { "lotId": 1, "lotCode": "LT-LEITE-001", "quantity": 180.0, "expiresAt": "2026-10-24" },
+                                      { "lotId": 2, "lotCode": "LT-LEITE-002", "quantity": 20.0, "expiresAt": "2026-11-08" }
+                                    ]
+                                    """)
+                    )
+            ),
+            @ApiResponse(responseCode = "400", description = "Quantidade inválida ou lotes insuficientes"),
+            @ApiResponse(responseCode = "404", description = "Matéria-prima não encontrada")
+    })
+    public ResponseEntity<List<LotConsumptionDTO>> consume(
+            @Parameter(description = "ID da matéria-prima", example = "3", required = true)
+            @PathVariable Long id,
+            @RequestBody StockQuantityDTO dto
+    ) {
+        return ResponseEntity.ok(service.consume(id, dto));
+    }
+}
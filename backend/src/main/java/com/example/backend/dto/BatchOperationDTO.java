@@ -0,0 +1,61 @@
+package com.example.backend.dto;
+
+import com.example.backend.service.CatalogVersion;
+import lombok.*;
+
+/**
+ * DTO (Data Transfer Object) de uma operação de {@code POST /api/batch}.
+ *
+ * <p>Equivale a uma chamada {@code POST}, {@code PUT} ou {@code DELETE} em
+ * {@code /api/raw-materials} ou {@code /api/products}. O corpo vai em {@code rawMaterial}
+ * ou {@code product}, conforme {@code resource}.</p>
+ *
+ * <h3>Exemplo de JSON</h3>
+ * <pre>{@code
+ * { "op": "CREATE", "resource": "PRODUCT",
+ *   "product": { "code": "PRD004", "name": "Pão de Leite", "price": 9.90,
+ *                "compositions": [ { "rawMaterialId": 1, "requiredQuantity": 150.0 } ] } }
+ * }</pre>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see BatchRequestDTO
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchOperationDTO {
+
+    /**
+     * Tipo de operação.
+     */
+    public enum Op {
+        CREATE,
+        UPDATE,
+        DELETE
+    }
+
+    private Op op;
+
+    /**
+     * Tabela alvo: {@code RAW_MATERIAL} ou {@code PRODUCT}.
+     */
+    private CatalogVersion.Table resource;
+
+    /**
+     * Id do registro — obrigatório em {@code UPDATE} e {@code DELETE}.
+     */
+    private Long id;
+
+    /**
+     * Dados da matéria-prima ({@code CREATE}/{@code UPDATE} de {@code RAW_MATERIAL}).
+     */
+    private RawMaterialDTO rawMaterial;
+
+    /**
+     * Dados do produto ({@code CREATE}/{@code UPDATE} de {@code PRODUCT}).
+     */
+    private ProductDTO product;
+}
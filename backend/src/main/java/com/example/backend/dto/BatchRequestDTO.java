@@ -0,0 +1,38 @@
+package com.example.backend.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO (Data Transfer Object) do corpo de {@code POST /api/batch}: uma lista <strong>ordenada</strong>
+ * de operações sobre matérias-primas e produtos, executadas em uma única transação.
+ *
+ * <h3>Exemplo de JSON</h3>
+ * <pre>{@code
+ * {
+ *   "operations": [
+ *     { "op": "UPDATE", "resource": "RAW_MATERIAL", "id": 1,
+ *       "rawMaterial": { "code": "MP001", "name": "Farinha de Trigo", "stockQuantity": 450.0, "unitOfMeasure": "kg" } },
+ *     { "op": "DELETE", "resource": "PRODUCT", "id": 3 }
+ *   ]
+ * }
+ * }</pre>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see BatchOperationDTO
+ * @see com.example.backend.service.BatchService
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchRequestDTO {
+
+    /**
+     * Operações, executadas na ordem em que aparecem.
+     */
+    private List<BatchOperationDTO> operations;
+}
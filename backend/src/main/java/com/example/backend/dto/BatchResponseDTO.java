@@ -0,0 +1,33 @@
+package com.example.backend.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO (Data Transfer Object) da resposta de {@code POST /api/batch}.
+ *
+ * <p>Com {@code committed = false} nenhuma operação foi aplicada — nem as que aparecem com
+ * status {@code 2xx}: a transação foi desfeita por causa da operação que falhou.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see BatchResultDTO
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchResponseDTO {
+
+    /**
+     * {@code true} se todas as operações foram confirmadas.
+     */
+    private boolean committed;
+
+    /**
+     * Um resultado por operação, na ordem da requisição.
+     */
+    private List<BatchResultDTO> results;
+}
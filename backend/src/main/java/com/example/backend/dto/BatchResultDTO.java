@@ -0,0 +1,52 @@
+package com.example.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+/**
+ * DTO (Data Transfer Object) com o resultado de uma operação de {@code POST /api/batch}.
+ *
+ * <p>{@code status} é o mesmo que a chamada individual devolveria ({@code 201}, {@code 200},
+ * {@code 204}, {@code 404}, {@code 409}...). Operações não executadas porque uma anterior
+ * falhou recebem {@code 424 Failed Dependency}.</p>
+ *
+ * <h3>Exemplo de JSON</h3>
+ * <pre>{@code
+ * { "index": 0, "status": 201, "id": 6, "body": { "id": 6, "code": "MP006", ... } }
+ * { "index": 1, "status": 409, "error": "Product with code 'PRD001' already exists. ..." }
+ * }</pre>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see BatchResponseDTO
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResultDTO {
+
+    /**
+     * Posição da operação na requisição (a partir de 0).
+     */
+    private int index;
+
+    private int status;
+
+    /**
+     * Id do registro criado, alterado ou removido.
+     */
+    private Long id;
+
+    /**
+     * Registro resultante ({@code CREATE} e {@code UPDATE}).
+     */
+    private Object body;
+
+    /**
+     * Mensagem de erro, quando {@code status} não é {@code 2xx}.
+     */
+    private String error;
+}
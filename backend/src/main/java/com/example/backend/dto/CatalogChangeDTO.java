@@ -0,0 +1,43 @@
+package com.example.backend.dto;
+
+import com.example.backend.service.CatalogVersion;
+import lombok.*;
+
+/**
+ * DTO (Data Transfer Object) de uma <strong>alteração no catálogo</strong>, enviada aos
+ * clientes inscritos em {@code GET /api/changes/stream}.
+ *
+ * <p>Carrega apenas a identificação do registro alterado: o cliente atualiza aquele item
+ * (ex.: {@code GET /api/raw-materials/{id}}) ou o remove da lista, sem recarregar tudo.</p>
+ *
+ * <h3>Exemplo de JSON</h3>
+ * <pre>{@code
+ * { "table": "RAW_MATERIAL", "action": "UPDATED", "id": 3 }
+ * }</pre>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see com.example.backend.service.CatalogChangeBroadcaster
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogChangeDTO {
+
+    /**
+     * Tipo de alteração.
+     */
+    public enum Action {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private CatalogVersion.Table table;
+
+    private Action action;
+
+    private Long id;
+}
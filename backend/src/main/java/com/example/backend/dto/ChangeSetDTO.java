@@ -0,0 +1,57 @@
+package com.example.backend.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO (Data Transfer Object) da <strong>sincronização incremental</strong> de uma tabela do catálogo.
+ *
+ * <p>Retornado por {@code GET /api/raw-materials/changes?since=} e {@code GET /api/products/changes?since=}.
+ * O cliente aplica {@code changed} (inserir ou substituir pelo id) e {@code deleted} (remover pelo id)
+ * e guarda {@code version} para a próxima chamada.</p>
+ *
+ * <h3>Exemplo de JSON</h3>
+ * <pre>{@code
+ * {
+ *   "version": "k3f9q2:42",
+ *   "reset": false,
+ *   "changed": [ { "id": 3, "code": "MP003", ..., "rowVersion": 41 } ],
+ *   "deleted": [ 7 ]
+ * }
+ * }</pre>
+ *
+ * @param <T> tipo dos registros ({@code RawMaterial} ou {@code Product})
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see com.example.backend.service.RowVersions
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeSetDTO<T> {
+
+    /**
+     * Cursor a enviar como {@code since} na próxima chamada: {@code <epoch>:<row_version>}.
+     * O cliente o trata como opaco.
+     */
+    private String version;
+
+    /**
+     * {@code true} quando {@code changed} traz <strong>todos</strong> os registros: o cliente deve
+     * substituir a sua cópia (primeira chamada, cursor desconhecido ou tombstones já removidos).
+     */
+    private boolean reset;
+
+    /**
+     * Registros criados ou alterados após {@code since}.
+     */
+    private List<T> changed;
+
+    /**
+     * Ids removidos após {@code since}.
+     */
+    private List<Long> deleted;
+}
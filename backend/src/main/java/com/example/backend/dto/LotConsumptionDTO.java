@@ -0,0 +1,39 @@
+package com.example.backend.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * DTO (Data Transfer Object) com a <strong>baixa aplicada a um lote</strong>.
+ *
+ * <p>Retornado por {@code POST /api/raw-materials/{id}/lots/consumptions}: uma entrada
+ * por lote consumido, na ordem FEFO (o lote que vence primeiro aparece primeiro).</p>
+ *
+ * <h3>Exemplo de JSON</h3>
+ * <pre>{@code
+ * { "lotId": 1, "lotCode": "LT-LEITE-001", "quantity": 80.0, "expiresAt": "2026-10-24" }
+ * }</pre>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see com.example.backend.entity.StockLot
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LotConsumptionDTO {
+
+    private Long lotId;
+
+    private String lotCode;
+
+    /**
+     * Quantidade retirada do lote.
+     */
+    private Double quantity;
+
+    private LocalDate expiresAt;
+}
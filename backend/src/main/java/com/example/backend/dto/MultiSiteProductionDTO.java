@@ -0,0 +1,53 @@
+package com.example.backend.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO (Data Transfer Object) com a <strong>otimização de produção de todas as plantas</strong>.
+ *
+ * <p>Retornado por {@code GET /api/production/optimize/sites}. Cada site é otimizado
+ * de forma independente com o seu próprio estoque; {@code merged} soma as sugestões
+ * de todos os sites por produto.</p>
+ *
+ * <h3>Exemplo de JSON</h3>
+ * <pre>{@code
+ * {
+ *   "sites": {
+ *     "SP01": [ { "productCode": "PRD001", "quantity": 5, "unitPrice": 12.50, "totalValue": 62.50 } ],
+ *     "MG01": [ { "productCode": "PRD001", "quantity": 2, "unitPrice": 12.50, "totalValue": 25.00 } ]
+ *   },
+ *   "merged": [ { "productCode": "PRD001", "quantity": 7, "unitPrice": 12.50, "totalValue": 87.50 } ],
+ *   "totalValue": 87.50
+ * }
+ * }</pre>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see ProductionSuggestionDTO
+ * @see com.example.backend.service.ProductionOptimizerService#optimizeAllSites()
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MultiSiteProductionDTO {
+
+    /**
+     * Sugestões de produção por site (ordenado pelo código do site).
+     */
+    private Map<String, List<ProductionSuggestionDTO>> sites;
+
+    /**
+     * Visão consolidada: quantidades e valores somados por produto em todos os sites.
+     */
+    private List<ProductionSuggestionDTO> merged;
+
+    /**
+     * Soma de {@code totalValue} de todos os sites.
+     */
+    private Double totalValue;
+}
@@ -0,0 +1,81 @@
+package com.example.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * DTO (Data Transfer Object) com o estado de um <strong>job de otimização</strong>
+ * ({@code /api/production/jobs}).
+ *
+ * <h3>Exemplo de JSON</h3>
+ * <pre>{@code
+ * {
+ *   "id": "3f1c9a2e-...",
+ *   "status": "RUNNING",
+ *   "site": null,
+ *   "submittedAt": "2026-03-10T14:02:11Z",
+ *   "startedAt": "2026-03-10T14:02:11Z",
+ *   "progress": { "incumbentValue": 1250.0, "bound": 1875.5, "nodesExplored": 1200, "totalNodes": 3000, ... }
+ * }
+ * }</pre>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see com.example.backend.service.OptimizationJobService
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OptimizationJobDTO {
+
+    /**
+     * Estado do job. {@code SUCCEEDED}, {@code FAILED} e {@code CANCELLED} são finais.
+     */
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED,
+        CANCELLED;
+
+        public boolean isFinal() {
+            return this != QUEUED && this != RUNNING;
+        }
+    }
+
+    private String id;
+
+    private Status status;
+
+    /**
+     * Planta otimizada, ou {@code null} para o estoque central.
+     */
+    private String site;
+
+    private Instant submittedAt;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    /**
+     * Último progresso reportado pelo otimizador (enquanto {@code RUNNING} e ao final).
+     */
+    private OptimizationProgressDTO progress;
+
+    /**
+     * Sugestões de produção — presente apenas em {@code SUCCEEDED}.
+     */
+    private List<ProductionSuggestionDTO> result;
+
+    /**
+     * Mensagem de erro — presente apenas em {@code FAILED}.
+     */
+    private String error;
+}
@@ -0,0 +1,65 @@
+package com.example.backend.dto;
+
+import lombok.*;
+
+/**
+ * DTO (Data Transfer Object) com o <strong>progresso</strong> de uma otimização de produção.
+ *
+ * <p>Enviado como evento {@code progress} em {@code GET /api/production/optimize/stream}.
+ * Os eventos são agregados: o cliente recebe o estado mais recente a cada intervalo,
+ * não um evento por passo do algoritmo.</p>
+ *
+ * <h3>Exemplo de JSON</h3>
+ * <pre>{@code
+ * {
+ *   "incumbentValue": 1250.0,
+ *   "bound": 1875.5,
+ *   "nodesExplored": 1200,
+ *   "totalNodes": 3000,
+ *   "elapsedMs": 840,
+ *   "done": false
+ * }
+ * }</pre>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see com.example.backend.service.OptimizationProgressListener
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OptimizationProgressDTO {
+
+    /**
+     * Valor total de venda da melhor solução encontrada até o momento.
+     */
+    private Double incumbentValue;
+
+    /**
+     * Limite superior para o valor final: a solução não passará deste valor.
+     * Igual a {@code incumbentValue} quando {@code done = true}.
+     */
+    private Double bound;
+
+    /**
+     * Produtos (nós) já avaliados.
+     */
+    private long nodesExplored;
+
+    /**
+     * Total de produtos (nós) a avaliar.
+     */
+    private long totalNodes;
+
+    /**
+     * Tempo decorrido desde o início da otimização, em milissegundos.
+     */
+    private long elapsedMs;
+
+    /**
+     * {@code true} no último evento de progresso.
+     */
+    private boolean done;
+}
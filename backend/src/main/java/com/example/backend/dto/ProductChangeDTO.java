@@ -0,0 +1,80 @@
+package com.example.backend.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * DTO (Data Transfer Object) de um <strong>Produto</strong> na sincronização incremental.
+ *
+ * <p>Retornado em {@code changed} por {@code GET /api/products/changes?since=}. Igual ao produto de
+ * {@code GET /api/products}, exceto pelas composições: trazem apenas o {@code rawMaterialId}, e não a
+ * matéria-prima completa. Alterar uma matéria-prima não muda a versão dos produtos que a usam — uma
+ * cópia embutida ficaria desatualizada; o cliente resolve o id com {@code /api/raw-materials/changes}.</p>
+ *
+ * <h3>Exemplo de JSON</h3>
+ * <pre>{@code
+ * {
+ *   "id": 1,
+ *   "code": "PRD001",
+ *   "name": "Pão Francês",
+ *   "price": 13.00,
+ *   "compositions": [ { "rawMaterialId": 1, "requiredQuantity": 0.5 } ],
+ *   "rowVersion": 40,
+ *   "updatedAt": "2026-10-19T10:15:30Z"
+ * }
+ * }</pre>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see ChangeSetDTO
+ * @see com.example.backend.entity.Product
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductChangeDTO {
+
+    /**
+     * Identificador do produto.
+     */
+    private Long id;
+
+    /**
+     * Código único do produto (ex.: {@code "PRD001"}).
+     */
+    private String code;
+
+    /**
+     * Nome descritivo do produto.
+     */
+    private String name;
+
+    /**
+     * Preço de venda por unidade (em R$).
+     */
+    private Double price;
+
+    /**
+     * Descrição opcional do produto.
+     */
+    private String description;
+
+    /**
+     * Composições do produto, com a matéria-prima apenas pelo id.
+     */
+    private List<ProductCompositionDTO> compositions;
+
+    /**
+     * Versão da última alteração do produto.
+     */
+    private long rowVersion;
+
+    /**
+     * Momento da última alteração feita pela API ({@code null} para dados nunca alterados).
+     */
+    private Instant updatedAt;
+}
@@ -0,0 +1,47 @@
+package com.example.backend.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * DTO (Data Transfer Object) para o <strong>recebimento de um lote</strong> de matéria-prima.
+ *
+ * <p>Utilizado como corpo de requisição em {@code POST /api/raw-materials/{id}/lots}.
+ * A quantidade do lote é somada ao estoque central da matéria-prima.</p>
+ *
+ * <h3>Exemplo de JSON</h3>
+ * <pre>{@code
+ * {
+ *   "lotCode": "LT-LEITE-003",
+ *   "quantity": 120.0,
+ *   "expiresAt": "2026-11-05"
+ * }
+ * }</pre>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see com.example.backend.entity.StockLot
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockLotDTO {
+
+    /**
+     * Código do lote informado pelo fornecedor.
+     */
+    private String lotCode;
+
+    /**
+     * Quantidade recebida, na unidade de medida da matéria-prima.
+     */
+    private Double quantity;
+
+    /**
+     * Último dia de uso. Opcional — {@code null} para lotes sem validade.
+     */
+    private LocalDate expiresAt;
+}
@@ -0,0 +1,32 @@
+package com.example.backend.dto;
+
+import lombok.*;
+
+/**
+ * DTO (Data Transfer Object) com uma <strong>quantidade de estoque</strong> de um site.
+ *
+ * <p>Utilizado como corpo de requisição em {@code /api/raw-materials/{id}/stock/{site}}:
+ * no {@code PUT} é a quantidade absoluta; em {@code POST .../adjustments} é a variação
+ * (positiva para entrada, negativa para baixa).</p>
+ *
+ * <h3>Exemplo de JSON</h3>
+ * <pre>{@code
+ * { "quantity": 250.0 }
+ * }</pre>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see com.example.backend.entity.SiteStock
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockQuantityDTO {
+
+    /**
+     * Quantidade (ou variação) na unidade de medida da matéria-prima.
+     */
+    private Double quantity;
+}
@@ -0,0 +1,61 @@
+package com.example.backend.entity;
+
+import com.example.backend.service.CatalogVersion;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Entidade JPA que registra a <strong>remoção</strong> de uma matéria-prima ou produto.
+ *
+ * <p>Mapeada para a tabela {@code catalog_tombstone}. Como a linha removida não existe mais,
+ * a sincronização incremental ({@code GET /api/raw-materials/changes?since=}) usa este registro
+ * para informar ao cliente quais ids devem ser descartados.</p>
+ *
+ * <p>Tombstones são removidos após {@code app.sync.tombstone-ttl}; um cliente com cursor
+ * anterior a essa remoção recebe uma carga completa.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see com.example.backend.service.TombstoneService
+ */
+@Entity
+@Table(
+        name = "catalog_tombstone",
+        indexes = @Index(name = "idx_catalog_tombstone_version", columnList = "table_name, row_version")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "catalog_tombstone_seq")
+    @SequenceGenerator(name = "catalog_tombstone_seq", sequenceName = "catalog_tombstone_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * Tabela de origem do registro removido.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "table_name", nullable = false, length = 20)
+    private CatalogVersion.Table tableName;
+
+    /**
+     * Id do registro removido.
+     */
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    /**
+     * Versão da remoção — mesma sequência de {@code row_version} das tabelas do catálogo.
+     */
+    @Column(name = "row_version", nullable = false)
+    private long rowVersion;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+}
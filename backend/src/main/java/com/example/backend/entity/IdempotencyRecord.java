@@ -0,0 +1,74 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Entidade JPA que representa a <strong>resposta gravada</strong> de uma requisição
+ * enviada com o header {@code Idempotency-Key}.
+ *
+ * <p>Mapeada para a tabela {@code idempotency_record}. Quando o cliente repete a mesma
+ * requisição (mesma chave e mesmo conteúdo), a resposta armazenada aqui é devolvida
+ * sem executar novamente a operação.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see com.example.backend.service.IdempotencyService
+ */
+@Entity
+@Table(name = "idempotency_record")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+
+    /**
+     * Header {@code Idempotency-Key} no escopo do cliente que o enviou: SHA-256 (hex) do cliente e
+     * da chave (ver {@code IdempotencyFilter.scopedKey}).
+     */
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String key;
+
+    /**
+     * Hash SHA-256 de método, URI e corpo da requisição original.
+     * Usado para rejeitar a reutilização da chave com outro conteúdo.
+     */
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    /**
+     * Status HTTP da resposta original.
+     */
+    @Column(name = "status_code", nullable = false)
+    private int statusCode;
+
+    /**
+     * {@code Content-Type} da resposta original (pode ser {@code null}).
+     */
+    @Column(name = "content_type", length = 255)
+    private String contentType;
+
+    /**
+     * Corpo da resposta original, em UTF-8.
+     */
+    @Lob
+    @Column(name = "response_body")
+    private String responseBody;
+
+    /**
+     * Momento em que a resposta foi gravada.
+     */
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    /**
+     * Momento a partir do qual a chave deixa de ser válida e pode ser descartada.
+     */
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
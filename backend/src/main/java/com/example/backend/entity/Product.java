@@ -1,8 +1,11 @@
 package com.example.backend.entity;
 
+import com.example.backend.util.MicroUnits;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -26,7 +29,10 @@ import java.util.List;
  * @see RawMaterial
  */
 @Entity
-@Table(name = "product")
+@Table(
+        name = "product",
+        indexes = @Index(name = "idx_product_row_version", columnList = "row_version")
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -35,10 +41,11 @@ import java.util.List;
 public class Product {
 
     /**
-     * Identificador único gerado automaticamente pelo banco de dados.
+     * Identificador único gerado pela sequence {@code product_seq} (blocos de 50, como em {@link RawMaterial}).
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -55,10 +62,12 @@ public class Product {
     private String name;
 
     /**
-     * Preço de venda por unidade do produto (em R$).
+     * Preço de venda por unidade do produto, em micro-reais
+     * ({@code R$ 1.00 = 1_000_000}, ver {@link MicroUnits}).
      */
-    @Column(nullable = false)
-    private Double price;
+    @Column(name = "price_micros", nullable = false)
+    @JsonIgnore
+    private long priceMicros;
 
     /**
      * Descrição opcional do produto.
@@ -76,4 +85,46 @@ public class Product {
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @Builder.Default
     private List<ProductComposition> compositions = new ArrayList<>();
+
+    /**
+     * Versão da última alteração (ver {@link com.example.backend.service.RowVersions}).
+     * Usada por {@code GET /api/products/changes?since=} para devolver apenas o que mudou.
+     */
+    @Column(name = "row_version", nullable = false)
+    private long rowVersion;
+
+    /**
+     * Momento da última alteração feita pela API ({@code null} para dados nunca alterados).
+     */
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    /**
+     * Preço de venda por unidade do produto (em R$).
+     *
+     * @return preço decimal convertido de {@link #getPriceMicros()}
+     */
+    public Double getPrice() {
+        return MicroUnits.toDouble(priceMicros);
+    }
+
+    /**
+     * Define o preço de venda a partir de um valor decimal (em R$).
+     *
+     * @param price preço decimal (convertido para micro-reais)
+     * @throws IllegalArgumentException se o valor for {@code null} ou não finito
+     */
+    public void setPrice(Double price) {
+        this.priceMicros = MicroUnits.toMicros(price);
+    }
+
+    /**
+     * Complemento do builder gerado pelo Lombok, aceitando o preço em decimal.
+     */
+    public static class ProductBuilder {
+
+        public ProductBuilder price(Double price) {
+            return priceMicros(MicroUnits.toMicros(price));
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package com.example.backend.entity;
 
+import com.example.backend.util.MicroUnits;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
@@ -37,10 +38,11 @@ import lombok.*;
 public class ProductComposition {
 
     /**
-     * Identificador único gerado automaticamente pelo banco de dados.
+     * Identificador único gerado pela sequence {@code product_composition_seq} (blocos de 50, como em {@link RawMaterial}).
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_composition_seq")
+    @SequenceGenerator(name = "product_composition_seq", sequenceName = "product_composition_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -64,9 +66,40 @@ public class ProductComposition {
     private RawMaterial rawMaterial;
 
     /**
-     * Quantidade da matéria-prima necessária para fabricar <strong>1 unidade</strong> do produto.
+     * Quantidade da matéria-prima necessária para fabricar <strong>1 unidade</strong> do produto,
+     * em micro-unidades ({@code 1.0 = 1_000_000}, ver {@link MicroUnits}).
      * A unidade de medida é a mesma definida no campo {@link RawMaterial#getStockQuantity()}.
      */
-    @Column(name = "required_quantity", nullable = false)
-    private Double requiredQuantity;
+    @Column(name = "required_quantity_micros", nullable = false)
+    @JsonIgnore
+    private long requiredQuantityMicros;
+
+    /**
+     * Quantidade necessária para fabricar 1 unidade, em decimal.
+     *
+     * @return quantidade decimal convertida de {@link #getRequiredQuantityMicros()}
+     */
+    public Double getRequiredQuantity() {
+        return MicroUnits.toDouble(requiredQuantityMicros);
+    }
+
+    /**
+     * Define a quantidade necessária a partir de um valor decimal.
+     *
+     * @param requiredQuantity quantidade decimal (convertida para micro-unidades)
+     * @throws IllegalArgumentException se o valor for {@code null} ou não finito
+     */
+    public void setRequiredQuantity(Double requiredQuantity) {
+        this.requiredQuantityMicros = MicroUnits.toMicros(requiredQuantity);
+    }
+
+    /**
+     * Complemento do builder gerado pelo Lombok, aceitando a quantidade em decimal.
+     */
+    public static class ProductCompositionBuilder {
+
+        public ProductCompositionBuilder requiredQuantity(Double requiredQuantity) {
+            return requiredQuantityMicros(MicroUnits.toMicros(requiredQuantity));
+        }
+    }
 }
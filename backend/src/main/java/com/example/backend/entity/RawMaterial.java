@@ -1,8 +1,12 @@
 package com.example.backend.entity;
 
+import com.example.backend.util.MicroUnits;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.Instant;
+
 /**
  * Entidade JPA que representa uma <strong>Matéria-Prima</strong> (insumo industrial).
  *
@@ -20,7 +24,10 @@ import lombok.*;
  * @see ProductComposition
  */
 @Entity
-@Table(name = "raw_material")
+@Table(
+        name = "raw_material",
+        indexes = @Index(name = "idx_raw_material_row_version", columnList = "row_version")
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -29,10 +36,14 @@ import lombok.*;
 public class RawMaterial {
 
     /**
-     * Identificador único gerado automaticamente pelo banco de dados.
+     * Identificador único gerado pela sequence {@code raw_material_seq} (blocos de 50).
+     *
+     * <p>Sequence em vez de {@code IDENTITY}: o id é conhecido antes do {@code INSERT},
+     * o que permite ao Hibernate agrupar os inserts em lotes JDBC.</p>
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "raw_material_seq")
+    @SequenceGenerator(name = "raw_material_seq", sequenceName = "raw_material_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -49,10 +60,15 @@ public class RawMaterial {
     private String name;
 
     /**
-     * Quantidade atualmente disponível em estoque.
+     * Quantidade atualmente disponível em estoque, em micro-unidades
+     * ({@code 1.0 = 1_000_000}, ver {@link MicroUnits}).
+     *
+     * <p>Armazenada como inteiro de ponto fixo para que baixas de estoque sejam exatas.
+     * Exposta na API como decimal via {@link #getStockQuantity()}.</p>
      */
-    @Column(name = "stock_quantity", nullable = false)
-    private Double stockQuantity;
+    @Column(name = "stock_quantity_micros", nullable = false)
+    @JsonIgnore
+    private long stockQuantityMicros;
 
     /**
      * Unidade de medida da matéria-prima (ex.: {@code "kg"}, {@code "g"}, {@code "ton"}, {@code "caixas"}).
@@ -61,5 +77,46 @@ public class RawMaterial {
      */
     @Column(name = "unit_of_measure", nullable = false, length = 20)
     private String unitOfMeasure;
-}
 
+    /**
+     * Versão da última alteração (ver {@link com.example.backend.service.RowVersions}).
+     * Usada por {@code GET /api/raw-materials/changes?since=} para devolver apenas o que mudou.
+     */
+    @Column(name = "row_version", nullable = false)
+    private long rowVersion;
+
+    /**
+     * Momento da última alteração feita pela API ({@code null} para dados nunca alterados).
+     */
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    /**
+     * Quantidade atualmente disponível em estoque, na unidade de medida da matéria-prima.
+     *
+     * @return quantidade decimal convertida de {@link #getStockQuantityMicros()}
+     */
+    public Double getStockQuantity() {
+        return MicroUnits.toDouble(stockQuantityMicros);
+    }
+
+    /**
+     * Define a quantidade em estoque a partir de um valor decimal.
+     *
+     * @param stockQuantity quantidade decimal (convertida para micro-unidades)
+     * @throws IllegalArgumentException se o valor for {@code null} ou não finito
+     */
+    public void setStockQuantity(Double stockQuantity) {
+        this.stockQuantityMicros = MicroUnits.toMicros(stockQuantity);
+    }
+
+    /**
+     * Complemento do builder gerado pelo Lombok, aceitando a quantidade em decimal.
+     */
+    public static class RawMaterialBuilder {
+
+        public RawMaterialBuilder stockQuantity(Double stockQuantity) {
+            return stockQuantityMicros(MicroUnits.toMicros(stockQuantity));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.backend.entity;
+
+import com.example.backend.util.MicroUnits;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Entidade JPA que representa o <strong>estoque de uma matéria-prima em uma planta</strong> (site).
+ *
+ * <p>Mapeada para a tabela {@code site_stock}. Cada linha guarda a quantidade de uma
+ * matéria-prima em um site; o par ({@code site}, {@code raw_material_id}) é único.
+ * Como cada site possui suas próprias linhas, atualizações de estoque em plantas
+ * diferentes nunca disputam o mesmo registro.</p>
+ *
+ * <p>O campo {@link RawMaterial#getStockQuantity()} continua representando o estoque
+ * central, usado pela otimização sem site.</p>
+ *
+ * <h3>Relacionamentos</h3>
+ * <ul>
+ *   <li>{@code @ManyToOne} com {@link RawMaterial} — removida em cascata junto com a matéria-prima.</li>
+ * </ul>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see RawMaterial
+ */
+@Entity
+@Table(
+        name = "site_stock",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_site_stock_site_raw_material",
+                columnNames = {"site", "raw_material_id"}
+        )
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SiteStock {
+
+    /**
+     * Identificador único gerado automaticamente pelo banco de dados.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Código da planta / depósito (ex.: {@code "SP01"}).
+     */
+    @Column(nullable = false, length = 50)
+    private String site;
+
+    /**
+     * Matéria-prima estocada neste site.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "raw_material_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JsonIgnore
+    private RawMaterial rawMaterial;
+
+    /**
+     * Quantidade disponível neste site, em micro-unidades ({@code 1.0 = 1_000_000}, ver {@link MicroUnits}).
+     */
+    @Column(name = "quantity_micros", nullable = false)
+    @JsonIgnore
+    private long quantityMicros;
+
+    /**
+     * @return identificador da matéria-prima (sem inicializar o proxy lazy)
+     */
+    public Long getRawMaterialId() {
+        return rawMaterial != null ? rawMaterial.getId() : null;
+    }
+
+    /**
+     * Quantidade disponível neste site, na unidade de medida da matéria-prima.
+     *
+     * @return quantidade decimal convertida de {@link #getQuantityMicros()}
+     */
+    public Double getQuantity() {
+        return MicroUnits.toDouble(quantityMicros);
+    }
+
+    /**
+     * Define a quantidade disponível a partir de um valor decimal.
+     *
+     * @param quantity quantidade decimal (convertida para micro-unidades)
+     * @throws IllegalArgumentException se o valor for {@code null} ou não finito
+     */
+    public void setQuantity(Double quantity) {
+        this.quantityMicros = MicroUnits.toMicros(quantity);
+    }
+
+    /**
+     * Complemento do builder gerado pelo Lombok, aceitando a quantidade em decimal.
+     */
+    public static class SiteStockBuilder {
+
+        public SiteStockBuilder quantity(Double quantity) {
+            return quantityMicros(MicroUnits.toMicros(quantity));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.backend.entity;
+
+import com.example.backend.util.MicroUnits;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Entidade JPA que representa um <strong>lote</strong> de uma matéria-prima.
+ *
+ * <p>Mapeada para a tabela {@code stock_lot}. Usada para insumos perecíveis (ex.: Leite, Ovos):
+ * cada entrada de estoque gera um lote com quantidade e data de validade, e as baixas
+ * consomem primeiro o lote que vence antes (FEFO — <em>first-expired, first-out</em>).</p>
+ *
+ * <p>A soma dos lotes também compõe {@link RawMaterial#getStockQuantity()}; lotes vencidos
+ * continuam no estoque físico, mas são desconsiderados pela otimização de produção.</p>
+ *
+ * <h3>Relacionamentos</h3>
+ * <ul>
+ *   <li>{@code @ManyToOne} com {@link RawMaterial} — removido em cascata junto com a matéria-prima.</li>
+ * </ul>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see RawMaterial
+ * @see com.example.backend.service.LotInventory
+ */
+@Entity
+@Table(
+        name = "stock_lot",
+        indexes = @Index(name = "idx_stock_lot_raw_material", columnList = "raw_material_id")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockLot {
+
+    /**
+     * Identificador único gerado automaticamente pelo banco de dados.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Código do lote informado pelo fornecedor (ex.: {@code "LT-2026-031"}).
+     */
+    @Column(name = "lot_code", nullable = false, length = 50)
+    private String lotCode;
+
+    /**
+     * Matéria-prima à qual o lote pertence.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "raw_material_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JsonIgnore
+    private RawMaterial rawMaterial;
+
+    /**
+     * Quantidade restante no lote, em micro-unidades ({@code 1.0 = 1_000_000}, ver {@link MicroUnits}).
+     */
+    @Column(name = "quantity_micros", nullable = false)
+    @JsonIgnore
+    private long quantityMicros;
+
+    /**
+     * Último dia em que o lote pode ser utilizado. {@code null} para lotes sem validade.
+     */
+    @Column(name = "expires_at")
+    private LocalDate expiresAt;
+
+    /**
+     * Momento do recebimento do lote — critério de desempate (FIFO) entre lotes com a mesma validade.
+     */
+    @Column(name = "received_at", nullable = false)
+    private Instant receivedAt;
+
+    /**
+     * @return identificador da matéria-prima (sem inicializar o proxy lazy)
+     */
+    public Long getRawMaterialId() {
+        return rawMaterial != null ? rawMaterial.getId() : null;
+    }
+
+    /**
+     * Quantidade restante no lote, na unidade de medida da matéria-prima.
+     *
+     * @return quantidade decimal convertida de {@link #getQuantityMicros()}
+     */
+    public Double getQuantity() {
+        return MicroUnits.toDouble(quantityMicros);
+    }
+
+    /**
+     * Define a quantidade restante a partir de um valor decimal.
+     *
+     * @param quantity quantidade decimal (convertida para micro-unidades)
+     * @throws IllegalArgumentException se o valor for {@code null} ou não finito
+     */
+    public void setQuantity(Double quantity) {
+        this.quantityMicros = MicroUnits.toMicros(quantity);
+    }
+
+    /**
+     * Complemento do builder gerado pelo Lombok, aceitando a quantidade em decimal.
+     */
+    public static class StockLotBuilder {
+
+        public StockLotBuilder quantity(Double quantity) {
+            return quantityMicros(MicroUnits.toMicros(quantity));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.backend.exception;
+
+import com.example.backend.dto.BatchResponseDTO;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when an operation of {@code POST /api/batch} fails.
+ *
+ * <p>Throwing it rolls back the batch transaction; {@link GlobalExceptionHandler} answers
+ * with the status of the failed operation and the per-operation results.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ */
+public class BatchFailedException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final transient BatchResponseDTO response;
+
+    public BatchFailedException(HttpStatus status, BatchResponseDTO response) {
+        super("Batch rolled back: an operation failed with status " + status.value());
+        this.status = status;
+        this.response = response;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public BatchResponseDTO getResponse() {
+        return response;
+    }
+}
@@ -1,13 +1,17 @@
 package com.example.backend.exception;
 
+import com.example.backend.dto.BatchResponseDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.ErrorResponse;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.sql.SQLTransientConnectionException;
 import java.time.LocalDateTime;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -46,6 +50,13 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.CONFLICT, "Conflict", message);
     }
 
+    // ── 4xx — Batch (status of the failed operation) ──────────────────────────
+
+    @ExceptionHandler(BatchFailedException.class)
+    public ResponseEntity<BatchResponseDTO> handleBatchFailed(BatchFailedException ex) {
+        return ResponseEntity.status(ex.getStatus()).body(ex.getResponse());
+    }
+
     // ── 500 — Fallback ─────────────────────────────────────────────────────────
 
     @ExceptionHandler(Exception.class)
@@ -63,6 +74,25 @@ public class GlobalExceptionHandler {
             String message = parseDataIntegrityMessage(dataEx);
             return buildResponse(HttpStatus.CONFLICT, "Conflict", message);
         }
+        if (cause instanceof SQLTransientConnectionException) {
+            // Connection pool exhausted (connection-timeout elapsed) — shed load instead of failing hard
+            log.warn("No JDBC connection available: {}", cause.getMessage());
+            ResponseEntity<Map<String, Object>> response = buildResponse(
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    "Service Unavailable",
+                    "The server is busy. Please retry shortly."
+            );
+            return ResponseEntity.status(response.getStatusCode())
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(response.getBody());
+        }
+        if (cause instanceof ErrorResponse errorResponse) {
+            // Spring MVC exceptions (405, 406, 415...) already carry the proper status and headers (e.g. Allow)
+            HttpStatus status = HttpStatus.valueOf(errorResponse.getStatusCode().value());
+            return ResponseEntity.status(status)
+                    .headers(errorResponse.getHeaders())
+                    .body(buildResponse(status, status.getReasonPhrase(), cause.getMessage()).getBody());
+        }
 
         log.error("Unhandled exception", ex);
         return buildResponse(
@@ -93,7 +123,8 @@ public class GlobalExceptionHandler {
             current = current.getCause();
             if (current instanceof DuplicateCodeException
                     || current instanceof ResourceNotFoundException
-                    || current instanceof DataIntegrityViolationException) {
+                    || current instanceof DataIntegrityViolationException
+                    || current instanceof SQLTransientConnectionException) {
                 return current;
             }
             depth++;
@@ -0,0 +1,310 @@
+package com.example.backend.filter;
+
+import com.example.backend.config.AdmissionControlProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Filtro de <strong>controle de admissão</strong> para os endpoints caros (otimização e lotes).
+ *
+ * <p>Cada rota configurada em {@code app.admission.routes.*} ({@link AdmissionControlProperties})
+ * tem dois limites, verificados antes de qualquer trabalho:</p>
+ * <ul>
+ *   <li><strong>Taxa por cliente</strong> — token bucket por cliente ({@code requests-per-second} e
+ *       {@code burst}). Sem token: {@code 429 Too Many Requests} com {@code Retry-After} igual ao
+ *       tempo até o próximo token.</li>
+ *   <li><strong>Concorrência da rota</strong> — no máximo {@code max-concurrent} requisições em
+ *       andamento, somando todos os clientes. Sem vaga: {@code 503 Service Unavailable} com
+ *       {@code Retry-After: 1}, sem esperar na fila.</li>
+ * </ul>
+ *
+ * <p>O cliente é o header {@code client-header} ({@code X-Real-IP}) apenas em conexões vindas
+ * de {@code trusted-proxies}; nas demais, o endereço remoto ({@link ClientAddressResolver}).</p>
+ *
+ * <p>Requisições assíncronas (SSE) ocupam a vaga até o fim do stream, não apenas até o retorno
+ * do controller. Rotas e métodos não configurados passam sem alteração.</p>
+ *
+ * <h3>Métricas</h3>
+ * <ul>
+ *   <li>{@code admission.requests} — contador por {@code route} e {@code outcome}
+ *       ({@code admitted}, {@code rate_limited}, {@code concurrency_limited})</li>
+ *   <li>{@code admission.inflight} — requisições em andamento por {@code route}</li>
+ *   <li>{@code admission.clients} — clientes com bucket ativo por {@code route}</li>
+ *   <li>{@code admission.limit} — limites configurados por {@code route} e {@code limit}
+ *       ({@code requests_per_second}, {@code burst}, {@code max_concurrent})</li>
+ * </ul>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see AdmissionControlProperties
+ * @see com.example.backend.config.AdmissionControlConfig
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    /** Chave do bucket compartilhado pelos clientes que excedem {@code app.admission.max-clients}. */
+    static final String OVERFLOW_CLIENT = "*";
+
+    private final List<RouteLimiter> routes;
+    private final ClientAddressResolver clients;
+    private final int maxClients;
+    private final LongSupplier nanoClock;
+
+    public AdmissionControlFilter(AdmissionControlProperties properties, MeterRegistry registry) {
+        this(properties, registry, System::nanoTime);
+    }
+
+    AdmissionControlFilter(AdmissionControlProperties properties, MeterRegistry registry, LongSupplier nanoClock) {
+        this.clients = ClientAddressResolver.of(properties);
+        this.maxClients = properties.getMaxClients();
+        this.nanoClock = nanoClock;
+        this.routes = new ArrayList<>();
+        if (properties.isEnabled()) {
+            properties.getRoutes().forEach((name, route) -> routes.add(new RouteLimiter(name, route, registry)));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return route(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        RouteLimiter route = route(request);
+
+        long waitNanos = route.tryConsume(clients.resolve(request), nanoClock.getAsLong(), maxClients);
+        if (waitNanos > 0) {
+            route.rateLimited.increment();
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            writeError(response, HttpStatus.TOO_MANY_REQUESTS, retryAfter,
+                    "Rate limit exceeded for this client. Retry after " + retryAfter + " s.");
+            return;
+        }
+
+        if (route.concurrency != null && !route.concurrency.tryAcquire()) {
+            route.concurrencyLimited.increment();
+            writeError(response, HttpStatus.SERVICE_UNAVAILABLE, 1,
+                    "Too many concurrent requests for this endpoint. Please try again shortly.");
+            return;
+        }
+
+        route.admitted.increment();
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            async = request.isAsyncStarted();
+            if (async && route.concurrency != null) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(route.concurrency));
+            }
+        } finally {
+            if (!async && route.concurrency != null) {
+                route.concurrency.release();
+            }
+        }
+    }
+
+    /**
+     * Descarta os buckets cheios — equivalentes a um bucket novo — para que clientes
+     * inativos não ocupem memória.
+     */
+    @Scheduled(fixedDelayString = "${app.admission.purge-interval:PT1M}")
+    public void purgeIdleClients() {
+        long now = nanoClock.getAsLong();
+        for (RouteLimiter route : routes) {
+            route.buckets.values().removeIf(bucket -> bucket.isFull(now));
+        }
+    }
+
+    // ── Helpers ─────────────────────────────────────────────────────────────────
+
+    private RouteLimiter route(HttpServletRequest request) {
+        if (routes.isEmpty()) {
+            return null;
+        }
+        PathContainer path = PathContainer.parsePath(
+                request.getRequestURI().substring(request.getContextPath().length()));
+        for (RouteLimiter route : routes) {
+            if (route.matches(request.getMethod(), path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Escreve um corpo de erro no mesmo formato do {@code GlobalExceptionHandler}.
+     */
+    private void writeError(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"timestamp\":\"" + LocalDateTime.now()
+                + "\",\"status\":" + status.value()
+                + ",\"error\":\"" + status.getReasonPhrase()
+                + "\",\"message\":\"" + message + "\"}");
+    }
+
+    // ── Rota ────────────────────────────────────────────────────────────────────
+
+    /**
+     * Limites e estado de uma rota configurada.
+     */
+    private static final class RouteLimiter {
+
+        private final List<PathPattern> patterns;
+        private final Set<String> methods;
+        private final double requestsPerSecond;
+        private final int burst;
+        private final Semaphore concurrency;
+        private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+        private final Counter admitted;
+        private final Counter rateLimited;
+        private final Counter concurrencyLimited;
+
+        RouteLimiter(String name, AdmissionControlProperties.Route route, MeterRegistry registry) {
+            if (route.getPaths().isEmpty()) {
+                throw new IllegalArgumentException("app.admission.routes." + name + ".paths must not be empty");
+            }
+            this.patterns = route.getPaths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+            this.methods = route.getMethods().stream()
+                    .map(method -> method.trim().toUpperCase(Locale.ROOT))
+                    .collect(Collectors.toUnmodifiableSet());
+            this.requestsPerSecond = route.getRequestsPerSecond();
+            this.burst = route.getBurst() > 0 ? route.getBurst() : (int) Math.ceil(requestsPerSecond);
+            this.concurrency = route.getMaxConcurrent() > 0 ? new Semaphore(route.getMaxConcurrent()) : null;
+
+            this.admitted = counter(registry, name, "admitted");
+            this.rateLimited = counter(registry, name, "rate_limited");
+            this.concurrencyLimited = counter(registry, name, "concurrency_limited");
+            Gauge.builder("admission.clients", buckets, Map::size)
+                    .description("Clients with an active token bucket")
+                    .tag("route", name)
+                    .register(registry);
+            if (concurrency != null) {
+                int max = route.getMaxConcurrent();
+                Gauge.builder("admission.inflight", concurrency, s -> max - s.availablePermits())
+                        .description("Requests in progress")
+                        .tag("route", name)
+                        .register(registry);
+            }
+            limit(registry, name, "requests_per_second", requestsPerSecond);
+            limit(registry, name, "burst", burst);
+            limit(registry, name, "max_concurrent", route.getMaxConcurrent());
+        }
+
+        private static Counter counter(MeterRegistry registry, String route, String outcome) {
+            return Counter.builder("admission.requests")
+                    .description("Requests checked by admission control")
+                    .tag("route", route)
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
+
+        private static void limit(MeterRegistry registry, String route, String limit, double value) {
+            Gauge.builder("admission.limit", () -> value)
+                    .description("Configured admission limit (0 = unlimited)")
+                    .tag("route", route)
+                    .tag("limit", limit)
+                    .register(registry);
+        }
+
+        boolean matches(String method, PathContainer path) {
+            if (!methods.isEmpty() && !methods.contains(method)) {
+                return false;
+            }
+            for (PathPattern pattern : patterns) {
+                if (pattern.matches(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return {@code 0} se admitido; senão, nanossegundos até o próximo token do cliente
+         */
+        long tryConsume(String client, long now, int maxClients) {
+            if (requestsPerSecond <= 0) {
+                return 0;
+            }
+            TokenBucket bucket = buckets.get(client);
+            if (bucket == null) {
+                String key = buckets.size() < maxClients ? client : OVERFLOW_CLIENT;
+                bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(requestsPerSecond, burst, now));
+            }
+            return bucket.tryConsume(now);
+        }
+    }
+
+    /**
+     * Libera a vaga de uma requisição assíncrona quando ela termina (com sucesso, erro ou timeout).
+     */
+    private static final class ReleaseOnCompletion implements AsyncListener {
+
+        private final Semaphore concurrency;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleaseOnCompletion(Semaphore concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                concurrency.release();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
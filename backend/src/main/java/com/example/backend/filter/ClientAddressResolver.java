@@ -0,0 +1,62 @@
+package com.example.backend.filter;
+
+import com.example.backend.config.AdmissionControlProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+
+import java.util.List;
+
+/**
+ * Identifica o cliente de uma requisição: o {@code client-header} ({@code X-Real-IP}) quando a
+ * conexão vem de um dos {@code trusted-proxies}; caso contrário, o endereço remoto — um cliente
+ * direto não escolhe a própria identidade.
+ *
+ * <p>Usado pelo {@link AdmissionControlFilter} (bucket por cliente) e pelo
+ * {@link IdempotencyFilter} (escopo das chaves), com a configuração de {@code app.admission.*}.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see AdmissionControlProperties
+ */
+public final class ClientAddressResolver {
+
+    private final String clientHeader;
+    private final List<IpAddressMatcher> trustedProxies;
+
+    /**
+     * @param clientHeader   header com o endereço do cliente (ignorado se {@code null} ou vazio)
+     * @param trustedProxies endereços ou redes (CIDR) cujo header é aceito
+     */
+    public ClientAddressResolver(String clientHeader, List<String> trustedProxies) {
+        this.clientHeader = clientHeader;
+        this.trustedProxies = trustedProxies.stream()
+                .filter(address -> !address.isBlank())
+                .map(address -> new IpAddressMatcher(address.strip()))
+                .toList();
+    }
+
+    public static ClientAddressResolver of(AdmissionControlProperties properties) {
+        return new ClientAddressResolver(properties.getClientHeader(), properties.getTrustedProxies());
+    }
+
+    /**
+     * @return o endereço do cliente da requisição
+     */
+    public String resolve(HttpServletRequest request) {
+        String remoteAddress = request.getRemoteAddr();
+        if (clientHeader == null || clientHeader.isBlank() || !isTrustedProxy(remoteAddress)) {
+            return remoteAddress;
+        }
+        String client = request.getHeader(clientHeader);
+        return client != null && !client.isBlank() ? client.trim() : remoteAddress;
+    }
+
+    private boolean isTrustedProxy(String remoteAddress) {
+        for (IpAddressMatcher proxy : trustedProxies) {
+            if (proxy.matches(remoteAddress)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
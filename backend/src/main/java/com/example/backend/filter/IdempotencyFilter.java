@@ -0,0 +1,296 @@
+package com.example.backend.filter;
+
+import com.example.backend.entity.IdempotencyRecord;
+import com.example.backend.service.IdempotencyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Filtro que torna idempotentes as requisições {@code POST} enviadas com o header
+ * {@code Idempotency-Key}.
+ *
+ * <h3>Comportamento</h3>
+ * <ul>
+ *   <li><strong>Primeira requisição</strong> — executa normalmente e grava status, tipo e corpo
+ *       da resposta (exceto respostas {@code 5xx}, que podem ser repetidas).</li>
+ *   <li><strong>Repetição</strong> (mesma chave, mesmo método/URI/{@code Accept}/corpo) — devolve a
+ *       resposta gravada com o header {@code Idempotent-Replayed: true}, sem chegar ao controller nem
+ *       ao service.</li>
+ *   <li><strong>Mesma chave com outro conteúdo</strong> — {@code 422 Unprocessable Content}.</li>
+ *   <li><strong>Mesma chave ainda em processamento</strong> — {@code 409 Conflict}.</li>
+ * </ul>
+ *
+ * <p>As chaves valem por cliente ({@link ClientAddressResolver}): dois clientes que escolham a mesma
+ * chave não recebem a resposta um do outro. O {@code Accept} entra no fingerprint porque a resposta
+ * gravada está no formato negociado (JSON, CBOR ou Smile).</p>
+ *
+ * <p>Requisições sem o header, ou com outro método HTTP, passam sem alteração.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see IdempotencyService
+ * @see com.example.backend.config.IdempotencyConfig
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private final IdempotencyService service;
+    private final ClientAddressResolver clients;
+
+    /**
+     * Filtro com o cliente identificado apenas pelo endereço remoto.
+     */
+    public IdempotencyFilter(IdempotencyService service) {
+        this(service, new ClientAddressResolver(null, List.of()));
+    }
+
+    public IdempotencyFilter(IdempotencyService service, ClientAddressResolver clients) {
+        this.service = service;
+        this.clients = clients;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        String clientKey = request.getHeader(HEADER).trim();
+        if (clientKey.isEmpty() || clientKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, "Bad Request",
+                    "Idempotency-Key must have between 1 and " + MAX_KEY_LENGTH + " characters.");
+            return;
+        }
+        String key = scopedKey(clients.resolve(request), clientKey);
+
+        byte[] body = request.getInputStream().readAllBytes();
+        String fingerprint = fingerprint(request, body);
+
+        Optional<IdempotencyRecord> existing = service.find(key);
+        if (existing.isPresent()) {
+            replay(existing.get(), fingerprint, response);
+            return;
+        }
+
+        if (!service.tryAcquire(key)) {
+            writeError(response, HttpStatus.CONFLICT, "Conflict",
+                    "A request with this Idempotency-Key is already being processed.");
+            return;
+        }
+
+        try {
+            // Outra instância da requisição pode ter concluído entre a busca e a aquisição
+            existing = service.find(key);
+            if (existing.isPresent()) {
+                replay(existing.get(), fingerprint, response);
+                return;
+            }
+
+            ContentCachingResponseWrapper wrapped = new ContentCachingResponseWrapper(response);
+            chain.doFilter(new CachedBodyRequest(request, body), wrapped);
+
+            if (wrapped.getStatus() < 500) {
+                service.store(key, fingerprint, wrapped.getStatus(), wrapped.getContentType(),
+                        encodeBody(wrapped.getContentType(), wrapped.getContentAsByteArray()));
+            }
+            wrapped.copyBodyToResponse();
+        } finally {
+            service.release(key);
+        }
+    }
+
+    private void replay(IdempotencyRecord record, String fingerprint, HttpServletResponse response)
+            throws IOException {
+        if (!record.getFingerprint().equals(fingerprint)) {
+            writeError(response, HttpStatus.UNPROCESSABLE_CONTENT, "Unprocessable Content",
+                    "Idempotency-Key was already used with a different request.");
+            return;
+        }
+
+        response.setStatus(record.getStatusCode());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (record.getContentType() != null) {
+            response.setContentType(record.getContentType());
+        }
+        if (record.getResponseBody() != null) {
+            byte[] payload = decodeBody(record.getContentType(), record.getResponseBody());
+            response.setContentLength(payload.length);
+            response.getOutputStream().write(payload);
+        }
+    }
+
+    /**
+     * Respostas binárias ({@code application/cbor}, {@code application/x-jackson-smile}) são gravadas
+     * em Base64; as demais, como texto UTF-8.
+     */
+    static String encodeBody(String contentType, byte[] body) {
+        return isBinary(contentType)
+                ? Base64.getEncoder().encodeToString(body)
+                : new String(body, StandardCharsets.UTF_8);
+    }
+
+    static byte[] decodeBody(String contentType, String body) {
+        return isBinary(contentType)
+                ? Base64.getDecoder().decode(body)
+                : body.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static boolean isBinary(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        MediaType type = MediaType.parseMediaType(contentType);
+        return type.isCompatibleWith(MediaType.APPLICATION_CBOR)
+                || type.isCompatibleWith(SMILE);
+    }
+
+    /**
+     * Escreve um corpo de erro no mesmo formato do {@code GlobalExceptionHandler}.
+     */
+    private void writeError(HttpServletResponse response, HttpStatus status, String error, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"timestamp\":\"" + LocalDateTime.now()
+                + "\",\"status\":" + status.value()
+                + ",\"error\":\"" + error
+                + "\",\"message\":\"" + message + "\"}");
+    }
+
+    /**
+     * Chave gravada: SHA-256 do cliente e da chave enviada — tamanho fixo, qualquer que seja o
+     * endereço, e sem colisão entre clientes.
+     */
+    static String scopedKey(String client, String key) {
+        MessageDigest digest = sha256();
+        digest.update(client.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+        digest.update(key.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private String fingerprint(HttpServletRequest request, byte[] body) {
+        MessageDigest digest = sha256();
+        digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) ' ');
+        digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+        if (request.getQueryString() != null) {
+            digest.update((byte) '?');
+            digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) '\n');
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept != null) {
+            digest.update(accept.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) '\n');
+        digest.update(body);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    /**
+     * Requisição cujo corpo já foi lido pelo filtro e é servido novamente a partir da memória.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream source = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return source.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * Leitura assíncrona (Servlet 3.1): o corpo inteiro já está em memória, então o
+                 * listener é avisado na hora de que há dados e, depois de consumi-los, do fim.
+                 */
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    Objects.requireNonNull(listener, "listener");
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return source.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return source.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
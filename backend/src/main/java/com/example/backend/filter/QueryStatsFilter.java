@@ -0,0 +1,105 @@
+package com.example.backend.filter;
+
+import com.example.backend.jdbc.QueryStats;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+/**
+ * Filtro que devolve, em cada resposta, quantos comandos SQL a requisição executou e quanto
+ * tempo eles levaram no JDBC.
+ *
+ * <ul>
+ *   <li>{@code X-Query-Count} — número de comandos</li>
+ *   <li>{@code X-Query-Time} — tempo total no JDBC, em milissegundos</li>
+ * </ul>
+ *
+ * <p>Os headers são gravados antes do primeiro byte do corpo: comandos executados depois disso
+ * (ex.: carregamento lazy durante a serialização) não entram na conta. Registrado apenas fora do
+ * perfil {@code prod}.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see QueryStats
+ * @see com.example.backend.config.SqlStatsConfig
+ */
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    public static final String COUNT_HEADER = "X-Query-Count";
+    public static final String TIME_HEADER = "X-Query-Time";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        QueryStats stats = QueryStats.start();
+        StatsHeaderResponse wrapped = new StatsHeaderResponse(response, stats);
+        try {
+            chain.doFilter(request, wrapped);
+            // Respostas sem corpo (ex.: 204) não passam por getOutputStream()/getWriter()
+            wrapped.writeHeaders();
+        } finally {
+            QueryStats.clear();
+        }
+    }
+
+    /**
+     * Resposta que grava os headers no momento em que o corpo começa a ser escrito.
+     */
+    private static final class StatsHeaderResponse extends HttpServletResponseWrapper {
+
+        private final QueryStats stats;
+        private boolean written;
+
+        StatsHeaderResponse(HttpServletResponse response, QueryStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(COUNT_HEADER, Integer.toString(stats.count()));
+            setHeader(TIME_HEADER, String.format(Locale.ROOT, "%.3f", stats.nanos() / 1_000_000d));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.backend.filter;
+
+import com.example.backend.util.HttpMethods;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtro que mede, com o {@code ThreadMXBean}, o tempo de CPU e os bytes alocados pela thread
+ * durante cada requisição — incluindo a serialização da resposta.
+ *
+ * <ul>
+ *   <li>Métricas por rota: {@code http.server.requests.cpu} (timer) e
+ *       {@code http.server.requests.allocated} (bytes), com as tags {@code method}, {@code uri}
+ *       e {@code status} (métodos fora do padrão HTTP como {@code OTHER}).</li>
+ *   <li>Log de acesso: uma linha por requisição no logger {@code com.example.backend.access}.</li>
+ * </ul>
+ *
+ * <p>Só o trabalho da thread da requisição entra na conta: jobs e streams (respostas assíncronas)
+ * não são medidos. Em virtual threads a JVM não informa o tempo de CPU da thread ({@code -1}): a
+ * linha de log sai com {@code n/a} e as métricas não são registradas.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see com.example.backend.config.RequestCostConfig
+ */
+public class RequestCostFilter extends OncePerRequestFilter {
+
+    private static final Logger accessLog = LoggerFactory.getLogger("com.example.backend.access");
+
+    private final com.sun.management.ThreadMXBean threads;
+    private final boolean supported;
+    private final MeterRegistry registry;
+
+    public RequestCostFilter(MeterRegistry registry) {
+        this(registry, (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean());
+    }
+
+    RequestCostFilter(MeterRegistry registry, com.sun.management.ThreadMXBean threads) {
+        this.registry = registry;
+        this.threads = threads;
+        this.supported = threads.isCurrentThreadCpuTimeSupported() && threads.isThreadCpuTimeEnabled()
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        long cpuBefore = supported ? threads.getCurrentThreadCpuTime() : -1;
+        long allocatedBefore = supported ? threads.getCurrentThreadAllocatedBytes() : -1;
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (!request.isAsyncStarted()) {
+                // -1 quando a thread não informa (ex.: virtual thread)
+                long cpu = cpuBefore >= 0 ? threads.getCurrentThreadCpuTime() - cpuBefore : -1;
+                long allocated = allocatedBefore >= 0 ? threads.getCurrentThreadAllocatedBytes() - allocatedBefore : -1;
+                record(request, response.getStatus(), System.nanoTime() - start, cpu, allocated);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, int status, long elapsedNanos, long cpuNanos, long allocatedBytes) {
+        String route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern
+                ? pattern : HttpMethods.UNMATCHED;
+        if (cpuNanos >= 0 && allocatedBytes >= 0) {
+            Tags tags = Tags.of("method", HttpMethods.normalize(request.getMethod()), "uri", route, "status", Integer.toString(status));
+            Timer.builder("http.server.requests.cpu")
+                    .description("CPU time of the request thread")
+                    .tags(tags)
+                    .register(registry)
+                    .record(cpuNanos, TimeUnit.NANOSECONDS);
+            DistributionSummary.builder("http.server.requests.allocated")
+                    .description("Bytes allocated by the request thread")
+                    .baseUnit(BaseUnits.BYTES)
+                    .tags(tags)
+                    .register(registry)
+                    .record(allocatedBytes);
+        }
+        if (accessLog.isInfoEnabled()) {
+            accessLog.info("{} {} {} {} ms cpu={} alloc={} route={}", request.getMethod(), request.getRequestURI(),
+                    status, millis(elapsedNanos), cpuNanos >= 0 ? millis(cpuNanos) + " ms" : "n/a",
+                    allocatedBytes >= 0 ? megabytes(allocatedBytes) + " MB" : "n/a", route);
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000d);
+    }
+
+    private static String megabytes(long bytes) {
+        return String.format(Locale.ROOT, "%.2f", bytes / (1024d * 1024d));
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.backend.filter;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token bucket de um cliente: até {@code capacity} requisições em rajada, repostas a
+ * {@code tokensPerSecond}. Os tokens são recalculados a cada consulta, sem thread de reposição.
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see AdmissionControlFilter
+ */
+final class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double tokens;
+    private long lastRefill;
+
+    TokenBucket(double tokensPerSecond, int capacity, long now) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / NANOS_PER_SECOND;
+        this.tokens = capacity;
+        this.lastRefill = now;
+    }
+
+    /**
+     * Consome um token, se houver.
+     *
+     * @param now instante atual ({@link System#nanoTime()})
+     * @return {@code 0} se o token foi consumido; senão, nanossegundos até o próximo token
+     */
+    long tryConsume(long now) {
+        lock.lock();
+        try {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return {@code true} se o bucket está cheio — equivalente a um bucket novo, pode ser descartado
+     */
+    boolean isFull(long now) {
+        lock.lock();
+        try {
+            refill(now);
+            return tokens >= capacity;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill(long now) {
+        long elapsed = now - lastRefill;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+            lastRefill = now;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.backend.jdbc;
+
+/**
+ * Contadores de SQL da requisição em andamento: número de comandos executados e tempo
+ * total gasto no JDBC.
+ *
+ * <p>Os valores são acumulados pelo {@link StatementStatsDataSource} na thread que executa o
+ * comando, e apenas enquanto houver um escopo aberto por {@link #start()} — comandos de outras
+ * threads (jobs de otimização, streams) não entram na conta da requisição.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see com.example.backend.filter.QueryStatsFilter
+ */
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private int count;
+    private long nanos;
+
+    private QueryStats() {
+    }
+
+    /**
+     * Abre um escopo na thread atual, substituindo o anterior.
+     *
+     * @return contadores do novo escopo
+     */
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Fecha o escopo da thread atual.
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Registra um comando no escopo da thread atual, se houver.
+     */
+    static void record(long elapsedNanos) {
+        QueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.count++;
+            stats.nanos += elapsedNanos;
+        }
+    }
+
+    /**
+     * @return comandos executados no escopo
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * @return tempo total no JDBC, em nanossegundos
+     */
+    public long nanos() {
+        return nanos;
+    }
+}
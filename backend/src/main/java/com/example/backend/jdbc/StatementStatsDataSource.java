@@ -0,0 +1,186 @@
+package com.example.backend.jdbc;
+
+import com.example.backend.tracing.Span;
+import com.example.backend.tracing.SpanKind;
+import com.example.backend.tracing.Tracing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link DataSource} que mede cada comando SQL executado pelas conexões que entrega.
+ *
+ * <ul>
+ *   <li>Cada {@code execute*} (inclusive {@code executeBatch}) é contado e cronometrado em
+ *       {@link QueryStats}, no escopo da requisição em andamento.</li>
+ *   <li>Comandos acima de {@code app.sql.slow-query.threshold} são registrados em log
+ *       ({@code WARN}) com o SQL e a duração. Com {@code app.sql.slow-query.sample-rate} abaixo
+ *       de {@code 1.0}, apenas essa fração dos comandos lentos é registrada.</li>
+ *   <li>Dentro de um trace, cada comando vira um span {@code CLIENT} com o SQL
+ *       ({@code db.query.text}), filho do repositório que o disparou.</li>
+ * </ul>
+ *
+ * <p>Substitui o {@code spring.jpa.show-sql}, que imprimia todos os comandos. Como estende
+ * {@link DelegatingDataSource}, o Hikari continua visível para as métricas do pool.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see QueryStats
+ * @see com.example.backend.config.SqlStatsConfig
+ */
+public class StatementStatsDataSource extends DelegatingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementStatsDataSource.class);
+
+    /** Tamanho máximo do SQL guardado no span. */
+    private static final int MAX_SPAN_SQL_LENGTH = 2_000;
+
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+    private final LongSupplier nanoClock;
+    private final DoubleSupplier random;
+
+    public StatementStatsDataSource(DataSource target, Duration slowThreshold, double sampleRate) {
+        this(target, slowThreshold, sampleRate, System::nanoTime, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    StatementStatsDataSource(DataSource target, Duration slowThreshold, double sampleRate,
+                             LongSupplier nanoClock, DoubleSupplier random) {
+        super(target);
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.nanoClock = nanoClock;
+        this.random = random;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    // ── Proxies ─────────────────────────────────────────────────────────────────
+
+    /**
+     * Envolve os statements criados pela conexão; o SQL de {@code prepareStatement}/{@code prepareCall}
+     * é guardado para o log de comandos lentos.
+     */
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, method, args);
+            if (result instanceof Statement statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class
+                        : Statement.class;
+                return Proxy.newProxyInstance(getClass().getClassLoader(),
+                        new Class<?>[]{type}, new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Mede os métodos {@code execute*} do statement.
+     */
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return invokeTarget(target, method, args);
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+            Span span = startSpan(sql, method);
+            long start = nanoClock.getAsLong();
+            try {
+                return invokeTarget(target, method, args);
+            } catch (Throwable e) {
+                span.recordException(e);
+                throw e;
+            } finally {
+                long elapsed = nanoClock.getAsLong() - start;
+                QueryStats.record(elapsed);
+                span.end();
+                if (elapsed >= slowThresholdNanos && (sampleRate >= 1.0 || random.getAsDouble() < sampleRate)) {
+                    log.warn("Slow SQL ({} ms, {}): {}", elapsed / 1_000_000, method.getName(), sql);
+                }
+            }
+        }
+    }
+
+    /**
+     * Span do comando, nomeado pela operação ({@code SELECT}, {@code INSERT}...).
+     */
+    private static Span startSpan(String sql, Method method) {
+        Span span = Tracing.startSpan("SQL", SpanKind.CLIENT);
+        if (!span.isRecording()) {
+            return span;
+        }
+        String operation = "SQL";
+        if (sql != null) {
+            String trimmed = sql.stripLeading();
+            int end = 0;
+            while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+                end++;
+            }
+            if (end > 0) {
+                operation = trimmed.substring(0, end).toUpperCase(Locale.ROOT);
+            }
+        }
+        return span.updateName(operation)
+                .setAttribute("db.operation.name", operation)
+                .setAttribute("db.query.text", sql == null || sql.length() <= MAX_SPAN_SQL_LENGTH ? sql
+                        : sql.substring(0, MAX_SPAN_SQL_LENGTH) + "...")
+                .setAttribute("jdbc.method", method.getName());
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
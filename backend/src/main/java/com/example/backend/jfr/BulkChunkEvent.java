@@ -0,0 +1,34 @@
+package com.example.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de um bloco de escrita em massa: uma execução de {@code POST /api/batch} ou um lote
+ * JDBC do {@link com.example.backend.config.SyntheticDataLoader}.
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see com.example.backend.service.BatchService
+ */
+@Name("com.example.backend.BulkChunk")
+@Label("Bulk Chunk")
+@Category({"Backend", "Persistence"})
+@Description("A chunk of bulk catalog writes")
+@StackTrace(false)
+public class BulkChunkEvent extends jdk.jfr.Event {
+
+    @Label("Source")
+    @Description("Origin of the chunk: batch or synthetic")
+    public String source;
+
+    @Label("Operations")
+    public int operations;
+
+    @Label("Committed")
+    @Description("Whether every operation succeeded; constraint violations at commit time are not seen")
+    public boolean committed;
+}
@@ -0,0 +1,139 @@
+package com.example.backend.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Gravação JFR contínua da aplicação, em buffer circular limitado por idade e tamanho.
+ *
+ * <ul>
+ *   <li>Eventos da JVM conforme o perfil {@code app.jfr.settings} ({@code default} tem overhead
+ *       abaixo de 1%; {@code profile} coleta mais e custa mais).</li>
+ *   <li>Eventos da aplicação ({@code com.example.backend.*}): otimizações e fases sempre;
+ *       requisições HTTP e chamadas a repositórios apenas acima de {@code app.jfr.threshold}.</li>
+ * </ul>
+ *
+ * <p>O conteúdo do buffer é gravado em {@code app.jfr.dump-dir} sob demanda ({@link #dump()},
+ * exposto em {@code POST /actuator/jfr}) e no encerramento da aplicação. Apenas os
+ * {@code app.jfr.max-dumps} dumps mais recentes são mantidos; os anteriores são apagados.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see FlightRecordingEndpoint
+ */
+public class FlightRecording implements AutoCloseable {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+
+    /** Dumps sob demanda ({@code backend-exit.jfr} fica de fora da contagem). */
+    private static final Pattern DUMP_FILE = Pattern.compile("backend-\\d{8}-\\d{6}-\\d{3}\\.jfr");
+
+    private final Recording recording;
+    private final String settings;
+    private final Path dumpDir;
+    private final int maxDumps;
+
+    public FlightRecording(String settings, Duration threshold, Duration maxAge, long maxSizeBytes,
+                           Path dumpDir, int maxDumps) {
+        this.settings = settings;
+        this.dumpDir = dumpDir;
+        this.maxDumps = Math.max(1, maxDumps);
+        try {
+            this.recording = new Recording(Configuration.getConfiguration(settings));
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown JFR settings: " + settings, e);
+        }
+        recording.setName("backend");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSizeBytes);
+        recording.setDumpOnExit(true);
+        try {
+            Files.createDirectories(dumpDir);
+            recording.setDestination(dumpDir.resolve("backend-exit.jfr"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        recording.enable(OptimizationEvent.class);
+        recording.enable(OptimizerPhaseEvent.class);
+        recording.enable(BulkChunkEvent.class);
+        recording.enable(HttpRequestEvent.class).withThreshold(threshold);
+        recording.enable(RepositoryCallEvent.class).withThreshold(threshold);
+    }
+
+    public void start() {
+        recording.start();
+    }
+
+    /**
+     * Grava o conteúdo atual do buffer em um arquivo novo e apaga os dumps mais antigos além de
+     * {@code max-dumps}; a gravação continua.
+     *
+     * @return arquivo gerado
+     */
+    public synchronized Path dump() {
+        Path file = dumpDir.resolve("backend-" + FILE_TIMESTAMP.format(Instant.now()) + ".jfr");
+        try {
+            recording.dump(file);
+            deleteOldDumps();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return file;
+    }
+
+    private void deleteOldDumps() throws IOException {
+        List<Path> dumps;
+        try (Stream<Path> files = Files.list(dumpDir)) {
+            // O timestamp no nome ordena do mais antigo ao mais recente
+            dumps = files.filter(path -> DUMP_FILE.matcher(path.getFileName().toString()).matches())
+                    .sorted()
+                    .toList();
+        }
+        for (int i = 0; i < dumps.size() - maxDumps; i++) {
+            Files.deleteIfExists(dumps.get(i));
+        }
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("name", recording.getName());
+        status.put("state", recording.getState());
+        status.put("settings", settings);
+        status.put("startTime", recording.getStartTime());
+        status.put("maxAge", recording.getMaxAge());
+        status.put("maxSize", recording.getMaxSize());
+        status.put("dumpDir", dumpDir.toAbsolutePath().toString());
+        status.put("maxDumps", maxDumps);
+        return status;
+    }
+
+    /**
+     * Encerra a gravação, escrevendo o buffer em {@code backend-exit.jfr}.
+     */
+    @Override
+    public void close() {
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        recording.close();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.backend.jfr;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Endpoint {@code /actuator/jfr}: {@code GET} mostra o estado da gravação contínua e {@code POST}
+ * grava o buffer em disco — a imagem Docker roda sobre um JRE, sem {@code jcmd}.
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see FlightRecording
+ */
+@Endpoint(id = "jfr")
+public class FlightRecordingEndpoint {
+
+    private final FlightRecording recording;
+
+    public FlightRecordingEndpoint(FlightRecording recording) {
+        this.recording = recording;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return recording.status();
+    }
+
+    @WriteOperation
+    public Map<String, Object> dump() {
+        Path file = recording.dump();
+        return Map.of("file", file.toAbsolutePath().toString());
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Evento JFR do tratamento de uma requisição HTTP em {@code /api/*}. Por padrão só é gravado
+ * acima de {@code 5 ms} ({@code app.jfr.threshold} na gravação da aplicação).
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see RequestEventFilter
+ */
+@Name("com.example.backend.HttpRequest")
+@Label("HTTP Request")
+@Category({"Backend", "HTTP"})
+@Threshold("5 ms")
+@StackTrace(false)
+public class HttpRequestEvent extends jdk.jfr.Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("Route")
+    @Description("Matched handler pattern, e.g. /api/products/{id}")
+    public String route;
+
+    @Label("URI")
+    public String uri;
+
+    @Label("Status")
+    public int status;
+}
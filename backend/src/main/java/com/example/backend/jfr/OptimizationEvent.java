@@ -0,0 +1,42 @@
+package com.example.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de uma otimização completa; as fases aparecem como {@link OptimizerPhaseEvent}
+ * dentro do mesmo intervalo e thread.
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see com.example.backend.service.ProductionOptimizerService
+ */
+@Name("com.example.backend.Optimization")
+@Label("Optimization")
+@Category({"Backend", "Optimizer"})
+@Description("A complete production optimization run")
+@StackTrace(false)
+public class OptimizationEvent extends jdk.jfr.Event {
+
+    @Label("Mode")
+    @Description("central, site or all-sites")
+    public String mode;
+
+    @Label("Site")
+    public String site;
+
+    @Label("Products")
+    @Description("Products in the catalog")
+    public int products;
+
+    @Label("Raw Materials")
+    @Description("Raw materials in the catalog")
+    public int rawMaterials;
+
+    @Label("Outcome")
+    @Description("success, cancelled or error")
+    public String outcome;
+}
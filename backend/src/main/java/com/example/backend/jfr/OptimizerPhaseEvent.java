@@ -0,0 +1,34 @@
+package com.example.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de uma fase do otimizador de produção ({@code load}, {@code compile},
+ * {@code solve} ou {@code map}).
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see com.example.backend.service.ProductionOptimizerService
+ */
+@Name("com.example.backend.OptimizerPhase")
+@Label("Optimizer Phase")
+@Category({"Backend", "Optimizer"})
+@Description("One phase of a production optimization run")
+@StackTrace(false)
+public class OptimizerPhaseEvent extends jdk.jfr.Event {
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Site")
+    @Description("Plant being optimized; empty for the central stock or all sites")
+    public String site;
+
+    @Label("Items")
+    @Description("Rows loaded (load), products compiled (compile), products evaluated (solve) or suggestions built (map)")
+    public int items;
+}
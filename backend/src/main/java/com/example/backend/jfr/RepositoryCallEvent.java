@@ -0,0 +1,37 @@
+package com.example.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Evento JFR de uma chamada a um repositório Spring Data. Por padrão só é gravado acima de
+ * {@code 5 ms} ({@code app.jfr.threshold} na gravação da aplicação).
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see RepositoryEventAspect
+ */
+@Name("com.example.backend.RepositoryCall")
+@Label("Repository Call")
+@Category({"Backend", "Persistence"})
+@Threshold("5 ms")
+@StackTrace(false)
+public class RepositoryCallEvent extends jdk.jfr.Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Results")
+    @Description("Elements returned by collection results; -1 for other results")
+    public int results;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -0,0 +1,46 @@
+package com.example.backend.jfr;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+import java.util.Collection;
+
+/**
+ * Grava um {@link RepositoryCallEvent} para cada chamada a um repositório Spring Data.
+ *
+ * <p>Com o evento desabilitado (nenhuma gravação ativa) o custo se resume à própria interceptação:
+ * o evento não é montado.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see com.example.backend.config.FlightRecorderConfig
+ */
+@Aspect
+public class RepositoryEventAspect {
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object record(ProceedingJoinPoint call) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return call.proceed();
+        }
+        event.begin();
+        Object result = null;
+        boolean failed = true;
+        try {
+            result = call.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = call.getSignature().getDeclaringType().getSimpleName();
+                event.method = call.getSignature().getName();
+                event.results = result instanceof Collection<?> collection ? collection.size() : -1;
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.backend.latency;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Histogramas de latência por rota ({@code GET /api/products/{id}}), em HdrHistogram com
+ * resolução de microssegundos e 3 dígitos significativos.
+ *
+ * <p>As requisições gravam em um {@link Recorder} por rota: a escrita é wait-free, sem trava
+ * entre as threads do servidor. A cada {@code app.latency.interval} o {@link #roll()} troca o
+ * histograma de gravação — o que foi fechado vira a visão de intervalo e é somado à visão
+ * acumulada (desde a subida da aplicação).</p>
+ *
+ * <p><strong>Coordinated omission:</strong> enquanto uma requisição lenta está em andamento, as
+ * que chegariam atrás dela não são medidas, e os percentis ficam otimistas. Com
+ * {@code app.latency.expected-interval} maior que zero, cada visão traz também a versão corrigida
+ * ({@link Histogram#copyCorrectedForCoordinatedOmission(long)}), que preenche as amostras que um
+ * cliente enviando nesse intervalo teria visto. A gravação é sempre a bruta.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see LatencyFilter
+ * @see LatencyEndpoint
+ */
+public class EndpointLatencies {
+
+    /** Maior latência registrada, em microssegundos; valores acima são truncados. */
+    static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final ConcurrentMap<String, Route> routes = new ConcurrentHashMap<>();
+    private final long expectedIntervalMicros;
+    private final Instant startedAt = Instant.now();
+
+    private volatile Instant intervalStart;
+    private volatile Instant intervalEnd;
+
+    public EndpointLatencies(Duration expectedInterval) {
+        this.expectedIntervalMicros = TimeUnit.NANOSECONDS.toMicros(expectedInterval.toNanos());
+    }
+
+    /**
+     * Registra a latência de uma requisição.
+     *
+     * @param route método e padrão da rota (ex.: {@code "GET /api/products"})
+     * @param nanos duração, em nanossegundos
+     */
+    public void record(String route, long nanos) {
+        Route histograms = routes.get(route);
+        if (histograms == null) {
+            histograms = routes.computeIfAbsent(route, key -> new Route());
+        }
+        histograms.recorder.recordValue(Math.clamp(TimeUnit.NANOSECONDS.toMicros(nanos), 0, HIGHEST_MICROS));
+    }
+
+    /**
+     * Fecha o intervalo corrente de todas as rotas.
+     */
+    @Scheduled(fixedRateString = "${app.latency.interval:PT1M}",
+            initialDelayString = "${app.latency.interval:PT1M}")
+    public void roll() {
+        Instant now = Instant.now();
+        for (Route route : routes.values()) {
+            route.roll();
+        }
+        intervalStart = intervalEnd != null ? intervalEnd : startedAt;
+        intervalEnd = now;
+    }
+
+    /**
+     * Percentis por rota, em milissegundos: {@code interval} é o último intervalo fechado e
+     * {@code cumulative} soma todos os intervalos fechados desde a subida.
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> interval = new TreeMap<>();
+        Map<String, Object> cumulative = new TreeMap<>();
+        routes.forEach((name, route) -> {
+            Histogram[] copies = route.copies();
+            if (copies[0] != null && copies[0].getTotalCount() > 0) {
+                interval.put(name, summarize(copies[0]));
+            }
+            if (copies[1].getTotalCount() > 0) {
+                cumulative.put(name, summarize(copies[1]));
+            }
+        });
+
+        Map<String, Object> intervalView = new LinkedHashMap<>();
+        intervalView.put("from", intervalStart);
+        intervalView.put("to", intervalEnd);
+        intervalView.put("routes", interval);
+
+        Map<String, Object> cumulativeView = new LinkedHashMap<>();
+        cumulativeView.put("from", startedAt);
+        cumulativeView.put("to", intervalEnd);
+        cumulativeView.put("routes", cumulative);
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("unit", "ms");
+        snapshot.put("expectedIntervalMs", expectedIntervalMicros / 1000.0);
+        snapshot.put("interval", intervalView);
+        snapshot.put("cumulative", cumulativeView);
+        return snapshot;
+    }
+
+    private Map<String, Object> summarize(Histogram histogram) {
+        Map<String, Object> summary = percentiles(histogram);
+        summary.put("mean", millis(histogram.getMean()));
+        if (expectedIntervalMicros > 0) {
+            summary.put("corrected", percentiles(histogram.copyCorrectedForCoordinatedOmission(expectedIntervalMicros)));
+        }
+        return summary;
+    }
+
+    private static Map<String, Object> percentiles(Histogram histogram) {
+        Map<String, Object> percentiles = new LinkedHashMap<>();
+        percentiles.put("count", histogram.getTotalCount());
+        percentiles.put("p50", millis(histogram.getValueAtPercentile(50.0)));
+        percentiles.put("p90", millis(histogram.getValueAtPercentile(90.0)));
+        percentiles.put("p99", millis(histogram.getValueAtPercentile(99.0)));
+        percentiles.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+        percentiles.put("max", millis(histogram.getMaxValue()));
+        return percentiles;
+    }
+
+    private static double millis(double micros) {
+        return Math.round(micros) / 1000.0;
+    }
+
+    /**
+     * Histogramas de uma rota. O {@link Recorder} dispensa trava na gravação; a troca de
+     * intervalo e a cópia para leitura são sincronizadas entre si.
+     */
+    private static final class Route {
+
+        private final Recorder recorder = new Recorder(HIGHEST_MICROS, SIGNIFICANT_DIGITS);
+        private final Histogram cumulative = new Histogram(HIGHEST_MICROS, SIGNIFICANT_DIGITS);
+        private Histogram interval;
+        private Histogram recycled;
+
+        synchronized void roll() {
+            Histogram closed = recorder.getIntervalHistogram(recycled);
+            cumulative.add(closed);
+            recycled = interval;
+            interval = closed;
+        }
+
+        synchronized Histogram[] copies() {
+            return new Histogram[]{interval != null ? interval.copy() : null, cumulative.copy()};
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.backend.latency;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Map;
+
+/**
+ * Endpoint {@code /actuator/latency}: percentis de latência por rota, do último intervalo
+ * fechado e acumulados desde a subida, brutos e corrigidos para coordinated omission.
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see EndpointLatencies
+ */
+@Endpoint(id = "latency")
+public class LatencyEndpoint {
+
+    private final EndpointLatencies latencies;
+
+    public LatencyEndpoint(EndpointLatencies latencies) {
+        this.latencies = latencies;
+    }
+
+    @ReadOperation
+    public Map<String, Object> latencies() {
+        return latencies.snapshot();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.backend.latency;
+
+import com.example.backend.util.HttpMethods;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Filtro que registra a latência de cada requisição em {@link EndpointLatencies}, agrupada pelo
+ * método e pelo padrão do handler ({@code GET /api/products/{id}}). Requisições que não chegam a
+ * um handler (404, 429 do admission control) vão para {@code "<método> UNMATCHED"}, a mesma rota das
+ * métricas por rota. Métodos fora do padrão HTTP entram como {@code OTHER} ({@link HttpMethods}), para
+ * que o cliente não crie rotas.
+ *
+ * <p>Respostas assíncronas (SSE, streams de otimização) não são registradas: o despacho inicial
+ * mede só a abertura do stream, não o tempo até a resposta.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see com.example.backend.config.LatencyConfig
+ */
+public class LatencyFilter extends OncePerRequestFilter {
+
+    private final EndpointLatencies latencies;
+
+    public LatencyFilter(EndpointLatencies latencies) {
+        this.latencies = latencies;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (!request.isAsyncStarted()) {
+                latencies.record(routeOf(request), System.nanoTime() - start);
+            }
+        }
+    }
+
+    static String routeOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return HttpMethods.normalize(request.getMethod()) + " " + (pattern instanceof String route ? route : HttpMethods.UNMATCHED);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.CatalogTombstone;
+import com.example.backend.service.CatalogVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface CatalogTombstoneRepository extends JpaRepository<CatalogTombstone, Long> {
+
+    /**
+     * Returns the tombstones of one table with {@code since < rowVersion <= until}.
+     */
+    @Query("SELECT t FROM CatalogTombstone t WHERE t.tableName = :table "
+            + "AND t.rowVersion > :since AND t.rowVersion <= :until ORDER BY t.rowVersion")
+    List<CatalogTombstone> findChanges(@Param("table") CatalogVersion.Table table,
+                                       @Param("since") long since,
+                                       @Param("until") long until);
+
+    /**
+     * Highest version among tombstones deleted before the cutoff, or {@code null} if there are none.
+     */
+    @Query("SELECT MAX(t.rowVersion) FROM CatalogTombstone t WHERE t.deletedAt < :cutoff")
+    Long findMaxRowVersionDeletedBefore(@Param("cutoff") Instant cutoff);
+
+    /**
+     * Removes every tombstone up to the given version.
+     *
+     * @return number of tombstones removed
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CatalogTombstone t WHERE t.rowVersion <= :version")
+    int deleteUpTo(@Param("version") long version);
+}
@@ -2,8 +2,11 @@ package com.example.backend.repository;
 
 import com.example.backend.entity.ProductComposition;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,5 +15,22 @@ public interface ProductCompositionRepository extends JpaRepository<ProductCompo
     List<ProductComposition> findByProductId(Long productId);
 
     void deleteByProductId(Long productId);
-}
 
+    /**
+     * Returns every composition with its raw material in a single query.
+     */
+    @Query("SELECT c FROM ProductComposition c JOIN FETCH c.rawMaterial ORDER BY c.id")
+    List<ProductComposition> findAllWithRawMaterial();
+
+    /**
+     * Returns the compositions of the given products with their raw materials in a single query.
+     */
+    @Query("SELECT c FROM ProductComposition c JOIN FETCH c.rawMaterial WHERE c.product.id IN :productIds ORDER BY c.id")
+    List<ProductComposition> findWithRawMaterialByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Returns the compositions of the given products; the raw material stays an unloaded reference.
+     */
+    @Query("SELECT c FROM ProductComposition c WHERE c.product.id IN :productIds ORDER BY c.id")
+    List<ProductComposition> findByProductIds(@Param("productIds") Collection<Long> productIds);
+}
@@ -0,0 +1,18 @@
+package com.example.backend.repository;
+
+import java.util.List;
+
+/**
+ * Custom fragment of {@link ProductRepository} for queries whose select list is chosen at runtime.
+ */
+public interface ProductProjections {
+
+    /**
+     * Selects only the given attributes of {@code Product}, ordered by id.
+     *
+     * @param attributes entity attribute names, in the order of the returned columns
+     * @param id         restricts the result to one product; {@code null} returns all of them
+     * @return one array per product, with the values in the order of {@code attributes}
+     */
+    List<Object[]> findColumns(List<String> attributes, Long id);
+}
@@ -0,0 +1,40 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.List;
+
+/**
+ * Criteria implementation of {@link ProductProjections}, picked up by Spring Data by its {@code Impl} suffix.
+ */
+class ProductProjectionsImpl implements ProductProjections {
+
+    private final EntityManager entityManager;
+
+    ProductProjectionsImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Object[]> findColumns(List<String> attributes, Long id) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Product> product = query.from(Product.class);
+
+        List<Selection<?>> selections = attributes.stream()
+                .<Selection<?>>map(product::get)
+                .toList();
+        query.multiselect(selections);
+        if (id != null) {
+            query.where(cb.equal(product.get("id"), id));
+        }
+        query.orderBy(cb.asc(product.get("id")));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+}
@@ -2,15 +2,30 @@ package com.example.backend.repository;
 
 import com.example.backend.entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductProjections {
 
     Optional<Product> findByCode(String code);
 
     boolean existsByCode(String code);
+
+    /**
+     * Returns every product with its compositions and their raw materials in a single query, ordered by id.
+     */
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.compositions c LEFT JOIN FETCH c.rawMaterial ORDER BY p.id")
+    List<Product> findAllWithCompositions();
+
+    /**
+     * Returns the products written with {@code since < rowVersion <= until}, oldest change first.
+     */
+    @Query("SELECT p FROM Product p WHERE p.rowVersion > :since AND p.rowVersion <= :until ORDER BY p.rowVersion")
+    List<Product> findChanges(@Param("since") long since, @Param("until") long until);
 }
 
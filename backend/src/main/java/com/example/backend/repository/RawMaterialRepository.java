@@ -2,9 +2,13 @@ package com.example.backend.repository;
 
 import com.example.backend.entity.RawMaterial;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -15,10 +19,28 @@ public interface RawMaterialRepository extends JpaRepository<RawMaterial, Long>
     boolean existsByCode(String code);
 
     /**
-     * Returns the highest code matching the pattern 'MP___' (e.g. MP001, MP999).
-     * Used to generate the next sequential code for new raw materials.
+     * Returns every code starting with the given prefix (e.g. MP001, MP999, MP1000).
+     * Used once per prefix to seed the code sequence for new raw materials.
      */
-    @Query("SELECT MAX(r.code) FROM RawMaterial r WHERE r.code LIKE 'MP%'")
-    Optional<String> findMaxCodeWithPrefix();
-}
+    @Query("SELECT r.code FROM RawMaterial r WHERE r.code LIKE CONCAT(:prefix, '%')")
+    List<String> findCodesStartingWith(@Param("prefix") String prefix);
+
+    /**
+     * Returns the raw materials written with {@code since < rowVersion <= until}, oldest change first.
+     */
+    @Query("SELECT r FROM RawMaterial r WHERE r.rowVersion > :since AND r.rowVersion <= :until ORDER BY r.rowVersion")
+    List<RawMaterial> findChanges(@Param("since") long since, @Param("until") long until);
 
+    /**
+     * Adds {@code delta} (micro-units) to the central stock in one statement, refusing to go below zero.
+     * Also stamps the row with the given row version, since bulk updates skip the entity.
+     *
+     * @return number of rows updated — {@code 0} if the raw material does not exist or the stock would become negative
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE RawMaterial r SET r.stockQuantityMicros = r.stockQuantityMicros + :delta, "
+            + "r.rowVersion = :version, r.updatedAt = :now "
+            + "WHERE r.id = :id AND r.stockQuantityMicros + :delta >= 0")
+    int adjustStock(@Param("id") Long id, @Param("delta") long delta,
+                    @Param("version") long version, @Param("now") Instant now);
+}
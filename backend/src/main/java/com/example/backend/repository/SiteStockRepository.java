@@ -0,0 +1,57 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.SiteStock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SiteStockRepository extends JpaRepository<SiteStock, Long> {
+
+    List<SiteStock> findBySite(String site);
+
+    List<SiteStock> findByRawMaterial_IdOrderBySite(Long rawMaterialId);
+
+    Optional<SiteStock> findBySiteAndRawMaterial_Id(String site, Long rawMaterialId);
+
+    /**
+     * Sets the quantity of a site row, inserting it if it does not exist, in one statement and its
+     * own transaction. Two concurrent calls for a new row may still both take the insert branch;
+     * the loser fails on the unique {@code (site, raw_material_id)} key and can simply run again.
+     *
+     * @return number of rows written — always {@code 1}
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(value = "MERGE INTO site_stock s "
+            + "USING (VALUES (CAST(:site AS VARCHAR(50)), CAST(:rawMaterialId AS BIGINT), CAST(:quantity AS BIGINT))) "
+            + "AS v (site, raw_material_id, quantity_micros) "
+            + "ON s.site = v.site AND s.raw_material_id = v.raw_material_id "
+            + "WHEN MATCHED THEN UPDATE SET quantity_micros = v.quantity_micros "
+            + "WHEN NOT MATCHED THEN INSERT (site, raw_material_id, quantity_micros) "
+            + "VALUES (v.site, v.raw_material_id, v.quantity_micros)",
+            nativeQuery = true)
+    int upsert(@Param("site") String site,
+               @Param("rawMaterialId") Long rawMaterialId,
+               @Param("quantity") long quantityMicros);
+
+    /**
+     * Adds {@code delta} to a single site row in one statement, refusing to go below zero.
+     * Only the targeted row is locked, so writes on different sites never contend.
+     *
+     * @return number of rows updated — {@code 0} if the row does not exist or the stock would become negative
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE SiteStock s SET s.quantityMicros = s.quantityMicros + :delta "
+            + "WHERE s.site = :site AND s.rawMaterial.id = :rawMaterialId "
+            + "AND s.quantityMicros + :delta >= 0")
+    int adjust(@Param("site") String site,
+               @Param("rawMaterialId") Long rawMaterialId,
+               @Param("delta") long delta);
+}
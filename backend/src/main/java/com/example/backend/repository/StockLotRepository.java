@@ -0,0 +1,30 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.StockLot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StockLotRepository extends JpaRepository<StockLot, Long> {
+
+    List<StockLot> findByRawMaterial_IdOrderByExpiresAtAscReceivedAtAsc(Long rawMaterialId);
+
+    List<StockLot> findByRawMaterial_IdAndQuantityMicrosGreaterThan(Long rawMaterialId, long quantityMicros);
+
+    List<StockLot> findByQuantityMicrosGreaterThan(long quantityMicros);
+
+    /**
+     * Deducts {@code quantity} from a lot in one statement, refusing to go below zero.
+     *
+     * @return number of rows updated — {@code 0} if the lot does not hold enough quantity
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE StockLot l SET l.quantityMicros = l.quantityMicros - :quantity "
+            + "WHERE l.id = :id AND l.quantityMicros >= :quantity")
+    int consume(@Param("id") Long id, @Param("quantity") long quantity);
+}
@@ -0,0 +1,330 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.BatchOperationDTO;
+import com.example.backend.dto.BatchRequestDTO;
+import com.example.backend.dto.BatchResponseDTO;
+import com.example.backend.dto.BatchResultDTO;
+import com.example.backend.dto.ProductDTO;
+import com.example.backend.dto.RawMaterialDTO;
+import com.example.backend.entity.Product;
+import com.example.backend.entity.RawMaterial;
+import com.example.backend.exception.BatchFailedException;
+import com.example.backend.exception.DuplicateCodeException;
+import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.jfr.BulkChunkEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Executa as operações de {@code POST /api/batch} — criações, alterações e remoções de
+ * matérias-primas e produtos — em uma <strong>única transação</strong>.
+ *
+ * <p>Cada operação é delegada ao {@link RawMaterialService} ou ao {@link ProductService}, com as
+ * mesmas validações das chamadas individuais. Na primeira falha a transação é desfeita e a
+ * resposta traz o resultado de cada operação ({@link BatchFailedException}).</p>
+ *
+ * <h3>Lotes JDBC</h3>
+ * <p>Durante o lote o {@link EntityManager} usa {@link FlushModeType#COMMIT}: a consulta de
+ * validação {@code existsByCode} não força um flush a cada operação, e os
+ * {@code INSERT}/{@code UPDATE}/{@code DELETE} são enviados no commit, agrupados em lotes de
+ * {@code hibernate.jdbc.batch_size}. Como essa consulta não enxerga o que o próprio lote ainda
+ * não gravou, códigos e remoções das operações anteriores são conferidos aqui; a existência de um
+ * registro é verificada pelo contexto de persistência ({@code findById}), que já os enxerga.</p>
+ *
+ * <p>Um código liberado por uma operação anterior (renomeação ou remoção) só é reaproveitado
+ * depois de um flush: assim {@code existsByCode} não acusa um conflito que o lote já desfez, e o
+ * {@code UPDATE}/{@code DELETE} que libera o código chega ao banco antes do comando que o ocupa.</p>
+ *
+ * <p>Violações de constraint detectadas apenas no commit (ex.: remover uma matéria-prima usada
+ * em um produto) desfazem o lote inteiro e são respondidas pelo
+ * {@link com.example.backend.exception.GlobalExceptionHandler} com {@code 409}.</p>
+ *
+ * <p>Cada execução é gravada no JFR como um {@link BulkChunkEvent} (o tempo do flush no commit
+ * fica de fora, pois acontece depois do retorno).</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see com.example.backend.controller.BatchController
+ * @see BatchRequestDTO
+ */
+@Service
+public class BatchService {
+
+    private final RawMaterialService rawMaterialService;
+    private final ProductService productService;
+    private final EntityManager entityManager;
+    private final int maxOperations;
+
+    public BatchService(RawMaterialService rawMaterialService,
+                        ProductService productService,
+                        EntityManager entityManager,
+                        @Value("${app.batch.max-operations:200}") int maxOperations) {
+        this.rawMaterialService = rawMaterialService;
+        this.productService = productService;
+        this.entityManager = entityManager;
+        this.maxOperations = maxOperations;
+    }
+
+    /**
+     * Executa as operações na ordem recebida.
+     *
+     * @param request operações do lote
+     * @return um resultado por operação, com {@code committed = true}
+     * @throws IllegalArgumentException se o lote estiver vazio ou exceder {@code app.batch.max-operations}
+     * @throws BatchFailedException     se uma operação falhar (nada é aplicado)
+     */
+    @Transactional
+    public BatchResponseDTO execute(BatchRequestDTO request) {
+        List<BatchOperationDTO> operations = request != null ? request.getOperations() : null;
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("A batch must contain at least one operation.");
+        }
+        if (operations.size() > maxOperations) {
+            throw new IllegalArgumentException("A batch accepts at most " + maxOperations + " operations.");
+        }
+
+        BulkChunkEvent chunk = new BulkChunkEvent();
+        chunk.begin();
+        boolean completed = false;
+        FlushModeType previousFlushMode = entityManager.getFlushMode();
+        entityManager.setFlushMode(FlushModeType.COMMIT);
+        try {
+            BatchState state = new BatchState();
+            List<BatchResultDTO> results = new ArrayList<>(operations.size());
+            for (int index = 0; index < operations.size(); index++) {
+                BatchOperationDTO operation = operations.get(index);
+                try {
+                    results.add(apply(index, operation, state));
+                } catch (RuntimeException e) {
+                    HttpStatus status = statusOf(e);
+                    if (status == null) {
+                        throw e;
+                    }
+                    results.add(BatchResultDTO.builder()
+                            .index(index)
+                            .status(status.value())
+                            .id(operation != null ? operation.getId() : null)
+                            .error(e.getMessage())
+                            .build());
+                    skipRemaining(index, operations.size(), results);
+                    throw new BatchFailedException(status, new BatchResponseDTO(false, results));
+                }
+            }
+            completed = true;
+            return new BatchResponseDTO(true, results);
+        } finally {
+            entityManager.setFlushMode(previousFlushMode);
+            chunk.end();
+            if (chunk.shouldCommit()) {
+                chunk.source = "batch";
+                chunk.operations = operations.size();
+                chunk.committed = completed;
+                chunk.commit();
+            }
+        }
+    }
+
+    // ── Operações ───────────────────────────────────────────────────────────────
+
+    private BatchResultDTO apply(int index, BatchOperationDTO operation, BatchState state) {
+        if (operation == null || operation.getOp() == null || operation.getResource() == null) {
+            throw new IllegalArgumentException("Each operation must define 'op' and 'resource'.");
+        }
+        if (operation.getOp() != BatchOperationDTO.Op.CREATE && operation.getId() == null) {
+            throw new IllegalArgumentException("'id' is required for " + operation.getOp() + ".");
+        }
+        return switch (operation.getResource()) {
+            case RAW_MATERIAL -> applyRawMaterial(index, operation, state);
+            case PRODUCT -> applyProduct(index, operation, state);
+        };
+    }
+
+    private BatchResultDTO applyRawMaterial(int index, BatchOperationDTO operation, BatchState state) {
+        CatalogVersion.Table table = CatalogVersion.Table.RAW_MATERIAL;
+        Long id = operation.getId();
+        switch (operation.getOp()) {
+            case CREATE -> {
+                RawMaterialDTO dto = required(operation.getRawMaterial(), "rawMaterial");
+                state.checkCode(table, dto.getCode(), null);
+                flushIfReleased(state, table, dto.getCode());
+                RawMaterial saved = rawMaterialService.create(dto);
+                state.claimCode(table, saved.getCode(), saved.getId());
+                return success(index, HttpStatus.CREATED, saved.getId(), saved);
+            }
+            case UPDATE -> {
+                RawMaterialDTO dto = required(operation.getRawMaterial(), "rawMaterial");
+                state.checkCode(table, dto.getCode(), id);
+                flushIfReleased(state, table, dto.getCode());
+                String previousCode = codeOf(entityManager.find(RawMaterial.class, id));
+                RawMaterial saved = rawMaterialService.update(id, dto);
+                state.claimCode(table, saved.getCode(), id);
+                state.release(table, previousCode, saved.getCode());
+                return success(index, HttpStatus.OK, id, saved);
+            }
+            default -> {
+                state.checkNotDeleted(table, id);
+                String previousCode = codeOf(entityManager.find(RawMaterial.class, id));
+                rawMaterialService.delete(id);
+                state.markDeleted(table, id);
+                state.release(table, previousCode, null);
+                return success(index, HttpStatus.NO_CONTENT, id, null);
+            }
+        }
+    }
+
+    private BatchResultDTO applyProduct(int index, BatchOperationDTO operation, BatchState state) {
+        CatalogVersion.Table table = CatalogVersion.Table.PRODUCT;
+        Long id = operation.getId();
+        switch (operation.getOp()) {
+            case CREATE -> {
+                ProductDTO dto = required(operation.getProduct(), "product");
+                state.checkCode(table, dto.getCode(), null);
+                flushIfReleased(state, table, dto.getCode());
+                Product saved = productService.create(dto);
+                state.claimCode(table, saved.getCode(), saved.getId());
+                return success(index, HttpStatus.CREATED, saved.getId(), saved);
+            }
+            case UPDATE -> {
+                ProductDTO dto = required(operation.getProduct(), "product");
+                state.checkCode(table, dto.getCode(), id);
+                flushIfReleased(state, table, dto.getCode());
+                String previousCode = codeOf(entityManager.find(Product.class, id));
+                Product saved = productService.update(id, dto);
+                state.claimCode(table, saved.getCode(), id);
+                state.release(table, previousCode, saved.getCode());
+                return success(index, HttpStatus.OK, id, saved);
+            }
+            default -> {
+                state.checkNotDeleted(table, id);
+                String previousCode = codeOf(entityManager.find(Product.class, id));
+                productService.delete(id);
+                state.markDeleted(table, id);
+                state.release(table, previousCode, null);
+                return success(index, HttpStatus.NO_CONTENT, id, null);
+            }
+        }
+    }
+
+    // ── Helpers ─────────────────────────────────────────────────────────────────
+
+    /** Envia os comandos pendentes antes de reaproveitar um código liberado no próprio lote. */
+    private void flushIfReleased(BatchState state, CatalogVersion.Table table, String code) {
+        if (state.isReleased(table, code)) {
+            entityManager.flush();
+            state.flushed();
+        }
+    }
+
+    private static String codeOf(Object entity) {
+        return switch (entity) {
+            case RawMaterial rawMaterial -> rawMaterial.getCode();
+            case Product product -> product.getCode();
+            case null, default -> null;
+        };
+    }
+
+    private static <T> T required(T body, String field) {
+        if (body == null) {
+            throw new IllegalArgumentException("'" + field + "' is required for this operation.");
+        }
+        return body;
+    }
+
+    private static BatchResultDTO success(int index, HttpStatus status, Long id, Object body) {
+        return BatchResultDTO.builder().index(index).status(status.value()).id(id).body(body).build();
+    }
+
+    private static void skipRemaining(int failedIndex, int size, List<BatchResultDTO> results) {
+        for (int index = failedIndex + 1; index < size; index++) {
+            results.add(BatchResultDTO.builder()
+                    .index(index)
+                    .status(HttpStatus.FAILED_DEPENDENCY.value())
+                    .error("Not executed: operation " + failedIndex + " failed.")
+                    .build());
+        }
+    }
+
+    /**
+     * @return status equivalente ao da chamada individual, ou {@code null} para erros inesperados
+     *         (que seguem para o tratamento padrão, com {@code 500})
+     */
+    private static HttpStatus statusOf(RuntimeException e) {
+        if (e instanceof ResourceNotFoundException) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (e instanceof DuplicateCodeException || e instanceof DataIntegrityViolationException) {
+            return HttpStatus.CONFLICT;
+        }
+        if (e instanceof IllegalArgumentException) {
+            return HttpStatus.BAD_REQUEST;
+        }
+        return null;
+    }
+
+    /**
+     * O que as operações anteriores do lote já fizeram e o banco ainda não enxerga
+     * (os comandos só são enviados no commit).
+     */
+    private static final class BatchState {
+
+        private final Map<CatalogVersion.Table, Map<String, Long>> codeOwners = new EnumMap<>(CatalogVersion.Table.class);
+        private final Map<CatalogVersion.Table, Set<Long>> deleted = new EnumMap<>(CatalogVersion.Table.class);
+        private final Map<CatalogVersion.Table, Set<String>> released = new EnumMap<>(CatalogVersion.Table.class);
+
+        void checkCode(CatalogVersion.Table table, String code, Long id) {
+            Long owner = codeOwners.getOrDefault(table, Map.of()).get(code);
+            if (owner != null && !owner.equals(id)) {
+                String label = table == CatalogVersion.Table.PRODUCT ? "Product" : "Raw material";
+                throw new DuplicateCodeException(
+                        label + " with code '" + code + "' already exists. Please use a different code.");
+            }
+        }
+
+        void claimCode(CatalogVersion.Table table, String code, Long id) {
+            Map<String, Long> owners = codeOwners.computeIfAbsent(table, t -> new HashMap<>());
+            owners.values().remove(id);
+            owners.put(code, id);
+        }
+
+        void checkNotDeleted(CatalogVersion.Table table, Long id) {
+            if (deleted.getOrDefault(table, Set.of()).contains(id)) {
+                String label = table == CatalogVersion.Table.PRODUCT ? "Product" : "Raw Material";
+                throw new ResourceNotFoundException(label + " not found with id: " + id);
+            }
+        }
+
+        void markDeleted(CatalogVersion.Table table, Long id) {
+            deleted.computeIfAbsent(table, t -> new HashSet<>()).add(id);
+            codeOwners.getOrDefault(table, new HashMap<>()).values().remove(id);
+        }
+
+        /** Registra que {@code previousCode} deixou de ser usado, se foi trocado por {@code newCode}. */
+        void release(CatalogVersion.Table table, String previousCode, String newCode) {
+            if (previousCode != null && !previousCode.equals(newCode)) {
+                released.computeIfAbsent(table, t -> new HashSet<>()).add(previousCode);
+            }
+        }
+
+        boolean isReleased(CatalogVersion.Table table, String code) {
+            return released.getOrDefault(table, Set.of()).contains(code);
+        }
+
+        /** Depois de um flush o banco já enxerga os códigos liberados. */
+        void flushed() {
+            released.clear();
+        }
+    }
+}
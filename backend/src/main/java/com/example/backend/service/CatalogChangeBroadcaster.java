@@ -0,0 +1,366 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.CatalogChangeDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Distribui as alterações do catálogo aos clientes inscritos via <strong>Server-Sent Events</strong>.
+ *
+ * <p>Os serviços chamam {@link #publish} dentro da transação; o evento só é distribuído
+ * <strong>após o commit</strong> (um rollback descarta o evento).</p>
+ *
+ * <h3>Custo por cliente</h3>
+ * <ul>
+ *   <li>Um cliente ocioso é apenas uma conexão assíncrona e uma fila vazia — nenhuma thread.</li>
+ *   <li>A entrega a cada cliente roda em uma virtual thread criada somente quando há eventos na
+ *       fila dele; um cliente lento nunca atrasa os demais nem quem publica.</li>
+ *   <li>A fila de cada cliente tem tamanho fixo ({@code app.changes.buffer-size}). No estouro,
+ *       os eventos pendentes são descartados e o cliente recebe um único evento {@code resync},
+ *       indicando que deve recarregar as listas.</li>
+ *   <li>O número de inscritos é limitado por {@code app.changes.max-subscribers}.</li>
+ * </ul>
+ *
+ * <h3>Reconexão</h3>
+ * <p>Os últimos {@code app.changes.replay-size} eventos ficam em memória. Um cliente que
+ * reconecta com {@code Last-Event-ID} recebe os eventos perdidos; se o id for antigo demais
+ * (ou de outra instância do servidor), recebe {@code resync}.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see CatalogChangeDTO
+ * @see com.example.backend.controller.CatalogChangeController
+ */
+@Service
+public class CatalogChangeBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogChangeBroadcaster.class);
+
+    static final String CHANGE_EVENT = "change";
+    static final String RESYNC_EVENT = "resync";
+
+    private final int bufferSize;
+    private final int replaySize;
+    private final int maxSubscribers;
+    private final Duration timeout;
+    private final Executor executor;
+
+    /** Identifica a instância: ids de eventos de outro processo forçam {@code resync}. */
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Envelope> history = new ArrayDeque<>();
+    private long sequence;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    @Autowired
+    public CatalogChangeBroadcaster(@Value("${app.changes.buffer-size:32}") int bufferSize,
+                                    @Value("${app.changes.replay-size:256}") int replaySize,
+                                    @Value("${app.changes.max-subscribers:10000}") int maxSubscribers,
+                                    @Value("${app.changes.timeout:PT30M}") Duration timeout) {
+        this(bufferSize, replaySize, maxSubscribers, timeout, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    CatalogChangeBroadcaster(int bufferSize, int replaySize, int maxSubscribers, Duration timeout, Executor executor) {
+        if (bufferSize < 1 || maxSubscribers < 1 || replaySize < 0) {
+            throw new IllegalArgumentException("Change stream sizes must be positive");
+        }
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeout = timeout;
+        this.executor = executor;
+    }
+
+    // ── Publicação ──────────────────────────────────────────────────────────────
+
+    /**
+     * Publica uma alteração após o commit da transação atual (ou imediatamente, sem transação).
+     *
+     * @param table  tabela alterada
+     * @param action tipo de alteração
+     * @param id     identificador do registro
+     */
+    public void publish(CatalogVersion.Table table, CatalogChangeDTO.Action action, Long id) {
+        CatalogChangeDTO change = new CatalogChangeDTO(table, action, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    broadcast(change);
+                }
+            });
+        } else {
+            broadcast(change);
+        }
+    }
+
+    void broadcast(CatalogChangeDTO change) {
+        lock.lock();
+        try {
+            Envelope envelope = new Envelope(++sequence, change);
+            history.addLast(envelope);
+            if (history.size() > replaySize) {
+                history.removeFirst();
+            }
+            // Oferecer à fila nunca bloqueia; o envio acontece na virtual thread de cada cliente
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(envelope);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ── Inscrição ───────────────────────────────────────────────────────────────
+
+    /**
+     * Inscreve um novo cliente.
+     *
+     * @param lastEventId valor do header {@code Last-Event-ID} enviado na reconexão (opcional)
+     * @return o emitter do cliente, ou vazio se o limite de inscritos foi atingido
+     */
+    public Optional<SseEmitter> subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Optional<Subscriber> subscriber = register(new EmitterSink(emitter), lastEventId);
+        if (subscriber.isEmpty()) {
+            return Optional.empty();
+        }
+        emitter.onCompletion(subscriber.get()::close);
+        emitter.onTimeout(subscriber.get()::close);
+        emitter.onError(error -> subscriber.get().close());
+        return Optional.of(emitter);
+    }
+
+    Optional<Subscriber> register(EventSink sink, String lastEventId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            return Optional.empty();
+        }
+
+        Subscriber subscriber = new Subscriber(sink);
+        lock.lock();
+        try {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+        return Optional.of(subscriber);
+    }
+
+    /** Chamado com o lock: reenvia o que o cliente perdeu ou pede {@code resync}. */
+    private void replay(Subscriber subscriber, String lastEventId) {
+        long last = parseSequence(lastEventId);
+        long oldest = history.isEmpty() ? sequence + 1 : history.getFirst().sequence();
+        if (last < 0 || last > sequence || last + 1 < oldest) {
+            subscriber.markLagged();
+            return;
+        }
+        for (Envelope envelope : history) {
+            if (envelope.sequence() > last) {
+                subscriber.offer(envelope);
+            }
+        }
+    }
+
+    private long parseSequence(String eventId) {
+        int separator = eventId.indexOf(':');
+        if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String eventId(long seq) {
+        return epoch + ":" + seq;
+    }
+
+    /**
+     * @return número de clientes inscritos
+     */
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    /**
+     * Envia um comentário a todos os inscritos, mantendo a conexão viva em proxies e
+     * detectando clientes que já se desconectaram.
+     */
+    @Scheduled(fixedDelayString = "${app.changes.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.ping();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.close();
+            subscriber.sink.complete();
+        }
+        if (executor instanceof ExecutorService service) {
+            service.shutdownNow();
+        }
+    }
+
+    // ── Inscrito ────────────────────────────────────────────────────────────────
+
+    /**
+     * Destino dos eventos de um inscrito. Abstrai o {@link SseEmitter} para os testes.
+     */
+    interface EventSink {
+
+        /**
+         * @param id id do evento ({@code Last-Event-ID} na reconexão), ou {@code null}
+         */
+        void send(String id, String name, Object data) throws IOException;
+
+        void ping() throws IOException;
+
+        void complete();
+    }
+
+    private record Envelope(long sequence, CatalogChangeDTO change) {
+    }
+
+    /**
+     * Fila limitada de um cliente + flag que garante no máximo uma thread de envio por vez.
+     */
+    class Subscriber {
+
+        private final EventSink sink;
+        private final ArrayBlockingQueue<Envelope> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean lagged = new AtomicBoolean();
+        private final AtomicBoolean pingPending = new AtomicBoolean();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(EventSink sink) {
+            this.sink = sink;
+        }
+
+        void offer(Envelope envelope) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(envelope)) {
+                // Cliente não acompanha: descarta o pendente e pede que recarregue
+                queue.clear();
+                lagged.set(true);
+            }
+            schedule();
+        }
+
+        void markLagged() {
+            lagged.set(true);
+            schedule();
+        }
+
+        void ping() {
+            pingPending.set(true);
+            schedule();
+        }
+
+        private boolean hasWork() {
+            return lagged.get() || pingPending.get() || !queue.isEmpty();
+        }
+
+        private void schedule() {
+            if (!closed.get() && draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                do {
+                    if (lagged.getAndSet(false)) {
+                        // Sem id: o cliente recarrega tudo, não há ponto de retomada
+                        sink.send(null, RESYNC_EVENT, "");
+                    }
+                    Envelope envelope;
+                    while (!lagged.get() && (envelope = queue.poll()) != null) {
+                        sink.send(eventId(envelope.sequence()), CHANGE_EVENT, envelope.change());
+                    }
+                    if (pingPending.getAndSet(false)) {
+                        sink.ping();
+                    }
+                    draining.set(false);
+                    // Um evento pode ter chegado entre o último poll e a liberação da flag
+                } while (hasWork() && !closed.get() && draining.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                // O container encerra a requisição assíncrona; basta descartar o inscrito
+                log.debug("Change stream subscriber disconnected: {}", e.getMessage());
+                close();
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.remove(this);
+                subscriberCount.decrementAndGet();
+                queue.clear();
+            }
+        }
+
+        boolean isClosed() {
+            return closed.get();
+        }
+    }
+
+    /**
+     * {@link EventSink} sobre um {@link SseEmitter}, com os dados serializados em JSON.
+     */
+    private record EmitterSink(SseEmitter emitter) implements EventSink {
+
+        @Override
+        public void send(String id, String name, Object data) throws IOException {
+            SseEmitter.SseEventBuilder event = SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON);
+            emitter.send(id != null ? event.id(id) : event);
+        }
+
+        @Override
+        public void ping() throws IOException {
+            emitter.send(SseEmitter.event().comment("ping"));
+        }
+
+        @Override
+        public void complete() {
+            emitter.complete();
+        }
+    }
+}
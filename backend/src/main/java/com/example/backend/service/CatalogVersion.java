@@ -0,0 +1,108 @@
+package com.example.backend.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contadores de versão por tabela do catálogo, usados para gerar ETags fortes.
+ *
+ * <p>Todo serviço que altera {@code raw_material} ou {@code product} chama {@link #bump(Table)};
+ * o contador é incrementado quando a transação termina. Os controllers montam o ETag apenas a
+ * partir dos contadores, de modo que um {@code If-None-Match} com a versão atual é respondido
+ * com {@code 304} sem nenhuma consulta ao banco.</p>
+ *
+ * <p>O ETag inclui um identificador da instância ({@code epoch}), sorteado na inicialização:
+ * como o banco é em memória, um reinício nunca reaproveita um ETag antigo.</p>
+ *
+ * <p>Alterações feitas fora dos serviços (ex.: pelo H2 Console) não incrementam os contadores.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see com.example.backend.controller.RawMaterialController
+ * @see com.example.backend.controller.ProductController
+ */
+@Component
+public class CatalogVersion {
+
+    /**
+     * Tabelas versionadas.
+     */
+    public enum Table {
+        RAW_MATERIAL,
+        PRODUCT
+    }
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final Map<Table, AtomicLong> versions = new EnumMap<>(Table.class);
+
+    public CatalogVersion() {
+        for (Table table : Table.values()) {
+            versions.put(table, new AtomicLong());
+        }
+    }
+
+    /**
+     * @param table tabela versionada
+     * @return versão atual da tabela
+     */
+    public long current(Table table) {
+        return versions.get(table).get();
+    }
+
+    /**
+     * Registra uma alteração na tabela.
+     *
+     * <p>Dentro de uma transação, o incremento acontece ao término dela (confirmada ou não —
+     * um incremento a mais apenas invalida caches); fora de transação, imediatamente.</p>
+     *
+     * @param table tabela alterada
+     */
+    public void bump(Table table) {
+        AtomicLong version = versions.get(table);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            version.incrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                version.incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * ETag da listagem de matérias-primas.
+     */
+    public String rawMaterialsETag() {
+        return "\"rm-" + epoch + "-" + current(Table.RAW_MATERIAL) + "\"";
+    }
+
+    /**
+     * ETag de uma matéria-prima.
+     */
+    public String rawMaterialETag(Long id) {
+        return "\"rm-" + epoch + "-" + current(Table.RAW_MATERIAL) + "-" + id + "\"";
+    }
+
+    /**
+     * ETag da listagem de produtos. Inclui a versão de {@code raw_material}, pois cada
+     * composição serializa a matéria-prima completa (inclusive o estoque).
+     */
+    public String productsETag() {
+        return "\"p-" + epoch + "-" + current(Table.PRODUCT) + "." + current(Table.RAW_MATERIAL) + "\"";
+    }
+
+    /**
+     * ETag de um produto (mesmas dependências de {@link #productsETag()}).
+     */
+    public String productETag(Long id) {
+        return "\"p-" + epoch + "-" + current(Table.PRODUCT) + "." + current(Table.RAW_MATERIAL) + "-" + id + "\"";
+    }
+}
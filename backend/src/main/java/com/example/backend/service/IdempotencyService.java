@@ -0,0 +1,170 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.IdempotencyRecord;
+import com.example.backend.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serviço responsável por armazenar e recuperar respostas de requisições idempotentes
+ * (header {@code Idempotency-Key}).
+ *
+ * <p>Mantém dois níveis de armazenamento:</p>
+ * <ul>
+ *   <li><strong>Memória</strong> — cache LRU limitado a {@code app.idempotency.max-entries}
+ *       entradas, consultado primeiro e sem acesso ao banco.</li>
+ *   <li><strong>Banco</strong> — tabela {@code idempotency_record}, consultada quando a chave
+ *       não está em memória (ex.: após descarte pelo LRU).</li>
+ * </ul>
+ *
+ * <p>Todas as entradas expiram após {@code app.idempotency.ttl}. Registros vencidos
+ * são ignorados na leitura e removidos periodicamente do banco.</p>
+ *
+ * <p>Além disso, controla as chaves <strong>em processamento</strong>, impedindo que
+ * duas requisições simultâneas com a mesma chave executem a operação duas vezes.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see IdempotencyRecord
+ * @see com.example.backend.filter.IdempotencyFilter
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private final IdempotencyRecordRepository repository;
+    private final Duration ttl;
+    private final Clock clock;
+
+    private final Map<String, IdempotencyRecord> cache;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public IdempotencyService(IdempotencyRecordRepository repository,
+                              @Value("${app.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${app.idempotency.max-entries:10000}") int maxEntries) {
+        this(repository, ttl, maxEntries, Clock.systemUTC());
+    }
+
+    IdempotencyService(IdempotencyRecordRepository repository, Duration ttl, int maxEntries, Clock clock) {
+        this.repository = repository;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Busca a resposta gravada para uma chave, primeiro em memória e depois no banco.
+     *
+     * @param key valor do header {@code Idempotency-Key}
+     * @return o registro ainda válido, ou vazio se a chave for desconhecida ou estiver expirada
+     */
+    public Optional<IdempotencyRecord> find(String key) {
+        Instant now = clock.instant();
+
+        synchronized (cache) {
+            IdempotencyRecord cached = cache.get(key);
+            if (cached != null) {
+                if (cached.getExpiresAt().isAfter(now)) {
+                    return Optional.of(cached);
+                }
+                cache.remove(key);
+            }
+        }
+
+        Optional<IdempotencyRecord> stored = repository.findById(key)
+                .filter(record -> record.getExpiresAt().isAfter(now));
+        stored.ifPresent(this::cache);
+        return stored;
+    }
+
+    /**
+     * Marca a chave como em processamento.
+     *
+     * @param key valor do header {@code Idempotency-Key}
+     * @return {@code false} se outra requisição com a mesma chave ainda está em andamento
+     */
+    public boolean tryAcquire(String key) {
+        return inFlight.add(key);
+    }
+
+    /**
+     * Libera a marcação de processamento feita por {@link #tryAcquire(String)}.
+     *
+     * @param key valor do header {@code Idempotency-Key}
+     */
+    public void release(String key) {
+        inFlight.remove(key);
+    }
+
+    /**
+     * Grava a resposta de uma requisição em memória e no banco.
+     *
+     * <p>Falhas ao persistir são apenas registradas em log: a resposta já foi
+     * produzida e continua disponível no cache em memória.</p>
+     *
+     * @param key          valor do header {@code Idempotency-Key}
+     * @param fingerprint  hash de método, URI e corpo da requisição
+     * @param statusCode   status HTTP da resposta
+     * @param contentType  {@code Content-Type} da resposta
+     * @param responseBody corpo da resposta em UTF-8
+     * @return o registro gravado
+     */
+    public IdempotencyRecord store(String key, String fingerprint, int statusCode,
+                                   String contentType, String responseBody) {
+        Instant now = clock.instant();
+        IdempotencyRecord record = IdempotencyRecord.builder()
+                .key(key)
+                .fingerprint(fingerprint)
+                .statusCode(statusCode)
+                .contentType(contentType)
+                .responseBody(responseBody)
+                .createdAt(now)
+                .expiresAt(now.plus(ttl))
+                .build();
+
+        cache(record);
+        try {
+            repository.save(record);
+        } catch (RuntimeException ex) {
+            log.warn("Could not persist idempotency record for key '{}'", key, ex);
+        }
+        return record;
+    }
+
+    /**
+     * Remove do banco os registros cuja validade já expirou.
+     */
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        int removed = repository.deleteExpired(clock.instant());
+        if (removed > 0) {
+            log.debug("Purged {} expired idempotency records", removed);
+        }
+    }
+
+    private void cache(IdempotencyRecord record) {
+        synchronized (cache) {
+            cache.put(record.getKey(), record);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.StockLot;
+import com.example.backend.repository.StockLotRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Índice em memória dos lotes com saldo, agrupados por matéria-prima.
+ *
+ * <p>Cada matéria-prima mantém uma fila de prioridade (heap) ordenada por validade e,
+ * em caso de empate, por data de recebimento (FEFO, depois FIFO). Como o lote que vence
+ * primeiro está sempre no topo, os lotes vencidos são retirados do topo à medida que
+ * vencem — em O(log n) cada — e a quantidade vencida fica acumulada em um contador,
+ * sem percorrer todos os lotes a cada consulta.</p>
+ *
+ * <p>O índice é carregado do banco no primeiro uso (uma única consulta) e mantido pelo
+ * {@link StockLotService} a cada entrada ou baixa. Se uma transação de baixa falhar, a
+ * matéria-prima é recarregada do banco via {@link #invalidate(Long)}.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see StockLot
+ * @see StockLotService
+ */
+@Component
+public class LotInventory {
+
+    private static final Comparator<LotEntry> FEFO = Comparator
+            .comparing(LotEntry::expiresAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(LotEntry::receivedAt)
+            .thenComparing(LotEntry::lotId);
+
+    private final StockLotRepository repository;
+    private final Clock clock;
+
+    private final ConcurrentHashMap<Long, MaterialLots> byMaterial = new ConcurrentHashMap<>();
+    // A carga consulta o banco: ReentrantLock não prende a carrier thread de virtual threads (Java 21)
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private volatile boolean loaded;
+
+    @Autowired
+    public LotInventory(StockLotRepository repository) {
+        this(repository, Clock.systemDefaultZone());
+    }
+
+    LotInventory(StockLotRepository repository, Clock clock) {
+        this.repository = repository;
+        this.clock = clock;
+    }
+
+    /**
+     * Baixa resultante da consulta FEFO: quanto retirar de qual lote.
+     *
+     * @param lotId          identificador do lote
+     * @param quantityMicros quantidade a retirar, em micro-unidades
+     */
+    public record Allocation(Long lotId, long quantityMicros) {}
+
+    /**
+     * Quantidade, em micro-unidades, de lotes vencidos de uma matéria-prima.
+     *
+     * @param rawMaterialId identificador da matéria-prima
+     * @return saldo somado dos lotes vencidos — {@code 0} se não houver lotes
+     */
+    public long expiredMicros(Long rawMaterialId) {
+        MaterialLots lots = lotsOf(rawMaterialId);
+        return lots == null ? 0 : lots.expiredMicros(today());
+    }
+
+    /**
+     * Quantidade, em micro-unidades, de lotes dentro da validade de uma matéria-prima.
+     *
+     * @param rawMaterialId identificador da matéria-prima
+     * @return saldo somado dos lotes não vencidos — {@code 0} se não houver lotes
+     */
+    public long usableMicros(Long rawMaterialId) {
+        MaterialLots lots = lotsOf(rawMaterialId);
+        return lots == null ? 0 : lots.usableMicros(today());
+    }
+
+    /**
+     * Reserva {@code quantityMicros} dos lotes não vencidos, do que vence primeiro para o último.
+     *
+     * <p>A reserva é aplicada imediatamente no índice; quem chama deve persistir as baixas
+     * e chamar {@link #invalidate(Long)} caso a transação não seja confirmada.</p>
+     *
+     * @param rawMaterialId  identificador da matéria-prima
+     * @param quantityMicros quantidade a consumir, em micro-unidades (positiva)
+     * @return baixas por lote, na ordem de consumo
+     * @throws IllegalArgumentException se os lotes não vencidos não cobrirem a quantidade
+     */
+    public List<Allocation> consume(Long rawMaterialId, long quantityMicros) {
+        MaterialLots lots = lotsOf(rawMaterialId);
+        if (lots == null) {
+            throw new IllegalArgumentException(
+                    "Insufficient non-expired lots for raw material " + rawMaterialId);
+        }
+        return lots.consume(rawMaterialId, quantityMicros, today());
+    }
+
+    /**
+     * Inclui no índice um lote recém-recebido.
+     *
+     * @param lot lote persistido
+     */
+    public void add(StockLot lot) {
+        if (!loaded) {
+            // Sem carga ainda, o lote será lido do banco; com uma carga em andamento, a consulta
+            // pode ter sido feita antes do commit — invalidate espera a carga e relê a matéria-prima
+            invalidate(lot.getRawMaterialId());
+            return;
+        }
+        byMaterial.computeIfAbsent(lot.getRawMaterialId(), id -> new MaterialLots())
+                .add(LotEntry.of(lot));
+    }
+
+    /**
+     * Descarta o índice de uma matéria-prima e o recarrega do banco.
+     *
+     * @param rawMaterialId identificador da matéria-prima
+     */
+    public void invalidate(Long rawMaterialId) {
+        if (!loaded) {
+            // Uma carga completa em andamento pode ter lido o banco antes da alteração
+            loadLock.lock();
+            loadLock.unlock();
+            if (!loaded) {
+                return;
+            }
+        }
+        MaterialLots fresh = new MaterialLots();
+        for (StockLot lot : repository.findByRawMaterial_IdAndQuantityMicrosGreaterThan(rawMaterialId, 0)) {
+            fresh.add(LotEntry.of(lot));
+        }
+        byMaterial.put(rawMaterialId, fresh);
+    }
+
+    private MaterialLots lotsOf(Long rawMaterialId) {
+        ensureLoaded();
+        return byMaterial.get(rawMaterialId);
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        loadLock.lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            for (StockLot lot : repository.findByQuantityMicrosGreaterThan(0)) {
+                byMaterial.computeIfAbsent(lot.getRawMaterialId(), id -> new MaterialLots())
+                        .add(LotEntry.of(lot));
+            }
+            loaded = true;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(clock);
+    }
+
+    /**
+     * Saldo de um lote no índice. {@code remainingMicros} é alterado apenas sob o lock
+     * do {@link MaterialLots} que o contém.
+     */
+    private static final class LotEntry {
+
+        private final Long lotId;
+        private final LocalDate expiresAt;
+        private final Instant receivedAt;
+        private long remainingMicros;
+
+        private LotEntry(Long lotId, LocalDate expiresAt, Instant receivedAt, long remainingMicros) {
+            this.lotId = lotId;
+            this.expiresAt = expiresAt;
+            this.receivedAt = receivedAt;
+            this.remainingMicros = remainingMicros;
+        }
+
+        static LotEntry of(StockLot lot) {
+            return new LotEntry(lot.getId(), lot.getExpiresAt(), lot.getReceivedAt(), lot.getQuantityMicros());
+        }
+
+        Long lotId() {
+            return lotId;
+        }
+
+        LocalDate expiresAt() {
+            return expiresAt;
+        }
+
+        Instant receivedAt() {
+            return receivedAt;
+        }
+
+        boolean isExpired(LocalDate today) {
+            return expiresAt != null && expiresAt.isBefore(today);
+        }
+    }
+
+    /**
+     * Lotes de uma matéria-prima: heap FEFO dos lotes não vencidos mais os totais
+     * mantidos incrementalmente.
+     */
+    private static final class MaterialLots {
+
+        private final PriorityQueue<LotEntry> active = new PriorityQueue<>(FEFO);
+        private long activeMicros;
+        private long expiredMicros;
+
+        synchronized void add(LotEntry entry) {
+            active.add(entry);
+            activeMicros += entry.remainingMicros;
+        }
+
+        synchronized long expiredMicros(LocalDate today) {
+            dropExpired(today);
+            return expiredMicros;
+        }
+
+        synchronized long usableMicros(LocalDate today) {
+            dropExpired(today);
+            return activeMicros;
+        }
+
+        synchronized List<Allocation> consume(Long rawMaterialId, long quantityMicros, LocalDate today) {
+            dropExpired(today);
+            if (quantityMicros > activeMicros) {
+                throw new IllegalArgumentException(
+                        "Insufficient non-expired lots for raw material " + rawMaterialId);
+            }
+
+            List<Allocation> allocations = new ArrayList<>();
+            long remaining = quantityMicros;
+            while (remaining > 0) {
+                LotEntry head = active.peek();
+                long taken = Math.min(head.remainingMicros, remaining);
+                head.remainingMicros -= taken;
+                remaining -= taken;
+                if (head.remainingMicros == 0) {
+                    active.poll();
+                }
+                allocations.add(new Allocation(head.lotId, taken));
+            }
+            activeMicros -= quantityMicros;
+            return allocations;
+        }
+
+        /**
+         * Retira do topo do heap os lotes que venceram, acumulando o saldo em {@code expiredMicros}.
+         * Lotes vencidos nunca voltam a ser consumidos.
+         */
+        private void dropExpired(LocalDate today) {
+            while (!active.isEmpty() && active.peek().isExpired(today)) {
+                LotEntry expired = active.poll();
+                activeMicros -= expired.remainingMicros;
+                expiredMicros += expired.remainingMicros;
+            }
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.OptimizationJobDTO;
+import com.example.backend.dto.OptimizationJobDTO.Status;
+import com.example.backend.dto.OptimizationProgressDTO;
+import com.example.backend.dto.ProductionSuggestionDTO;
+import com.example.backend.exception.ResourceNotFoundException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Executa otimizações de produção como <strong>jobs assíncronos</strong>
+ * ({@code POST /api/production/jobs}), sem ocupar uma thread do Tomcat durante o cálculo.
+ *
+ * <h3>Fila</h3>
+ * <ul>
+ *   <li>{@code app.optimization.jobs.workers} threads executam os jobs; até
+ *       {@code app.optimization.jobs.queue-capacity} jobs aguardam na fila.</li>
+ *   <li>Com a fila cheia, {@link #submit(String)} retorna vazio e o controller responde
+ *       {@code 429 Too Many Requests} — a carga é recusada em vez de acumulada.</li>
+ * </ul>
+ *
+ * <h3>Cancelamento</h3>
+ * <p>Um job na fila é removido dela; um job em execução tem a thread interrompida e o
+ * otimizador para na próxima consulta ao listener ({@link OptimizationProgressListener#wantsUpdate()}),
+ * a cada produto avaliado.</p>
+ *
+ * <h3>Retenção</h3>
+ * <p>Jobs finalizados ficam disponíveis para consulta por {@code app.optimization.jobs.retention}
+ * e no máximo {@code app.optimization.jobs.max-retained} deles são mantidos — os mais antigos
+ * são descartados primeiro. Depois disso, a consulta retorna {@code 404}.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see OptimizationJobDTO
+ * @see com.example.backend.controller.ProductionJobController
+ */
+@Service
+public class OptimizationJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimizationJobService.class);
+
+    private final ProductionOptimizerService optimizer;
+    private final long intervalNanos;
+    private final Duration retention;
+    private final int maxRetained;
+    private final ThreadPoolExecutor executor;
+    private final Clock clock;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    /** Jobs finalizados, na ordem em que terminaram (o mais antigo primeiro). */
+    private final ConcurrentLinkedQueue<Job> finished = new ConcurrentLinkedQueue<>();
+
+    @Autowired
+    public OptimizationJobService(ProductionOptimizerService optimizer,
+                                  @Value("${app.optimization.progress-interval:PT0.2S}") Duration interval,
+                                  @Value("${app.optimization.jobs.workers:2}") int workers,
+                                  @Value("${app.optimization.jobs.queue-capacity:16}") int queueCapacity,
+                                  @Value("${app.optimization.jobs.retention:PT15M}") Duration retention,
+                                  @Value("${app.optimization.jobs.max-retained:100}") int maxRetained) {
+        this(optimizer, interval, retention, maxRetained,
+                new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(queueCapacity),
+                        Thread.ofPlatform().name("optimization-job-", 1).daemon(true).factory()),
+                Clock.systemUTC());
+    }
+
+    OptimizationJobService(ProductionOptimizerService optimizer, Duration interval, Duration retention,
+                           int maxRetained, ThreadPoolExecutor executor, Clock clock) {
+        if (maxRetained < 1) {
+            throw new IllegalArgumentException("Optimization job retention must keep at least one job");
+        }
+        this.optimizer = optimizer;
+        this.intervalNanos = interval.toNanos();
+        this.retention = retention;
+        this.maxRetained = maxRetained;
+        this.executor = executor;
+        this.clock = clock;
+    }
+
+    /**
+     * Enfileira uma otimização.
+     *
+     * @param site código do site, ou {@code null} para o estoque central
+     * @return o job criado ({@code QUEUED}), ou vazio se a fila estiver cheia
+     * @throws IllegalArgumentException se o código do site for inválido
+     */
+    public Optional<OptimizationJobDTO> submit(String site) {
+        if (site != null) {
+            SiteStockService.requireValidSite(site);
+        }
+        evictExpired();
+
+        Job job = new Job(UUID.randomUUID().toString(), site, clock.instant());
+        jobs.put(job.id, job);
+        try {
+            job.future = executor.submit(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            return Optional.empty();
+        }
+        return Optional.of(job.toDTO());
+    }
+
+    /**
+     * @param id identificador do job
+     * @return estado atual do job (com o resultado, se concluído)
+     * @throws ResourceNotFoundException se o job não existir ou já tiver sido descartado
+     */
+    public OptimizationJobDTO find(String id) {
+        return require(id).toDTO();
+    }
+
+    /**
+     * Cancela um job. Para um job já finalizado, apenas retorna o estado atual.
+     *
+     * @param id identificador do job
+     * @return estado do job após o pedido de cancelamento ({@code CANCELLED}, ou o estado final
+     *         se o job terminou antes) — um job em execução pode levar um instante para parar
+     * @throws ResourceNotFoundException se o job não existir ou já tiver sido descartado
+     */
+    public OptimizationJobDTO cancel(String id) {
+        Job job = require(id);
+        job.cancelRequested = true;
+        if (job.status.compareAndSet(Status.QUEUED, Status.CANCELLED)) {
+            // Ainda na fila: libera a vaga imediatamente
+            job.finishedAt = clock.instant();
+            Future<?> future = job.future;
+            if (future != null) {
+                future.cancel(false);
+                executor.remove((Runnable) future);
+            }
+            markFinished(job);
+        } else if (job.status.get() == Status.RUNNING && job.future != null) {
+            job.future.cancel(true);
+        }
+        return job.toDTO();
+    }
+
+    /**
+     * Descarta os jobs finalizados há mais de {@code app.optimization.jobs.retention}
+     * e os excedentes de {@code app.optimization.jobs.max-retained}.
+     */
+    @Scheduled(fixedDelayString = "${app.optimization.jobs.purge-interval:PT1M}")
+    public void evictExpired() {
+        Instant cutoff = clock.instant().minus(retention);
+        Job oldest;
+        while ((oldest = finished.peek()) != null
+                && (finished.size() > maxRetained || oldest.finishedAt.isBefore(cutoff))) {
+            if (finished.remove(oldest)) {
+                jobs.remove(oldest.id);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ── Execução ────────────────────────────────────────────────────────────────
+
+    private void run(Job job) {
+        if (!job.status.compareAndSet(Status.QUEUED, Status.RUNNING)) {
+            return;
+        }
+        job.startedAt = clock.instant();
+        try {
+            List<ProductionSuggestionDTO> result = optimizer.optimize(job.site, job);
+            job.result = result;
+            finish(job, Status.SUCCEEDED);
+        } catch (CancellationException e) {
+            finish(job, Status.CANCELLED);
+        } catch (RuntimeException e) {
+            if (job.cancelRequested) {
+                // A interrupção pode chegar como outra exceção (ex.: no meio de uma consulta)
+                finish(job, Status.CANCELLED);
+            } else {
+                job.error = errorMessage(e);
+                finish(job, Status.FAILED);
+            }
+        } finally {
+            // Não deixa a interrupção do cancelamento vazar para o próximo job desta thread
+            Thread.interrupted();
+        }
+    }
+
+    private void finish(Job job, Status status) {
+        job.finishedAt = clock.instant();
+        markFinished(job);
+        job.status.set(status);
+    }
+
+    private void markFinished(Job job) {
+        finished.add(job);
+        evictExpired();
+    }
+
+    private static String errorMessage(RuntimeException e) {
+        if (e instanceof ResourceNotFoundException || e instanceof IllegalArgumentException) {
+            return e.getMessage();
+        }
+        log.error("Optimization job failed", e);
+        return "An unexpected error occurred. Please try again later.";
+    }
+
+    private Job require(String id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Optimization job not found with id: " + id);
+        }
+        return job;
+    }
+
+    /**
+     * @return jobs aguardando na fila
+     */
+    int queuedCount() {
+        return executor.getQueue().size();
+    }
+
+    // ── Job ─────────────────────────────────────────────────────────────────────
+
+    /**
+     * Estado de um job + listener do otimizador: guarda o último progresso (no máximo um
+     * a cada {@code app.optimization.progress-interval}) e interrompe o cálculo quando
+     * o job é cancelado.
+     */
+    private final class Job implements OptimizationProgressListener {
+
+        private final String id;
+        private final String site;
+        private final Instant submittedAt;
+        private final AtomicReference<Status> status = new AtomicReference<>(Status.QUEUED);
+        private final AtomicReference<OptimizationProgressDTO> progress = new AtomicReference<>();
+
+        private volatile Future<?> future;
+        private volatile boolean cancelRequested;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile List<ProductionSuggestionDTO> result;
+        private volatile String error;
+
+        /** Acessado apenas pela thread do otimizador. */
+        private long lastUpdate = System.nanoTime();
+
+        Job(String id, String site, Instant submittedAt) {
+            this.id = id;
+            this.site = site;
+            this.submittedAt = submittedAt;
+        }
+
+        @Override
+        public boolean wantsUpdate() {
+            if (cancelRequested || Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Optimization job cancelled");
+            }
+            long now = System.nanoTime();
+            if (now - lastUpdate < intervalNanos) {
+                return false;
+            }
+            lastUpdate = now;
+            return true;
+        }
+
+        @Override
+        public void onProgress(OptimizationProgressDTO update) {
+            progress.set(update);
+        }
+
+        OptimizationJobDTO toDTO() {
+            Status current = status.get();
+            return OptimizationJobDTO.builder()
+                    .id(id)
+                    .status(current)
+                    .site(site)
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(current.isFinal() ? finishedAt : null)
+                    .progress(progress.get())
+                    .result(current == Status.SUCCEEDED ? result : null)
+                    .error(current == Status.FAILED ? error : null)
+                    .build();
+        }
+    }
+}
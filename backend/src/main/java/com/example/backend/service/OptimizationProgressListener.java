@@ -0,0 +1,47 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.OptimizationProgressDTO;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Recebe o progresso de uma otimização de produção.
+ *
+ * <p>O otimizador consulta {@link #wantsUpdate()} a cada produto avaliado e só monta o
+ * {@link OptimizationProgressDTO} (o que inclui recalcular o limite superior) quando o
+ * listener o deseja. Implementações devem ser rápidas e nunca bloquear: a thread do
+ * otimizador é quem as executa.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see ProductionOptimizerService#optimize(String, OptimizationProgressListener)
+ */
+public interface OptimizationProgressListener {
+
+    /**
+     * Listener que descarta todo o progresso.
+     */
+    OptimizationProgressListener NONE = new OptimizationProgressListener() {
+        @Override
+        public boolean wantsUpdate() {
+            return false;
+        }
+
+        @Override
+        public void onProgress(OptimizationProgressDTO progress) {
+        }
+    };
+
+    /**
+     * @return {@code true} se um novo evento de progresso deve ser gerado agora
+     * @throws CancellationException para interromper a otimização (ex.: cliente desconectado)
+     */
+    boolean wantsUpdate();
+
+    /**
+     * Recebe um evento de progresso. O último evento de uma otimização tem {@code done = true}.
+     *
+     * @param progress estado atual da otimização
+     */
+    void onProgress(OptimizationProgressDTO progress);
+}
@@ -0,0 +1,271 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.OptimizationProgressDTO;
+import com.example.backend.dto.ProductionSuggestionDTO;
+import com.example.backend.exception.ResourceNotFoundException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Serviço que executa a otimização de produção transmitindo o progresso via
+ * <strong>Server-Sent Events</strong>.
+ *
+ * <p>Cada stream usa duas virtual threads:</p>
+ * <ul>
+ *   <li><strong>Otimizador</strong> — executa o algoritmo e apenas grava o último
+ *       {@link OptimizationProgressDTO} em uma referência atômica; nunca espera pelo cliente.</li>
+ *   <li><strong>Envio</strong> — a cada {@code app.optimization.progress-interval} envia o
+ *       evento mais recente (eventos intermediários são descartados) e, ao final, o resultado.</li>
+ * </ul>
+ *
+ * <p>Um cliente lento atrasa apenas a thread de envio. Se o cliente se desconectar
+ * (ou o stream expirar), o otimizador é interrompido na próxima consulta ao listener.</p>
+ *
+ * <h3>Eventos</h3>
+ * <ul>
+ *   <li>{@code progress} — {@link OptimizationProgressDTO}</li>
+ *   <li>{@code result} — lista de {@link ProductionSuggestionDTO}, encerra o stream</li>
+ *   <li>{@code error} — {@code {timestamp, status, error, message}}, encerra o stream</li>
+ * </ul>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see ProductionOptimizerService#optimize(String, OptimizationProgressListener)
+ */
+@Service
+public class OptimizationStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimizationStreamService.class);
+
+    private final ProductionOptimizerService optimizer;
+    private final Duration interval;
+    private final Duration timeout;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    public OptimizationStreamService(ProductionOptimizerService optimizer,
+                                     @Value("${app.optimization.progress-interval:PT0.2S}") Duration interval,
+                                     @Value("${app.optimization.stream-timeout:PT5M}") Duration timeout) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Progress interval must be positive");
+        }
+        this.optimizer = optimizer;
+        this.interval = interval;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Inicia uma otimização e retorna o emitter que transmite o seu progresso.
+     *
+     * @param site código do site, ou {@code null} para o estoque central
+     * @return emitter SSE já em execução
+     * @throws IllegalArgumentException se o código do site for inválido (antes de abrir o stream)
+     */
+    public SseEmitter stream(String site) {
+        if (site != null) {
+            SiteStockService.requireValidSite(site);
+        }
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        ProgressChannel channel = new ProgressChannel(interval, new EmitterSink(emitter));
+        emitter.onCompletion(channel::cancel);
+        emitter.onTimeout(channel::cancel);
+        emitter.onError(error -> channel.cancel());
+
+        start(channel, () -> optimizer.optimize(site, channel));
+        return emitter;
+    }
+
+    /**
+     * Submete o otimizador e a thread de envio de um canal.
+     */
+    void start(ProgressChannel channel, Supplier<List<ProductionSuggestionDTO>> optimization) {
+        executor.submit(() -> {
+            try {
+                channel.complete(optimization.get());
+            } catch (CancellationException e) {
+                log.debug("Optimization stream cancelled by the client");
+            } catch (RuntimeException e) {
+                channel.fail(e);
+            }
+        });
+        executor.submit(channel::pump);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ── Canal de progresso ──────────────────────────────────────────────────────
+
+    /**
+     * Destino dos eventos de um stream. Abstrai o {@link SseEmitter} para os testes.
+     */
+    interface EventSink {
+
+        void send(String name, Object data) throws IOException;
+
+        void complete();
+    }
+
+    /**
+     * Listener do otimizador + fila de tamanho 1 até a thread de envio.
+     *
+     * <p>{@link #wantsUpdate()} libera no máximo um evento por intervalo; {@link #onProgress}
+     * sobrescreve o evento ainda não enviado. Assim o otimizador paga o cálculo do limite
+     * superior apenas na frequência de envio e nunca acumula eventos.</p>
+     */
+    static class ProgressChannel implements OptimizationProgressListener {
+
+        private final long intervalNanos;
+        private final EventSink sink;
+
+        private final AtomicReference<OptimizationProgressDTO> latest = new AtomicReference<>();
+        private final CountDownLatch finished = new CountDownLatch(1);
+        private volatile boolean cancelled;
+        private volatile List<ProductionSuggestionDTO> result;
+        private volatile RuntimeException failure;
+
+        /** Acessado apenas pela thread do otimizador. */
+        private long lastUpdate;
+
+        ProgressChannel(Duration interval, EventSink sink) {
+            this.intervalNanos = interval.toNanos();
+            this.sink = sink;
+            this.lastUpdate = System.nanoTime();
+        }
+
+        @Override
+        public boolean wantsUpdate() {
+            if (cancelled) {
+                throw new CancellationException("Optimization stream closed");
+            }
+            long now = System.nanoTime();
+            if (now - lastUpdate < intervalNanos) {
+                return false;
+            }
+            lastUpdate = now;
+            return true;
+        }
+
+        @Override
+        public void onProgress(OptimizationProgressDTO progress) {
+            latest.set(progress);
+        }
+
+        void complete(List<ProductionSuggestionDTO> suggestions) {
+            this.result = suggestions;
+            finished.countDown();
+        }
+
+        void fail(RuntimeException e) {
+            this.failure = e;
+            finished.countDown();
+        }
+
+        void cancel() {
+            cancelled = true;
+            finished.countDown();
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Laço da thread de envio: a cada intervalo envia o último progresso; ao final,
+         * o resultado ou o erro, e encerra o stream.
+         */
+        void pump() {
+            try {
+                while (true) {
+                    boolean done = finished.await(intervalNanos, TimeUnit.NANOSECONDS);
+                    if (cancelled) {
+                        return;
+                    }
+                    OptimizationProgressDTO progress = latest.getAndSet(null);
+                    if (progress != null) {
+                        sink.send("progress", progress);
+                    }
+                    if (done) {
+                        if (failure != null) {
+                            sink.send("error", errorBody(failure));
+                        } else {
+                            sink.send("result", result);
+                        }
+                        sink.complete();
+                        return;
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desconectado, ou emitter já encerrado por timeout/conclusão
+                // (send lança IllegalStateException) — interrompe o otimizador
+                cancel();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+            }
+        }
+
+        private static Map<String, Object> errorBody(RuntimeException e) {
+            HttpStatus status;
+            String message;
+            if (e instanceof ResourceNotFoundException) {
+                status = HttpStatus.NOT_FOUND;
+                message = e.getMessage();
+            } else if (e instanceof IllegalArgumentException) {
+                status = HttpStatus.BAD_REQUEST;
+                message = e.getMessage();
+            } else {
+                log.error("Optimization stream failed", e);
+                status = HttpStatus.INTERNAL_SERVER_ERROR;
+                message = "An unexpected error occurred. Please try again later.";
+            }
+
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("timestamp", LocalDateTime.now().toString());
+            body.put("status", status.value());
+            body.put("error", status.getReasonPhrase());
+            body.put("message", message);
+            return body;
+        }
+    }
+
+    /**
+     * {@link EventSink} sobre um {@link SseEmitter}, com os dados serializados em JSON.
+     */
+    private record EmitterSink(SseEmitter emitter) implements EventSink {
+
+        @Override
+        public void send(String name, Object data) throws IOException {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void complete() {
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.backend.service;
+
+import com.example.backend.util.MicroUnits;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Campos de produto pedidos por {@code ?fields=} e {@code ?include=} em {@code GET /api/products}.
+ *
+ * <p>Os campos selecionados viram as colunas do {@code SELECT}: o que não foi pedido não é lido
+ * do banco nem serializado. {@code id} é sempre incluído. As composições (com a matéria-prima
+ * completa) só são carregadas com {@code include=compositions}, em uma única consulta.</p>
+ *
+ * <p>Sem nenhum dos dois parâmetros ({@link #isDefault()}), a resposta continua sendo a entidade
+ * {@link com.example.backend.entity.Product} completa.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see ProductService#findAll(ProductFieldSelection)
+ */
+public final class ProductFieldSelection {
+
+    /**
+     * Campos escalares disponíveis: nome no JSON e atributo da entidade.
+     */
+    public enum Field {
+        ID("id", "id"),
+        CODE("code", "code"),
+        NAME("name", "name"),
+        PRICE("price", "priceMicros"),
+        DESCRIPTION("description", "description"),
+        ROW_VERSION("rowVersion", "rowVersion"),
+        UPDATED_AT("updatedAt", "updatedAt");
+
+        private final String jsonName;
+        private final String attribute;
+
+        Field(String jsonName, String attribute) {
+            this.jsonName = jsonName;
+            this.attribute = attribute;
+        }
+
+        public String jsonName() {
+            return jsonName;
+        }
+
+        public String attribute() {
+            return attribute;
+        }
+    }
+
+    /** Valor aceito em {@code include}. */
+    public static final String COMPOSITIONS = "compositions";
+
+    private static final ProductFieldSelection DEFAULT =
+            new ProductFieldSelection(List.of(Field.values()), true, true);
+
+    private final List<Field> fields;
+    private final boolean compositions;
+    private final boolean isDefault;
+
+    private ProductFieldSelection(List<Field> fields, boolean compositions, boolean isDefault) {
+        this.fields = fields;
+        this.compositions = compositions;
+        this.isDefault = isDefault;
+    }
+
+    /**
+     * Interpreta os parâmetros da requisição.
+     *
+     * @param fields  lista separada por vírgulas (ex.: {@code "code,name,price"}); {@code null} = todos
+     * @param include lista separada por vírgulas; aceita apenas {@code "compositions"}
+     * @return seleção correspondente
+     * @throws IllegalArgumentException se algum campo ou inclusão for desconhecido
+     */
+    public static ProductFieldSelection parse(String fields, String include) {
+        if (fields == null && include == null) {
+            return DEFAULT;
+        }
+
+        Set<Field> selected = EnumSet.of(Field.ID);
+        if (fields == null) {
+            selected.addAll(Arrays.asList(Field.values()));
+        } else {
+            for (String name : split(fields)) {
+                selected.add(field(name));
+            }
+        }
+
+        boolean compositions = false;
+        if (include != null) {
+            for (String name : split(include)) {
+                if (!COMPOSITIONS.equals(name)) {
+                    throw new IllegalArgumentException(
+                            "Unknown include '" + name + "'. Allowed: " + COMPOSITIONS + ".");
+                }
+                compositions = true;
+            }
+        }
+        return new ProductFieldSelection(List.copyOf(selected), compositions, false);
+    }
+
+    private static List<String> split(String value) {
+        List<String> names = new ArrayList<>();
+        for (String part : value.split(",")) {
+            String name = part.trim();
+            if (!name.isEmpty()) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    private static Field field(String name) {
+        for (Field field : Field.values()) {
+            if (field.jsonName.equals(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field '" + name + "'. Allowed: "
+                + Arrays.stream(Field.values()).map(Field::jsonName).collect(Collectors.joining(", "))
+                + (COMPOSITIONS.equals(name) ? " (use include=compositions)." : "."));
+    }
+
+    /**
+     * @return {@code true} se nenhum parâmetro foi informado (resposta com a entidade completa)
+     */
+    public boolean isDefault() {
+        return isDefault;
+    }
+
+    /**
+     * @return campos selecionados, na ordem de {@link Field} ({@code ID} primeiro)
+     */
+    public List<Field> fields() {
+        return fields;
+    }
+
+    /**
+     * @return atributos da entidade a selecionar, na ordem de {@link #fields()}
+     */
+    public List<String> attributes() {
+        return fields.stream().map(Field::attribute).toList();
+    }
+
+    public boolean includesCompositions() {
+        return compositions;
+    }
+
+    /**
+     * Monta o objeto JSON de um produto a partir das colunas lidas.
+     *
+     * @param columns valores na ordem de {@link #attributes()}
+     * @return mapa ordenado {@code nome no JSON → valor}, com o preço em decimal
+     */
+    public Map<String, Object> toRow(Object[] columns) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            Field field = fields.get(i);
+            Object value = columns[i];
+            row.put(field.jsonName, field == Field.PRICE ? MicroUnits.toDouble((Long) value) : value);
+        }
+        return row;
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.CatalogChangeDTO;
+import com.example.backend.dto.ChangeSetDTO;
+import com.example.backend.dto.ProductChangeDTO;
 import com.example.backend.dto.ProductCompositionDTO;
 import com.example.backend.dto.ProductDTO;
 import com.example.backend.entity.Product;
@@ -7,14 +10,21 @@ import com.example.backend.entity.ProductComposition;
 import com.example.backend.entity.RawMaterial;
 import com.example.backend.exception.DuplicateCodeException;
 import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.repository.ProductCompositionRepository;
 import com.example.backend.repository.ProductRepository;
 import com.example.backend.repository.RawMaterialRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
 
 /**
  * Serviço responsável pela lógica de negócio relacionada a Produtos (Products).
@@ -27,6 +37,8 @@ import java.util.List;
  * ({@code CascadeType.ALL} + {@code orphanRemoval = true}), garantindo que
  * registros antigos sejam removidos automaticamente ao substituir a lista.</p>
  *
+ * <p>As operações CRUD são cronometradas no timer {@code catalog.service} (tags {@code class} e {@code method}).</p>
+ *
  * @author Equipe Backend
  * @version 1.0.0
  * @see Product
@@ -40,14 +52,126 @@ public class ProductService {
 
     private final ProductRepository repository;
     private final RawMaterialRepository rawMaterialRepository;
+    private final ProductCompositionRepository compositionRepository;
+    private final CatalogVersion catalogVersion;
+    private final CatalogChangeBroadcaster changeBroadcaster;
+    private final RowVersions rowVersions;
+    private final TombstoneService tombstones;
 
     /**
-     * Retorna todos os produtos cadastrados.
+     * Retorna todos os produtos cadastrados, com composições e matérias-primas carregadas na
+     * mesma consulta — o número de comandos não cresce com o catálogo.
      *
      * @return lista de {@link Product} — pode ser vazia caso não haja registros
      */
+    @Timed("catalog.service")
     public List<Product> findAll() {
-        return repository.findAll();
+        return repository.findAllWithCompositions();
+    }
+
+    /**
+     * Retorna todos os produtos apenas com os campos selecionados.
+     *
+     * <p>Uma consulta com as colunas pedidas e, com {@code include=compositions}, uma segunda
+     * consulta com todas as composições e suas matérias-primas — nada é carregado sob demanda.</p>
+     *
+     * @param selection campos e inclusões pedidos ({@code ?fields=}, {@code ?include=})
+     * @return um mapa {@code campo → valor} por produto, ordenado por {@code id}
+     */
+    @Transactional(readOnly = true)
+    @Timed("catalog.service")
+    public List<Map<String, Object>> findAll(ProductFieldSelection selection) {
+        List<Map<String, Object>> rows = repository.findColumns(selection.attributes(), null).stream()
+                .map(selection::toRow)
+                .toList();
+        if (selection.includesCompositions() && !rows.isEmpty()) {
+            attachCompositions(rows, compositionRepository.findAllWithRawMaterial());
+        }
+        return rows;
+    }
+
+    /**
+     * Busca um produto apenas com os campos selecionados.
+     *
+     * @param id        identificador do produto
+     * @param selection campos e inclusões pedidos
+     * @return mapa {@code campo → valor}
+     * @throws ResourceNotFoundException se nenhum produto for encontrado com o {@code id} informado
+     */
+    @Transactional(readOnly = true)
+    @Timed("catalog.service")
+    public Map<String, Object> findById(Long id, ProductFieldSelection selection) {
+        List<Object[]> found = repository.findColumns(selection.attributes(), id);
+        if (found.isEmpty()) {
+            throw new ResourceNotFoundException("Product not found with id: " + id);
+        }
+        Map<String, Object> row = selection.toRow(found.getFirst());
+        if (selection.includesCompositions()) {
+            attachCompositions(List.of(row), compositionRepository.findWithRawMaterialByProductIds(List.of(id)));
+        }
+        return row;
+    }
+
+    private static void attachCompositions(List<Map<String, Object>> rows, List<ProductComposition> compositions) {
+        Map<Object, List<ProductComposition>> byProduct = new HashMap<>();
+        for (ProductComposition composition : compositions) {
+            // getId() de um proxy LAZY não inicializa o produto
+            byProduct.computeIfAbsent(composition.getProduct().getId(), id -> new ArrayList<>()).add(composition);
+        }
+        for (Map<String, Object> row : rows) {
+            row.put(ProductFieldSelection.COMPOSITIONS, byProduct.getOrDefault(row.get("id"), List.of()));
+        }
+    }
+
+    /**
+     * Retorna os produtos alterados ou removidos após a versão informada.
+     *
+     * <p>Sem {@code since} — ou com um cursor que não pode ser continuado (ver
+     * {@link RowVersions#resume(String)}) — retorna todos os registros com {@code reset = true}.
+     * Uma alteração apenas na matéria-prima não muda a versão do produto, então as composições
+     * trazem só o {@code rawMaterialId} ({@link ProductChangeDTO}): a matéria-prima vem de
+     * {@code /api/raw-materials/changes}, nunca de uma cópia desatualizada.</p>
+     *
+     * @param since cursor ({@code version}) recebido na chamada anterior (opcional)
+     * @return alterações até {@link RowVersions#stable()}
+     * @throws IllegalArgumentException se {@code since} estiver malformado
+     */
+    @Transactional(readOnly = true)
+    public ChangeSetDTO<ProductChangeDTO> findChanges(String since) {
+        OptionalLong from = since == null ? OptionalLong.empty() : rowVersions.resume(since);
+        long until = rowVersions.stable();
+        if (from.isEmpty()) {
+            return new ChangeSetDTO<>(rowVersions.cursor(until), true,
+                    toChanges(repository.findAll(), compositionRepository.findAll(Sort.by("id"))), List.of());
+        }
+        List<Product> changed = repository.findChanges(from.getAsLong(), until);
+        List<ProductComposition> compositions = changed.isEmpty()
+                ? List.of()
+                : compositionRepository.findByProductIds(changed.stream().map(Product::getId).toList());
+        return new ChangeSetDTO<>(rowVersions.cursor(until), false,
+                toChanges(changed, compositions),
+                tombstones.deletedIds(CatalogVersion.Table.PRODUCT, from.getAsLong(), until));
+    }
+
+    private static List<ProductChangeDTO> toChanges(List<Product> products, List<ProductComposition> compositions) {
+        Map<Long, List<ProductCompositionDTO>> byProduct = new HashMap<>();
+        for (ProductComposition composition : compositions) {
+            // getId() de proxies LAZY não carrega o produto nem a matéria-prima
+            byProduct.computeIfAbsent(composition.getProduct().getId(), id -> new ArrayList<>())
+                    .add(new ProductCompositionDTO(composition.getRawMaterial().getId(), composition.getRequiredQuantity()));
+        }
+        return products.stream()
+                .map(product -> ProductChangeDTO.builder()
+                        .id(product.getId())
+                        .code(product.getCode())
+                        .name(product.getName())
+                        .price(product.getPrice())
+                        .description(product.getDescription())
+                        .compositions(byProduct.getOrDefault(product.getId(), List.of()))
+                        .rowVersion(product.getRowVersion())
+                        .updatedAt(product.getUpdatedAt())
+                        .build())
+                .toList();
     }
 
     /**
@@ -57,6 +181,7 @@ public class ProductService {
      * @return a entidade {@link Product} correspondente
      * @throws ResourceNotFoundException se nenhum produto for encontrado com o {@code id} informado
      */
+    @Timed("catalog.service")
     public Product findById(Long id) {
         return repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
@@ -73,6 +198,7 @@ public class ProductService {
      * @throws ResourceNotFoundException se alguma matéria-prima da composição não for encontrada
      */
     @Transactional
+    @Timed("catalog.service")
     public Product create(ProductDTO dto) {
         if (repository.existsByCode(dto.getCode())) {
             throw new DuplicateCodeException(
@@ -85,6 +211,8 @@ public class ProductService {
                 .price(dto.getPrice())
                 .description(dto.getDescription())
                 .compositions(new ArrayList<>())
+                .rowVersion(rowVersions.next())
+                .updatedAt(Instant.now())
                 .build();
 
         if (dto.getCompositions() != null) {
@@ -103,7 +231,10 @@ public class ProductService {
             }
         }
 
-        return repository.save(product);
+        catalogVersion.bump(CatalogVersion.Table.PRODUCT);
+        Product saved = repository.save(product);
+        changeBroadcaster.publish(CatalogVersion.Table.PRODUCT, CatalogChangeDTO.Action.CREATED, saved.getId());
+        return saved;
     }
 
     /**
@@ -118,6 +249,7 @@ public class ProductService {
      * @throws ResourceNotFoundException se o produto ou alguma matéria-prima da composição não for encontrada
      */
     @Transactional
+    @Timed("catalog.service")
     public Product update(Long id, ProductDTO dto) {
         Product product = findById(id);
 
@@ -131,6 +263,8 @@ public class ProductService {
         product.setName(dto.getName());
         product.setPrice(dto.getPrice());
         product.setDescription(dto.getDescription());
+        product.setRowVersion(rowVersions.next());
+        product.setUpdatedAt(Instant.now());
 
         product.getCompositions().clear();
 
@@ -150,6 +284,8 @@ public class ProductService {
             }
         }
 
+        catalogVersion.bump(CatalogVersion.Table.PRODUCT);
+        changeBroadcaster.publish(CatalogVersion.Table.PRODUCT, CatalogChangeDTO.Action.UPDATED, id);
         return repository.save(product);
     }
 
@@ -162,11 +298,14 @@ public class ProductService {
      * @throws ResourceNotFoundException se nenhum produto for encontrado com o {@code id} informado
      */
     @Transactional
+    @Timed("catalog.service")
     public void delete(Long id) {
-        if (!repository.existsById(id)) {
-            throw new ResourceNotFoundException("Product not found with id: " + id);
-        }
-        repository.deleteById(id);
+        // findById passa pelo contexto de persistência: enxerga o que um lote criou e ainda não gravou
+        Product product = findById(id);
+        catalogVersion.bump(CatalogVersion.Table.PRODUCT);
+        changeBroadcaster.publish(CatalogVersion.Table.PRODUCT, CatalogChangeDTO.Action.DELETED, id);
+        tombstones.record(CatalogVersion.Table.PRODUCT, id);
+        repository.delete(product);
     }
 }
 
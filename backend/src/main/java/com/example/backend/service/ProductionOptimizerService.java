@@ -1,18 +1,40 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.MultiSiteProductionDTO;
+import com.example.backend.dto.OptimizationProgressDTO;
 import com.example.backend.dto.ProductionSuggestionDTO;
 import com.example.backend.entity.Product;
 import com.example.backend.entity.ProductComposition;
 import com.example.backend.entity.RawMaterial;
+import com.example.backend.entity.SiteStock;
+import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.jfr.OptimizationEvent;
+import com.example.backend.jfr.OptimizerPhaseEvent;
 import com.example.backend.repository.ProductRepository;
 import com.example.backend.repository.RawMaterialRepository;
-import lombok.RequiredArgsConstructor;
+import com.example.backend.repository.SiteStockRepository;
+import com.example.backend.tracing.Span;
+import com.example.backend.tracing.SpanKind;
+import com.example.backend.tracing.Tracing;
+import com.example.backend.util.MicroUnits;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -33,6 +55,35 @@ import java.util.stream.Collectors;
  *
  * <p><strong>Complexidade:</strong> O(P × C), onde P = número de produtos e C = composições por produto.</p>
  *
+ * <p>Quantidades e preços são tratados em micro-unidades ({@code long}, ver
+ * {@link MicroUnits}): o estoque virtual é um {@code long[]} e cada produto é
+ * compilado em vetores primitivos antes do cálculo, sem boxing nem erro de
+ * arredondamento nos laços.</p>
+ *
+ * <h3>Múltiplas plantas</h3>
+ * <p>O catálogo é compilado uma única vez em um modelo imutável ({@code ProductionModel});
+ * cada site recebe o seu próprio vetor de estoque, carregado de {@code site_stock}, e é
+ * resolvido de forma independente — em paralelo quando todos os sites são otimizados.</p>
+ *
+ * <h3>Lotes perecíveis</h3>
+ * <p>No estoque central, o saldo de lotes vencidos (ver {@link LotInventory}) é descontado
+ * de cada matéria-prima antes da otimização.</p>
+ *
+ * <h3>Progresso</h3>
+ * <p>{@link #optimize(String, OptimizationProgressListener)} informa, após cada produto avaliado,
+ * o valor atual e um limite superior para o valor final (ver {@link OptimizationStreamService}).</p>
+ *
+ * <h3>Métricas</h3>
+ * <ul>
+ *   <li>{@code optimizer.optimize} — duração total, por {@code mode} ({@code central}, {@code site},
+ *       {@code all-sites}) e {@code outcome} ({@code success}, {@code cancelled}, {@code error})</li>
+ *   <li>{@code optimizer.phase} — duração de cada fase, por {@code phase}: {@code load} (consultas de
+ *       catálogo e estoque), {@code compile} (modelo, incluindo o carregamento das composições),
+ *       {@code solve} (algoritmo) e {@code map} (montagem das sugestões)</li>
+ *   <li>{@code optimizer.products.evaluated} — produtos avaliados pelo algoritmo</li>
+ * </ul>
+ * <p>As mesmas fases são gravadas no JFR ({@link OptimizationEvent} / {@link OptimizerPhaseEvent}).</p>
+ *
  * @author Equipe Backend
  * @version 1.0.0
  * @see Product
@@ -41,11 +92,38 @@ import java.util.stream.Collectors;
  * @see ProductionSuggestionDTO
  */
 @Service
-@RequiredArgsConstructor
 public class ProductionOptimizerService {
 
     private final ProductRepository productRepository;
     private final RawMaterialRepository rawMaterialRepository;
+    private final SiteStockRepository siteStockRepository;
+    private final LotInventory lotInventory;
+
+    private final MeterRegistry meterRegistry;
+    private final Timer loadTimer;
+    private final Timer compileTimer;
+    private final Timer solveTimer;
+    private final Timer mapTimer;
+    private final Counter productsEvaluated;
+
+    public ProductionOptimizerService(ProductRepository productRepository,
+                                      RawMaterialRepository rawMaterialRepository,
+                                      SiteStockRepository siteStockRepository,
+                                      LotInventory lotInventory,
+                                      MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.rawMaterialRepository = rawMaterialRepository;
+        this.siteStockRepository = siteStockRepository;
+        this.lotInventory = lotInventory;
+        this.meterRegistry = meterRegistry;
+        this.loadTimer = phaseTimer("load");
+        this.compileTimer = phaseTimer("compile");
+        this.solveTimer = phaseTimer("solve");
+        this.mapTimer = phaseTimer("map");
+        this.productsEvaluated = Counter.builder("optimizer.products.evaluated")
+                .description("Products evaluated by the production optimizer")
+                .register(meterRegistry);
+    }
 
     /**
      * Executa o algoritmo de otimização e retorna as sugestões de produção.
@@ -61,43 +139,464 @@ public class ProductionOptimizerService {
      *         — vazia se não houver estoque suficiente para fabricar nenhum produto
      */
     public List<ProductionSuggestionDTO> optimize() {
-        List<Product> products = productRepository.findAll();
-        List<RawMaterial> rawMaterials = rawMaterialRepository.findAll();
+        return optimize(null, OptimizationProgressListener.NONE);
+    }
 
-        // Mapa de estoque: rawMaterialId -> quantidade disponível
-        Map<Long, Double> stockMap = rawMaterials.stream()
-                .collect(Collectors.toMap(RawMaterial::getId, RawMaterial::getStockQuantity));
+    /**
+     * Executa a otimização usando apenas o estoque de um site.
+     *
+     * @param site código do site (ex.: {@code "SP01"})
+     * @return sugestões de produção para o site, na mesma ordem de {@link #optimize()}
+     * @throws IllegalArgumentException  se o código do site for inválido
+     * @throws ResourceNotFoundException se não houver estoque cadastrado para o site
+     */
+    public List<ProductionSuggestionDTO> optimize(String site) {
+        SiteStockService.requireValidSite(site);
+        return optimize(site, OptimizationProgressListener.NONE);
+    }
 
-        // Ordena produtos por preço decrescente (prioriza os de maior valor)
-        products.sort(Comparator.comparingDouble(Product::getPrice).reversed());
+    /**
+     * Executa a otimização informando o progresso a um listener.
+     *
+     * <p>Usado pelo stream de progresso, que chama este método fora da thread da requisição:
+     * a transação somente leitura mantém a sessão aberta para carregar as composições.</p>
+     *
+     * @param site     código do site, ou {@code null} para o estoque central
+     * @param listener destino dos eventos de progresso
+     * @return sugestões de produção, como em {@link #optimize()} / {@link #optimize(String)}
+     * @throws IllegalArgumentException                  se o código do site for inválido
+     * @throws ResourceNotFoundException                 se não houver estoque cadastrado para o site
+     * @throws java.util.concurrent.CancellationException se o listener cancelar a otimização
+     */
+    @Transactional(readOnly = true)
+    public List<ProductionSuggestionDTO> optimize(String site, OptimizationProgressListener listener) {
+        return timed(site == null ? "central" : "site", site, run -> site == null
+                ? optimizeCentral(run, listener)
+                : optimizeSite(site, run, listener));
+    }
 
-        List<ProductionSuggestionDTO> suggestions = new ArrayList<>();
+    private List<ProductionSuggestionDTO> optimizeCentral(OptimizationEvent run, OptimizationProgressListener listener) {
+        Loaded<long[]> loaded = phase(loadTimer, null, () -> {
+            Catalog loadedCatalog = loadCatalog();
+            long[] micros = new long[loadedCatalog.rawMaterials().size()];
+            for (int i = 0; i < micros.length; i++) {
+                micros[i] = lotInventory.expiredMicros(loadedCatalog.rawMaterials().get(i).getId());
+            }
+            return new Loaded<>(loadedCatalog, micros);
+        }, Loaded::size);
+        Catalog catalog = loaded.catalog();
+        long[] expired = loaded.stock();
+        run.products = catalog.products().size();
+        run.rawMaterials = catalog.rawMaterials().size();
+
+        ProductionModel model = phase(compileTimer, null,
+                () -> compileModel(catalog.products(), catalog.rawMaterials()), ProductionModel::size);
+
+        long[] stock = model.newStockVector();
+        for (int i = 0; i < expired.length; i++) {
+            RawMaterial rawMaterial = catalog.rawMaterials().get(i);
+            // Lotes vencidos continuam no estoque físico, mas não podem ser usados na produção
+            long usable = rawMaterial.getStockQuantityMicros() - expired[i];
+            stock[model.slotOf(rawMaterial.getId())] = Math.max(usable, 0);
+        }
+
+        return solve(null, model, stock, listener);
+    }
+
+    private List<ProductionSuggestionDTO> optimizeSite(String site, OptimizationEvent run,
+                                                       OptimizationProgressListener listener) {
+        SiteStockService.requireValidSite(site);
+        Loaded<List<SiteStock>> loaded = phase(loadTimer, site, () -> {
+            List<SiteStock> siteRows = siteStockRepository.findBySite(site);
+            if (siteRows.isEmpty()) {
+                throw new ResourceNotFoundException("No stock registered for site: " + site);
+            }
+            return new Loaded<>(loadCatalog(), siteRows);
+        }, Loaded::size);
+        Catalog catalog = loaded.catalog();
+        List<SiteStock> rows = loaded.stock();
+        run.products = catalog.products().size();
+        run.rawMaterials = catalog.rawMaterials().size();
+        ProductionModel model = phase(compileTimer, site,
+                () -> compileModel(catalog.products(), catalog.rawMaterials()), ProductionModel::size);
+        return solve(site, model, stockVector(model, rows), listener);
+    }
+
+    /**
+     * Executa a otimização de todos os sites com estoque cadastrado, em paralelo.
+     *
+     * <p>O catálogo é compilado uma vez; cada site é resolvido com o seu próprio vetor
+     * de estoque. A visão {@code merged} soma, por produto, as quantidades sugeridas
+     * em todos os sites.</p>
+     *
+     * @return sugestões por site e consolidadas — vazias se não houver estoque por site
+     */
+    public MultiSiteProductionDTO optimizeAllSites() {
+        return timed("all-sites", null, this::optimizeAllSites);
+    }
+
+    private MultiSiteProductionDTO optimizeAllSites(OptimizationEvent run) {
+        Loaded<Map<String, List<SiteStock>>> loaded = phase(loadTimer, null, () -> new Loaded<>(
+                loadCatalog(),
+                siteStockRepository.findAll().stream().collect(Collectors.groupingBy(SiteStock::getSite))),
+                Loaded::size);
+        Catalog catalog = loaded.catalog();
+        Map<String, List<SiteStock>> rowsBySite = loaded.stock();
+        run.products = catalog.products().size();
+        run.rawMaterials = catalog.rawMaterials().size();
+        ProductionModel model = phase(compileTimer, null,
+                () -> compileModel(catalog.products(), catalog.rawMaterials()), ProductionModel::size);
+
+        // Os spans das fases resolvidas nas threads do pool ficam no trace da requisição
+        Span parent = Tracing.current();
+        Map<String, List<ProductionSuggestionDTO>> bySite = new TreeMap<>(
+                rowsBySite.entrySet().parallelStream()
+                        .collect(Collectors.toConcurrentMap(
+                                Map.Entry::getKey,
+                                entry -> Tracing.withParent(parent,
+                                        () -> solve(entry.getKey(), model, stockVector(model, entry.getValue()),
+                                                OptimizationProgressListener.NONE)))));
+
+        List<ProductionSuggestionDTO> merged = merge(model, bySite.values());
+        long totalMicros = 0;
+        for (ProductionSuggestionDTO suggestion : merged) {
+            totalMicros += MicroUnits.toMicros(suggestion.getTotalValue());
+        }
 
+        return MultiSiteProductionDTO.builder()
+                .sites(bySite)
+                .merged(merged)
+                .totalValue(MicroUnits.toDouble(totalMicros))
+                .build();
+    }
+
+    // ── Métricas / JFR ──────────────────────────────────────────────────────────
+
+    private Timer phaseTimer(String phase) {
+        return Timer.builder("optimizer.phase")
+                .description("Duration of each production optimizer phase")
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Executa uma fase, registrando a duração no timer da fase, um {@link OptimizerPhaseEvent} e,
+     * dentro de um trace, um span {@code optimizer.<fase>}.
+     *
+     * @param items quantidade de itens processados, extraída do resultado da fase
+     */
+    private <T> T phase(Timer timer, String site, Supplier<T> work, ToIntFunction<T> items) {
+        String name = timer.getId().getTag("phase");
+        Span span = Tracing.startSpan("optimizer." + name, SpanKind.INTERNAL).setAttribute("site", site);
+        OptimizerPhaseEvent event = new OptimizerPhaseEvent();
+        event.begin();
+        try {
+            T result = timer.record(work);
+            event.end();
+            if (span.isRecording() || event.shouldCommit()) {
+                int count = items.applyAsInt(result);
+                span.setAttribute("items", count);
+                if (event.shouldCommit()) {
+                    event.phase = name;
+                    event.site = site;
+                    event.items = count;
+                    event.commit();
+                }
+            }
+            return result;
+        } catch (RuntimeException e) {
+            span.recordException(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Executa uma otimização registrando a duração total em {@code optimizer.optimize}
+     * e um {@link OptimizationEvent}, cujas contagens do catálogo são preenchidas pela otimização.
+     */
+    private <T> T timed(String mode, String site, Function<OptimizationEvent, T> optimization) {
+        OptimizationEvent event = new OptimizationEvent();
+        event.begin();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = optimization.apply(event);
+            outcome = "success";
+            return result;
+        } catch (CancellationException e) {
+            outcome = "cancelled";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("optimizer.optimize")
+                    .description("Duration of a production optimization")
+                    .tag("mode", mode)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+            event.end();
+            if (event.shouldCommit()) {
+                event.mode = mode;
+                event.site = site;
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+
+    // ── Modelo ──────────────────────────────────────────────────────────────────
+
+    /**
+     * Catálogo lido do banco: produtos e matérias-primas.
+     */
+    private record Catalog(List<Product> products, List<RawMaterial> rawMaterials) {
+
+        int size() {
+            return products.size() + rawMaterials.size();
+        }
+    }
+
+    /**
+     * Resultado da fase {@code load}: o catálogo e o estoque que a otimização usa (lotes vencidos,
+     * linhas de um site ou de todos). Uma única fase por otimização, para que
+     * {@code optimizer.phase{phase=load}} conte uma amostra por execução, como as demais fases.
+     */
+    private record Loaded<S>(Catalog catalog, S stock) {
+
+        int size() {
+            return catalog.size();
+        }
+    }
+
+    private Catalog loadCatalog() {
+        return new Catalog(productRepository.findAllWithCompositions(), rawMaterialRepository.findAll());
+    }
+
+    /**
+     * Catálogo compilado: produtos ordenados por preço decrescente, as respectivas receitas
+     * e o índice denso rawMaterialId → posição no vetor de estoque.
+     *
+     * <p>Imutável após a compilação — pode ser resolvido por várias threads ao mesmo tempo,
+     * cada uma com o seu próprio vetor de estoque.</p>
+     */
+    private record ProductionModel(List<Product> products, Recipe[] recipes,
+                                   Map<Long, Integer> materialIndex, int missingSlot) {
+
+        long[] newStockVector() {
+            // Última posição: matéria-prima sem estoque cadastrado (sempre 0)
+            return new long[missingSlot + 1];
+        }
+
+        int slotOf(Long rawMaterialId) {
+            return materialIndex.getOrDefault(rawMaterialId, missingSlot);
+        }
+
+        int size() {
+            return recipes.length;
+        }
+    }
+
+    /**
+     * Composição de um produto compilada em vetores primitivos paralelos:
+     * {@code slots[i]} é a posição da matéria-prima no vetor de estoque e
+     * {@code required[i]} a quantidade necessária por unidade, em micro-unidades.
+     *
+     * <p>Composições com quantidade {@code <= 0} são descartadas na compilação.</p>
+     */
+    private record Recipe(int[] slots, long[] required) {}
+
+    /**
+     * Compila o catálogo: indexa as matérias-primas, ordena os produtos por preço
+     * decrescente e converte as composições de cada produto em um {@link Recipe}.
+     *
+     * <p>Produtos sem composição são descartados.</p>
+     *
+     * @param products     produtos cadastrados
+     * @param rawMaterials matérias-primas cadastradas
+     * @return modelo compilado
+     */
+    private ProductionModel compileModel(List<Product> products, List<RawMaterial> rawMaterials) {
+        Map<Long, Integer> materialIndex = new HashMap<>(rawMaterials.size() * 2);
+        for (int i = 0; i < rawMaterials.size(); i++) {
+            materialIndex.put(rawMaterials.get(i).getId(), i);
+        }
+        int missingSlot = rawMaterials.size();
+
+        // Ordena produtos por preço decrescente (prioriza os de maior valor)
+        List<Product> sorted = new ArrayList<>(products.size());
         for (Product product : products) {
-            if (product.getCompositions() == null || product.getCompositions().isEmpty()) {
+            if (product.getCompositions() != null && !product.getCompositions().isEmpty()) {
+                sorted.add(product);
+            }
+        }
+        sorted.sort(Comparator.comparingLong(Product::getPriceMicros).reversed());
+
+        Recipe[] recipes = new Recipe[sorted.size()];
+        for (int i = 0; i < recipes.length; i++) {
+            recipes[i] = compileRecipe(sorted.get(i), materialIndex, missingSlot);
+        }
+
+        return new ProductionModel(sorted, recipes, materialIndex, missingSlot);
+    }
+
+    /**
+     * Converte as composições de um produto em um {@link Recipe}.
+     *
+     * @param product       produto a ser compilado
+     * @param materialIndex mapa rawMaterialId → posição no vetor de estoque
+     * @param missingSlot   posição reservada para matérias-primas sem estoque cadastrado
+     * @return receita compilada
+     */
+    private Recipe compileRecipe(Product product, Map<Long, Integer> materialIndex, int missingSlot) {
+        List<ProductComposition> compositions = product.getCompositions();
+        int[] slots = new int[compositions.size()];
+        long[] required = new long[compositions.size()];
+        int size = 0;
+
+        for (ProductComposition composition : compositions) {
+            long requiredMicros = composition.getRequiredQuantityMicros();
+            if (requiredMicros <= 0) {
                 continue;
             }
+            slots[size] = materialIndex.getOrDefault(composition.getRawMaterial().getId(), missingSlot);
+            required[size] = requiredMicros;
+            size++;
+        }
 
-            int maxUnits = calculateMaxUnits(product, stockMap);
+        return new Recipe(Arrays.copyOf(slots, size), Arrays.copyOf(required, size));
+    }
 
-            if (maxUnits > 0) {
-                consumeStock(product, maxUnits, stockMap);
+    /**
+     * Monta o vetor de estoque de um site a partir das suas linhas em {@code site_stock}.
+     */
+    private long[] stockVector(ProductionModel model, List<SiteStock> rows) {
+        long[] stock = model.newStockVector();
+        for (SiteStock row : rows) {
+            int slot = model.slotOf(row.getRawMaterialId());
+            if (slot != model.missingSlot()) {
+                stock[slot] = row.getQuantityMicros();
+            }
+        }
+        return stock;
+    }
+
+    /**
+     * Resolve o modelo para um vetor de estoque (algoritmo guloso) e monta as sugestões.
+     *
+     * @param site     site resolvido (para o evento JFR), ou {@code null}
+     * @param model    modelo compilado
+     * @param stock    estoque em micro-unidades — será consumido in-place
+     * @param listener destino do progresso; o evento só é montado quando {@code wantsUpdate()} é verdadeiro
+     * @return sugestões de produção ordenadas por prioridade
+     */
+    private List<ProductionSuggestionDTO> solve(String site, ProductionModel model, long[] stock,
+                                                OptimizationProgressListener listener) {
+        long[] units = phase(solveTimer, site, () -> greedy(model, stock, listener), solved -> solved.length);
+        productsEvaluated.increment(units.length);
+        return phase(mapTimer, site, () -> toSuggestions(model, units), List::size);
+    }
+
+    /**
+     * Algoritmo guloso sobre o modelo compilado.
+     *
+     * @return unidades a produzir de cada produto, na ordem de {@code model.products()}
+     */
+    private long[] greedy(ProductionModel model, long[] stock, OptimizationProgressListener listener) {
+        long[] units = new long[model.recipes().length];
+        boolean reporting = listener != OptimizationProgressListener.NONE;
+        long start = System.nanoTime();
+        long incumbentMicros = 0;
+
+        for (int i = 0; i < model.recipes().length; i++) {
+            Recipe recipe = model.recipes()[i];
+            long maxUnits = calculateMaxUnits(recipe, stock);
 
-                ProductionSuggestionDTO suggestion = ProductionSuggestionDTO.builder()
-                        .productCode(product.getCode())
-                        .productName(product.getName())
-                        .quantity(maxUnits)
-                        .unitPrice(product.getPrice())
-                        .totalValue(product.getPrice() * maxUnits)
-                        .build();
+            if (maxUnits > 0) {
+                consumeStock(recipe, maxUnits, stock);
+                units[i] = maxUnits;
+                long priceMicros = model.products().get(i).getPriceMicros();
+                incumbentMicros = Math.addExact(incumbentMicros, MicroUnits.times(priceMicros, maxUnits));
+            }
 
-                suggestions.add(suggestion);
+            if (reporting && listener.wantsUpdate()) {
+                listener.onProgress(progress(model, stock, i + 1, incumbentMicros, start, false));
             }
         }
 
+        if (reporting) {
+            listener.onProgress(progress(model, stock, model.recipes().length, incumbentMicros, start, true));
+        }
+        return units;
+    }
+
+    private List<ProductionSuggestionDTO> toSuggestions(ProductionModel model, long[] units) {
+        List<ProductionSuggestionDTO> suggestions = new ArrayList<>();
+        for (int i = 0; i < units.length; i++) {
+            if (units[i] > 0) {
+                suggestions.add(toSuggestion(model.products().get(i), units[i]));
+            }
+        }
         return suggestions;
     }
 
+    /**
+     * Monta o evento de progresso após avaliar {@code explored} produtos.
+     *
+     * <p>O limite superior soma ao valor atual o que cada produto restante renderia
+     * se pudesse usar sozinho todo o estoque que sobrou — nenhuma continuação do
+     * algoritmo ultrapassa esse valor. Custa O(restantes × C), por isso só é calculado
+     * quando um evento é de fato emitido.</p>
+     */
+    private OptimizationProgressDTO progress(ProductionModel model, long[] stock, int explored,
+                                             long incumbentMicros, long startNanos, boolean done) {
+        double bound = MicroUnits.toDouble(incumbentMicros);
+        for (int j = explored; j < model.recipes().length; j++) {
+            long units = calculateMaxUnits(model.recipes()[j], stock);
+            bound += units * MicroUnits.toDouble(model.products().get(j).getPriceMicros());
+        }
+
+        return OptimizationProgressDTO.builder()
+                .incumbentValue(MicroUnits.toDouble(incumbentMicros))
+                .bound(bound)
+                .nodesExplored(explored)
+                .totalNodes(model.recipes().length)
+                .elapsedMs((System.nanoTime() - startNanos) / 1_000_000)
+                .done(done)
+                .build();
+    }
+
+    /**
+     * Soma as sugestões de vários sites por produto, preservando a ordem de prioridade.
+     */
+    private List<ProductionSuggestionDTO> merge(ProductionModel model,
+                                                Iterable<List<ProductionSuggestionDTO>> siteResults) {
+        Map<String, Long> unitsByCode = new HashMap<>();
+        for (List<ProductionSuggestionDTO> suggestions : siteResults) {
+            for (ProductionSuggestionDTO suggestion : suggestions) {
+                unitsByCode.merge(suggestion.getProductCode(), (long) suggestion.getQuantity(), Long::sum);
+            }
+        }
+
+        Map<String, ProductionSuggestionDTO> merged = new LinkedHashMap<>();
+        for (Product product : model.products()) {
+            Long units = unitsByCode.get(product.getCode());
+            if (units != null && units > 0) {
+                merged.put(product.getCode(), toSuggestion(product, units));
+            }
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    private ProductionSuggestionDTO toSuggestion(Product product, long units) {
+        return ProductionSuggestionDTO.builder()
+                .productCode(product.getCode())
+                .productName(product.getName())
+                .quantity(Math.toIntExact(units))
+                .unitPrice(product.getPrice())
+                .totalValue(MicroUnits.toDouble(MicroUnits.times(product.getPriceMicros(), units)))
+                .build();
+    }
+
     /**
      * Calcula o número máximo de unidades fabricáveis de um produto
      * com base no estoque disponível de matérias-primas.
@@ -108,50 +607,46 @@ public class ProductionOptimizerService {
      * <p>Exemplo: se um produto precisa de 100g de Farinha (estoque: 500g → 5 unidades)
      * e 50ml de Leite (estoque: 100ml → 2 unidades), o máximo fabricável é <strong>2</strong>.</p>
      *
-     * @param product  produto cuja capacidade de fabricação será calculada
-     * @param stockMap mapa de estoque atual (rawMaterialId → quantidade disponível)
+     * @param recipe receita compilada do produto
+     * @param stock  estoque atual em micro-unidades, indexado pela posição da matéria-prima
      * @return número máximo de unidades fabricáveis — {@code 0} se não houver estoque suficiente
      */
-    private int calculateMaxUnits(Product product, Map<Long, Double> stockMap) {
-        int maxUnits = Integer.MAX_VALUE;
+    private long calculateMaxUnits(Recipe recipe, long[] stock) {
+        int[] slots = recipe.slots();
+        long[] required = recipe.required();
+        long maxUnits = Integer.MAX_VALUE;
 
-        for (ProductComposition composition : product.getCompositions()) {
-            Long rawMaterialId = composition.getRawMaterial().getId();
-            Double available = stockMap.getOrDefault(rawMaterialId, 0.0);
-            Double required = composition.getRequiredQuantity();
-
-            if (required <= 0) {
-                continue;
+        for (int i = 0; i < slots.length; i++) {
+            long available = stock[slots[i]];
+            long possibleUnits = available <= 0 ? 0 : available / required[i];
+            if (possibleUnits < maxUnits) {
+                maxUnits = possibleUnits;
             }
-
-            int possibleUnits = (int) Math.floor(available / required);
-            maxUnits = Math.min(maxUnits, possibleUnits);
         }
 
-        return maxUnits == Integer.MAX_VALUE ? 0 : maxUnits;
+        return slots.length == 0 ? 0 : maxUnits;
     }
 
     /**
      * Consome o estoque de matérias-primas após decidir produzir N unidades de um produto.
      *
-     * <p>Deduz do mapa de estoque virtual a quantidade total consumida por cada
-     * matéria-prima: {@code consumido = requiredQuantity × units}.</p>
+     * <p>Deduz do vetor de estoque virtual a quantidade total consumida por cada
+     * matéria-prima: {@code consumido = requiredQuantity × units}. Como os valores
+     * são inteiros de ponto fixo, o estoque restante é exato.</p>
      *
-     * <p><strong>Nota:</strong> esta operação altera apenas o mapa em memória,
+     * <p><strong>Nota:</strong> esta operação altera apenas o vetor em memória,
      * sem persistir as alterações no banco de dados.</p>
      *
-     * @param product  produto que será fabricado
-     * @param units    quantidade de unidades a produzir
-     * @param stockMap mapa de estoque atual (rawMaterialId → quantidade disponível) — será modificado in-place
+     * @param recipe receita compilada do produto
+     * @param units  quantidade de unidades a produzir
+     * @param stock  estoque atual em micro-unidades — será modificado in-place
      */
-    private void consumeStock(Product product, int units, Map<Long, Double> stockMap) {
-        for (ProductComposition composition : product.getCompositions()) {
-            Long rawMaterialId = composition.getRawMaterial().getId();
-            Double currentStock = stockMap.getOrDefault(rawMaterialId, 0.0);
-            Double consumed = composition.getRequiredQuantity() * units;
+    private void consumeStock(Recipe recipe, long units, long[] stock) {
+        int[] slots = recipe.slots();
+        long[] required = recipe.required();
 
-            stockMap.put(rawMaterialId, currentStock - consumed);
+        for (int i = 0; i < slots.length; i++) {
+            stock[slots[i]] -= required[i] * units;
         }
     }
 }
-
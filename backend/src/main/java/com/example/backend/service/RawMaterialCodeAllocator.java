@@ -0,0 +1,170 @@
+package com.example.backend.service;
+
+import com.example.backend.repository.RawMaterialRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Alocador de códigos sequenciais para matérias-primas (ex.: {@code MP001}, {@code MP002}, ...).
+ *
+ * <p>Cada prefixo configurado possui uma <strong>sequence</strong> no banco
+ * ({@code raw_material_code_seq_<prefixo>}) com {@code INCREMENT BY} igual ao tamanho do bloco.
+ * Um único {@code NEXT VALUE FOR} reserva um bloco inteiro de números, que é então
+ * distribuído em memória por um {@link AtomicLong}: a maioria das chamadas não acessa
+ * o banco e duas chamadas concorrentes nunca recebem o mesmo código.</p>
+ *
+ * <p>Na primeira utilização de um prefixo, a sequence é criada a partir do maior número
+ * já cadastrado com aquele prefixo. Números reservados e não utilizados (ex.: reinício
+ * da aplicação) geram lacunas na numeração, mas nunca repetições.</p>
+ *
+ * <h3>Configuração</h3>
+ * <ul>
+ *   <li>{@code app.raw-material.code.prefixes} — prefixos aceitos; o primeiro é o padrão ({@code MP}).</li>
+ *   <li>{@code app.raw-material.code.width} — quantidade mínima de dígitos ({@code 3} → {@code MP001}).
+ *       Números maiores simplesmente ocupam mais dígitos ({@code MP1000}).</li>
+ *   <li>{@code app.raw-material.code.block-size} — quantidade de códigos reservados por acesso ao banco.</li>
+ * </ul>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see RawMaterialService#generateNextCode()
+ */
+@Service
+public class RawMaterialCodeAllocator {
+
+    private static final Pattern PREFIX_PATTERN = Pattern.compile("[A-Z]{1,10}");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RawMaterialRepository repository;
+    private final List<String> prefixes;
+    private final String numberFormat;
+    private final int blockSize;
+
+    private final Map<String, Sequence> sequences = new ConcurrentHashMap<>();
+
+    public RawMaterialCodeAllocator(JdbcTemplate jdbcTemplate,
+                                    RawMaterialRepository repository,
+                                    @Value("${app.raw-material.code.prefixes:MP}") List<String> prefixes,
+                                    @Value("${app.raw-material.code.width:3}") int width,
+                                    @Value("${app.raw-material.code.block-size:50}") int blockSize) {
+        if (prefixes.isEmpty()) {
+            throw new IllegalArgumentException("At least one raw material code prefix must be configured.");
+        }
+        for (String prefix : prefixes) {
+            if (!PREFIX_PATTERN.matcher(prefix).matches()) {
+                throw new IllegalArgumentException("Invalid raw material code prefix: " + prefix);
+            }
+        }
+        if (width < 1 || blockSize < 1) {
+            throw new IllegalArgumentException("Code width and block size must be positive.");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.repository = repository;
+        this.prefixes = List.copyOf(prefixes);
+        this.numberFormat = "%0" + width + "d";
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * @return o prefixo padrão (primeiro da lista configurada)
+     */
+    public String defaultPrefix() {
+        return prefixes.get(0);
+    }
+
+    /**
+     * Aloca o próximo código para o prefixo informado.
+     *
+     * @param prefix prefixo desejado (ex.: {@code "MP"})
+     * @return código único, ex.: {@code "MP006"}
+     * @throws IllegalArgumentException se o prefixo não estiver configurado
+     */
+    public String next(String prefix) {
+        if (!prefixes.contains(prefix)) {
+            throw new IllegalArgumentException("Unknown raw material code prefix: " + prefix
+                    + ". Allowed prefixes: " + prefixes);
+        }
+        long number = sequences.computeIfAbsent(prefix, Sequence::new).next();
+        return prefix + String.format(numberFormat, number);
+    }
+
+    /**
+     * Intervalo {@code [next, end)} de números reservados no banco.
+     */
+    private record Block(AtomicLong next, long end) {
+    }
+
+    /**
+     * Estado de alocação de um prefixo: bloco corrente + sequence no banco.
+     */
+    private final class Sequence {
+
+        private final String prefix;
+        private final String sequenceName;
+        // ReentrantLock em vez de synchronized: o refill acessa o banco e, no Java 21,
+        // uma virtual thread bloqueada dentro de synchronized prende a carrier thread
+        private final ReentrantLock refillLock = new ReentrantLock();
+        private volatile Block block;
+        private boolean created;
+
+        Sequence(String prefix) {
+            this.prefix = prefix;
+            this.sequenceName = "raw_material_code_seq_" + prefix.toLowerCase(Locale.ROOT);
+        }
+
+        long next() {
+            while (true) {
+                Block current = block;
+                if (current != null) {
+                    long number = current.next().getAndIncrement();
+                    if (number < current.end()) {
+                        return number;
+                    }
+                }
+                refill(current);
+            }
+        }
+
+        private void refill(Block exhausted) {
+            refillLock.lock();
+            try {
+                if (block != exhausted) {
+                    return; // outra thread já reservou um novo bloco
+                }
+                if (!created) {
+                    long start = highestExistingNumber() + 1;
+                    jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequenceName
+                            + " START WITH " + start + " INCREMENT BY " + blockSize);
+                    created = true;
+                }
+                Long first = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + sequenceName, Long.class);
+                block = new Block(new AtomicLong(first), first + blockSize);
+            } finally {
+                refillLock.unlock();
+            }
+        }
+
+        /**
+         * Maior número já usado com este prefixo — consultado uma única vez, ao criar a sequence.
+         */
+        private long highestExistingNumber() {
+            long max = 0;
+            for (String code : repository.findCodesStartingWith(prefix)) {
+                String digits = code.substring(prefix.length());
+                if (!digits.isEmpty() && digits.length() < 19 && digits.chars().allMatch(Character::isDigit)) {
+                    max = Math.max(max, Long.parseLong(digits));
+                }
+            }
+            return max;
+        }
+    }
+}
@@ -1,15 +1,20 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.CatalogChangeDTO;
+import com.example.backend.dto.ChangeSetDTO;
 import com.example.backend.dto.RawMaterialDTO;
 import com.example.backend.entity.RawMaterial;
 import com.example.backend.exception.DuplicateCodeException;
 import com.example.backend.exception.ResourceNotFoundException;
 import com.example.backend.repository.RawMaterialRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.OptionalLong;
 
 /**
  * Serviço responsável pela lógica de negócio relacionada a Matérias-Primas (Raw Materials).
@@ -17,6 +22,8 @@ import java.util.List;
  * <p>Fornece operações CRUD completas para o gerenciamento de insumos industriais,
  * incluindo controle de estoque (quantidade disponível).</p>
  *
+ * <p>Os métodos CRUD alimentam o timer {@code catalog.service}, como em {@link ProductService}.</p>
+ *
  * @author Equipe Backend
  * @version 1.0.0
  * @see RawMaterial
@@ -28,33 +35,70 @@ import java.util.List;
 public class RawMaterialService {
 
     private final RawMaterialRepository repository;
+    private final RawMaterialCodeAllocator codeAllocator;
+    private final CatalogVersion catalogVersion;
+    private final CatalogChangeBroadcaster changeBroadcaster;
+    private final RowVersions rowVersions;
+    private final TombstoneService tombstones;
 
     /**
      * Retorna todas as matérias-primas cadastradas.
      *
      * @return lista de {@link RawMaterial} — pode ser vazia caso não haja registros
      */
+    @Timed("catalog.service")
     public List<RawMaterial> findAll() {
         return repository.findAll();
     }
 
     /**
-     * Generates the next sequential code following the pattern MP001, MP002, ..., MP999.
+     * Retorna as matérias-primas alteradas ou removidas após a versão informada.
+     *
+     * <p>Sem {@code since} — ou com um cursor que não pode ser continuado (ver
+     * {@link RowVersions#resume(String)}) — retorna todos os registros com {@code reset = true}.</p>
      *
-     * <p>Queries the database for the highest existing code with the "MP" prefix,
-     * extracts the numeric suffix, increments it, and returns the next code
-     * zero-padded to 3 digits.</p>
+     * @param since cursor ({@code version}) recebido na chamada anterior (opcional)
+     * @return alterações até {@link RowVersions#stable()}
+     * @throws IllegalArgumentException se {@code since} estiver malformado
+     */
+    @Transactional(readOnly = true)
+    public ChangeSetDTO<RawMaterial> findChanges(String since) {
+        OptionalLong from = since == null ? OptionalLong.empty() : rowVersions.resume(since);
+        long until = rowVersions.stable();
+        if (from.isEmpty()) {
+            return new ChangeSetDTO<>(rowVersions.cursor(until), true, repository.findAll(), List.of());
+        }
+        return new ChangeSetDTO<>(rowVersions.cursor(until), false,
+                repository.findChanges(from.getAsLong(), until),
+                tombstones.deletedIds(CatalogVersion.Table.RAW_MATERIAL, from.getAsLong(), until));
+    }
+
+    /**
+     * Allocates the next sequential code with the default prefix (MP001, MP002, ...).
      *
      * @return the next available code (e.g. "MP006" if the last was "MP005")
+     * @see #generateNextCode(String)
      */
     public String generateNextCode() {
-        return repository.findMaxCodeWithPrefix()
-                .map(maxCode -> {
-                    String numericPart = maxCode.replaceAll("\\D+", "");
-                    int nextNumber = Integer.parseInt(numericPart) + 1;
-                    return String.format("MP%03d", nextNumber);
-                })
-                .orElse("MP001");
+        return generateNextCode(codeAllocator.defaultPrefix());
+    }
+
+    /**
+     * Allocates the next sequential code for the given prefix.
+     *
+     * <p>Codes come from {@link RawMaterialCodeAllocator}, which hands them out from
+     * blocks reserved in a database sequence, so concurrent callers never receive the
+     * same code. Each call consumes a code; codes that were reserved but never used
+     * leave gaps. No query per call: the allocator starts above the highest code
+     * registered when it is seeded, and a code registered manually later is still
+     * rejected by {@link #create(RawMaterialDTO)} (unique constraint, {@code 409}).</p>
+     *
+     * @param prefix one of the configured prefixes (e.g. "MP")
+     * @return the next code
+     * @throws IllegalArgumentException if the prefix is not configured
+     */
+    public String generateNextCode(String prefix) {
+        return codeAllocator.next(prefix);
     }
 
     /**
@@ -64,6 +108,7 @@ public class RawMaterialService {
      * @return a entidade {@link RawMaterial} correspondente
      * @throws ResourceNotFoundException se nenhuma matéria-prima for encontrada com o {@code id} informado
      */
+    @Timed("catalog.service")
     public RawMaterial findById(Long id) {
         return repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Raw Material not found with id: " + id));
@@ -78,6 +123,7 @@ public class RawMaterialService {
      * @return a entidade {@link RawMaterial} persistida, já com o {@code id} gerado
      */
     @Transactional
+    @Timed("catalog.service")
     public RawMaterial create(RawMaterialDTO dto) {
         if (repository.existsByCode(dto.getCode())) {
             throw new DuplicateCodeException(
@@ -89,9 +135,14 @@ public class RawMaterialService {
                 .name(dto.getName())
                 .stockQuantity(dto.getStockQuantity())
                 .unitOfMeasure(dto.getUnitOfMeasure() != null ? dto.getUnitOfMeasure() : "kg")
+                .rowVersion(rowVersions.next())
+                .updatedAt(Instant.now())
                 .build();
 
-        return repository.save(rawMaterial);
+        catalogVersion.bump(CatalogVersion.Table.RAW_MATERIAL);
+        RawMaterial saved = repository.save(rawMaterial);
+        changeBroadcaster.publish(CatalogVersion.Table.RAW_MATERIAL, CatalogChangeDTO.Action.CREATED, saved.getId());
+        return saved;
     }
 
     /**
@@ -105,6 +156,7 @@ public class RawMaterialService {
      * @throws ResourceNotFoundException se nenhuma matéria-prima for encontrada com o {@code id} informado
      */
     @Transactional
+    @Timed("catalog.service")
     public RawMaterial update(Long id, RawMaterialDTO dto) {
         RawMaterial rawMaterial = findById(id);
 
@@ -118,7 +170,11 @@ public class RawMaterialService {
         rawMaterial.setName(dto.getName());
         rawMaterial.setStockQuantity(dto.getStockQuantity());
         rawMaterial.setUnitOfMeasure(dto.getUnitOfMeasure() != null ? dto.getUnitOfMeasure() : rawMaterial.getUnitOfMeasure());
+        rawMaterial.setRowVersion(rowVersions.next());
+        rawMaterial.setUpdatedAt(Instant.now());
 
+        catalogVersion.bump(CatalogVersion.Table.RAW_MATERIAL);
+        changeBroadcaster.publish(CatalogVersion.Table.RAW_MATERIAL, CatalogChangeDTO.Action.UPDATED, id);
         return repository.save(rawMaterial);
     }
 
@@ -129,11 +185,15 @@ public class RawMaterialService {
      * @throws ResourceNotFoundException se nenhuma matéria-prima for encontrada com o {@code id} informado
      */
     @Transactional
+    @Timed("catalog.service")
     public void delete(Long id) {
-        if (!repository.existsById(id)) {
-            throw new ResourceNotFoundException("Raw Material not found with id: " + id);
-        }
-        repository.deleteById(id);
+        // findById passa pelo contexto de persistência: enxerga o que um lote criou e ainda não gravou
+        RawMaterial rawMaterial = findById(id);
+        // As composições que usam a matéria-prima fazem parte da representação dos produtos
+        catalogVersion.bump(CatalogVersion.Table.RAW_MATERIAL);
+        changeBroadcaster.publish(CatalogVersion.Table.RAW_MATERIAL, CatalogChangeDTO.Action.DELETED, id);
+        tombstones.record(CatalogVersion.Table.RAW_MATERIAL, id);
+        repository.delete(rawMaterial);
     }
 }
 
@@ -0,0 +1,186 @@
+package com.example.backend.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.OptionalLong;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sequência global de versões de linha ({@code row_version}) usada pela sincronização incremental.
+ *
+ * <p>Toda escrita em {@code raw_material}, {@code product} ou {@code catalog_tombstone} recebe
+ * um número maior que todos os anteriores. Um cliente guarda a última versão recebida e pede
+ * apenas o que mudou depois dela ({@code GET /api/raw-materials/changes?since=}).</p>
+ *
+ * <h3>Transações concorrentes</h3>
+ * <p>As versões são alocadas durante a transação, mas ficam visíveis apenas no commit — uma
+ * transação com a versão 5 pode confirmar depois de outra com a versão 6. {@link #stable()}
+ * devolve a maior versão abaixo da qual nenhuma transação está em andamento: o cursor
+ * devolvido ao cliente nunca "pula" uma linha que ainda não tinha sido confirmada.</p>
+ *
+ * <p>O contador começa do maior {@code row_version} existente no banco, lido no primeiro uso.</p>
+ *
+ * <h3>Cursor</h3>
+ * <p>O cursor devolvido ao cliente é {@code <epoch>:<versão>} ({@link #cursor(long)}), com um
+ * identificador sorteado na inicialização — o mesmo recurso do ETag em {@link CatalogVersion}.
+ * Com o banco em memória, uma nova execução recomeça as versões: sem o {@code epoch}, um cursor
+ * antigo menor que a versão atual seria continuado e o cliente perderia as linhas recriadas.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see TombstoneService
+ */
+@Component
+public class RowVersions {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    // ReentrantLock em vez de synchronized: a carga inicial acessa o banco (virtual threads)
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+    private boolean loaded;
+    private long current;
+    private long purgedThrough;
+
+    public RowVersions(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Aloca a próxima versão. Dentro de uma transação, a versão fica "em andamento" até
+     * o commit ou rollback.
+     *
+     * @return nova versão, maior que todas as anteriores
+     */
+    public long next() {
+        long version;
+        lock.lock();
+        try {
+            ensureLoaded();
+            version = ++current;
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                inFlight.add(version);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    release(version);
+                }
+            });
+        }
+        return version;
+    }
+
+    /**
+     * @return a maior versão {@code v} tal que todas as escritas com versão {@code <= v}
+     *         já terminaram (confirmadas ou desfeitas)
+     */
+    public long stable() {
+        lock.lock();
+        try {
+            ensureLoaded();
+            return inFlight.isEmpty() ? current : inFlight.first() - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param version versão até a qual o cliente recebeu as alterações
+     * @return cursor a devolver como {@code version} em {@code /changes}
+     */
+    public String cursor(long version) {
+        return epoch + ":" + version;
+    }
+
+    /**
+     * Versão de um cursor criado por {@link #cursor(long)}, se ele puder ser continuado.
+     *
+     * @param cursor cursor enviado pelo cliente como {@code since}
+     * @return a versão do cursor; vazio se ele é de outra execução do servidor ou
+     *         {@link #requiresReset(long) não pode ser continuado}
+     * @throws IllegalArgumentException se o cursor estiver malformado ou a versão for negativa
+     */
+    public OptionalLong resume(String cursor) {
+        int separator = cursor.lastIndexOf(':');
+        long version;
+        try {
+            version = Long.parseLong(cursor.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            version = -1;
+        }
+        if (separator <= 0 || version < 0) {
+            throw new IllegalArgumentException("'since' must be a version returned by /changes.");
+        }
+        if (!cursor.substring(0, separator).equals(epoch) || requiresReset(version)) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(version);
+    }
+
+    /**
+     * Indica se um cursor não pode ser continuado e o cliente precisa de uma carga completa.
+     *
+     * @param since versão enviada pelo cliente
+     * @return {@code true} se a versão é de outra execução do banco (maior que a atual) ou
+     *         anterior a tombstones já removidos
+     */
+    public boolean requiresReset(long since) {
+        lock.lock();
+        try {
+            ensureLoaded();
+            return since < purgedThrough || since > current;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Registra que os tombstones até a versão informada foram removidos.
+     *
+     * @param version maior versão removida
+     */
+    public void markPurged(long version) {
+        lock.lock();
+        try {
+            purgedThrough = Math.max(purgedThrough, version);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long version) {
+        lock.lock();
+        try {
+            inFlight.remove(version);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Chamado com o lock. */
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        Long max = jdbcTemplate.queryForObject("""
+                SELECT GREATEST(
+                    (SELECT COALESCE(MAX(row_version), 0) FROM raw_material),
+                    (SELECT COALESCE(MAX(row_version), 0) FROM product),
+                    (SELECT COALESCE(MAX(row_version), 0) FROM catalog_tombstone))
+                """, Long.class);
+        current = max != null ? max : 0;
+        loaded = true;
+    }
+}
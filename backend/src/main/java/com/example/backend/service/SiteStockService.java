@@ -0,0 +1,133 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.StockQuantityDTO;
+import com.example.backend.entity.SiteStock;
+import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.repository.RawMaterialRepository;
+import com.example.backend.repository.SiteStockRepository;
+import com.example.backend.util.MicroUnits;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Serviço responsável pelo estoque de matérias-primas <strong>por planta</strong> (site).
+ *
+ * <p>Cada par (site, matéria-prima) é uma linha própria em {@code site_stock}. As baixas
+ * e entradas são aplicadas com um único {@code UPDATE} condicional, sem leitura prévia,
+ * de modo que escritas em sites diferentes não disputam o mesmo registro.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see SiteStock
+ * @see SiteStockRepository
+ */
+@Service
+@RequiredArgsConstructor
+public class SiteStockService {
+
+    private static final Pattern SITE_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,50}");
+
+    private final SiteStockRepository repository;
+    private final RawMaterialRepository rawMaterialRepository;
+
+    /**
+     * Valida o código de um site.
+     *
+     * @param site código informado pelo cliente
+     * @return o próprio código, se válido
+     * @throws IllegalArgumentException se o código for vazio ou tiver caracteres inválidos
+     */
+    public static String requireValidSite(String site) {
+        if (site == null || !SITE_PATTERN.matcher(site).matches()) {
+            throw new IllegalArgumentException(
+                    "Invalid site code: '" + site + "'. Use 1 to 50 letters, digits, '-' or '_'.");
+        }
+        return site;
+    }
+
+    /**
+     * Lista o estoque de uma matéria-prima em todos os sites.
+     *
+     * @param rawMaterialId identificador da matéria-prima
+     * @return linhas de estoque ordenadas pelo código do site
+     * @throws ResourceNotFoundException se a matéria-prima não existir
+     */
+    public List<SiteStock> findByRawMaterial(Long rawMaterialId) {
+        if (!rawMaterialRepository.existsById(rawMaterialId)) {
+            throw new ResourceNotFoundException("Raw Material not found with id: " + rawMaterialId);
+        }
+        return repository.findByRawMaterial_IdOrderBySite(rawMaterialId);
+    }
+
+    /**
+     * Define a quantidade absoluta de uma matéria-prima em um site, criando a linha se necessário.
+     *
+     * <p>Grava com um {@code MERGE} em transação própria. Dois {@code PUT}s para a mesma linha nova
+     * podem tentar o {@code INSERT} ao mesmo tempo; o que perde na chave única
+     * {@code (site, raw_material_id)} repete o {@code MERGE}, que encontra a linha e vira um
+     * {@code UPDATE} — vence a última escrita. Sem {@code @Transactional} no método: depois da
+     * violação, a transação que falhou só pode ser desfeita.</p>
+     *
+     * @param rawMaterialId identificador da matéria-prima
+     * @param site          código do site
+     * @param dto           quantidade absoluta
+     * @return a linha de estoque persistida
+     * @throws ResourceNotFoundException se a matéria-prima não existir
+     * @throws IllegalArgumentException  se o site for inválido ou a quantidade for negativa
+     */
+    public SiteStock setQuantity(Long rawMaterialId, String site, StockQuantityDTO dto) {
+        requireValidSite(site);
+        long quantity = MicroUnits.toMicros(dto.getQuantity());
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Stock quantity cannot be negative.");
+        }
+
+        if (!rawMaterialRepository.existsById(rawMaterialId)) {
+            throw new ResourceNotFoundException("Raw Material not found with id: " + rawMaterialId);
+        }
+
+        try {
+            repository.upsert(site, rawMaterialId, quantity);
+        } catch (DataIntegrityViolationException e) {
+            // Outro PUT inseriu a linha entre a busca do MERGE e o INSERT: agora ela existe
+            repository.upsert(site, rawMaterialId, quantity);
+        }
+
+        return repository.findBySiteAndRawMaterial_Id(site, rawMaterialId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "No stock registered for raw material " + rawMaterialId + " at site: " + site));
+    }
+
+    /**
+     * Aplica uma variação (entrada ou baixa) ao estoque de uma matéria-prima em um site.
+     *
+     * @param rawMaterialId identificador da matéria-prima
+     * @param site          código do site
+     * @param dto           variação — positiva para entrada, negativa para baixa
+     * @return a linha de estoque atualizada
+     * @throws ResourceNotFoundException se não houver estoque cadastrado para o par site/matéria-prima
+     * @throws IllegalArgumentException  se o site for inválido ou a baixa deixar o estoque negativo
+     */
+    @Transactional
+    public SiteStock adjust(Long rawMaterialId, String site, StockQuantityDTO dto) {
+        requireValidSite(site);
+        long delta = MicroUnits.toMicros(dto.getQuantity());
+
+        if (repository.adjust(site, rawMaterialId, delta) == 0) {
+            repository.findBySiteAndRawMaterial_Id(site, rawMaterialId)
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "No stock registered for raw material " + rawMaterialId + " at site: " + site));
+            throw new IllegalArgumentException(
+                    "Insufficient stock for raw material " + rawMaterialId + " at site: " + site);
+        }
+
+        return repository.findBySiteAndRawMaterial_Id(site, rawMaterialId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "No stock registered for raw material " + rawMaterialId + " at site: " + site));
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.CatalogChangeDTO;
+import com.example.backend.dto.LotConsumptionDTO;
+import com.example.backend.dto.StockLotDTO;
+import com.example.backend.dto.StockQuantityDTO;
+import com.example.backend.entity.RawMaterial;
+import com.example.backend.entity.StockLot;
+import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.repository.RawMaterialRepository;
+import com.example.backend.repository.StockLotRepository;
+import com.example.backend.util.MicroUnits;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço responsável pelos <strong>lotes</strong> de matérias-primas perecíveis.
+ *
+ * <p>O recebimento de um lote soma a sua quantidade ao estoque central; a baixa escolhe
+ * os lotes pelo {@link LotInventory} em ordem FEFO (vence primeiro, sai primeiro),
+ * ignora lotes vencidos e subtrai o total consumido do estoque central.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see StockLot
+ * @see LotInventory
+ */
+@Service
+@RequiredArgsConstructor
+public class StockLotService {
+
+    private final StockLotRepository repository;
+    private final RawMaterialRepository rawMaterialRepository;
+    private final LotInventory lotInventory;
+    private final CatalogVersion catalogVersion;
+    private final CatalogChangeBroadcaster changeBroadcaster;
+    private final RowVersions rowVersions;
+
+    /**
+     * Lista os lotes de uma matéria-prima, do que vence primeiro para o último.
+     *
+     * @param rawMaterialId identificador da matéria-prima
+     * @return lotes cadastrados, inclusive vencidos e zerados
+     * @throws ResourceNotFoundException se a matéria-prima não existir
+     */
+    public List<StockLot> findByRawMaterial(Long rawMaterialId) {
+        if (!rawMaterialRepository.existsById(rawMaterialId)) {
+            throw new ResourceNotFoundException("Raw Material not found with id: " + rawMaterialId);
+        }
+        return repository.findByRawMaterial_IdOrderByExpiresAtAscReceivedAtAsc(rawMaterialId);
+    }
+
+    /**
+     * Registra o recebimento de um lote e soma a quantidade ao estoque central.
+     *
+     * @param rawMaterialId identificador da matéria-prima
+     * @param dto           dados do lote
+     * @return o lote persistido
+     * @throws ResourceNotFoundException se a matéria-prima não existir
+     * @throws IllegalArgumentException  se o código do lote estiver vazio ou a quantidade não for positiva
+     */
+    @Transactional
+    public StockLot receive(Long rawMaterialId, StockLotDTO dto) {
+        if (dto.getLotCode() == null || dto.getLotCode().isBlank()) {
+            throw new IllegalArgumentException("Lot code is required.");
+        }
+        long quantity = MicroUnits.toMicros(dto.getQuantity());
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Lot quantity must be greater than zero.");
+        }
+
+        RawMaterial rawMaterial = rawMaterialRepository.findById(rawMaterialId)
+                .orElseThrow(() -> new ResourceNotFoundException("Raw Material not found with id: " + rawMaterialId));
+
+        StockLot lot = repository.save(StockLot.builder()
+                .lotCode(dto.getLotCode().trim())
+                .rawMaterial(rawMaterial)
+                .quantityMicros(quantity)
+                .expiresAt(dto.getExpiresAt())
+                .receivedAt(Instant.now())
+                .build());
+
+        if (rawMaterialRepository.adjustStock(rawMaterialId, quantity, rowVersions.next(), Instant.now()) == 0) {
+            throw new ResourceNotFoundException("Raw Material not found with id: " + rawMaterialId);
+        }
+
+        catalogVersion.bump(CatalogVersion.Table.RAW_MATERIAL);
+        changeBroadcaster.publish(CatalogVersion.Table.RAW_MATERIAL, CatalogChangeDTO.Action.UPDATED, rawMaterialId);
+        afterCommit(() -> lotInventory.add(lot), () -> {});
+        return lot;
+    }
+
+    /**
+     * Consome uma quantidade dos lotes não vencidos, em ordem FEFO, e a subtrai do estoque central.
+     *
+     * @param rawMaterialId identificador da matéria-prima
+     * @param dto           quantidade a consumir (positiva)
+     * @return baixas aplicadas, uma por lote, na ordem de consumo
+     * @throws ResourceNotFoundException se a matéria-prima não existir
+     * @throws IllegalArgumentException  se a quantidade não for positiva ou os lotes não vencidos
+     *                                   não forem suficientes
+     */
+    @Transactional
+    public List<LotConsumptionDTO> consume(Long rawMaterialId, StockQuantityDTO dto) {
+        long quantity = MicroUnits.toMicros(dto.getQuantity());
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Consumed quantity must be greater than zero.");
+        }
+        if (!rawMaterialRepository.existsById(rawMaterialId)) {
+            throw new ResourceNotFoundException("Raw Material not found with id: " + rawMaterialId);
+        }
+
+        List<LotInventory.Allocation> allocations = lotInventory.consume(rawMaterialId, quantity);
+        // A reserva já foi aplicada em memória: se a transação não confirmar, recarrega do banco
+        afterCommit(() -> {}, () -> lotInventory.invalidate(rawMaterialId));
+
+        for (LotInventory.Allocation allocation : allocations) {
+            if (repository.consume(allocation.lotId(), allocation.quantityMicros()) == 0) {
+                throw new IllegalStateException("Lot " + allocation.lotId() + " changed concurrently.");
+            }
+        }
+        catalogVersion.bump(CatalogVersion.Table.RAW_MATERIAL);
+        changeBroadcaster.publish(CatalogVersion.Table.RAW_MATERIAL, CatalogChangeDTO.Action.UPDATED, rawMaterialId);
+        if (rawMaterialRepository.adjustStock(rawMaterialId, -quantity, rowVersions.next(), Instant.now()) == 0) {
+            throw new IllegalStateException("Central stock of raw material " + rawMaterialId
+                    + " is lower than its lots.");
+        }
+
+        Map<Long, StockLot> lots = repository.findAllById(
+                        allocations.stream().map(LotInventory.Allocation::lotId).toList())
+                .stream()
+                .collect(Collectors.toMap(StockLot::getId, Function.identity()));
+
+        List<LotConsumptionDTO> result = new ArrayList<>(allocations.size());
+        for (LotInventory.Allocation allocation : allocations) {
+            StockLot lot = lots.get(allocation.lotId());
+            result.add(LotConsumptionDTO.builder()
+                    .lotId(allocation.lotId())
+                    .lotCode(lot != null ? lot.getLotCode() : null)
+                    .quantity(MicroUnits.toDouble(allocation.quantityMicros()))
+                    .expiresAt(lot != null ? lot.getExpiresAt() : null)
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * Executa {@code onCommit} após a confirmação da transação corrente e {@code onRollback}
+     * se ela for desfeita. Sem transação ativa, executa {@code onCommit} imediatamente.
+     */
+    private static void afterCommit(Runnable onCommit, Runnable onRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onCommit.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    onCommit.run();
+                } else {
+                    onRollback.run();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.CatalogTombstone;
+import com.example.backend.repository.CatalogTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Serviço responsável pelos <strong>tombstones</strong> — registros de remoção usados pela
+ * sincronização incremental do catálogo.
+ *
+ * <p>Cada remoção de matéria-prima ou produto grava um {@link CatalogTombstone} com uma nova
+ * versão de {@link RowVersions}. Tombstones mais antigos que {@code app.sync.tombstone-ttl}
+ * são removidos periodicamente; a partir daí, cursores anteriores exigem carga completa.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see CatalogTombstone
+ */
+@Service
+public class TombstoneService {
+
+    private static final Logger log = LoggerFactory.getLogger(TombstoneService.class);
+
+    private final CatalogTombstoneRepository repository;
+    private final RowVersions rowVersions;
+    private final Duration ttl;
+    private final Clock clock;
+
+    @Autowired
+    public TombstoneService(CatalogTombstoneRepository repository,
+                            RowVersions rowVersions,
+                            @Value("${app.sync.tombstone-ttl:P30D}") Duration ttl) {
+        this(repository, rowVersions, ttl, Clock.systemUTC());
+    }
+
+    TombstoneService(CatalogTombstoneRepository repository, RowVersions rowVersions, Duration ttl, Clock clock) {
+        this.repository = repository;
+        this.rowVersions = rowVersions;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Registra a remoção de um registro. Deve ser chamado na mesma transação da remoção.
+     *
+     * @param table tabela do registro removido
+     * @param id    id do registro removido
+     */
+    public void record(CatalogVersion.Table table, Long id) {
+        repository.save(CatalogTombstone.builder()
+                .tableName(table)
+                .entityId(id)
+                .rowVersion(rowVersions.next())
+                .deletedAt(clock.instant())
+                .build());
+    }
+
+    /**
+     * @return ids removidos com {@code since < versão <= until}
+     */
+    public List<Long> deletedIds(CatalogVersion.Table table, long since, long until) {
+        return repository.findChanges(table, since, until).stream()
+                .map(CatalogTombstone::getEntityId)
+                .toList();
+    }
+
+    /**
+     * Remove os tombstones mais antigos que o TTL.
+     */
+    @Scheduled(fixedDelayString = "${app.sync.purge-interval:PT1H}")
+    public void purgeExpired() {
+        Long version = repository.findMaxRowVersionDeletedBefore(clock.instant().minus(ttl));
+        if (version == null) {
+            return;
+        }
+        // Marca antes de remover: um cursor anterior passa a receber carga completa, nunca uma lista incompleta
+        rowVersions.markPurged(version);
+        int removed = repository.deleteUpTo(version);
+        log.debug("Purged {} tombstones up to version {}", removed, version);
+    }
+}
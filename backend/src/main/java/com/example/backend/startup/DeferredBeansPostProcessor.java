@@ -0,0 +1,78 @@
+package com.example.backend.startup;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Marca como lazy os beans cujas classes estão nos pacotes de {@code app.startup.lazy-packages}:
+ * são criados no primeiro uso, e não durante a subida.
+ *
+ * <p>Diferente do {@code spring.main.lazy-initialization}, o resto do contexto continua eager — os
+ * filtros, os {@code @Scheduled} e os repositórios sobem como antes, e a primeira requisição da
+ * API não paga por eles. Ficam de fora beans cujo callback depende da criação na subida
+ * ({@link SmartInitializingSingleton}, {@link SmartLifecycle}, listeners e post-processors), os de
+ * infraestrutura e os que declaram {@code lazy-init} explicitamente.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see com.example.backend.config.StartupConfig
+ */
+public class DeferredBeansPostProcessor implements BeanFactoryPostProcessor {
+
+    private static final List<Class<?>> EAGER_TYPES = List.of(SmartInitializingSingleton.class, SmartLifecycle.class,
+            ApplicationListener.class, BeanPostProcessor.class, BeanFactoryPostProcessor.class);
+
+    /** Nome de pacote simples ({@code org.springdoc}), que recebe o {@code "."} final. */
+    private static final Pattern PACKAGE_NAME = Pattern.compile("[a-z_]\\w*(\\.[a-z_]\\w*)*");
+
+    private final List<String> packages;
+
+    /**
+     * @param packages pacotes ({@code org.springdoc}) ou prefixos de nome de classe, usados como
+     *                 informados ({@code com.example.Outer$})
+     */
+    public DeferredBeansPostProcessor(List<String> packages) {
+        this.packages = packages.stream()
+                .map(String::strip)
+                .filter(name -> !name.isEmpty())
+                .map(name -> PACKAGE_NAME.matcher(name).matches() ? name + "." : name)
+                .toList();
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        if (packages.isEmpty()) {
+            return;
+        }
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (!(definition instanceof AbstractBeanDefinition bean) || bean.getLazyInit() != null
+                    || bean.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE || !bean.isSingleton()) {
+                continue;
+            }
+            Class<?> type = beanFactory.getType(name, false);
+            if (type != null && isDeferred(type)) {
+                bean.setLazyInit(true);
+            }
+        }
+    }
+
+    private boolean isDeferred(Class<?> type) {
+        for (Class<?> eager : EAGER_TYPES) {
+            if (eager.isAssignableFrom(type)) {
+                return false;
+            }
+        }
+        String typeName = type.getName();
+        return packages.stream().anyMatch(typeName::startsWith);
+    }
+}
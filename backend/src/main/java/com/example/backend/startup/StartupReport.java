@@ -0,0 +1,67 @@
+package com.example.backend.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.StartupStep;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Ao final da subida, registra em log os beans que mais demoraram para ser criados, a partir dos
+ * passos gravados pelo {@link BufferingApplicationStartup}. A duração de cada bean inclui a das
+ * suas dependências criadas junto; a linha do tempo completa fica em {@code /actuator/startup}.
+ *
+ * <p>Sem {@link BufferingApplicationStartup} (ex.: nos testes, que não passam pelo {@code main})
+ * não registra nada.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see com.example.backend.config.StartupConfig
+ */
+public class StartupReport implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupReport.class);
+
+    private static final String BEAN_INSTANTIATE = "spring.beans.instantiate";
+
+    private final int size;
+
+    public StartupReport(int size) {
+        this.size = size;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (size <= 0 || !(event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+            return;
+        }
+        StartupTimeline timeline = startup.getBufferedTimeline();
+        List<TimelineEvent> slowest = timeline.getEvents().stream()
+                .filter(step -> BEAN_INSTANTIATE.equals(step.getStartupStep().getName()))
+                .sorted(Comparator.comparing(TimelineEvent::getDuration).reversed())
+                .limit(size)
+                .toList();
+        log.info("Ready in {} ms ({} startup steps recorded); slowest beans: {}",
+                event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : -1,
+                timeline.getEvents().size(),
+                slowest.stream()
+                        .map(step -> beanName(step.getStartupStep()) + " " + step.getDuration().toMillis() + " ms")
+                        .collect(Collectors.joining(", ")));
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "?";
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.backend.tracing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Guarda os últimos {@code app.tracing.max-traces} traces em memória, para consulta em
+ * {@code /actuator/traces} — funciona sem coletor externo.
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see TraceEndpoint
+ */
+public class InMemoryTraceExporter implements TraceExporter {
+
+    private final int maxTraces;
+    private final Deque<Trace> traces = new ArrayDeque<>();
+
+    public InMemoryTraceExporter(int maxTraces) {
+        this.maxTraces = maxTraces;
+    }
+
+    @Override
+    public synchronized void export(Trace trace) {
+        if (maxTraces <= 0) {
+            return;
+        }
+        if (traces.size() >= maxTraces) {
+            traces.removeLast();
+        }
+        traces.addFirst(trace);
+    }
+
+    /**
+     * @param minDurationNanos descarta traces mais rápidos que isso
+     * @return resumo dos traces guardados, do mais recente ao mais antigo
+     */
+    public List<Map<String, Object>> summaries(long minDurationNanos) {
+        List<Map<String, Object>> summaries = new ArrayList<>();
+        for (Trace trace : snapshot()) {
+            Span root = trace.root();
+            if (root.durationNanos() < minDurationNanos) {
+                continue;
+            }
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("traceId", trace.traceId());
+            summary.put("name", root.name());
+            summary.put("start", root.start());
+            summary.put("durationMs", millis(root.durationNanos()));
+            summary.put("status", root.status());
+            summary.put("spans", trace.spans().size());
+            summaries.add(summary);
+        }
+        return summaries;
+    }
+
+    /**
+     * @return a árvore de spans do trace, se ainda estiver guardado
+     */
+    public Optional<Map<String, Object>> tree(String traceId) {
+        for (Trace trace : snapshot()) {
+            if (trace.traceId().equals(traceId)) {
+                Map<String, List<Span>> children = trace.childrenByParent();
+                Map<String, Object> tree = new LinkedHashMap<>();
+                tree.put("traceId", trace.traceId());
+                tree.put("droppedSpans", trace.droppedSpans());
+                tree.put("root", node(trace.root(), trace.root().startNanos(), children));
+                return Optional.of(tree);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Map<String, Object> node(Span span, long traceStartNanos, Map<String, List<Span>> children) {
+        Map<String, Object> node = new LinkedHashMap<>();
+        node.put("name", span.name());
+        node.put("spanId", span.spanId());
+        node.put("kind", span.kind());
+        node.put("offsetMs", millis(span.startNanos() - traceStartNanos));
+        node.put("durationMs", millis(span.durationNanos()));
+        node.put("status", span.status());
+        if (span.error() != null) {
+            node.put("error", span.error());
+        }
+        if (!span.attributes().isEmpty()) {
+            node.put("attributes", span.attributes());
+        }
+        List<Map<String, Object>> nested = new ArrayList<>();
+        for (Span child : children.getOrDefault(span.spanId(), List.of())) {
+            nested.add(node(child, traceStartNanos, children));
+        }
+        if (!nested.isEmpty()) {
+            node.put("children", nested);
+        }
+        return node;
+    }
+
+    private synchronized List<Trace> snapshot() {
+        return new ArrayList<>(traces);
+    }
+
+    static double millis(long nanos) {
+        return Math.round(nanos / 1_000d) / 1_000d;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.backend.tracing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Registra em log, como uma árvore indentada, os traces mais lentos que
+ * {@code app.tracing.log-threshold} — cada linha com a duração do span, de modo que a consulta ou
+ * a fase do otimizador responsável pela lentidão aparece direto no log:
+ *
+ * <pre>
+ * Slow trace 4bf92f3577b34da6a3ce929d0e0e4736 (1204.3 ms, 14 spans)
+ *   GET /api/production/optimize  1204.3 ms
+ *     ProductionController.optimize  1203.9 ms
+ *       ProductionOptimizerService.optimize  1203.5 ms
+ *         optimizer.load  22.1 ms  items=1500
+ *           ProductRepository.findAll  21.8 ms
+ *             SELECT  20.9 ms  db.query.text=select p1_0.id,...
+ *         optimizer.solve  1170.2 ms  items=1000
+ * </pre>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ */
+public class LoggingTraceExporter implements TraceExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingTraceExporter.class);
+
+    /** Tamanho máximo de cada atributo na linha de log (o SQL é truncado). */
+    private static final int MAX_ATTRIBUTE_LENGTH = 200;
+
+    private final long thresholdNanos;
+
+    public LoggingTraceExporter(Duration threshold) {
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    @Override
+    public void export(Trace trace) {
+        Span root = trace.root();
+        if (root.durationNanos() < thresholdNanos || !log.isWarnEnabled()) {
+            return;
+        }
+        List<Span> spans = trace.spans();
+        StringBuilder tree = new StringBuilder()
+                .append(String.format(Locale.ROOT, "Slow trace %s (%.1f ms, %d spans%s)", trace.traceId(),
+                        root.durationNanos() / 1_000_000d, spans.size(),
+                        trace.droppedSpans() > 0 ? ", " + trace.droppedSpans() + " dropped" : ""));
+        append(tree, root, 1, trace.childrenByParent());
+        log.warn(tree.toString());
+    }
+
+    private static void append(StringBuilder tree, Span span, int depth, Map<String, List<Span>> children) {
+        tree.append('\n').append("  ".repeat(depth)).append(span.name())
+                .append(String.format(Locale.ROOT, "  %.1f ms", span.durationNanos() / 1_000_000d));
+        span.attributes().forEach((key, value) -> {
+            String text = String.valueOf(value);
+            tree.append("  ").append(key).append('=')
+                    .append(text.length() > MAX_ATTRIBUTE_LENGTH ? text.substring(0, MAX_ATTRIBUTE_LENGTH) + "..." : text);
+        });
+        if (span.error() != null) {
+            tree.append("  ERROR ").append(span.error());
+        }
+        for (Span child : children.getOrDefault(span.spanId(), List.of())) {
+            append(tree, child, depth + 1, children);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.backend.tracing;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Um trecho cronometrado de um trace, no modelo do OpenTelemetry: ids de trace e de span
+ * (hexadecimais, 32 e 16 caracteres), span pai, tipo, atributos e status.
+ *
+ * <p>Criado por {@link Tracing}, que o torna o span corrente da thread até o {@link #end()}. Os
+ * atributos só podem ser alterados pela thread que abriu o span.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see Tracing
+ */
+public class Span {
+
+    /** Span devolvido quando não há trace em andamento: não grava nada. */
+    static final Span NOOP = new Span();
+
+    private final Trace trace;
+    private final String spanId;
+    private final String parentSpanId;
+    private final SpanKind kind;
+    private final Instant start;
+    private final long startNanos;
+    private final Span previous;
+    private final Map<String, Object> attributes;
+
+    private String name;
+    private long durationNanos = -1;
+    private String error;
+
+    private Span() {
+        this.trace = null;
+        this.spanId = null;
+        this.parentSpanId = null;
+        this.kind = SpanKind.INTERNAL;
+        this.start = Instant.EPOCH;
+        this.startNanos = 0;
+        this.previous = null;
+        this.attributes = Collections.emptyMap();
+    }
+
+    Span(Trace trace, String spanId, String parentSpanId, String name, SpanKind kind, Span previous) {
+        this.trace = trace;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.kind = kind;
+        this.start = Instant.now();
+        this.startNanos = System.nanoTime();
+        this.previous = previous;
+        this.attributes = new LinkedHashMap<>();
+    }
+
+    /**
+     * @return {@code false} para o {@link #NOOP}
+     */
+    public boolean isRecording() {
+        return trace != null;
+    }
+
+    public Span setAttribute(String key, Object value) {
+        if (isRecording() && value != null) {
+            attributes.put(key, value);
+        }
+        return this;
+    }
+
+    /**
+     * Renomeia o span (ex.: o span HTTP, cuja rota só é conhecida no fim da requisição).
+     */
+    public Span updateName(String name) {
+        if (isRecording()) {
+            this.name = name;
+        }
+        return this;
+    }
+
+    /**
+     * Marca o span com status {@code ERROR}.
+     */
+    public Span recordException(Throwable exception) {
+        if (isRecording()) {
+            error = exception.getClass().getSimpleName()
+                    + (exception.getMessage() != null ? ": " + exception.getMessage() : "");
+        }
+        return this;
+    }
+
+    /**
+     * Marca o span com status {@code ERROR} sem exceção (ex.: resposta HTTP 5xx).
+     */
+    public Span setError(String description) {
+        if (isRecording()) {
+            error = description;
+        }
+        return this;
+    }
+
+    /**
+     * Encerra o span e devolve à thread o span corrente anterior. Encerrar o span raiz
+     * exporta o trace.
+     */
+    public void end() {
+        if (!isRecording() || durationNanos >= 0) {
+            return;
+        }
+        durationNanos = System.nanoTime() - startNanos;
+        Tracing.restore(this, previous);
+        trace.record(this);
+    }
+
+    // ── Leitura (exportadores) ──────────────────────────────────────────────────
+
+    Trace trace() {
+        return trace;
+    }
+
+    public String traceId() {
+        return trace != null ? trace.traceId() : null;
+    }
+
+    public String spanId() {
+        return spanId;
+    }
+
+    /**
+     * @return id do span pai — de outro serviço, se o trace veio em um {@code traceparent} —,
+     *         ou {@code null} para a raiz
+     */
+    public String parentSpanId() {
+        return parentSpanId;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public SpanKind kind() {
+        return kind;
+    }
+
+    public Instant start() {
+        return start;
+    }
+
+    long startNanos() {
+        return startNanos;
+    }
+
+    /**
+     * @return duração em nanossegundos, ou {@code -1} enquanto o span estiver aberto
+     */
+    public long durationNanos() {
+        return durationNanos;
+    }
+
+    public Map<String, Object> attributes() {
+        return Collections.unmodifiableMap(attributes);
+    }
+
+    /**
+     * @return {@code "OK"} ou {@code "ERROR"}
+     */
+    public String status() {
+        return error == null ? "OK" : "ERROR";
+    }
+
+    /**
+     * @return descrição do erro, se houver
+     */
+    public String error() {
+        return error;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.backend.tracing;
+
+/**
+ * Papel do span no trace, com os mesmos nomes do OpenTelemetry.
+ */
+public enum SpanKind {
+    /** Requisição HTTP recebida pela aplicação. */
+    SERVER,
+    /** Trabalho interno: controller, serviço, repositório, fase do otimizador. */
+    INTERNAL,
+    /** Chamada a um sistema externo — aqui, os comandos JDBC. */
+    CLIENT
+}
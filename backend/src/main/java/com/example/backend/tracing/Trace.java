@@ -0,0 +1,109 @@
+package com.example.backend.tracing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Spans encerrados de uma requisição. Quando o span raiz termina, o trace é entregue ao
+ * {@link TraceExporter}; spans que terminam depois disso (trabalho deixado em outra thread)
+ * são descartados.
+ *
+ * <p>Spans podem terminar em várias threads ao mesmo tempo (ex.: a otimização de todos os sites,
+ * que resolve cada site em paralelo).</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ */
+public class Trace {
+
+    private static final Logger log = LoggerFactory.getLogger(Trace.class);
+
+    /** Limite de spans por trace: um lote com milhares de operações não retém memória sem fim. */
+    static final int MAX_SPANS = 2_000;
+
+    private final String traceId;
+    private final TraceExporter exporter;
+    private final Queue<Span> spans = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger recorded = new AtomicInteger();
+    private final AtomicInteger dropped = new AtomicInteger();
+
+    private volatile Span root;
+    private volatile boolean finished;
+
+    Trace(String traceId, TraceExporter exporter) {
+        this.traceId = traceId;
+        this.exporter = exporter;
+    }
+
+    void setRoot(Span root) {
+        this.root = root;
+    }
+
+    void record(Span span) {
+        if (finished) {
+            dropped.incrementAndGet();
+            return;
+        }
+        if (span == root) {
+            spans.add(span);
+            finished = true;
+            try {
+                exporter.export(this);
+            } catch (RuntimeException e) {
+                log.warn("Trace {} could not be exported: {}", traceId, e.toString());
+            }
+            return;
+        }
+        if (recorded.incrementAndGet() > MAX_SPANS) {
+            dropped.incrementAndGet();
+            return;
+        }
+        spans.add(span);
+    }
+
+    public String traceId() {
+        return traceId;
+    }
+
+    public Span root() {
+        return root;
+    }
+
+    /**
+     * @return spans encerrados, em ordem de início
+     */
+    public List<Span> spans() {
+        List<Span> sorted = new ArrayList<>(spans);
+        sorted.sort(Comparator.comparingLong(Span::startNanos));
+        return sorted;
+    }
+
+    /**
+     * @return filhos diretos de cada span, pelo id do pai, em ordem de início
+     */
+    public Map<String, List<Span>> childrenByParent() {
+        Map<String, List<Span>> children = new HashMap<>();
+        for (Span span : spans()) {
+            if (span.parentSpanId() != null) {
+                children.computeIfAbsent(span.parentSpanId(), id -> new ArrayList<>()).add(span);
+            }
+        }
+        return children;
+    }
+
+    /**
+     * @return spans descartados por {@link #MAX_SPANS} ou por terminarem depois da raiz
+     */
+    public int droppedSpans() {
+        return dropped.get();
+    }
+}
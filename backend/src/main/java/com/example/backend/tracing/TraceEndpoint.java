@@ -0,0 +1,39 @@
+package com.example.backend.tracing;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Endpoint {@code /actuator/traces}: {@code GET} lista os traces guardados em memória (mais recente
+ * primeiro) e {@code GET /actuator/traces/{traceId}} devolve a árvore de spans de um deles.
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see InMemoryTraceExporter
+ */
+@Endpoint(id = "traces")
+public class TraceEndpoint {
+
+    private final InMemoryTraceExporter traces;
+
+    public TraceEndpoint(InMemoryTraceExporter traces) {
+        this.traces = traces;
+    }
+
+    @ReadOperation
+    public List<Map<String, Object>> traces() {
+        return traces.summaries(0);
+    }
+
+    /**
+     * @return a árvore de spans, ou {@code null} (404) se o trace não estiver mais guardado
+     */
+    @ReadOperation
+    public Map<String, Object> trace(@Selector String traceId) {
+        return traces.tree(traceId).orElse(null);
+    }
+}
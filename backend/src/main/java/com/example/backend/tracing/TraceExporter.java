@@ -0,0 +1,16 @@
+package com.example.backend.tracing;
+
+/**
+ * Destino dos traces encerrados. Chamado na thread da requisição, logo depois do span raiz
+ * terminar: implementações devem ser rápidas e não lançar exceções.
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see InMemoryTraceExporter
+ * @see LoggingTraceExporter
+ */
+@FunctionalInterface
+public interface TraceExporter {
+
+    void export(Trace trace);
+}
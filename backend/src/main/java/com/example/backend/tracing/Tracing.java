@@ -0,0 +1,146 @@
+package com.example.backend.tracing;
+
+import org.slf4j.MDC;
+
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Span corrente de cada thread e criação de spans.
+ *
+ * <p>Só o {@link TracingFilter} abre traces ({@link #startTrace}). As camadas internas usam
+ * {@link #startSpan}, que cria um filho do span corrente — ou devolve um span inerte se a thread
+ * não estiver atendendo uma requisição (jobs agendados, workers), de modo que instrumentar um
+ * trecho não custa nada fora de um trace.</p>
+ *
+ * <p>Enquanto um span está aberto, seus ids ficam no MDC ({@code traceId}, {@code spanId}) e saem
+ * em todas as linhas de log da thread.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see Span
+ */
+public final class Tracing {
+
+    public static final String TRACE_ID_KEY = "traceId";
+    public static final String SPAN_ID_KEY = "spanId";
+
+    /** {@code traceparent} do W3C Trace Context: versão, trace id, span pai e flags. */
+    private static final Pattern TRACEPARENT = Pattern.compile("00-([0-9a-f]{32})-([0-9a-f]{16})-[0-9a-f]{2}");
+    private static final String INVALID_TRACE_ID = "0".repeat(32);
+    private static final String INVALID_SPAN_ID = "0".repeat(16);
+    private static final HexFormat HEX = HexFormat.of();
+
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    private Tracing() {
+    }
+
+    /**
+     * Abre um trace e o seu span raiz, que passa a ser o span corrente da thread.
+     *
+     * @param traceparent header {@code traceparent} recebido, para continuar o trace do cliente;
+     *                    {@code null} ou inválido abre um trace novo
+     * @param exporter    destino do trace quando a raiz terminar
+     */
+    public static Span startTrace(String name, SpanKind kind, String traceparent, TraceExporter exporter) {
+        String traceId = null;
+        String parentSpanId = null;
+        Matcher matcher = traceparent != null ? TRACEPARENT.matcher(traceparent.trim()) : null;
+        if (matcher != null && matcher.matches()
+                && !matcher.group(1).equals(INVALID_TRACE_ID) && !matcher.group(2).equals(INVALID_SPAN_ID)) {
+            traceId = matcher.group(1);
+            parentSpanId = matcher.group(2);
+        }
+        if (traceId == null) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            traceId = HEX.toHexDigits(random.nextLong()) + HEX.toHexDigits(random.nextLong());
+        }
+        Trace trace = new Trace(traceId, exporter);
+        Span root = new Span(trace, newSpanId(), parentSpanId, name, kind, CURRENT.get());
+        trace.setRoot(root);
+        makeCurrent(root);
+        return root;
+    }
+
+    /**
+     * Abre um filho do span corrente, que passa a ser o span corrente da thread.
+     *
+     * @return o novo span, ou um span inerte se não houver trace em andamento
+     */
+    public static Span startSpan(String name, SpanKind kind) {
+        Span parent = CURRENT.get();
+        if (parent == null || !parent.isRecording()) {
+            return Span.NOOP;
+        }
+        Span span = new Span(parent.trace(), newSpanId(), parent.spanId(), name, kind, parent);
+        makeCurrent(span);
+        return span;
+    }
+
+    /**
+     * @return o span corrente da thread, ou {@code null}
+     */
+    public static Span current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Executa {@code work} com {@code parent} como span corrente — para continuar, em outra thread,
+     * um trace aberto na thread da requisição.
+     */
+    public static <T> T withParent(Span parent, Supplier<T> work) {
+        Span previous = CURRENT.get();
+        if (parent == null || parent == previous) {
+            return work.get();
+        }
+        makeCurrent(parent);
+        try {
+            return work.get();
+        } finally {
+            restore(parent, previous);
+        }
+    }
+
+    /**
+     * @return header {@code traceparent} que identifica {@code span} como pai
+     */
+    public static String traceparent(Span span) {
+        return "00-" + span.traceId() + "-" + span.spanId() + "-01";
+    }
+
+    // ── Estado da thread ────────────────────────────────────────────────────────
+
+    private static void makeCurrent(Span span) {
+        CURRENT.set(span);
+        MDC.put(TRACE_ID_KEY, span.traceId());
+        MDC.put(SPAN_ID_KEY, span.spanId());
+    }
+
+    /**
+     * Devolve a thread a {@code previous}, se {@code span} ainda for o corrente.
+     */
+    static void restore(Span span, Span previous) {
+        if (CURRENT.get() != span) {
+            return;
+        }
+        if (previous != null && previous.isRecording()) {
+            makeCurrent(previous);
+        } else {
+            CURRENT.remove();
+            MDC.remove(TRACE_ID_KEY);
+            MDC.remove(SPAN_ID_KEY);
+        }
+    }
+
+    private static String newSpanId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return HEX.toHexDigits(id);
+    }
+}
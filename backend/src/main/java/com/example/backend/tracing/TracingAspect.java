@@ -0,0 +1,77 @@
+package com.example.backend.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.repository.Repository;
+
+import java.util.Collection;
+
+/**
+ * Abre um span para cada chamada a controller, serviço e repositório Spring Data, filho do span
+ * corrente. Fora de uma requisição (jobs agendados, workers) não há span corrente e a chamada
+ * passa direto.
+ *
+ * <p>Tem a maior precedência entre os aspectos: o span de um serviço {@code @Transactional}
+ * inclui o commit — e os comandos que o flush do Hibernate executa nele.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see com.example.backend.config.TracingConfig
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TracingAspect {
+
+    /** Nome de um repositório: a interface da aplicação que o proxy implementa. */
+    private static final ClassValue<String> REPOSITORY_NAMES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            for (Class<?> candidate : type.getInterfaces()) {
+                if (Repository.class.isAssignableFrom(candidate) && !candidate.getName().startsWith("org.springframework.")) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        }
+    };
+
+    @Around("@within(org.springframework.web.bind.annotation.RestController)")
+    public Object controller(ProceedingJoinPoint call) throws Throwable {
+        return trace(call, call.getSignature().getDeclaringType().getSimpleName());
+    }
+
+    @Around("execution(public * *(..)) && @within(org.springframework.stereotype.Service)")
+    public Object service(ProceedingJoinPoint call) throws Throwable {
+        return trace(call, call.getSignature().getDeclaringType().getSimpleName());
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object repository(ProceedingJoinPoint call) throws Throwable {
+        return trace(call, REPOSITORY_NAMES.get(call.getThis().getClass()));
+    }
+
+    private static Object trace(ProceedingJoinPoint call, String type) throws Throwable {
+        if (Tracing.current() == null) {
+            return call.proceed();
+        }
+        String method = call.getSignature().getName();
+        Span span = Tracing.startSpan(type + "." + method, SpanKind.INTERNAL)
+                .setAttribute("code.namespace", type)
+                .setAttribute("code.function", method);
+        try {
+            Object result = call.proceed();
+            if (result instanceof Collection<?> collection) {
+                span.setAttribute("results", collection.size());
+            }
+            return result;
+        } catch (Throwable e) {
+            span.recordException(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.backend.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Abre um trace por requisição, com um span {@code SERVER} que cobre toda a cadeia de filtros.
+ *
+ * <ul>
+ *   <li>Um header {@code traceparent} (W3C Trace Context) válido continua o trace do cliente.</li>
+ *   <li>O id do trace volta no header {@code X-Trace-Id}, para ser citado em chamados e buscado nos
+ *       logs e em {@code /actuator/traces/{traceId}}.</li>
+ *   <li>O span é renomeado no fim para o padrão da rota ({@code GET /api/products/{id}}).</li>
+ * </ul>
+ *
+ * <p>Em respostas assíncronas (SSE) o span cobre apenas o despacho inicial.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ * @see com.example.backend.config.TracingConfig
+ */
+public class TracingFilter extends OncePerRequestFilter {
+
+    public static final String TRACEPARENT_HEADER = "traceparent";
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+
+    private final TraceExporter exporter;
+
+    public TracingFilter(TraceExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        Span span = Tracing.startTrace(request.getMethod() + " " + request.getRequestURI(), SpanKind.SERVER,
+                request.getHeader(TRACEPARENT_HEADER), exporter);
+        span.setAttribute("http.request.method", request.getMethod())
+                .setAttribute("url.path", request.getRequestURI());
+        response.setHeader(TRACE_ID_HEADER, span.traceId());
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            span.recordException(e);
+            throw e;
+        } finally {
+            if (request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String route) {
+                span.updateName(request.getMethod() + " " + route).setAttribute("http.route", route);
+            }
+            int status = response.getStatus();
+            span.setAttribute("http.response.status_code", status);
+            if (status >= 500 && span.error() == null) {
+                span.setError("HTTP " + status);
+            }
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.backend.util;
+
+import java.util.Set;
+
+/**
+ * Método HTTP e rota como rótulos de métrica.
+ *
+ * <p>O método vem do cliente e o Tomcat aceita qualquer token ({@code FOO}, {@code PROPFIND}...);
+ * usado direto como chave ou tag, cada valor inventado criaria uma nova série. Métodos fora do
+ * conjunto padrão viram {@value #OTHER}, como nas métricas HTTP do Spring Boot. Requisições sem
+ * handler (404, 429 do admission control) usam a rota {@value #UNMATCHED}, a mesma nas métricas
+ * por rota e no {@code /actuator/latency}.</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ */
+public final class HttpMethods {
+
+    public static final String OTHER = "OTHER";
+
+    /** Rota de uma requisição que não chegou a um handler. */
+    public static final String UNMATCHED = "UNMATCHED";
+
+    private static final Set<String> STANDARD =
+            Set.of("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS", "TRACE");
+
+    private HttpMethods() {
+    }
+
+    /**
+     * @param method método da requisição
+     * @return o próprio método, se for padrão; senão {@value #OTHER}
+     */
+    public static String normalize(String method) {
+        return method != null && STANDARD.contains(method) ? method : OTHER;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.backend.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversões entre valores decimais da API e a representação interna em
+ * <strong>micro-unidades</strong> ({@code long}, escala 10<sup>-6</sup>).
+ *
+ * <p>Quantidades de estoque, quantidades de composição e preços são armazenados
+ * como inteiros de ponto fixo: {@code 1.0 kg = 1_000_000}. Assim, somas, subtrações
+ * e multiplicações por um número inteiro de unidades são <strong>exatas</strong>
+ * (sem o acúmulo de erro de {@code double}) e os laços do otimizador operam
+ * apenas sobre {@code long} primitivo.</p>
+ *
+ * <p>A conversão de {@code Double} para micro-unidades passa pela representação
+ * decimal do valor ({@link BigDecimal#valueOf(double)}), de modo que {@code 0.1}
+ * vira exatamente {@code 100_000}. Valores com mais de 6 casas decimais são
+ * arredondados ({@link RoundingMode#HALF_UP}).</p>
+ *
+ * @author Equipe Backend
+ * @version 1.0.0
+ */
+public final class MicroUnits {
+
+    /**
+     * Número de micro-unidades em 1 unidade inteira.
+     */
+    public static final long SCALE = 1_000_000L;
+
+    private static final int SCALE_DIGITS = 6;
+
+    private MicroUnits() {
+    }
+
+    /**
+     * Converte um valor decimal para micro-unidades.
+     *
+     * @param value valor decimal (ex.: {@code 12.5})
+     * @return valor em micro-unidades (ex.: {@code 12_500_000})
+     * @throws IllegalArgumentException se o valor for {@code null}, não finito ou fora da faixa de {@code long}
+     */
+    public static long toMicros(Double value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Quantity must not be null.");
+        }
+        if (value.isNaN() || value.isInfinite()) {
+            throw new IllegalArgumentException("Quantity must be a finite number.");
+        }
+        try {
+            return BigDecimal.valueOf(value)
+                    .movePointRight(SCALE_DIGITS)
+                    .setScale(0, RoundingMode.HALF_UP)
+                    .longValueExact();
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("Quantity out of range: " + value);
+        }
+    }
+
+    /**
+     * Converte micro-unidades para o valor decimal exposto na API.
+     *
+     * @param micros valor em micro-unidades
+     * @return valor decimal correspondente
+     */
+    public static Double toDouble(long micros) {
+        return micros / (double) SCALE;
+    }
+
+    /**
+     * Multiplica uma quantidade em micro-unidades por um número inteiro de unidades,
+     * falhando em caso de overflow em vez de retornar um valor truncado.
+     *
+     * @param micros valor em micro-unidades
+     * @param units  número de unidades
+     * @return {@code micros × units}
+     * @throws ArithmeticException em caso de overflow
+     */
+    public static long times(long micros, long units) {
+        return Math.multiplyExact(micros, units);
+    }
+}
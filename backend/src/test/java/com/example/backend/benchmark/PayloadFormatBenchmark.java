@@ -0,0 +1,176 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.dto.ProductionSuggestionDTO;
+import com.example.backend.entity.Product;
+import com.example.backend.entity.ProductComposition;
+import com.example.backend.entity.RawMaterial;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara tamanho de payload e CPU de serialização de JSON, CBOR e Smile, sem e com gzip, para o
+ * catálogo de produtos (com composições aninhadas) e para a resposta da otimização.
+ *
+ * <p>Não roda no {@code mvn test} padrão. Execução:</p>
+ * <pre>
+ * ./mvnw test -Pbenchmark -Dtest=PayloadFormatBenchmark -Dbenchmark.products=100000
+ * </pre>
+ *
+ * <p>O resultado é impresso e gravado em {@code target/benchmark/payload-formats.md}.</p>
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark — formatos de resposta (JSON x CBOR x Smile)")
+class PayloadFormatBenchmark {
+
+    private static final int PRODUCTS = Integer.getInteger("benchmark.products", 10_000);
+    private static final int MATERIALS = Integer.getInteger("benchmark.materials", 500);
+    private static final int COMPOSITIONS = Integer.getInteger("benchmark.compositions", 5);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 10);
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    @Test
+    @DisplayName("Deve medir tamanho bruto, tamanho gzip e CPU de serialização (com e sem gzip) por formato")
+    void compareFormats() throws IOException {
+        List<Product> catalog = buildCatalog();
+        List<ProductionSuggestionDTO> suggestions = buildSuggestions(catalog);
+
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("application/json", JsonMapper.builder().build());
+        mappers.put("application/cbor", CBORMapper.builder().build());
+        mappers.put("application/x-jackson-smile", SmileMapper.builder().build());
+
+        StringBuilder report = new StringBuilder()
+                .append(String.format(Locale.ROOT, "# Payload formats — %d products × %d compositions, %d raw materials%n%n",
+                        PRODUCTS, COMPOSITIONS, MATERIALS))
+                .append("| Payload | Format | Raw bytes | Gzip bytes | Raw vs JSON | CPU ms (median) | CPU ms (p90)"
+                        + " | CPU ms + gzip (median) | CPU ms + gzip (p90) |\n")
+                .append("|---|---|---:|---:|---:|---:|---:|---:|---:|\n");
+
+        Map<String, Object> payloads = new LinkedHashMap<>();
+        payloads.put("GET /api/products", catalog);
+        payloads.put("GET /api/production/optimize", suggestions);
+
+        for (Map.Entry<String, Object> payload : payloads.entrySet()) {
+            long jsonSize = 0;
+            for (Map.Entry<String, ObjectMapper> format : mappers.entrySet()) {
+                ObjectMapper mapper = format.getValue();
+                byte[] bytes = mapper.writeValueAsBytes(payload.getValue());
+                if (jsonSize == 0) {
+                    jsonSize = bytes.length;
+                }
+                assertThat(mapper.readTree(bytes).size()).isEqualTo(((List<?>) payload.getValue()).size());
+
+                Object value = payload.getValue();
+                double[] cpuMs = measureCpu(() -> mapper.writeValueAsBytes(value));
+                double[] gzipCpuMs = measureCpu(() -> gzip(mapper.writeValueAsBytes(value)));
+                report.append(String.format(Locale.ROOT, "| %s | %s | %,d | %,d | %.0f%% | %.2f | %.2f | %.2f | %.2f |%n",
+                        payload.getKey(), format.getKey(), bytes.length, gzip(bytes).length,
+                        bytes.length * 100.0 / jsonSize, percentile(cpuMs, 0.5), percentile(cpuMs, 0.9),
+                        percentile(gzipCpuMs, 0.5), percentile(gzipCpuMs, 0.9)));
+            }
+        }
+
+        System.out.println(report);
+        Path output = Path.of("target", "benchmark", "payload-formats.md");
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, report);
+    }
+
+    /**
+     * CPU da thread atual por execução, após aquecimento — não inclui espera de I/O nem GC concorrente.
+     */
+    private double[] measureCpu(Runnable serialization) {
+        for (int i = 0; i < 3; i++) {
+            serialization.run();
+        }
+        double[] samples = new double[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = threads.getCurrentThreadCpuTime();
+            serialization.run();
+            samples[i] = (threads.getCurrentThreadCpuTime() - start) / 1e6;
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private static double percentile(double[] sorted, double percentile) {
+        return sorted[Math.max((int) Math.ceil(percentile * sorted.length) - 1, 0)];
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    private static List<Product> buildCatalog() {
+        List<RawMaterial> materials = new ArrayList<>(MATERIALS);
+        for (int i = 1; i <= MATERIALS; i++) {
+            materials.add(RawMaterial.builder()
+                    .id((long) i).code(String.format("MP%05d", i)).name("Matéria-prima " + i)
+                    .stockQuantity(1000.0 + i).unitOfMeasure("kg")
+                    .build());
+        }
+
+        List<Product> catalog = new ArrayList<>(PRODUCTS);
+        for (int i = 1; i <= PRODUCTS; i++) {
+            Product product = Product.builder()
+                    .id((long) i).code(String.format("PRD%06d", i)).name("Produto " + i)
+                    .price(10.0 + (i % 500) / 4.0)
+                    .description("Produto sintético " + i + " para comparação de formatos de resposta.")
+                    .compositions(new ArrayList<>())
+                    .build();
+            for (int c = 0; c < COMPOSITIONS; c++) {
+                product.getCompositions().add(ProductComposition.builder()
+                        .id((long) i * COMPOSITIONS + c)
+                        .product(product)
+                        .rawMaterial(materials.get((i * 31 + c * 7) % MATERIALS))
+                        .requiredQuantity(0.5 + c)
+                        .build());
+            }
+            catalog.add(product);
+        }
+        return catalog;
+    }
+
+    private static List<ProductionSuggestionDTO> buildSuggestions(List<Product> catalog) {
+        List<ProductionSuggestionDTO> suggestions = new ArrayList<>(catalog.size());
+        for (Product product : catalog) {
+            suggestions.add(ProductionSuggestionDTO.builder()
+                    .productCode(product.getCode())
+                    .productName(product.getName())
+                    .quantity(3)
+                    .unitPrice(product.getPrice())
+                    .totalValue(product.getPrice() * 3)
+                    .build());
+        }
+        return suggestions;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.backend.config;
+
+import com.example.backend.service.CatalogVersion;
+import com.example.backend.service.RowVersions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Carrega um catálogo sintético pequeno em um banco próprio e confere que ele se comporta como um
+ * catálogo cadastrado pela API: versões de linha, ETags e cadastros posteriores.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:synthetic_it",
+        "app.synthetic.raw-materials=20",
+        "app.synthetic.products=30",
+        "app.synthetic.batch-size=8"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("synthetic")
+@DisplayName("SyntheticDataLoader — Testes de Integração")
+class SyntheticDataLoaderIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RowVersions rowVersions;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Deve gravar todas as linhas com row_version dentro da versão estável")
+    void shouldAssignRowVersions() {
+        Long unversioned = jdbcTemplate.queryForObject(
+                "SELECT (SELECT COUNT(*) FROM raw_material WHERE row_version = 0)"
+                        + " + (SELECT COUNT(*) FROM product WHERE row_version = 0)", Long.class);
+        Long newest = jdbcTemplate.queryForObject(
+                "SELECT GREATEST((SELECT MAX(row_version) FROM raw_material), (SELECT MAX(row_version) FROM product))",
+                Long.class);
+
+        assertThat(unversioned).isZero();
+        assertThat(newest).isPositive().isLessThanOrEqualTo(rowVersions.stable());
+    }
+
+    @Test
+    @DisplayName("Deve mudar a versão (ETag) das tabelas a cada lote confirmado")
+    void shouldBumpCatalogVersions() {
+        // 20 matérias-primas em lotes de 8: 3 lotes; 30 produtos: 3 lotes, mais os de composições
+        assertThat(catalogVersion.current(CatalogVersion.Table.RAW_MATERIAL)).isGreaterThanOrEqualTo(3);
+        assertThat(catalogVersion.current(CatalogVersion.Table.PRODUCT)).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Deve cadastrar pela API com ids após os gerados, sem colisão")
+    void shouldCreateAfterGeneratedIds() throws Exception {
+        mockMvc.perform(post("/api/raw-materials")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"code": "SYN-IT-1", "name": "Fermento", "stockQuantity": 5.0, "unitOfMeasure": "kg"}
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(greaterThan(20)));
+
+        mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"code": "SYN-IT-P1", "name": "Pão", "price": 5.0,
+                                 "compositions": [{"rawMaterialId": 1, "requiredQuantity": 0.5}]}
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(greaterThan(30)));
+    }
+}
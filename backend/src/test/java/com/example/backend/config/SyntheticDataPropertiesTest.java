@@ -0,0 +1,67 @@
+package com.example.backend.config;
+
+import com.example.backend.config.SyntheticDataProperties.Distribution;
+import com.example.backend.config.SyntheticDataProperties.Range;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("SyntheticDataProperties — Testes Unitários")
+class SyntheticDataPropertiesTest {
+
+    @Test
+    @DisplayName("Deve sortear valores dentro do intervalo, com 2 casas decimais")
+    void shouldSampleWithinRange() {
+        SplittableRandom random = new SplittableRandom(1);
+        for (Distribution distribution : Distribution.values()) {
+            Range range = new Range(1, 500, distribution);
+            for (int i = 0; i < 10_000; i++) {
+                double value = range.sample(random);
+                assertThat(value).isBetween(1.0, 500.0);
+                assertThat(value * 100).isCloseTo(Math.rint(value * 100), within(1e-6));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve gerar a mesma sequência para a mesma semente")
+    void shouldBeDeterministic() {
+        Range range = new Range(0, 100_000, Distribution.UNIFORM);
+        SplittableRandom first = new SplittableRandom(42);
+        SplittableRandom second = new SplittableRandom(42);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(range.sample(first)).isEqualTo(range.sample(second));
+        }
+    }
+
+    @Test
+    @DisplayName("Log-normal deve concentrar os valores perto da média geométrica")
+    void shouldCenterLogNormalOnGeometricMean() {
+        Range range = new Range(1, 10_000, Distribution.LOG_NORMAL);
+        SplittableRandom random = new SplittableRandom(7);
+        double[] values = new double[20_001];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = range.sample(random);
+        }
+        Arrays.sort(values);
+
+        // Média geométrica de 1 e 10.000 = 100
+        assertThat(values[values.length / 2]).isBetween(90.0, 110.0);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar log-normal com mínimo não positivo")
+    void shouldRejectLogNormalWithoutPositiveMin() {
+        Range range = new Range(0, 10, Distribution.LOG_NORMAL);
+
+        assertThatThrownBy(() -> range.sample(new SplittableRandom()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -8,6 +8,8 @@ import com.example.backend.entity.RawMaterial;
 import com.example.backend.exception.GlobalExceptionHandler;
 import com.example.backend.exception.DuplicateCodeException;
 import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.service.CatalogVersion;
+import com.example.backend.service.ProductFieldSelection;
 import com.example.backend.service.ProductService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -17,14 +19,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -34,7 +41,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @WebMvcTest(ProductController.class)
 @AutoConfigureMockMvc(addFilters = false)
-@Import(GlobalExceptionHandler.class)
+@Import({GlobalExceptionHandler.class, CatalogVersion.class})
 @DisplayName("ProductController — Testes de Integração (MockMvc)")
 class ProductControllerTest {
 
@@ -46,6 +53,9 @@ class ProductControllerTest {
     @MockitoBean
     private ProductService service;
 
+    @Autowired
+    private CatalogVersion catalogVersion;
+
     // ── Helpers ─────────────────────────────────────────────────────────────────
 
     private RawMaterial buildRawMaterial(Long id, String code, String name, Double stock) {
@@ -104,6 +114,35 @@ class ProductControllerTest {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$", hasSize(0)));
         }
+
+        @Test
+        @DisplayName("200 OK — Deve retornar apenas os campos pedidos em ?fields=")
+        void shouldReturnSparseFieldset() throws Exception {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", 1L);
+            row.put("code", "PRD001");
+            row.put("price", 12.50);
+            when(service.findAll(any(ProductFieldSelection.class))).thenReturn(List.of(row));
+
+            mockMvc.perform(get("/api/products").param("fields", "code,price"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].code").value("PRD001"))
+                    .andExpect(jsonPath("$[0].price").value(12.50))
+                    .andExpect(jsonPath("$[0].name").doesNotExist())
+                    .andExpect(jsonPath("$[0].compositions").doesNotExist());
+
+            verify(service, never()).findAll();
+        }
+
+        @Test
+        @DisplayName("400 Bad Request — Deve rejeitar campo desconhecido")
+        void shouldReturn400ForUnknownField() throws Exception {
+            mockMvc.perform(get("/api/products").param("fields", "code,secret"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value(containsString("secret")));
+
+            verifyNoInteractions(service);
+        }
     }
 
     // ── GET /api/products/{id} ──────────────────────────────────────────────────
@@ -317,5 +356,92 @@ class ProductControllerTest {
                     .andExpect(jsonPath("$.message").value("Product not found with id: 99"));
         }
     }
-}
 
+    // ── Conditional GET (ETag / If-None-Match) ──────────────────────────────────
+
+    @Nested
+    @DisplayName("GET /api/products — ETag / If-None-Match")
+    class ConditionalGet {
+
+        private String json(String versionETag) {
+            return NegotiatedETag.withFormat(versionETag, MediaType.APPLICATION_JSON);
+        }
+
+        @Test
+        @DisplayName("200 OK — Deve enviar ETag forte e Cache-Control no-cache")
+        void shouldReturnETag() throws Exception {
+            when(service.findAll()).thenReturn(Collections.emptyList());
+
+            mockMvc.perform(get("/api/products"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, json(catalogVersion.productsETag())))
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                    .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+        }
+
+        @Test
+        @DisplayName("304 Not Modified — Deve responder sem consultar o serviço quando o ETag coincide")
+        void shouldReturn304WithoutQuerying() throws Exception {
+            mockMvc.perform(get("/api/products").header(HttpHeaders.IF_NONE_MATCH, json(catalogVersion.productsETag())))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+
+            mockMvc.perform(get("/api/products/1").header(HttpHeaders.IF_NONE_MATCH, json(catalogVersion.productETag(1L))))
+                    .andExpect(status().isNotModified());
+
+            verifyNoInteractions(service);
+        }
+
+        @Test
+        @DisplayName("200 OK — Deve reenviar o recurso após alteração na tabela")
+        void shouldReturn200AfterBump() throws Exception {
+            String stale = json(catalogVersion.productETag(1L));
+            catalogVersion.bump(CatalogVersion.Table.PRODUCT);
+            when(service.findById(1L)).thenReturn(buildProductWithComposition());
+
+            mockMvc.perform(get("/api/products/1").header(HttpHeaders.IF_NONE_MATCH, stale))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, json(catalogVersion.productETag(1L))));
+        }
+
+        @Test
+        @DisplayName("200 OK — Deve responder em CBOR com ETag próprio e Vary: Accept")
+        void shouldReturnCborWithOwnETag() throws Exception {
+            when(service.findById(1L)).thenReturn(buildProductWithComposition());
+            String cbor = NegotiatedETag.withFormat(catalogVersion.productETag(1L), MediaType.APPLICATION_CBOR);
+
+            mockMvc.perform(get("/api/products/1").accept(MediaType.APPLICATION_CBOR))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                    .andExpect(header().string(HttpHeaders.ETAG, cbor))
+                    .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+
+            mockMvc.perform(get("/api/products/1").accept(MediaType.APPLICATION_CBOR)
+                            .header(HttpHeaders.IF_NONE_MATCH, cbor))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+        }
+
+        @Test
+        @DisplayName("200 OK — Não deve aceitar o ETag da representação JSON para um pedido em CBOR")
+        void shouldNotMatchJsonETagForCbor() throws Exception {
+            when(service.findAll()).thenReturn(Collections.emptyList());
+
+            mockMvc.perform(get("/api/products").accept(MediaType.APPLICATION_CBOR)
+                            .header(HttpHeaders.IF_NONE_MATCH, json(catalogVersion.productsETag())))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+        }
+
+        @Test
+        @DisplayName("Deve escolher o formato pela qualidade do Accept")
+        void shouldNegotiateByQuality() {
+            assertThat(NegotiatedETag.negotiate(null)).isEqualTo(MediaType.APPLICATION_JSON);
+            assertThat(NegotiatedETag.negotiate("*/*")).isEqualTo(MediaType.APPLICATION_JSON);
+            assertThat(NegotiatedETag.negotiate("application/json;q=0.5, application/x-jackson-smile"))
+                    .isEqualTo(NegotiatedETag.SMILE);
+            assertThat(NegotiatedETag.negotiate("text/html")).isNull();
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.backend.controller;
 
+import com.example.backend.dto.MultiSiteProductionDTO;
 import com.example.backend.dto.ProductionSuggestionDTO;
 import com.example.backend.exception.GlobalExceptionHandler;
+import com.example.backend.exception.ResourceNotFoundException;
 import com.example.backend.service.ProductionOptimizerService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -16,6 +18,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Mockito.*;
@@ -101,5 +104,52 @@ class ProductionControllerTest {
                     .andExpect(jsonPath("$[0].totalValue").value(125.00));
         }
     }
-}
 
+    @Nested
+    @DisplayName("GET /api/production/optimize?site= e /optimize/sites")
+    class Sites {
+
+        private final ProductionSuggestionDTO pao = ProductionSuggestionDTO.builder()
+                .productCode("PRD001").productName("Pão")
+                .quantity(5).unitPrice(12.50).totalValue(62.50)
+                .build();
+
+        @Test
+        @DisplayName("200 OK — Deve otimizar com o estoque do site informado")
+        void shouldOptimizeSingleSite() throws Exception {
+            when(service.optimize("SP01")).thenReturn(List.of(pao));
+
+            mockMvc.perform(get("/api/production/optimize").param("site", "SP01"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].quantity").value(5));
+
+            verify(service, never()).optimize();
+        }
+
+        @Test
+        @DisplayName("404 Not Found — Deve retornar 404 quando o site não tem estoque")
+        void shouldReturn404ForUnknownSite() throws Exception {
+            when(service.optimize("XX")).thenThrow(new ResourceNotFoundException("No stock registered for site: XX"));
+
+            mockMvc.perform(get("/api/production/optimize").param("site", "XX"))
+                    .andExpect(status().isNotFound());
+        }
+
+        @Test
+        @DisplayName("200 OK — Deve retornar sugestões por site e consolidadas")
+        void shouldOptimizeAllSites() throws Exception {
+            when(service.optimizeAllSites()).thenReturn(MultiSiteProductionDTO.builder()
+                    .sites(Map.of("SP01", List.of(pao)))
+                    .merged(List.of(pao))
+                    .totalValue(62.50)
+                    .build());
+
+            mockMvc.perform(get("/api/production/optimize/sites"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.sites.SP01", hasSize(1)))
+                    .andExpect(jsonPath("$.merged[0].productCode").value("PRD001"))
+                    .andExpect(jsonPath("$.totalValue").value(62.50));
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.example.backend.entity.RawMaterial;
 import com.example.backend.exception.GlobalExceptionHandler;
 import com.example.backend.exception.DuplicateCodeException;
 import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.service.CatalogVersion;
 import com.example.backend.service.RawMaterialService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -14,6 +15,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -21,6 +23,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.Collections;
 import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -30,7 +33,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @WebMvcTest(RawMaterialController.class)
 @AutoConfigureMockMvc(addFilters = false)
-@Import(GlobalExceptionHandler.class)
+@Import({GlobalExceptionHandler.class, CatalogVersion.class})
 @DisplayName("RawMaterialController — Testes de Integração (MockMvc)")
 class RawMaterialControllerTest {
 
@@ -42,6 +45,9 @@ class RawMaterialControllerTest {
     @MockitoBean
     private RawMaterialService service;
 
+    @Autowired
+    private CatalogVersion catalogVersion;
+
     // ── Helpers ─────────────────────────────────────────────────────────────────
 
     private RawMaterial buildRawMaterial(Long id, String code, String name, Double stock) {
@@ -90,10 +96,10 @@ class RawMaterialControllerTest {
         }
     }
 
-    // ── GET /api/raw-materials/next-code ────────────────────────────────────────
+    // ── POST /api/raw-materials/next-code ───────────────────────────────────────
 
     @Nested
-    @DisplayName("GET /api/raw-materials/next-code")
+    @DisplayName("POST /api/raw-materials/next-code")
     class GetNextCode {
 
         @Test
@@ -101,7 +107,7 @@ class RawMaterialControllerTest {
         void shouldReturn200WithNextCode() throws Exception {
             when(service.generateNextCode()).thenReturn("MP006");
 
-            mockMvc.perform(get("/api/raw-materials/next-code"))
+            mockMvc.perform(post("/api/raw-materials/next-code"))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.nextCode").value("MP006"));
 
@@ -113,10 +119,39 @@ class RawMaterialControllerTest {
         void shouldReturnMP001WhenEmpty() throws Exception {
             when(service.generateNextCode()).thenReturn("MP001");
 
-            mockMvc.perform(get("/api/raw-materials/next-code"))
+            mockMvc.perform(post("/api/raw-materials/next-code"))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.nextCode").value("MP001"));
         }
+
+        @Test
+        @DisplayName("200 OK — Deve aceitar o parâmetro prefix")
+        void shouldPassPrefixToService() throws Exception {
+            when(service.generateNextCode("MX")).thenReturn("MX001");
+
+            mockMvc.perform(post("/api/raw-materials/next-code").param("prefix", "MX"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.nextCode").value("MX001"));
+        }
+
+        @Test
+        @DisplayName("400 Bad Request — Deve rejeitar prefixo não configurado")
+        void shouldReturn400ForUnknownPrefix() throws Exception {
+            when(service.generateNextCode("XX")).thenThrow(new IllegalArgumentException("Unknown raw material code prefix: XX"));
+
+            mockMvc.perform(post("/api/raw-materials/next-code").param("prefix", "XX"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("405 Method Not Allowed — GET não deve reservar um código")
+        void shouldNotReserveOnGet() throws Exception {
+            mockMvc.perform(get("/api/raw-materials/next-code"))
+                    .andExpect(status().isMethodNotAllowed())
+                    .andExpect(header().string(HttpHeaders.ALLOW, containsString("POST")));
+
+            verify(service, never()).generateNextCode();
+        }
     }
 
     // ── GET /api/raw-materials/{id} ─────────────────────────────────────────────
@@ -269,5 +304,52 @@ class RawMaterialControllerTest {
                     .andExpect(jsonPath("$.message").value("Raw Material not found with id: 99"));
         }
     }
-}
 
+    // ── Conditional GET (ETag / If-None-Match) ──────────────────────────────────
+
+    @Nested
+    @DisplayName("GET /api/raw-materials — ETag / If-None-Match")
+    class ConditionalGet {
+
+        private String json(String versionETag) {
+            return NegotiatedETag.withFormat(versionETag, MediaType.APPLICATION_JSON);
+        }
+
+        @Test
+        @DisplayName("200 OK — Deve enviar ETag forte e Cache-Control no-cache")
+        void shouldReturnETag() throws Exception {
+            when(service.findAll()).thenReturn(Collections.emptyList());
+
+            mockMvc.perform(get("/api/raw-materials"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, json(catalogVersion.rawMaterialsETag())))
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                    .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+        }
+
+        @Test
+        @DisplayName("304 Not Modified — Deve responder sem consultar o serviço quando o ETag coincide")
+        void shouldReturn304WithoutQuerying() throws Exception {
+            mockMvc.perform(get("/api/raw-materials").header(HttpHeaders.IF_NONE_MATCH, json(catalogVersion.rawMaterialsETag())))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+
+            mockMvc.perform(get("/api/raw-materials/1").header(HttpHeaders.IF_NONE_MATCH, json(catalogVersion.rawMaterialETag(1L))))
+                    .andExpect(status().isNotModified());
+
+            verifyNoInteractions(service);
+        }
+
+        @Test
+        @DisplayName("200 OK — Deve reenviar o recurso após alteração na tabela")
+        void shouldReturn200AfterBump() throws Exception {
+            String stale = json(catalogVersion.rawMaterialETag(1L));
+            catalogVersion.bump(CatalogVersion.Table.RAW_MATERIAL);
+            when(service.findById(1L)).thenReturn(buildRawMaterial(1L, "MP001", "Farinha", 500.0));
+
+            mockMvc.perform(get("/api/raw-materials/1").header(HttpHeaders.IF_NONE_MATCH, stale))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, json(catalogVersion.rawMaterialETag(1L))));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.StockQuantityDTO;
+import com.example.backend.entity.RawMaterial;
+import com.example.backend.entity.SiteStock;
+import com.example.backend.exception.GlobalExceptionHandler;
+import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.service.SiteStockService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SiteStockController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import(GlobalExceptionHandler.class)
+@DisplayName("SiteStockController — Testes de Integração (MockMvc)")
+class SiteStockControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @MockitoBean
+    private SiteStockService service;
+
+    private SiteStock buildSiteStock(String site, Double quantity) {
+        RawMaterial rm = RawMaterial.builder()
+                .id(1L).code("MP001").name("Farinha").stockQuantity(0.0).unitOfMeasure("kg")
+                .build();
+        return SiteStock.builder().id(1L).site(site).rawMaterial(rm).quantity(quantity).build();
+    }
+
+    @Test
+    @DisplayName("GET 200 OK — Deve listar o estoque por planta")
+    void shouldListSiteStock() throws Exception {
+        when(service.findByRawMaterial(1L)).thenReturn(List.of(buildSiteStock("SP01", 800.0)));
+
+        mockMvc.perform(get("/api/raw-materials/1/stock"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].site").value("SP01"))
+                .andExpect(jsonPath("$[0].rawMaterialId").value(1))
+                .andExpect(jsonPath("$[0].quantity").value(800.0))
+                .andExpect(jsonPath("$[0].quantityMicros").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("PUT 200 OK — Deve definir a quantidade da planta")
+    void shouldSetQuantity() throws Exception {
+        when(service.setQuantity(eq(1L), eq("SP01"), any(StockQuantityDTO.class)))
+                .thenReturn(buildSiteStock("SP01", 250.0));
+
+        mockMvc.perform(put("/api/raw-materials/1/stock/SP01")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StockQuantityDTO(250.0))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity").value(250.0));
+    }
+
+    @Test
+    @DisplayName("POST 400 Bad Request — Deve rejeitar baixa maior que o estoque")
+    void shouldReturn400WhenInsufficient() throws Exception {
+        when(service.adjust(eq(1L), eq("SP01"), any(StockQuantityDTO.class)))
+                .thenThrow(new IllegalArgumentException("Insufficient stock for raw material 1 at site: SP01"));
+
+        mockMvc.perform(post("/api/raw-materials/1/stock/SP01/adjustments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StockQuantityDTO(-999.0))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Insufficient stock for raw material 1 at site: SP01"));
+    }
+
+    @Test
+    @DisplayName("GET 404 Not Found — Deve retornar 404 quando a matéria-prima não existe")
+    void shouldReturn404WhenRawMaterialMissing() throws Exception {
+        when(service.findByRawMaterial(99L)).thenThrow(new ResourceNotFoundException("Raw Material not found with id: 99"));
+
+        mockMvc.perform(get("/api/raw-materials/99/stock"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.LotConsumptionDTO;
+import com.example.backend.dto.StockLotDTO;
+import com.example.backend.dto.StockQuantityDTO;
+import com.example.backend.entity.RawMaterial;
+import com.example.backend.entity.StockLot;
+import com.example.backend.exception.GlobalExceptionHandler;
+import com.example.backend.service.StockLotService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(StockLotController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import(GlobalExceptionHandler.class)
+@DisplayName("StockLotController — Testes de Integração (MockMvc)")
+class StockLotControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @MockitoBean
+    private StockLotService service;
+
+    private StockLot buildLot(Long id, String lotCode, Double quantity) {
+        RawMaterial rm = RawMaterial.builder()
+                .id(3L).code("MP003").name("Leite").stockQuantity(0.0).unitOfMeasure("caixas")
+                .build();
+        return StockLot.builder()
+                .id(id).lotCode(lotCode).rawMaterial(rm).quantity(quantity)
+                .expiresAt(LocalDate.of(2026, 10, 24)).receivedAt(Instant.parse("2026-10-19T10:00:00Z"))
+                .build();
+    }
+
+    @Test
+    @DisplayName("GET 200 OK — Deve listar os lotes da matéria-prima")
+    void shouldListLots() throws Exception {
+        when(service.findByRawMaterial(3L)).thenReturn(List.of(buildLot(1L, "LT-LEITE-001", 180.0)));
+
+        mockMvc.perform(get("/api/raw-materials/3/lots"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].lotCode").value("LT-LEITE-001"))
+                .andExpect(jsonPath("$[0].rawMaterialId").value(3))
+                .andExpect(jsonPath("$[0].quantity").value(180.0))
+                .andExpect(jsonPath("$[0].expiresAt").value("2026-10-24"))
+                .andExpect(jsonPath("$[0].quantityMicros").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("POST 201 Created — Deve registrar o recebimento de um lote")
+    void shouldReceiveLot() throws Exception {
+        when(service.receive(eq(3L), any(StockLotDTO.class))).thenReturn(buildLot(2L, "LT-LEITE-002", 120.0));
+
+        mockMvc.perform(post("/api/raw-materials/3/lots")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "lotCode": "LT-LEITE-002", "quantity": 120.0, "expiresAt": "2026-10-24" }
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(2))
+                .andExpect(jsonPath("$.quantity").value(120.0));
+    }
+
+    @Test
+    @DisplayName("POST 200 OK — Deve retornar as baixas por lote em ordem FEFO")
+    void shouldConsumeLots() throws Exception {
+        when(service.consume(eq(3L), any(StockQuantityDTO.class))).thenReturn(List.of(
+                new LotConsumptionDTO(1L, "LT-LEITE-001", 180.0, LocalDate.of(2026, 10, 24)),
+                new LotConsumptionDTO(2L, "LT-LEITE-002", 20.0, LocalDate.of(2026, 11, 8))));
+
+        mockMvc.perform(post("/api/raw-materials/3/lots/consumptions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StockQuantityDTO(200.0))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].lotCode").value("LT-LEITE-001"))
+                .andExpect(jsonPath("$[1].quantity").value(20.0));
+    }
+
+    @Test
+    @DisplayName("POST 400 Bad Request — Deve rejeitar baixa maior que os lotes não vencidos")
+    void shouldReturn400WhenInsufficient() throws Exception {
+        when(service.consume(eq(3L), any(StockQuantityDTO.class)))
+                .thenThrow(new IllegalArgumentException("Insufficient non-expired lots for raw material 3"));
+
+        mockMvc.perform(post("/api/raw-materials/3/lots/consumptions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StockQuantityDTO(999.0))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Insufficient non-expired lots for raw material 3"));
+    }
+}
@@ -1,11 +1,18 @@
 package com.example.backend.exception;
 
+import com.example.backend.dto.BatchResponseDTO;
+import com.example.backend.dto.BatchResultDTO;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
 
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -72,6 +79,20 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody().get("message")).isEqualTo("An unexpected error occurred. Please try again later.");
     }
 
+    @Test
+    @DisplayName("handleGeneral — Deve manter o status e os headers das exceções do Spring MVC")
+    void shouldKeepStatusOfSpringMvcExceptions() {
+        Exception ex = new HttpRequestMethodNotSupportedException("GET", List.of("POST"));
+
+        ResponseEntity<Map<String, Object>> response = handler.handleGeneral(ex);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.METHOD_NOT_ALLOWED);
+        assertThat(response.getHeaders().getAllow()).containsExactly(HttpMethod.POST);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().get("status")).isEqualTo(405);
+        assertThat(response.getBody().get("error")).isEqualTo("Method Not Allowed");
+    }
+
     @Test
     @DisplayName("handleGeneral — Deve desembrulhar DuplicateCodeException aninhada e retornar 409")
     void shouldUnwrapNestedDuplicateCodeException() {
@@ -100,6 +121,20 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody().get("message")).isEqualTo("Product not found with id: 5");
     }
 
+    @Test
+    @DisplayName("handleGeneral — Deve retornar 503 com Retry-After quando o pool de conexões está esgotado")
+    void shouldReturn503WhenConnectionPoolExhausted() {
+        var cause = new SQLTransientConnectionException("HikariPool-1 - Connection is not available, request timed out after 5000ms.");
+        Exception wrapper = new RuntimeException("Could not open JPA EntityManager for transaction", cause);
+
+        ResponseEntity<Map<String, Object>> response = handler.handleGeneral(wrapper);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().get("status")).isEqualTo(503);
+    }
+
     @Test
     @DisplayName("handleDataIntegrity — Deve retornar 409 com mensagem de código duplicado para unique constraint")
     void shouldReturn409ForUniqueConstraintViolation() {
@@ -137,5 +172,17 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody().get("timestamp")).isNotNull();
         assertThat(response.getBody().get("timestamp")).isInstanceOf(String.class);
     }
-}
 
+    @Test
+    @DisplayName("handleBatchFailed — Deve retornar o status da operação que falhou com os resultados do lote")
+    void shouldReturnFailedOperationStatusForBatch() {
+        BatchResponseDTO body = new BatchResponseDTO(false, List.of(
+                BatchResultDTO.builder().index(0).status(409).error("duplicate").build()));
+
+        ResponseEntity<BatchResponseDTO> response =
+                handler.handleBatchFailed(new BatchFailedException(HttpStatus.CONFLICT, body));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).isSameAs(body);
+    }
+}
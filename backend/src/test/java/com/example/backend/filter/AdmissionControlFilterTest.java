@@ -0,0 +1,179 @@
+package com.example.backend.filter;
+
+import com.example.backend.config.AdmissionControlProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AdmissionControlFilter — Testes Unitários")
+class AdmissionControlFilterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final AtomicLong now = new AtomicLong(0);
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        AdmissionControlProperties.Route optimize = new AdmissionControlProperties.Route();
+        optimize.setPaths(List.of("/api/production/optimize", "/api/production/optimize/**"));
+        optimize.setMethods(List.of("GET"));
+        optimize.setRequestsPerSecond(1);
+        optimize.setBurst(2);
+        optimize.setMaxConcurrent(1);
+
+        AdmissionControlProperties properties = new AdmissionControlProperties();
+        properties.getRoutes().put("optimize", optimize);
+        filter = new AdmissionControlFilter(properties, registry, now::get);
+    }
+
+    // ── Helpers ─────────────────────────────────────────────────────────────────
+
+    private MockHttpServletRequest get(String uri, String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.addHeader("X-Real-IP", client);
+        return request;
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                resp.setStatus(200);
+            }
+        }));
+        return response;
+    }
+
+    private double count(String outcome) {
+        return registry.get("admission.requests").tag("route", "optimize").tag("outcome", outcome)
+                .counter().count();
+    }
+
+    // ── Taxa por cliente ────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Deve ignorar X-Real-IP de conexões que não vêm de um proxy confiável")
+    void shouldIgnoreClientHeaderFromUntrustedAddress() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = get("/api/production/optimize", "10.0.0." + i);
+            request.setRemoteAddr("203.0.113.7");
+            assertThat(send(request).getStatus()).isEqualTo(200);
+        }
+
+        MockHttpServletRequest spoofed = get("/api/production/optimize", "10.0.0.99");
+        spoofed.setRemoteAddr("203.0.113.7");
+
+        assertThat(send(spoofed).getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("Deve admitir a rajada configurada e responder 429 com Retry-After depois dela")
+    void shouldRateLimitAfterBurst() throws Exception {
+        assertThat(send(get("/api/production/optimize", "10.0.0.1")).getStatus()).isEqualTo(200);
+        assertThat(send(get("/api/production/optimize/sites", "10.0.0.1")).getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse limited = send(get("/api/production/optimize", "10.0.0.1"));
+
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(limited.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(limited.getContentAsString()).contains("\"status\":429");
+        assertThat(count("admitted")).isEqualTo(2);
+        assertThat(count("rate_limited")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve repor os tokens com o tempo")
+    void shouldRefillTokens() throws Exception {
+        send(get("/api/production/optimize", "10.0.0.1"));
+        send(get("/api/production/optimize", "10.0.0.1"));
+        assertThat(send(get("/api/production/optimize", "10.0.0.1")).getStatus()).isEqualTo(429);
+
+        now.addAndGet(SECOND);
+
+        assertThat(send(get("/api/production/optimize", "10.0.0.1")).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Deve limitar cada cliente separadamente")
+    void shouldIsolateClients() throws Exception {
+        send(get("/api/production/optimize", "10.0.0.1"));
+        send(get("/api/production/optimize", "10.0.0.1"));
+
+        assertThat(send(get("/api/production/optimize", "10.0.0.1")).getStatus()).isEqualTo(429);
+        assertThat(send(get("/api/production/optimize", "10.0.0.2")).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Deve ignorar rotas e métodos não configurados")
+    void shouldIgnoreOtherRoutes() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertThat(send(get("/api/products", "10.0.0.1")).getStatus()).isEqualTo(200);
+            MockHttpServletRequest post = new MockHttpServletRequest("POST", "/api/production/optimize");
+            assertThat(send(post).getStatus()).isEqualTo(200);
+        }
+        assertThat(count("admitted")).isZero();
+    }
+
+    // ── Concorrência ────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Deve responder 503 quando a rota atingir o limite de requisições simultâneas")
+    void shouldShedWhenConcurrencyIsExhausted() throws Exception {
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+        MockHttpServletResponse outer = new MockHttpServletResponse();
+
+        filter.doFilter(get("/api/production/optimize", "10.0.0.1"), outer, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                try {
+                    // Segunda requisição chega enquanto a primeira ainda ocupa a única vaga
+                    nested[0] = send(get("/api/production/optimize", "10.0.0.2"));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                resp.setStatus(200);
+            }
+        }));
+
+        assertThat(outer.getStatus()).isEqualTo(200);
+        assertThat(nested[0].getStatus()).isEqualTo(503);
+        assertThat(nested[0].getHeader("Retry-After")).isEqualTo("1");
+        assertThat(count("concurrency_limited")).isEqualTo(1);
+
+        // A vaga é liberada ao fim da primeira requisição
+        assertThat(send(get("/api/production/optimize", "10.0.0.3")).getStatus()).isEqualTo(200);
+        assertThat(registry.get("admission.inflight").tag("route", "optimize").gauge().value()).isZero();
+    }
+
+    // ── Limpeza ─────────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Deve descartar apenas os buckets de clientes inativos")
+    void shouldPurgeIdleClients() throws Exception {
+        send(get("/api/production/optimize", "10.0.0.1"));
+        now.addAndGet(SECOND / 2);
+        send(get("/api/production/optimize", "10.0.0.2"));
+        now.addAndGet(SECOND / 2);
+
+        filter.purgeIdleClients();
+
+        assertThat(registry.get("admission.clients").tag("route", "optimize").gauge().value()).isEqualTo(1);
+    }
+}
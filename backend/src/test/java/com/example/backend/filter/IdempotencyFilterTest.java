@@ -0,0 +1,271 @@
+package com.example.backend.filter;
+
+import com.example.backend.entity.IdempotencyRecord;
+import com.example.backend.service.IdempotencyService;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyFilter — Testes Unitários")
+class IdempotencyFilterTest {
+
+    /** Chave gravada para {@code k1} enviada de {@code 127.0.0.1} (endereço padrão do MockHttpServletRequest). */
+    private static final String KEY = IdempotencyFilter.scopedKey("127.0.0.1", "k1");
+
+    @Mock
+    private IdempotencyService service;
+
+    private MockHttpServletRequest buildPost(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/raw-materials");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        return request;
+    }
+
+    private MockFilterChain chainReturning(int status, String body) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                // Garante que o corpo continua disponível para o controller
+                assertThat(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8))
+                        .isEqualTo("{\"code\":\"MP001\"}");
+                resp.setStatus(status);
+                resp.setContentType("application/json");
+                resp.getWriter().write(body);
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Deve ignorar requisições sem Idempotency-Key")
+    void shouldPassThroughWithoutHeader() throws Exception {
+        IdempotencyFilter filter = new IdempotencyFilter(service);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(buildPost(null, "{\"code\":\"MP001\"}"), response, chainReturning(201, "{\"id\":1}"));
+
+        assertThat(response.getStatus()).isEqualTo(201);
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    @DisplayName("Deve executar e gravar a resposta na primeira requisição")
+    void shouldStoreFirstResponse() throws Exception {
+        IdempotencyFilter filter = new IdempotencyFilter(service);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(service.find(KEY)).thenReturn(Optional.empty());
+        when(service.tryAcquire(KEY)).thenReturn(true);
+
+        filter.doFilter(buildPost("k1", "{\"code\":\"MP001\"}"), response, chainReturning(201, "{\"id\":1}"));
+
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":1}");
+        verify(service).store(eq(KEY), anyString(), eq(201), startsWith("application/json"), eq("{\"id\":1}"));
+        verify(service).release(KEY);
+    }
+
+    @Test
+    @DisplayName("Não deve gravar respostas 5xx")
+    void shouldNotStoreServerErrors() throws Exception {
+        IdempotencyFilter filter = new IdempotencyFilter(service);
+        when(service.find(KEY)).thenReturn(Optional.empty());
+        when(service.tryAcquire(KEY)).thenReturn(true);
+
+        filter.doFilter(buildPost("k1", "{\"code\":\"MP001\"}"), new MockHttpServletResponse(),
+                chainReturning(500, "{}"));
+
+        verify(service, never()).store(any(), any(), anyInt(), any(), any());
+        verify(service).release(KEY);
+    }
+
+    @Test
+    @DisplayName("Deve devolver a resposta gravada sem executar a cadeia")
+    void shouldReplayStoredResponse() throws Exception {
+        IdempotencyFilter filter = new IdempotencyFilter(service);
+
+        // Primeira execução para capturar o fingerprint gerado
+        when(service.find(KEY)).thenReturn(Optional.empty());
+        when(service.tryAcquire(KEY)).thenReturn(true);
+        filter.doFilter(buildPost("k1", "{\"code\":\"MP001\"}"), new MockHttpServletResponse(),
+                chainReturning(201, "{\"id\":1}"));
+        ArgumentCaptor<String> fingerprint = ArgumentCaptor.forClass(String.class);
+        verify(service).store(eq(KEY), fingerprint.capture(), anyInt(), any(), any());
+
+        IdempotencyRecord stored = IdempotencyRecord.builder()
+                .key(KEY).fingerprint(fingerprint.getValue()).statusCode(201)
+                .contentType("application/json").responseBody("{\"id\":1}")
+                .createdAt(Instant.now()).expiresAt(Instant.now().plusSeconds(60))
+                .build();
+        when(service.find(KEY)).thenReturn(Optional.of(stored));
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(buildPost("k1", "{\"code\":\"MP001\"}"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":1}");
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    @DisplayName("422 — Deve rejeitar a mesma chave com outro conteúdo")
+    void shouldRejectKeyReuseWithDifferentPayload() throws Exception {
+        IdempotencyFilter filter = new IdempotencyFilter(service);
+        IdempotencyRecord stored = IdempotencyRecord.builder()
+                .key(KEY).fingerprint("other").statusCode(201)
+                .createdAt(Instant.now()).expiresAt(Instant.now().plusSeconds(60))
+                .build();
+        when(service.find(KEY)).thenReturn(Optional.of(stored));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(buildPost("k1", "{\"code\":\"MP001\"}"), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    @DisplayName("422 — Deve rejeitar a mesma chave com outro Accept")
+    void shouldRejectKeyReuseWithDifferentAccept() throws Exception {
+        IdempotencyFilter filter = new IdempotencyFilter(service);
+        when(service.find(KEY)).thenReturn(Optional.empty());
+        when(service.tryAcquire(KEY)).thenReturn(true);
+        MockHttpServletRequest json = buildPost("k1", "{\"code\":\"MP001\"}");
+        json.addHeader("Accept", "application/json");
+        filter.doFilter(json, new MockHttpServletResponse(), chainReturning(201, "{\"id\":1}"));
+        ArgumentCaptor<String> fingerprint = ArgumentCaptor.forClass(String.class);
+        verify(service).store(eq(KEY), fingerprint.capture(), anyInt(), any(), any());
+
+        IdempotencyRecord stored = IdempotencyRecord.builder()
+                .key(KEY).fingerprint(fingerprint.getValue()).statusCode(201)
+                .contentType("application/json").responseBody("{\"id\":1}")
+                .createdAt(Instant.now()).expiresAt(Instant.now().plusSeconds(60))
+                .build();
+        when(service.find(KEY)).thenReturn(Optional.of(stored));
+        MockHttpServletRequest cbor = buildPost("k1", "{\"code\":\"MP001\"}");
+        cbor.addHeader("Accept", "application/cbor");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(cbor, response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    @DisplayName("Deve separar a mesma chave enviada por clientes diferentes")
+    void shouldScopeKeysPerClient() throws Exception {
+        IdempotencyFilter filter = new IdempotencyFilter(service,
+                new ClientAddressResolver("X-Real-IP", List.of("10.0.0.1")));
+        when(service.find(anyString())).thenReturn(Optional.empty());
+        when(service.tryAcquire(anyString())).thenReturn(true);
+
+        MockHttpServletRequest first = buildPost("k1", "{\"code\":\"MP001\"}");
+        first.setRemoteAddr("10.0.0.1");
+        first.addHeader("X-Real-IP", "203.0.113.7");
+        filter.doFilter(first, new MockHttpServletResponse(), chainReturning(201, "{\"id\":1}"));
+        MockHttpServletRequest second = buildPost("k1", "{\"code\":\"MP001\"}");
+        second.setRemoteAddr("10.0.0.1");
+        second.addHeader("X-Real-IP", "198.51.100.2");
+        filter.doFilter(second, new MockHttpServletResponse(), chainReturning(201, "{\"id\":2}"));
+
+        verify(service).store(eq(IdempotencyFilter.scopedKey("203.0.113.7", "k1")), anyString(), eq(201), any(), eq("{\"id\":1}"));
+        verify(service).store(eq(IdempotencyFilter.scopedKey("198.51.100.2", "k1")), anyString(), eq(201), any(), eq("{\"id\":2}"));
+        assertThat(IdempotencyFilter.scopedKey("203.0.113.7", "k1"))
+                .isNotEqualTo(IdempotencyFilter.scopedKey("198.51.100.2", "k1"));
+    }
+
+    @Test
+    @DisplayName("409 — Deve rejeitar a chave enquanto outra requisição está em andamento")
+    void shouldRejectWhileInFlight() throws Exception {
+        IdempotencyFilter filter = new IdempotencyFilter(service);
+        when(service.find(KEY)).thenReturn(Optional.empty());
+        when(service.tryAcquire(KEY)).thenReturn(false);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(buildPost("k1", "{\"code\":\"MP001\"}"), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(409);
+        verify(service, never()).release(any());
+    }
+
+    @Test
+    @DisplayName("Deve gravar respostas binárias (CBOR/Smile) em Base64 e reproduzi-las byte a byte")
+    void shouldRoundTripBinaryBodies() {
+        byte[] cbor = {(byte) 0xA1, 0x62, 0x69, 0x64, 0x01, (byte) 0xFF, 0x00};
+
+        String stored = IdempotencyFilter.encodeBody("application/cbor", cbor);
+
+        assertThat(stored).isEqualTo(Base64.getEncoder().encodeToString(cbor));
+        assertThat(IdempotencyFilter.decodeBody("application/cbor", stored)).isEqualTo(cbor);
+        assertThat(IdempotencyFilter.encodeBody("application/json;charset=UTF-8", "{}".getBytes(StandardCharsets.UTF_8)))
+                .isEqualTo("{}");
+    }
+
+    @Test
+    @DisplayName("Deve servir o corpo em memória também para leitura assíncrona (ReadListener)")
+    void shouldNotifyReadListener() throws Exception {
+        IdempotencyFilter filter = new IdempotencyFilter(service);
+        when(service.find(KEY)).thenReturn(Optional.empty());
+        when(service.tryAcquire(KEY)).thenReturn(true);
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        List<String> events = new ArrayList<>();
+
+        filter.doFilter(buildPost("k1", "{\"code\":\"MP001\"}"), new MockHttpServletResponse(),
+                new MockFilterChain(new HttpServlet() {
+                    @Override
+                    protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                        ServletInputStream in = req.getInputStream();
+                        in.setReadListener(new ReadListener() {
+                            @Override
+                            public void onDataAvailable() throws IOException {
+                                events.add("data");
+                                while (in.isReady() && !in.isFinished()) {
+                                    received.write(in.read());
+                                }
+                            }
+
+                            @Override
+                            public void onAllDataRead() {
+                                events.add("end");
+                            }
+
+                            @Override
+                            public void onError(Throwable t) {
+                                events.add("error");
+                            }
+                        });
+                        resp.setStatus(201);
+                    }
+                }));
+
+        assertThat(events).containsExactly("data", "end");
+        assertThat(received.toString(StandardCharsets.UTF_8)).isEqualTo("{\"code\":\"MP001\"}");
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.backend.filter;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("QueryStatsFilter — Testes Unitários")
+class QueryStatsFilterTest {
+
+    private final QueryStatsFilter filter = new QueryStatsFilter();
+
+    @Test
+    @DisplayName("Deve gravar os headers antes do corpo")
+    void shouldWriteHeadersBeforeBody() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), response,
+                new MockFilterChain(new HttpServlet() {
+                    @Override
+                    protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                        resp.setStatus(200);
+                        resp.getWriter().write("[]");
+                        resp.flushBuffer();
+                    }
+                }));
+
+        assertThat(response.isCommitted()).isTrue();
+        assertThat(response.getHeader(QueryStatsFilter.COUNT_HEADER)).isEqualTo("0");
+        assertThat(response.getHeader(QueryStatsFilter.TIME_HEADER)).isEqualTo("0.000");
+    }
+
+    @Test
+    @DisplayName("Deve gravar os headers em respostas sem corpo")
+    void shouldWriteHeadersWithoutBody() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("DELETE", "/api/products/1"), response,
+                new MockFilterChain(new HttpServlet() {
+                    @Override
+                    protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                        resp.setStatus(204);
+                    }
+                }));
+
+        assertThat(response.getStatus()).isEqualTo(204);
+        assertThat(response.getHeader(QueryStatsFilter.COUNT_HEADER)).isEqualTo("0");
+    }
+}
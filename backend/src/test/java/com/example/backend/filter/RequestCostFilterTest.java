@@ -0,0 +1,79 @@
+package com.example.backend.filter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RequestCostFilter — Testes Unitários")
+class RequestCostFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RequestCostFilter filter = new RequestCostFilter(registry);
+
+    /** Evita que o JIT elimine a alocação do teste. */
+    private static volatile byte[] sink;
+
+    @Test
+    @DisplayName("Deve registrar CPU e bytes alocados pela rota da requisição")
+    void shouldRecordCostByRoute() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products/7"), new MockHttpServletResponse(),
+                new MockFilterChain(new HttpServlet() {
+                    @Override
+                    protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                        req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/products/{id}");
+                        sink = new byte[2 * 1024 * 1024];
+                        resp.setStatus(200);
+                    }
+                }));
+
+        DistributionSummary allocated = registry.get("http.server.requests.allocated")
+                .tags("method", "GET", "uri", "/api/products/{id}", "status", "200")
+                .summary();
+        Timer cpu = registry.get("http.server.requests.cpu")
+                .tags("method", "GET", "uri", "/api/products/{id}", "status", "200")
+                .timer();
+
+        assertThat(allocated.count()).isEqualTo(1);
+        assertThat(allocated.totalAmount()).isGreaterThanOrEqualTo(2 * 1024 * 1024);
+        assertThat(cpu.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve agrupar requisições sem handler em UNMATCHED")
+    void shouldGroupUnmatchedRequests() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(404);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/unknown"), response, new MockFilterChain());
+
+        assertThat(registry.get("http.server.requests.allocated").tags("uri", "UNMATCHED", "status", "404")
+                .summary().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve registrar métodos fora do padrão HTTP com a tag OTHER")
+    void shouldTagNonStandardMethodsAsOther() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("FOO", "/api/products"), new MockHttpServletResponse(),
+                new MockFilterChain());
+        filter.doFilter(new MockHttpServletRequest("BAR", "/api/products"), new MockHttpServletResponse(),
+                new MockFilterChain());
+
+        assertThat(registry.find("http.server.requests.allocated").summaries())
+                .singleElement()
+                .satisfies(summary -> {
+                    assertThat(summary.getId().getTag("method")).isEqualTo("OTHER");
+                    assertThat(summary.count()).isEqualTo(2);
+                });
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.backend.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StatementStatsDataSource — Testes Unitários")
+class StatementStatsDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement prepared;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private final AtomicLong now = new AtomicLong();
+
+    private StatementStatsDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        // Cada leitura do relógio avança 2 ms
+        dataSource = new StatementStatsDataSource(target, Duration.ofSeconds(1), 1.0,
+                () -> now.getAndAdd(2_000_000L), () -> 0.0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        QueryStats.clear();
+    }
+
+    @Test
+    @DisplayName("Deve contar e cronometrar cada execute* no escopo da requisição")
+    void shouldCountExecutions() throws SQLException {
+        when(connection.prepareStatement("select * from product where id = ?")).thenReturn(prepared);
+        when(prepared.executeQuery()).thenReturn(resultSet);
+        when(connection.createStatement()).thenReturn(statement);
+        QueryStats stats = QueryStats.start();
+
+        try (Connection conn = dataSource.getConnection()) {
+            PreparedStatement ps = conn.prepareStatement("select * from product where id = ?");
+            ps.setLong(1, 1L);
+            assertThat(ps.executeQuery()).isSameAs(resultSet);
+            conn.createStatement().executeUpdate("delete from catalog_tombstone");
+        }
+
+        assertThat(stats.count()).isEqualTo(2);
+        assertThat(stats.nanos()).isEqualTo(4_000_000L);
+        verify(prepared).setLong(1, 1L);
+        verify(statement).executeUpdate("delete from catalog_tombstone");
+    }
+
+    @Test
+    @DisplayName("Não deve acumular comandos fora de um escopo")
+    void shouldIgnoreStatementsOutsideScope() throws SQLException {
+        when(connection.createStatement()).thenReturn(statement);
+
+        dataSource.getConnection().createStatement().execute("select 1");
+        QueryStats stats = QueryStats.start();
+
+        assertThat(stats.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve propagar a SQLException original e ainda contar o comando")
+    void shouldPropagateSqlException() throws SQLException {
+        when(connection.prepareStatement("insert into product values (?)")).thenReturn(prepared);
+        when(prepared.executeUpdate()).thenThrow(new SQLException("duplicate key"));
+        QueryStats stats = QueryStats.start();
+
+        PreparedStatement ps = dataSource.getConnection().prepareStatement("insert into product values (?)");
+
+        assertThatThrownBy(ps::executeUpdate)
+                .isInstanceOf(SQLException.class)
+                .hasMessage("duplicate key");
+        assertThat(stats.count()).isEqualTo(1);
+    }
+}
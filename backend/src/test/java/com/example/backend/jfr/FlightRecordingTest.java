@@ -0,0 +1,109 @@
+package com.example.backend.jfr;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("FlightRecording — Testes Unitários")
+class FlightRecordingTest {
+
+    @TempDir
+    Path dumpDir;
+
+    private FlightRecording recording;
+
+    @AfterEach
+    void tearDown() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve gravar os eventos da aplicação no dump")
+    void shouldDumpApplicationEvents() throws Exception {
+        recording = new FlightRecording("default", Duration.ZERO, Duration.ofMinutes(5), 16 * 1024 * 1024, dumpDir, 5);
+        recording.start();
+
+        new RequestEventFilter().doFilter(new MockHttpServletRequest("GET", "/api/products/7"),
+                new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+                    @Override
+                    protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                        req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/products/{id}");
+                        resp.setStatus(404);
+                    }
+                }));
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recording.dump()).stream()
+                .filter(e -> e.getEventType().getName().equals("com.example.backend.HttpRequest"))
+                .toList();
+
+        assertThat(events).hasSize(1);
+        assertThat(events.getFirst().getString("route")).isEqualTo("/api/products/{id}");
+        assertThat(events.getFirst().getString("uri")).isEqualTo("/api/products/7");
+        assertThat(events.getFirst().getInt("status")).isEqualTo(404);
+    }
+
+    @Test
+    @DisplayName("Deve descartar requisições abaixo do threshold")
+    void shouldDropFastRequests() throws Exception {
+        recording = new FlightRecording("default", Duration.ofMinutes(1), Duration.ofMinutes(5), 16 * 1024 * 1024, dumpDir, 5);
+        recording.start();
+
+        new RequestEventFilter().doFilter(new MockHttpServletRequest("GET", "/api/products"),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(RecordingFile.readAllEvents(recording.dump()))
+                .noneMatch(e -> e.getEventType().getName().equals("com.example.backend.HttpRequest"));
+    }
+
+    @Test
+    @DisplayName("Deve manter apenas os dumps mais recentes")
+    void shouldKeepOnlyLatestDumps() throws Exception {
+        recording = new FlightRecording("default", Duration.ZERO, Duration.ofMinutes(5), 1024 * 1024, dumpDir, 2);
+        recording.start();
+
+        List<Path> dumps = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            dumps.add(recording.dump());
+            Thread.sleep(5);
+        }
+
+        try (Stream<Path> files = Files.list(dumpDir)) {
+            assertThat(files.filter(path -> !path.endsWith("backend-exit.jfr")).toList())
+                    .containsExactlyInAnyOrder(dumps.get(2), dumps.get(3));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve informar o estado da gravação")
+    void shouldReportStatus() {
+        recording = new FlightRecording("default", Duration.ZERO, Duration.ofMinutes(5), 1024 * 1024, dumpDir, 5);
+        recording.start();
+
+        assertThat(recording.status())
+                .containsEntry("name", "backend")
+                .containsEntry("settings", "default")
+                .containsEntry("maxSize", 1024L * 1024);
+        assertThat(recording.status().get("state")).hasToString("RUNNING");
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.backend.latency;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("EndpointLatencies — Testes Unitários")
+class EndpointLatenciesTest {
+
+    // ── Intervalos ──────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Deve expor as gravações apenas depois de fechar o intervalo")
+    void shouldExposeClosedIntervals() {
+        EndpointLatencies latencies = new EndpointLatencies(Duration.ZERO);
+        latencies.record("GET /api/products", TimeUnit.MILLISECONDS.toNanos(4));
+
+        assertThat(routes(latencies, "interval")).isEmpty();
+        assertThat(routes(latencies, "cumulative")).isEmpty();
+
+        latencies.roll();
+
+        Map<String, Object> products = route(latencies, "interval", "GET /api/products");
+        assertThat(products).containsEntry("count", 1L).doesNotContainKey("corrected");
+        assertThat((double) products.get("max")).isCloseTo(4.0, within(0.01));
+    }
+
+    @Test
+    @DisplayName("Deve acumular os intervalos e zerar a visão de intervalo")
+    void shouldAccumulateIntervals() {
+        EndpointLatencies latencies = new EndpointLatencies(Duration.ZERO);
+        latencies.record("GET /api/products", TimeUnit.MILLISECONDS.toNanos(2));
+        latencies.roll();
+        latencies.record("GET /api/products", TimeUnit.MILLISECONDS.toNanos(8));
+        latencies.record("GET /api/products", TimeUnit.MILLISECONDS.toNanos(8));
+        latencies.roll();
+
+        assertThat(route(latencies, "interval", "GET /api/products")).containsEntry("count", 2L);
+        assertThat(route(latencies, "cumulative", "GET /api/products")).containsEntry("count", 3L);
+
+        latencies.roll();
+
+        assertThat(routes(latencies, "interval")).isEmpty();
+        assertThat(route(latencies, "cumulative", "GET /api/products")).containsEntry("count", 3L);
+    }
+
+    @Test
+    @DisplayName("Deve truncar latências acima do limite do histograma")
+    void shouldClampLongLatencies() {
+        EndpointLatencies latencies = new EndpointLatencies(Duration.ZERO);
+        latencies.record("GET /api/production/optimize", TimeUnit.MINUTES.toNanos(5));
+        latencies.roll();
+
+        assertThat((double) route(latencies, "interval", "GET /api/production/optimize").get("max"))
+                .isBetween(59_000.0, 61_000.0);
+    }
+
+    // ── Coordinated omission ────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Deve preencher as amostras omitidas atrás de uma resposta lenta")
+    void shouldCorrectForCoordinatedOmission() {
+        EndpointLatencies latencies = new EndpointLatencies(Duration.ofMillis(10));
+        for (int i = 0; i < 99; i++) {
+            latencies.record("GET /api/production/optimize", TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        latencies.record("GET /api/production/optimize", TimeUnit.MILLISECONDS.toNanos(1_000));
+        latencies.roll();
+
+        Map<String, Object> raw = route(latencies, "interval", "GET /api/production/optimize");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> corrected = (Map<String, Object>) raw.get("corrected");
+
+        assertThat(raw).containsEntry("count", 100L);
+        assertThat((double) raw.get("p90")).isLessThan(2.0);
+        // 1000 ms com intervalo de 10 ms: +99 amostras de 990, 980, ..., 10 ms
+        assertThat(corrected).containsEntry("count", 199L);
+        assertThat((double) corrected.get("p90")).isGreaterThan(500.0);
+    }
+
+    // ── Filtro ──────────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Deve agrupar as requisições pelo padrão da rota")
+    void shouldRecordByRoutePattern() throws Exception {
+        EndpointLatencies latencies = new EndpointLatencies(Duration.ZERO);
+        LatencyFilter filter = new LatencyFilter(latencies);
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/products/{id}");
+            }
+        };
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products/1"), new MockHttpServletResponse(),
+                new MockFilterChain(servlet));
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products/2"), new MockHttpServletResponse(),
+                new MockFilterChain(servlet));
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/unknown"), new MockHttpServletResponse(),
+                new MockFilterChain());
+        latencies.roll();
+
+        assertThat(route(latencies, "interval", "GET /api/products/{id}")).containsEntry("count", 2L);
+        assertThat(route(latencies, "interval", "GET UNMATCHED")).containsEntry("count", 1L);
+    }
+
+    @Test
+    @DisplayName("Deve agrupar métodos fora do padrão HTTP em OTHER")
+    void shouldGroupNonStandardMethods() throws Exception {
+        EndpointLatencies latencies = new EndpointLatencies(Duration.ZERO);
+        LatencyFilter filter = new LatencyFilter(latencies);
+
+        for (String method : new String[] {"FOO", "BAR1", "PROPFIND"}) {
+            filter.doFilter(new MockHttpServletRequest(method, "/api/products"), new MockHttpServletResponse(),
+                    new MockFilterChain());
+        }
+        latencies.roll();
+
+        assertThat(routes(latencies, "interval")).containsOnlyKeys("OTHER UNMATCHED");
+        assertThat(route(latencies, "interval", "OTHER UNMATCHED")).containsEntry("count", 3L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> routes(EndpointLatencies latencies, String view) {
+        return (Map<String, Object>) ((Map<String, Object>) latencies.snapshot().get(view)).get("routes");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> route(EndpointLatencies latencies, String view, String route) {
+        return (Map<String, Object>) routes(latencies, view).get(route);
+    }
+}
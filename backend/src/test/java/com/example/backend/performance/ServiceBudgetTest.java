@@ -0,0 +1,568 @@
+package com.example.backend.performance;
+
+import com.example.backend.dto.BatchOperationDTO;
+import com.example.backend.dto.BatchRequestDTO;
+import com.example.backend.dto.BatchResultDTO;
+import com.example.backend.dto.ProductCompositionDTO;
+import com.example.backend.dto.ProductDTO;
+import com.example.backend.dto.RawMaterialDTO;
+import com.example.backend.dto.StockLotDTO;
+import com.example.backend.dto.StockQuantityDTO;
+import com.example.backend.jdbc.QueryStats;
+import com.example.backend.service.BatchService;
+import com.example.backend.service.CatalogVersion;
+import com.example.backend.service.ProductFieldSelection;
+import com.example.backend.service.ProductService;
+import com.example.backend.service.ProductionOptimizerService;
+import com.example.backend.service.RawMaterialService;
+import com.example.backend.service.SiteStockService;
+import com.example.backend.service.StockLotService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Falha quando uma operação de serviço passa do orçamento de comandos SQL ou de bytes alocados
+ * registrado em {@code src/test/resources/performance-budgets.properties}.
+ *
+ * <p>Cada operação roda como em uma requisição: dentro de um {@code EntityManager} aberto durante
+ * toda a chamada (open-in-view) e com o resultado serializado em JSON, de modo que carregamentos
+ * {@code LAZY} disparados pela serialização entram na conta. Os comandos vêm do {@link QueryStats};
+ * a alocação, de {@code ThreadMXBean.getCurrentThreadAllocatedBytes()} — apenas a thread da
+ * chamada. Vale o menor valor de {@value #RUNS} execuções, depois de {@value #WARMUP} de aquecimento.</p>
+ *
+ * <p>Operações de escrita preparam e limpam os próprios registros fora da medição, então o
+ * catálogo do {@code DataLoader} é o mesmo em todas as leituras. Com {@code -Dbudgets.record=true}
+ * nada é verificado: os valores medidos são gravados em {@code target/performance-budgets.properties}.</p>
+ */
+@SpringBootTest
+@DisplayName("Orçamentos de SQL e alocação por operação de serviço")
+class ServiceBudgetTest {
+
+    private static final int WARMUP = 3;
+    private static final int RUNS = 5;
+    /** Produtos e matérias-primas acrescentados para a segunda medição das leituras do catálogo. */
+    private static final int GROWTH = 10;
+    private static final String SITE = "PERF";
+    private static final boolean RECORD = Boolean.getBoolean("budgets.record");
+
+    private static final Properties BUDGETS = loadBudgets();
+    private static final Map<String, Long> MEASURED = new TreeMap<>();
+    private static final AtomicInteger CODES = new AtomicInteger();
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private RawMaterialService rawMaterialService;
+
+    @Autowired
+    private ProductionOptimizerService optimizerService;
+
+    @Autowired
+    private BatchService batchService;
+
+    @Autowired
+    private SiteStockService siteStockService;
+
+    @Autowired
+    private StockLotService stockLotService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    // ── ProductService ──────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("ProductService.findAll()")
+    void productFindAll() {
+        checkScaling("ProductService.findAll", () -> productService.findAll());
+    }
+
+    @Test
+    @DisplayName("ProductService.findAll(selection) — só colunas")
+    void productFindAllFields() {
+        ProductFieldSelection selection = ProductFieldSelection.parse("id,code,name,price", null);
+        checkScaling("ProductService.findAll.fields", () -> productService.findAll(selection));
+    }
+
+    @Test
+    @DisplayName("ProductService.findAll(selection) — com composições")
+    void productFindAllFieldsWithCompositions() {
+        ProductFieldSelection selection = ProductFieldSelection.parse("id,code,name,price", "compositions");
+        checkScaling("ProductService.findAll.fieldsWithCompositions", () -> productService.findAll(selection));
+    }
+
+    @Test
+    @DisplayName("ProductService.findById(id, selection)")
+    void productFindByIdFields() {
+        ProductFieldSelection selection = ProductFieldSelection.parse(null, "compositions");
+        check("ProductService.findById.fields", () -> productService.findById(1L, selection));
+    }
+
+    @Test
+    @DisplayName("ProductService.findChanges(null)")
+    void productFindChangesReset() {
+        checkScaling("ProductService.findChanges.reset", () -> productService.findChanges(null));
+    }
+
+    @Test
+    @DisplayName("ProductService.findChanges(since)")
+    void productFindChangesIncremental() {
+        check("ProductService.findChanges.incremental",
+                () -> productService.findChanges(null).getVersion(),
+                productService::findChanges,
+                (since, result) -> {});
+    }
+
+    @Test
+    @DisplayName("ProductService.findById(id)")
+    void productFindById() {
+        check("ProductService.findById", () -> productService.findById(1L));
+    }
+
+    @Test
+    @DisplayName("ProductService.create(dto)")
+    void productCreate() {
+        check("ProductService.create",
+                ServiceBudgetTest::productDto,
+                productService::create,
+                (dto, created) -> productService.delete(created.getId()));
+    }
+
+    @Test
+    @DisplayName("ProductService.update(id, dto)")
+    void productUpdate() {
+        check("ProductService.update",
+                () -> productService.create(productDto()).getId(),
+                id -> productService.update(id, productDto()),
+                (id, updated) -> productService.delete(id));
+    }
+
+    @Test
+    @DisplayName("ProductService.delete(id)")
+    void productDelete() {
+        check("ProductService.delete",
+                () -> productService.create(productDto()).getId(),
+                id -> {
+                    productService.delete(id);
+                    return null;
+                },
+                (id, result) -> {});
+    }
+
+    // ── RawMaterialService ──────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("RawMaterialService.findAll()")
+    void rawMaterialFindAll() {
+        checkScaling("RawMaterialService.findAll", () -> rawMaterialService.findAll());
+    }
+
+    @Test
+    @DisplayName("RawMaterialService.findChanges(null)")
+    void rawMaterialFindChangesReset() {
+        checkScaling("RawMaterialService.findChanges.reset", () -> rawMaterialService.findChanges(null));
+    }
+
+    @Test
+    @DisplayName("RawMaterialService.findChanges(since)")
+    void rawMaterialFindChangesIncremental() {
+        check("RawMaterialService.findChanges.incremental",
+                () -> rawMaterialService.findChanges(null).getVersion(),
+                rawMaterialService::findChanges,
+                (since, result) -> {});
+    }
+
+    @Test
+    @DisplayName("RawMaterialService.generateNextCode()")
+    void rawMaterialGenerateNextCode() {
+        check("RawMaterialService.generateNextCode", () -> rawMaterialService.generateNextCode());
+    }
+
+    @Test
+    @DisplayName("RawMaterialService.generateNextCode(prefix)")
+    void rawMaterialGenerateNextCodeWithPrefix() {
+        check("RawMaterialService.generateNextCode.prefix", () -> rawMaterialService.generateNextCode("MP"));
+    }
+
+    @Test
+    @DisplayName("RawMaterialService.findById(id)")
+    void rawMaterialFindById() {
+        check("RawMaterialService.findById", () -> rawMaterialService.findById(1L));
+    }
+
+    @Test
+    @DisplayName("RawMaterialService.create(dto)")
+    void rawMaterialCreate() {
+        check("RawMaterialService.create",
+                ServiceBudgetTest::rawMaterialDto,
+                rawMaterialService::create,
+                (dto, created) -> rawMaterialService.delete(created.getId()));
+    }
+
+    @Test
+    @DisplayName("RawMaterialService.update(id, dto)")
+    void rawMaterialUpdate() {
+        check("RawMaterialService.update",
+                () -> rawMaterialService.create(rawMaterialDto()).getId(),
+                id -> rawMaterialService.update(id, rawMaterialDto()),
+                (id, updated) -> rawMaterialService.delete(id));
+    }
+
+    @Test
+    @DisplayName("RawMaterialService.delete(id)")
+    void rawMaterialDelete() {
+        check("RawMaterialService.delete",
+                () -> rawMaterialService.create(rawMaterialDto()).getId(),
+                id -> {
+                    rawMaterialService.delete(id);
+                    return null;
+                },
+                (id, result) -> {});
+    }
+
+    // ── ProductionOptimizerService ──────────────────────────────────────────────
+
+    @Test
+    @DisplayName("ProductionOptimizerService.optimize()")
+    void optimize() {
+        checkScaling("ProductionOptimizerService.optimize", () -> optimizerService.optimize());
+    }
+
+    @Test
+    @DisplayName("ProductionOptimizerService.optimize(site)")
+    void optimizeSite() {
+        checkScaling("ProductionOptimizerService.optimize.site",
+                this::stockSite,
+                optimizerService::optimize);
+    }
+
+    @Test
+    @DisplayName("ProductionOptimizerService.optimizeAllSites()")
+    void optimizeAllSites() {
+        checkScaling("ProductionOptimizerService.optimizeAllSites",
+                this::stockSite,
+                site -> optimizerService.optimizeAllSites());
+    }
+
+    // ── BatchService ────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("BatchService.execute(request)")
+    void batchExecute() {
+        check("BatchService.execute",
+                () -> BatchRequestDTO.builder().operations(List.of(
+                        BatchOperationDTO.builder().op(BatchOperationDTO.Op.CREATE)
+                                .resource(CatalogVersion.Table.RAW_MATERIAL).rawMaterial(rawMaterialDto()).build(),
+                        BatchOperationDTO.builder().op(BatchOperationDTO.Op.CREATE)
+                                .resource(CatalogVersion.Table.PRODUCT).product(productDto()).build())).build(),
+                batchService::execute,
+                (request, response) -> {
+                    List<BatchResultDTO> results = response.getResults();
+                    productService.delete(results.get(1).getId());
+                    rawMaterialService.delete(results.get(0).getId());
+                });
+    }
+
+    // ── SiteStockService ────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("SiteStockService.findByRawMaterial(id)")
+    void siteStockFindByRawMaterial() {
+        check("SiteStockService.findByRawMaterial",
+                this::stockSite,
+                site -> siteStockService.findByRawMaterial(1L),
+                (site, result) -> {});
+    }
+
+    @Test
+    @DisplayName("SiteStockService.setQuantity(id, site, dto)")
+    void siteStockSetQuantity() {
+        check("SiteStockService.setQuantity",
+                this::stockSite,
+                site -> siteStockService.setQuantity(1L, site, quantity(2_000.0)),
+                (site, result) -> {});
+    }
+
+    @Test
+    @DisplayName("SiteStockService.adjust(id, site, dto)")
+    void siteStockAdjust() {
+        check("SiteStockService.adjust",
+                this::stockSite,
+                site -> siteStockService.adjust(1L, site, quantity(1.0)),
+                (site, result) -> {});
+    }
+
+    // ── StockLotService ─────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("StockLotService.findByRawMaterial(id)")
+    void stockLotFindByRawMaterial() {
+        check("StockLotService.findByRawMaterial", () -> stockLotService.findByRawMaterial(3L));
+    }
+
+    @Test
+    @DisplayName("StockLotService.receive(id, dto)")
+    void stockLotReceive() {
+        check("StockLotService.receive",
+                () -> StockLotDTO.builder().lotCode("LT-PERF-" + CODES.incrementAndGet())
+                        .quantity(1.0).expiresAt(LocalDate.now().plusDays(60)).build(),
+                dto -> stockLotService.receive(3L, dto),
+                (dto, lot) -> {});
+    }
+
+    @Test
+    @DisplayName("StockLotService.consume(id, dto)")
+    void stockLotConsume() {
+        // 1 unidade por execução: a baixa fica no primeiro lote (FEFO) do Leite, com 180
+        check("StockLotService.consume",
+                () -> quantity(1.0),
+                dto -> stockLotService.consume(3L, dto),
+                (dto, result) -> {});
+    }
+
+    // ── Medição ─────────────────────────────────────────────────────────────────
+
+    private void check(String operation, Supplier<?> call) {
+        check(operation, () -> null, ignored -> call.get(), (ignored, result) -> {});
+    }
+
+    /**
+     * Mede {@code call} com a entrada criada por {@code fixture} e compara com o orçamento.
+     * {@code fixture} e {@code cleanup} rodam fora da medição, cada um em seu próprio escopo.
+     *
+     * @return comandos SQL medidos
+     */
+    private <F, R> long check(String operation, Supplier<F> fixture, Function<F, R> call, BiConsumer<F, R> cleanup) {
+        long[] measured = sample(fixture, call, cleanup);
+        verify(operation + ".queries", measured[0]);
+        verify(operation + ".allocatedKb", Math.ceilDiv(measured[1], 1024));
+        return measured[0];
+    }
+
+    private void checkScaling(String operation, Supplier<?> call) {
+        checkScaling(operation, () -> null, ignored -> call.get());
+    }
+
+    /**
+     * Como {@link #check}, e mede de novo com {@value #GROWTH} matérias-primas e {@value #GROWTH}
+     * produtos a mais: uma leitura do catálogo não pode executar mais comandos com o catálogo maior.
+     * O orçamento tem folga; um N+1 sobre 3 produtos cabe nela, mas aparece aqui.
+     */
+    private <F> void checkScaling(String operation, Supplier<F> fixture, Function<F, ?> call) {
+        long base = check(operation, fixture, call, (input, result) -> {});
+        List<Long> grown = inSession(this::growCatalog);
+        try {
+            long larger = sample(fixture, call, (input, result) -> {})[0];
+            assertThat(larger)
+                    .as("%s: %d statements with %d more products and raw materials, %d with the base catalog",
+                            operation, larger, GROWTH, base)
+                    .isLessThanOrEqualTo(base);
+        } finally {
+            inSession(() -> {
+                shrinkCatalog(grown);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Menor número de comandos e de bytes alocados em {@value #RUNS} execuções, depois de
+     * {@value #WARMUP} de aquecimento.
+     */
+    private <F, R> long[] sample(Supplier<F> fixture, Function<F, R> call, BiConsumer<F, R> cleanup) {
+        long queries = Long.MAX_VALUE;
+        long allocated = Long.MAX_VALUE;
+        for (int run = 0; run < WARMUP + RUNS; run++) {
+            F input = inSession(fixture);
+            long[] sample = new long[2];
+            R result = inSession(() -> measure(() -> call.apply(input), sample));
+            inSession(() -> {
+                cleanup.accept(input, result);
+                return null;
+            });
+            if (run >= WARMUP) {
+                queries = Math.min(queries, sample[0]);
+                allocated = Math.min(allocated, sample[1]);
+            }
+        }
+        return new long[]{queries, allocated};
+    }
+
+    /**
+     * Executa a chamada e a serialização do resultado, gravando em {@code sample} os comandos SQL
+     * e os bytes alocados.
+     */
+    private <R> R measure(Supplier<R> call, long[] sample) {
+        long before = threads.getCurrentThreadAllocatedBytes();
+        QueryStats stats = QueryStats.start();
+        try {
+            R result = call.get();
+            jsonMapper.writeValueAsBytes(result);
+            sample[0] = stats.count();
+            sample[1] = threads.getCurrentThreadAllocatedBytes() - before;
+            return result;
+        } finally {
+            QueryStats.clear();
+        }
+    }
+
+    /**
+     * Mantém um {@code EntityManager} aberto durante {@code work}, como o
+     * {@code OpenEntityManagerInViewInterceptor} faz em uma requisição.
+     */
+    private <T> T inSession(Supplier<T> work) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            return work.get();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+    }
+
+    private static void verify(String key, long measured) {
+        MEASURED.put(key, measured);
+        if (RECORD) {
+            return;
+        }
+        String budget = BUDGETS.getProperty(key);
+        if (budget == null) {
+            fail("No budget for %s (measured %d). Add it to performance-budgets.properties: %s=%d",
+                    key, measured, key, measured);
+        }
+        assertThat(measured)
+                .as("%s over budget — if the increase is intended, re-record with -Dbudgets.record=true", key)
+                .isLessThanOrEqualTo(Long.parseLong(budget.trim()));
+    }
+
+    @AfterAll
+    static void writeMeasurements() throws IOException {
+        if (!RECORD) {
+            return;
+        }
+        Path file = Path.of("target", "performance-budgets.properties");
+        Files.createDirectories(file.getParent());
+        Files.write(file, MEASURED.entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + entry.getValue())
+                .toList());
+        System.out.println("Measured budgets written to " + file.toAbsolutePath());
+    }
+
+    private static Properties loadBudgets() {
+        Properties budgets = new Properties();
+        try (InputStream in = ServiceBudgetTest.class.getResourceAsStream("/performance-budgets.properties")) {
+            if (in != null) {
+                budgets.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return budgets;
+    }
+
+    // ── Fixtures ────────────────────────────────────────────────────────────────
+
+    /** Estoque no site {@value #SITE} para todas as matérias-primas do {@code DataLoader}. */
+    private String stockSite() {
+        for (long rawMaterialId = 1; rawMaterialId <= 5; rawMaterialId++) {
+            siteStockService.setQuantity(rawMaterialId, SITE, quantity(1_000.0));
+        }
+        return SITE;
+    }
+
+    /**
+     * Cadastra {@value #GROWTH} matérias-primas e {@value #GROWTH} produtos, cada produto com três
+     * das novas matérias-primas.
+     *
+     * @return ids dos produtos seguidos dos ids das matérias-primas
+     */
+    private List<Long> growCatalog() {
+        List<Long> rawMaterials = new ArrayList<>();
+        for (int i = 0; i < GROWTH; i++) {
+            rawMaterials.add(rawMaterialService.create(rawMaterialDto()).getId());
+        }
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < GROWTH; i++) {
+            List<ProductCompositionDTO> compositions = new ArrayList<>();
+            for (int c = 0; c < 3; c++) {
+                compositions.add(ProductCompositionDTO.builder()
+                        .rawMaterialId(rawMaterials.get((i + c) % GROWTH)).requiredQuantity(1.0).build());
+            }
+            ProductDTO product = productDto();
+            product.setCompositions(compositions);
+            ids.add(productService.create(product).getId());
+        }
+        ids.addAll(rawMaterials);
+        return ids;
+    }
+
+    private void shrinkCatalog(List<Long> ids) {
+        for (int i = 0; i < GROWTH; i++) {
+            productService.delete(ids.get(i));
+        }
+        for (int i = GROWTH; i < ids.size(); i++) {
+            rawMaterialService.delete(ids.get(i));
+        }
+    }
+
+    private static StockQuantityDTO quantity(double value) {
+        return StockQuantityDTO.builder().quantity(value).build();
+    }
+
+    private static RawMaterialDTO rawMaterialDto() {
+        return RawMaterialDTO.builder()
+                .code("PERF-MP-" + CODES.incrementAndGet())
+                .name("Matéria-prima de orçamento")
+                .stockQuantity(100.0)
+                .unitOfMeasure("kg")
+                .build();
+    }
+
+    private static ProductDTO productDto() {
+        return ProductDTO.builder()
+                .code("PERF-PRD-" + CODES.incrementAndGet())
+                .name("Produto de orçamento")
+                .price(10.0)
+                .compositions(List.of(
+                        ProductCompositionDTO.builder().rawMaterialId(1L).requiredQuantity(1.0).build(),
+                        ProductCompositionDTO.builder().rawMaterialId(2L).requiredQuantity(1.0).build(),
+                        ProductCompositionDTO.builder().rawMaterialId(3L).requiredQuantity(1.0).build()))
+                .build();
+    }
+}
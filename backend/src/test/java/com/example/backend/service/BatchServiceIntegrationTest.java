@@ -0,0 +1,174 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.BatchOperationDTO;
+import com.example.backend.dto.BatchRequestDTO;
+import com.example.backend.dto.BatchResponseDTO;
+import com.example.backend.dto.BatchResultDTO;
+import com.example.backend.dto.RawMaterialDTO;
+import com.example.backend.entity.RawMaterial;
+import com.example.backend.exception.BatchFailedException;
+import com.example.backend.jdbc.QueryStats;
+import com.example.backend.repository.RawMaterialRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Executa os lotes contra o H2 da aplicação: {@link jakarta.persistence.FlushModeType#COMMIT},
+ * lotes JDBC e ids de sequência só se comportam de verdade com o Hibernate real.
+ */
+@SpringBootTest
+@DisplayName("BatchService — Testes de Integração")
+class BatchServiceIntegrationTest {
+
+    private static final String PREFIX = "BATCH-IT-";
+
+    @Autowired
+    private BatchService batchService;
+
+    @Autowired
+    private RawMaterialService rawMaterialService;
+
+    @Autowired
+    private RawMaterialRepository repository;
+
+    @AfterEach
+    void removeCreated() {
+        repository.findCodesStartingWith(PREFIX).forEach(code ->
+                rawMaterialService.delete(repository.findByCode(code).orElseThrow().getId()));
+    }
+
+    // ── Helpers ─────────────────────────────────────────────────────────────────
+
+    private static RawMaterialDTO rawMaterial(String code) {
+        return RawMaterialDTO.builder().code(PREFIX + code).name("Farinha").stockQuantity(10.0).build();
+    }
+
+    private static BatchOperationDTO create(String code) {
+        return BatchOperationDTO.builder()
+                .op(BatchOperationDTO.Op.CREATE)
+                .resource(CatalogVersion.Table.RAW_MATERIAL)
+                .rawMaterial(rawMaterial(code))
+                .build();
+    }
+
+    private static BatchOperationDTO update(Long id, String code) {
+        return BatchOperationDTO.builder()
+                .op(BatchOperationDTO.Op.UPDATE)
+                .resource(CatalogVersion.Table.RAW_MATERIAL)
+                .id(id)
+                .rawMaterial(rawMaterial(code))
+                .build();
+    }
+
+    private static BatchOperationDTO delete(Long id) {
+        return BatchOperationDTO.builder()
+                .op(BatchOperationDTO.Op.DELETE)
+                .resource(CatalogVersion.Table.RAW_MATERIAL)
+                .id(id)
+                .build();
+    }
+
+    private static BatchRequestDTO request(BatchOperationDTO... operations) {
+        return new BatchRequestDTO(List.of(operations));
+    }
+
+    private Long createOne(String code) {
+        return batchService.execute(request(create(code))).getResults().get(0).getId();
+    }
+
+    // ── Operações dependentes no mesmo lote ─────────────────────────────────────
+
+    @Test
+    @DisplayName("Deve remover um registro criado no mesmo lote, ainda não gravado")
+    void shouldDeleteRecordCreatedInSameBatch() {
+        // O pool da sequência entrega os ids em ordem: o próximo registro recebe id + 1
+        Long next = createOne("A") + 1;
+
+        BatchResponseDTO response = batchService.execute(request(create("B"), delete(next)));
+
+        assertThat(response.getResults()).extracting(BatchResultDTO::getId).containsExactly(next, next);
+        assertThat(response.getResults()).extracting(BatchResultDTO::getStatus).containsExactly(201, 204);
+        assertThat(repository.findCodesStartingWith(PREFIX)).containsExactly(PREFIX + "A");
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar o código liberado por uma renomeação anterior do lote")
+    void shouldReuseCodeReleasedByRename() {
+        Long id = createOne("X");
+
+        BatchResponseDTO response = batchService.execute(request(update(id, "Y"), create("X")));
+
+        assertThat(response.isCommitted()).isTrue();
+        assertThat(response.getResults()).extracting(BatchResultDTO::getStatus).containsExactly(200, 201);
+        assertThat(repository.findById(id)).get().extracting(RawMaterial::getCode).isEqualTo(PREFIX + "Y");
+        assertThat(repository.findByCode(PREFIX + "X")).get().extracting(RawMaterial::getId)
+                .isEqualTo(response.getResults().get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar o código de um registro removido antes no lote")
+    void shouldReuseCodeReleasedByDelete() {
+        Long id = createOne("X");
+
+        BatchResponseDTO response = batchService.execute(request(delete(id), create("X")));
+
+        assertThat(response.getResults()).extracting(BatchResultDTO::getStatus).containsExactly(204, 201);
+        assertThat(repository.existsById(id)).isFalse();
+        assertThat(repository.findByCode(PREFIX + "X")).isPresent();
+    }
+
+    // ── Transação ───────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Deve desfazer as operações anteriores quando uma falha")
+    void shouldRollBackOnFailure() {
+        Long id = createOne("X");
+
+        assertThatThrownBy(() -> batchService.execute(request(create("Y"), update(id, "Z"), delete(Long.MAX_VALUE))))
+                .isInstanceOfSatisfying(BatchFailedException.class, ex -> {
+                    assertThat(ex.getStatus()).isEqualTo(HttpStatus.NOT_FOUND);
+                    assertThat(ex.getResponse().getResults()).extracting(BatchResultDTO::getStatus)
+                            .containsExactly(201, 200, 404);
+                });
+
+        assertThat(repository.findCodesStartingWith(PREFIX)).containsExactly(PREFIX + "X");
+    }
+
+    // ── Lotes JDBC ──────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Deve gerar ids por sequência e agrupar os INSERTs em um lote JDBC")
+    void shouldBatchInsertsWithSequenceIds() {
+        int size = 20;
+        List<BatchOperationDTO> operations = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            operations.add(create("N" + i));
+        }
+
+        QueryStats stats = QueryStats.start();
+        BatchResponseDTO response;
+        try {
+            response = batchService.execute(new BatchRequestDTO(operations));
+        } finally {
+            QueryStats.clear();
+        }
+
+        // Ids já conhecidos antes do flush: o pool da sequência (allocationSize = 50) dispensa um
+        // comando por registro, e com IDENTITY o Hibernate desligaria os lotes
+        List<Long> ids = response.getResults().stream().map(BatchResultDTO::getId).toList();
+        assertThat(ids).doesNotContainNull().doesNotHaveDuplicates();
+        // Um existsByCode por operação, no máximo duas chamadas à sequência e um executeBatch
+        assertThat(stats.count()).isLessThanOrEqualTo(size + 3);
+        assertThat(repository.findCodesStartingWith(PREFIX)).hasSize(size);
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.BatchOperationDTO;
+import com.example.backend.dto.BatchRequestDTO;
+import com.example.backend.dto.BatchResponseDTO;
+import com.example.backend.dto.BatchResultDTO;
+import com.example.backend.dto.ProductDTO;
+import com.example.backend.dto.RawMaterialDTO;
+import com.example.backend.entity.Product;
+import com.example.backend.entity.RawMaterial;
+import com.example.backend.exception.BatchFailedException;
+import com.example.backend.exception.ResourceNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BatchService — Testes Unitários")
+class BatchServiceTest {
+
+    @Mock
+    private RawMaterialService rawMaterialService;
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private BatchService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BatchService(rawMaterialService, productService, entityManager, 3);
+    }
+
+    // ── Helpers ─────────────────────────────────────────────────────────────────
+
+    private BatchRequestDTO request(BatchOperationDTO... operations) {
+        return new BatchRequestDTO(List.of(operations));
+    }
+
+    private BatchOperationDTO createRawMaterial(String code) {
+        return BatchOperationDTO.builder()
+                .op(BatchOperationDTO.Op.CREATE)
+                .resource(CatalogVersion.Table.RAW_MATERIAL)
+                .rawMaterial(RawMaterialDTO.builder().code(code).name("Farinha").stockQuantity(10.0).build())
+                .build();
+    }
+
+    private BatchOperationDTO updateProduct(Long id, String code) {
+        return BatchOperationDTO.builder()
+                .op(BatchOperationDTO.Op.UPDATE)
+                .resource(CatalogVersion.Table.PRODUCT)
+                .id(id)
+                .product(ProductDTO.builder().code(code).name("Pão").price(12.5).build())
+                .build();
+    }
+
+    private BatchOperationDTO delete(CatalogVersion.Table resource, Long id) {
+        return BatchOperationDTO.builder().op(BatchOperationDTO.Op.DELETE).resource(resource).id(id).build();
+    }
+
+    private List<Integer> statuses(BatchResponseDTO response) {
+        return response.getResults().stream().map(BatchResultDTO::getStatus).toList();
+    }
+
+    // ── Sucesso ─────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("execute() — sucesso")
+    class Success {
+
+        @Test
+        @DisplayName("Deve executar as operações na ordem e retornar um resultado por operação")
+        void shouldApplyOperationsInOrder() {
+            when(rawMaterialService.create(any(RawMaterialDTO.class)))
+                    .thenReturn(RawMaterial.builder().id(6L).code("MP006").build());
+            when(productService.update(eq(1L), any(ProductDTO.class)))
+                    .thenReturn(Product.builder().id(1L).code("PRD001").build());
+
+            BatchResponseDTO response = service.execute(request(
+                    createRawMaterial("MP006"),
+                    updateProduct(1L, "PRD001"),
+                    delete(CatalogVersion.Table.PRODUCT, 3L)));
+
+            assertThat(response.isCommitted()).isTrue();
+            assertThat(statuses(response)).containsExactly(201, 200, 204);
+            assertThat(response.getResults()).extracting(BatchResultDTO::getId).containsExactly(6L, 1L, 3L);
+
+            InOrder order = inOrder(rawMaterialService, productService);
+            order.verify(rawMaterialService).create(any(RawMaterialDTO.class));
+            order.verify(productService).update(eq(1L), any(ProductDTO.class));
+            order.verify(productService).delete(3L);
+        }
+
+        @Test
+        @DisplayName("Deve adiar o flush para o commit e restaurar o modo anterior")
+        void shouldDeferFlushToCommit() {
+            when(entityManager.getFlushMode()).thenReturn(FlushModeType.AUTO);
+
+            service.execute(request(delete(CatalogVersion.Table.RAW_MATERIAL, 2L)));
+
+            InOrder order = inOrder(entityManager, rawMaterialService);
+            order.verify(entityManager).setFlushMode(FlushModeType.COMMIT);
+            order.verify(rawMaterialService).delete(2L);
+            order.verify(entityManager).setFlushMode(FlushModeType.AUTO);
+        }
+    }
+
+    // ── Falha ───────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("execute() — falha")
+    class Failure {
+
+        @Test
+        @DisplayName("Deve interromper na primeira falha e marcar as seguintes como não executadas")
+        void shouldStopAtFirstFailure() {
+            doThrow(new ResourceNotFoundException("Product not found with id: 99"))
+                    .when(productService).delete(99L);
+
+            assertThatThrownBy(() -> service.execute(request(
+                    delete(CatalogVersion.Table.RAW_MATERIAL, 2L),
+                    delete(CatalogVersion.Table.PRODUCT, 99L),
+                    delete(CatalogVersion.Table.PRODUCT, 3L))))
+                    .isInstanceOfSatisfying(BatchFailedException.class, ex -> {
+                        assertThat(ex.getStatus()).isEqualTo(HttpStatus.NOT_FOUND);
+                        assertThat(ex.getResponse().isCommitted()).isFalse();
+                        assertThat(statuses(ex.getResponse())).containsExactly(204, 404, 424);
+                        assertThat(ex.getResponse().getResults().get(1).getError())
+                                .isEqualTo("Product not found with id: 99");
+                    });
+
+            verify(productService, never()).delete(3L);
+        }
+
+        @Test
+        @DisplayName("Deve detectar código repetido entre operações do mesmo lote")
+        void shouldDetectDuplicateCodeWithinBatch() {
+            when(rawMaterialService.create(any(RawMaterialDTO.class)))
+                    .thenReturn(RawMaterial.builder().id(6L).code("MP006").build());
+
+            assertThatThrownBy(() -> service.execute(request(createRawMaterial("MP006"), createRawMaterial("MP006"))))
+                    .isInstanceOfSatisfying(BatchFailedException.class, ex -> {
+                        assertThat(ex.getStatus()).isEqualTo(HttpStatus.CONFLICT);
+                        assertThat(statuses(ex.getResponse())).containsExactly(201, 409);
+                    });
+
+            verify(rawMaterialService, times(1)).create(any(RawMaterialDTO.class));
+        }
+
+        @Test
+        @DisplayName("Deve retornar 404 ao remover duas vezes o mesmo registro no lote")
+        void shouldRejectSecondDeleteOfSameId() {
+            assertThatThrownBy(() -> service.execute(request(
+                    delete(CatalogVersion.Table.PRODUCT, 3L),
+                    delete(CatalogVersion.Table.PRODUCT, 3L))))
+                    .isInstanceOfSatisfying(BatchFailedException.class,
+                            ex -> assertThat(statuses(ex.getResponse())).containsExactly(204, 404));
+
+            verify(productService, times(1)).delete(3L);
+        }
+
+        @Test
+        @DisplayName("Deve retornar 400 para operação sem corpo ou sem id")
+        void shouldRejectMalformedOperation() {
+            BatchOperationDTO withoutBody = BatchOperationDTO.builder()
+                    .op(BatchOperationDTO.Op.CREATE).resource(CatalogVersion.Table.PRODUCT).build();
+            BatchOperationDTO withoutId = BatchOperationDTO.builder()
+                    .op(BatchOperationDTO.Op.DELETE).resource(CatalogVersion.Table.PRODUCT).build();
+
+            assertThatThrownBy(() -> service.execute(request(withoutBody)))
+                    .isInstanceOfSatisfying(BatchFailedException.class,
+                            ex -> assertThat(ex.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+            assertThatThrownBy(() -> service.execute(request(withoutId)))
+                    .isInstanceOfSatisfying(BatchFailedException.class,
+                            ex -> assertThat(ex.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+            verifyNoInteractions(productService);
+        }
+
+        @Test
+        @DisplayName("Deve propagar erros inesperados sem convertê-los em resultado")
+        void shouldPropagateUnexpectedErrors() {
+            doThrow(new IllegalStateException("boom")).when(rawMaterialService).delete(2L);
+
+            assertThatThrownBy(() -> service.execute(request(delete(CatalogVersion.Table.RAW_MATERIAL, 2L))))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    // ── Validação do lote ───────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("execute() — validação do lote")
+    class Validation {
+
+        @Test
+        @DisplayName("Deve rejeitar lote vazio")
+        void shouldRejectEmptyBatch() {
+            assertThatThrownBy(() -> service.execute(new BatchRequestDTO(Collections.emptyList())))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> service.execute(null))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar lote acima do limite de operações")
+        void shouldRejectOversizedBatch() {
+            List<BatchOperationDTO> operations = new ArrayList<>();
+            for (long id = 1; id <= 4; id++) {
+                operations.add(delete(CatalogVersion.Table.PRODUCT, id));
+            }
+
+            assertThatThrownBy(() -> service.execute(new BatchRequestDTO(operations)))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("at most 3");
+            verifyNoInteractions(productService);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.CatalogChangeDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CatalogChangeBroadcaster — Testes Unitários")
+class CatalogChangeBroadcasterTest {
+
+    /** Executor manual: as entregas só acontecem quando o teste chama {@link #runPending()}. */
+    private final List<Runnable> pending = new ArrayList<>();
+
+    private final CatalogChangeBroadcaster broadcaster =
+            new CatalogChangeBroadcaster(4, 8, 2, Duration.ofMinutes(1), pending::add);
+
+    // ── Helpers ─────────────────────────────────────────────────────────────────
+
+    private void runPending() {
+        while (!pending.isEmpty()) {
+            pending.removeFirst().run();
+        }
+    }
+
+    private void publishRawMaterial(long id) {
+        broadcaster.publish(CatalogVersion.Table.RAW_MATERIAL, CatalogChangeDTO.Action.UPDATED, id);
+    }
+
+    /** Sink que registra os eventos enviados. */
+    private static class RecordingSink implements CatalogChangeBroadcaster.EventSink {
+
+        final List<String> ids = new ArrayList<>();
+        final List<String> names = new ArrayList<>();
+        final List<Object> data = new ArrayList<>();
+        int pings;
+        boolean failing;
+
+        @Override
+        public void send(String id, String name, Object payload) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            ids.add(id);
+            names.add(name);
+            data.add(payload);
+        }
+
+        @Override
+        public void ping() throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            pings++;
+        }
+
+        @Override
+        public void complete() {
+        }
+
+        List<Long> changedIds() {
+            return data.stream()
+                    .filter(CatalogChangeDTO.class::isInstance)
+                    .map(change -> ((CatalogChangeDTO) change).getId())
+                    .toList();
+        }
+    }
+
+    // ── Publicação ──────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("publish()")
+    class Publish {
+
+        @Test
+        @DisplayName("Deve entregar a alteração a todos os inscritos")
+        void shouldDeliverToAllSubscribers() {
+            RecordingSink first = new RecordingSink();
+            RecordingSink second = new RecordingSink();
+            broadcaster.register(first, null);
+            broadcaster.register(second, null);
+
+            publishRawMaterial(3L);
+            runPending();
+
+            assertThat(first.names).containsExactly(CatalogChangeBroadcaster.CHANGE_EVENT);
+            assertThat(first.changedIds()).containsExactly(3L);
+            assertThat(second.changedIds()).containsExactly(3L);
+        }
+
+        @Test
+        @DisplayName("Deve distribuir somente após o commit da transação")
+        void shouldWaitForCommit() {
+            RecordingSink sink = new RecordingSink();
+            broadcaster.register(sink, null);
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                publishRawMaterial(3L);
+                runPending();
+                assertThat(sink.names).isEmpty();
+
+                TransactionSynchronizationManager.getSynchronizations()
+                        .forEach(TransactionSynchronization::afterCommit);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+            runPending();
+
+            assertThat(sink.changedIds()).containsExactly(3L);
+        }
+
+        @Test
+        @DisplayName("Não deve agendar nenhuma entrega para inscritos ociosos")
+        void shouldNotScheduleWorkForIdleSubscribers() {
+            broadcaster.register(new RecordingSink(), null);
+
+            assertThat(pending).isEmpty();
+        }
+    }
+
+    // ── Descarte no estouro ─────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("Fila limitada")
+    class Overflow {
+
+        @Test
+        @DisplayName("Deve descartar os pendentes e enviar resync quando o cliente não acompanha")
+        void shouldSendResyncOnOverflow() {
+            RecordingSink sink = new RecordingSink();
+            broadcaster.register(sink, null);
+
+            for (long id = 1; id <= 6; id++) {
+                publishRawMaterial(id);
+            }
+            runPending();
+
+            // Fila de 4: o 5º evento estoura, a fila é limpa; o 6º chega depois do resync
+            assertThat(sink.names).containsExactly(
+                    CatalogChangeBroadcaster.RESYNC_EVENT, CatalogChangeBroadcaster.CHANGE_EVENT);
+            assertThat(sink.changedIds()).containsExactly(6L);
+        }
+
+        @Test
+        @DisplayName("Deve recusar inscrições acima do limite")
+        void shouldRejectAboveLimit() {
+            assertThat(broadcaster.register(new RecordingSink(), null)).isPresent();
+            assertThat(broadcaster.register(new RecordingSink(), null)).isPresent();
+            assertThat(broadcaster.register(new RecordingSink(), null)).isEmpty();
+            assertThat(broadcaster.subscriberCount()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Deve remover o inscrito quando o envio falha")
+        void shouldDropDisconnectedSubscriber() {
+            RecordingSink sink = new RecordingSink();
+            CatalogChangeBroadcaster.Subscriber subscriber = broadcaster.register(sink, null).orElseThrow();
+            sink.failing = true;
+
+            broadcaster.heartbeat();
+            runPending();
+
+            assertThat(subscriber.isClosed()).isTrue();
+            assertThat(broadcaster.subscriberCount()).isZero();
+        }
+    }
+
+    // ── Reconexão ───────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("Last-Event-ID")
+    class Reconnect {
+
+        @Test
+        @DisplayName("Deve reenviar os eventos perdidos desde o último id recebido")
+        void shouldReplayMissedEvents() {
+            RecordingSink first = new RecordingSink();
+            broadcaster.register(first, null);
+            publishRawMaterial(1L);
+            runPending();
+            String lastEventId = first.ids.getFirst();
+
+            publishRawMaterial(2L);
+            publishRawMaterial(3L);
+            RecordingSink reconnected = new RecordingSink();
+            broadcaster.register(reconnected, lastEventId);
+            runPending();
+
+            assertThat(reconnected.changedIds()).containsExactly(2L, 3L);
+        }
+
+        @Test
+        @DisplayName("Deve pedir resync para id de outra instância do servidor")
+        void shouldResyncForUnknownEventId() {
+            publishRawMaterial(1L);
+            RecordingSink sink = new RecordingSink();
+
+            broadcaster.register(sink, "other:1");
+            runPending();
+
+            assertThat(sink.names).containsExactly(CatalogChangeBroadcaster.RESYNC_EVENT);
+        }
+
+        @Test
+        @DisplayName("Deve pedir resync quando os eventos perdidos já saíram do histórico")
+        void shouldResyncWhenHistoryIsTooShort() {
+            RecordingSink first = new RecordingSink();
+            broadcaster.register(first, null);
+            publishRawMaterial(1L);
+            runPending();
+            String lastEventId = first.ids.getFirst();
+
+            // Histórico de 8 eventos
+            for (long id = 2; id <= 11; id++) {
+                publishRawMaterial(id);
+            }
+            RecordingSink reconnected = new RecordingSink();
+            broadcaster.register(reconnected, lastEventId);
+            runPending();
+
+            assertThat(reconnected.names).containsExactly(CatalogChangeBroadcaster.RESYNC_EVENT);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CatalogVersion — Testes Unitários")
+class CatalogVersionTest {
+
+    private final CatalogVersion catalogVersion = new CatalogVersion();
+
+    @Test
+    @DisplayName("Deve gerar ETags fortes (entre aspas, sem prefixo W/)")
+    void shouldGenerateStrongETags() {
+        assertThat(catalogVersion.rawMaterialsETag()).startsWith("\"rm-").endsWith("\"");
+        assertThat(catalogVersion.productETag(7L)).startsWith("\"p-").endsWith("-7\"");
+    }
+
+    @Test
+    @DisplayName("Deve incrementar a versão imediatamente fora de transação")
+    void shouldBumpOutsideTransaction() {
+        String before = catalogVersion.rawMaterialsETag();
+
+        catalogVersion.bump(CatalogVersion.Table.RAW_MATERIAL);
+
+        assertThat(catalogVersion.current(CatalogVersion.Table.RAW_MATERIAL)).isEqualTo(1);
+        assertThat(catalogVersion.rawMaterialsETag()).isNotEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("Deve invalidar o ETag de produtos quando matérias-primas mudam")
+    void shouldInvalidateProductsWhenRawMaterialsChange() {
+        String products = catalogVersion.productsETag();
+        String rawMaterials = catalogVersion.rawMaterialsETag();
+
+        catalogVersion.bump(CatalogVersion.Table.PRODUCT);
+        assertThat(catalogVersion.rawMaterialsETag()).isEqualTo(rawMaterials);
+        assertThat(catalogVersion.productsETag()).isNotEqualTo(products);
+
+        products = catalogVersion.productsETag();
+        catalogVersion.bump(CatalogVersion.Table.RAW_MATERIAL);
+        assertThat(catalogVersion.productsETag()).isNotEqualTo(products);
+    }
+
+    @Test
+    @DisplayName("Deve usar um epoch diferente por instância")
+    void shouldDifferAcrossInstances() {
+        assertThat(new CatalogVersion().rawMaterialsETag()).isNotEqualTo(catalogVersion.rawMaterialsETag());
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.IdempotencyRecord;
+import com.example.backend.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyService — Testes Unitários")
+class IdempotencyServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-02-26T10:00:00Z");
+
+    @Mock
+    private IdempotencyRecordRepository repository;
+
+    private IdempotencyService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new IdempotencyService(repository, Duration.ofHours(1), 2, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private IdempotencyRecord buildRecord(String key, Instant expiresAt) {
+        return IdempotencyRecord.builder()
+                .key(key).fingerprint("abc").statusCode(201)
+                .contentType("application/json").responseBody("{}")
+                .createdAt(NOW).expiresAt(expiresAt)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("store() / find()")
+    class StoreAndFind {
+
+        @Test
+        @DisplayName("Deve retornar do cache em memória sem consultar o banco")
+        void shouldServeFromMemory() {
+            service.store("k1", "abc", 201, "application/json", "{\"id\":1}");
+
+            Optional<IdempotencyRecord> result = service.find("k1");
+
+            assertThat(result).isPresent();
+            assertThat(result.get().getStatusCode()).isEqualTo(201);
+            assertThat(result.get().getExpiresAt()).isEqualTo(NOW.plus(Duration.ofHours(1)));
+            verify(repository).save(any(IdempotencyRecord.class));
+            verify(repository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("Deve consultar o banco quando a chave foi descartada do cache (LRU)")
+        void shouldFallBackToDatabaseAfterEviction() {
+            service.store("k1", "abc", 201, null, "{}");
+            service.store("k2", "abc", 201, null, "{}");
+            service.store("k3", "abc", 201, null, "{}");
+            when(repository.findById("k1")).thenReturn(Optional.of(buildRecord("k1", NOW.plusSeconds(60))));
+
+            assertThat(service.find("k1")).isPresent();
+            verify(repository).findById("k1");
+        }
+
+        @Test
+        @DisplayName("Deve ignorar registros expirados no banco")
+        void shouldIgnoreExpiredRecords() {
+            when(repository.findById("old")).thenReturn(Optional.of(buildRecord("old", NOW.minusSeconds(1))));
+
+            assertThat(service.find("old")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Deve manter o registro em memória mesmo se a gravação no banco falhar")
+        void shouldKeepInMemoryWhenPersistFails() {
+            when(repository.save(any(IdempotencyRecord.class))).thenThrow(new IllegalStateException("db down"));
+
+            service.store("k1", "abc", 201, null, "{}");
+
+            assertThat(service.find("k1")).isPresent();
+        }
+    }
+
+    @Nested
+    @DisplayName("tryAcquire() / release()")
+    class InFlight {
+
+        @Test
+        @DisplayName("Deve impedir duas aquisições simultâneas da mesma chave")
+        void shouldRejectConcurrentAcquire() {
+            assertThat(service.tryAcquire("k1")).isTrue();
+            assertThat(service.tryAcquire("k1")).isFalse();
+
+            service.release("k1");
+
+            assertThat(service.tryAcquire("k1")).isTrue();
+        }
+    }
+}
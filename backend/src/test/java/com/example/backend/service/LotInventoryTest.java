@@ -0,0 +1,146 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.RawMaterial;
+import com.example.backend.entity.StockLot;
+import com.example.backend.repository.StockLotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LotInventory — Testes Unitários")
+class LotInventoryTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+    private static final long UNIT = 1_000_000L;
+
+    @Mock
+    private StockLotRepository repository;
+
+    private LotInventory inventory;
+    private RawMaterial leite;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        inventory = new LotInventory(repository, clock);
+        leite = RawMaterial.builder().id(3L).code("MP003").name("Leite").stockQuantity(0.0).unitOfMeasure("caixas").build();
+    }
+
+    private StockLot lot(Long id, LocalDate expiresAt, long units) {
+        return StockLot.builder()
+                .id(id).lotCode("LT-" + id).rawMaterial(leite)
+                .quantityMicros(units * UNIT).expiresAt(expiresAt)
+                .receivedAt(Instant.parse("2026-10-01T00:00:00Z").plusSeconds(id))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve consumir primeiro o lote que vence antes (FEFO)")
+    void shouldConsumeFirstExpiringLotFirst() {
+        when(repository.findByQuantityMicrosGreaterThan(0)).thenReturn(List.of(
+                lot(1L, TODAY.plusDays(20), 100),
+                lot(2L, TODAY.plusDays(5), 50),
+                lot(3L, null, 100)));
+
+        List<LotInventory.Allocation> allocations = inventory.consume(3L, 120 * UNIT);
+
+        assertThat(allocations).containsExactly(
+                new LotInventory.Allocation(2L, 50 * UNIT),
+                new LotInventory.Allocation(1L, 70 * UNIT));
+        assertThat(inventory.usableMicros(3L)).isEqualTo(130 * UNIT);
+    }
+
+    @Test
+    @DisplayName("Deve ignorar lotes vencidos e acumular o seu saldo")
+    void shouldSkipExpiredLots() {
+        when(repository.findByQuantityMicrosGreaterThan(0)).thenReturn(List.of(
+                lot(1L, TODAY.minusDays(1), 80),
+                lot(2L, TODAY, 40)));
+
+        assertThat(inventory.expiredMicros(3L)).isEqualTo(80 * UNIT);
+        assertThat(inventory.consume(3L, 40 * UNIT))
+                .containsExactly(new LotInventory.Allocation(2L, 40 * UNIT));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar baixa maior que o saldo não vencido sem alterar o índice")
+    void shouldRejectInsufficientLots() {
+        when(repository.findByQuantityMicrosGreaterThan(0)).thenReturn(List.of(
+                lot(1L, TODAY.minusDays(1), 80),
+                lot(2L, TODAY.plusDays(1), 40)));
+
+        assertThatThrownBy(() -> inventory.consume(3L, 50 * UNIT))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Insufficient");
+        assertThat(inventory.usableMicros(3L)).isEqualTo(40 * UNIT);
+    }
+
+    @Test
+    @DisplayName("Deve carregar os lotes do banco uma única vez")
+    void shouldLoadOnce() {
+        when(repository.findByQuantityMicrosGreaterThan(0)).thenReturn(List.of(lot(1L, null, 10)));
+
+        inventory.expiredMicros(3L);
+        inventory.expiredMicros(99L);
+        inventory.usableMicros(3L);
+
+        verify(repository, times(1)).findByQuantityMicrosGreaterThan(0);
+        assertThat(inventory.expiredMicros(99L)).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve recarregar a matéria-prima do banco ao invalidar")
+    void shouldReloadOnInvalidate() {
+        when(repository.findByQuantityMicrosGreaterThan(0)).thenReturn(List.of(lot(1L, null, 10)));
+        inventory.consume(3L, 10 * UNIT);
+
+        when(repository.findByRawMaterial_IdAndQuantityMicrosGreaterThan(3L, 0)).thenReturn(List.of(lot(1L, null, 10)));
+        inventory.invalidate(3L);
+
+        assertThat(inventory.usableMicros(3L)).isEqualTo(10 * UNIT);
+    }
+
+    @Test
+    @DisplayName("Deve incluir o lote recebido durante uma carga inicial em andamento")
+    void shouldAddLotReceivedDuringInitialLoad() throws InterruptedException {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.findByQuantityMicrosGreaterThan(0)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            // Consulta feita antes do commit do lote 2
+            return List.of(lot(1L, null, 10));
+        });
+        when(repository.findByRawMaterial_IdAndQuantityMicrosGreaterThan(3L, 0))
+                .thenReturn(List.of(lot(1L, null, 10), lot(2L, null, 5)));
+
+        Thread loader = new Thread(() -> inventory.usableMicros(3L));
+        loader.start();
+        loading.await();
+        Thread receiver = new Thread(() -> inventory.add(lot(2L, null, 5)));
+        receiver.start();
+        receiver.join(100);
+        assertThat(receiver.isAlive()).as("add deve esperar a carga em andamento").isTrue();
+
+        release.countDown();
+        loader.join();
+        receiver.join();
+
+        assertThat(inventory.usableMicros(3L)).isEqualTo(15 * UNIT);
+    }
+}
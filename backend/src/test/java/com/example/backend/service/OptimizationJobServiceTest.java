@@ -0,0 +1,279 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.OptimizationJobDTO;
+import com.example.backend.dto.OptimizationJobDTO.Status;
+import com.example.backend.dto.ProductionSuggestionDTO;
+import com.example.backend.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OptimizationJobService — Testes Unitários")
+class OptimizationJobServiceTest {
+
+    private static final Duration LONG_INTERVAL = Duration.ofHours(1);
+
+    @Mock
+    private ProductionOptimizerService optimizer;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-01T12:00:00Z"));
+
+    /** Libera o otimizador bloqueado por {@link #blockOptimizer()}. */
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private OptimizationJobService service;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    // ── Helpers ─────────────────────────────────────────────────────────────────
+
+    /** Um worker e uma vaga na fila. */
+    private OptimizationJobService service(Duration retention, int maxRetained) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1));
+        service = new OptimizationJobService(optimizer, LONG_INTERVAL, retention, maxRetained, executor, clock);
+        return service;
+    }
+
+    private OptimizationJobService service() {
+        return service(Duration.ofMinutes(15), 100);
+    }
+
+    /** O otimizador fica preso até {@link #release}, como um cálculo longo. */
+    private void blockOptimizer() {
+        when(optimizer.optimize(isNull(), any(OptimizationProgressListener.class))).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+    }
+
+    private OptimizationJobDTO awaitFinal(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        OptimizationJobDTO job = service.find(id);
+        while (!job.getStatus().isFinal() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+            job = service.find(id);
+        }
+        return job;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    // ── Execução ────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("submit()")
+    class Submit {
+
+        @Test
+        @DisplayName("Deve executar o job em segundo plano e guardar o resultado")
+        void shouldRunJobAndKeepResult() throws InterruptedException {
+            List<ProductionSuggestionDTO> result = List.of(new ProductionSuggestionDTO());
+            when(optimizer.optimize(eq("SP01"), any(OptimizationProgressListener.class))).thenReturn(result);
+
+            OptimizationJobDTO submitted = service().submit("SP01").orElseThrow();
+            OptimizationJobDTO finished = awaitFinal(submitted.getId());
+
+            assertThat(submitted.getSite()).isEqualTo("SP01");
+            assertThat(finished.getStatus()).isEqualTo(Status.SUCCEEDED);
+            assertThat(finished.getResult()).isSameAs(result);
+            assertThat(finished.getStartedAt()).isNotNull();
+            assertThat(finished.getFinishedAt()).isNotNull();
+            assertThat(finished.getError()).isNull();
+        }
+
+        @Test
+        @DisplayName("Deve recusar novos jobs quando a fila estiver cheia")
+        void shouldRejectWhenQueueIsFull() throws InterruptedException {
+            blockOptimizer();
+            OptimizationJobService jobs = service();
+
+            assertThat(jobs.submit(null)).isPresent();
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(jobs.submit(null)).isPresent();
+
+            assertThat(jobs.submit(null)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar site inválido sem enfileirar")
+        void shouldRejectInvalidSite() {
+            assertThatThrownBy(() -> service().submit("sp 01"))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(optimizer);
+        }
+
+        @Test
+        @DisplayName("Deve registrar a falha do otimizador no job")
+        void shouldRecordFailure() throws InterruptedException {
+            when(optimizer.optimize(eq("RJ01"), any(OptimizationProgressListener.class)))
+                    .thenThrow(new ResourceNotFoundException("No stock registered for site: RJ01"));
+
+            OptimizationJobDTO job = awaitFinal(service().submit("RJ01").orElseThrow().getId());
+
+            assertThat(job.getStatus()).isEqualTo(Status.FAILED);
+            assertThat(job.getError()).isEqualTo("No stock registered for site: RJ01");
+            assertThat(job.getResult()).isNull();
+        }
+    }
+
+    // ── Cancelamento ────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("cancel()")
+    class Cancel {
+
+        @Test
+        @DisplayName("Deve remover da fila um job que ainda não começou")
+        void shouldCancelQueuedJob() throws InterruptedException {
+            blockOptimizer();
+            OptimizationJobService jobs = service();
+            jobs.submit(null);
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            String queued = jobs.submit(null).orElseThrow().getId();
+
+            OptimizationJobDTO cancelled = jobs.cancel(queued);
+
+            assertThat(cancelled.getStatus()).isEqualTo(Status.CANCELLED);
+            assertThat(jobs.queuedCount()).isZero();
+            assertThat(jobs.submit(null)).isPresent();
+        }
+
+        @Test
+        @DisplayName("Deve interromper o otimizador de um job em execução")
+        void shouldInterruptRunningJob() throws InterruptedException {
+            when(optimizer.optimize(isNull(), any(OptimizationProgressListener.class))).thenAnswer(invocation -> {
+                OptimizationProgressListener listener = invocation.getArgument(1);
+                started.countDown();
+                while (true) {
+                    listener.wantsUpdate();
+                    Thread.onSpinWait();
+                }
+            });
+            OptimizationJobService jobs = service();
+            String id = jobs.submit(null).orElseThrow().getId();
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            jobs.cancel(id);
+
+            assertThat(awaitFinal(id).getStatus()).isEqualTo(Status.CANCELLED);
+        }
+
+        @Test
+        @DisplayName("Não deve alterar um job já finalizado")
+        void shouldKeepFinishedJob() throws InterruptedException {
+            when(optimizer.optimize(isNull(), any(OptimizationProgressListener.class))).thenReturn(List.of());
+            OptimizationJobService jobs = service();
+            String id = jobs.submit(null).orElseThrow().getId();
+            awaitFinal(id);
+
+            assertThat(jobs.cancel(id).getStatus()).isEqualTo(Status.SUCCEEDED);
+        }
+
+        @Test
+        @DisplayName("Deve lançar ResourceNotFoundException para job inexistente")
+        void shouldThrowForUnknownJob() {
+            assertThatThrownBy(() -> service().cancel("missing"))
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessageContaining("missing");
+        }
+    }
+
+    // ── Retenção ────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("evictExpired()")
+    class Eviction {
+
+        @Test
+        @DisplayName("Deve descartar jobs finalizados após o tempo de retenção")
+        void shouldEvictExpiredJobs() throws InterruptedException {
+            when(optimizer.optimize(isNull(), any(OptimizationProgressListener.class))).thenReturn(List.of());
+            OptimizationJobService jobs = service(Duration.ofMinutes(15), 100);
+            String id = jobs.submit(null).orElseThrow().getId();
+            awaitFinal(id);
+
+            clock.advance(Duration.ofMinutes(10));
+            jobs.evictExpired();
+            assertThat(jobs.find(id).getStatus()).isEqualTo(Status.SUCCEEDED);
+
+            clock.advance(Duration.ofMinutes(10));
+            jobs.evictExpired();
+            assertThatThrownBy(() -> jobs.find(id)).isInstanceOf(ResourceNotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("Deve manter no máximo max-retained jobs finalizados, descartando os mais antigos")
+        void shouldCapRetainedJobs() throws InterruptedException {
+            when(optimizer.optimize(isNull(), any(OptimizationProgressListener.class))).thenReturn(List.of());
+            OptimizationJobService jobs = service(Duration.ofMinutes(15), 2);
+
+            String first = jobs.submit(null).orElseThrow().getId();
+            awaitFinal(first);
+            String second = jobs.submit(null).orElseThrow().getId();
+            awaitFinal(second);
+            String third = jobs.submit(null).orElseThrow().getId();
+            awaitFinal(third);
+
+            assertThatThrownBy(() -> jobs.find(first)).isInstanceOf(ResourceNotFoundException.class);
+            assertThat(jobs.find(second).getStatus()).isEqualTo(Status.SUCCEEDED);
+            assertThat(jobs.find(third).getStatus()).isEqualTo(Status.SUCCEEDED);
+        }
+    }
+}
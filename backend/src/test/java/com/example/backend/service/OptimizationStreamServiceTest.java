@@ -0,0 +1,219 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.OptimizationProgressDTO;
+import com.example.backend.dto.ProductionSuggestionDTO;
+import com.example.backend.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OptimizationStreamService — Testes Unitários")
+class OptimizationStreamServiceTest {
+
+    private static final Duration LONG_INTERVAL = Duration.ofHours(1);
+
+    @Mock
+    private ProductionOptimizerService optimizer;
+
+    private final RecordingSink sink = new RecordingSink();
+
+    private OptimizationStreamService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    // ── Helpers ─────────────────────────────────────────────────────────────────
+
+    private static OptimizationProgressDTO progress(long nodes, boolean done) {
+        return OptimizationProgressDTO.builder()
+                .incumbentValue(10.0 * nodes).bound(100.0)
+                .nodesExplored(nodes).totalNodes(10).elapsedMs(nodes).done(done)
+                .build();
+    }
+
+    /** Sink que registra os eventos enviados (nome + dados). */
+    private static class RecordingSink implements OptimizationStreamService.EventSink {
+
+        final List<String> names = new ArrayList<>();
+        final List<Object> data = new ArrayList<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+        boolean failing;
+        boolean closed;
+
+        @Override
+        public synchronized void send(String name, Object payload) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            if (closed) {
+                throw new IllegalStateException("ResponseBodyEmitter has already completed");
+            }
+            names.add(name);
+            data.add(payload);
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+
+    // ── Canal de progresso ──────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("ProgressChannel")
+    class Channel {
+
+        @Test
+        @DisplayName("Deve enviar apenas o progresso mais recente seguido do resultado")
+        void shouldCoalesceProgress() {
+            OptimizationStreamService.ProgressChannel channel =
+                    new OptimizationStreamService.ProgressChannel(LONG_INTERVAL, sink);
+            List<ProductionSuggestionDTO> result = List.of(new ProductionSuggestionDTO());
+
+            channel.onProgress(progress(1, false));
+            channel.onProgress(progress(2, false));
+            channel.onProgress(progress(10, true));
+            channel.complete(result);
+            channel.pump();
+
+            assertThat(sink.names).containsExactly("progress", "result");
+            assertThat(((OptimizationProgressDTO) sink.data.get(0)).isDone()).isTrue();
+            assertThat(sink.data.get(1)).isSameAs(result);
+            assertThat(sink.completed.getCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("Deve limitar as atualizações ao intervalo configurado")
+        void shouldThrottleUpdates() throws InterruptedException {
+            OptimizationStreamService.ProgressChannel slow =
+                    new OptimizationStreamService.ProgressChannel(LONG_INTERVAL, sink);
+            assertThat(slow.wantsUpdate()).isFalse();
+
+            OptimizationStreamService.ProgressChannel fast =
+                    new OptimizationStreamService.ProgressChannel(Duration.ofMillis(1), sink);
+            Thread.sleep(5);
+            assertThat(fast.wantsUpdate()).isTrue();
+            assertThat(fast.wantsUpdate()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Deve interromper o otimizador após o cancelamento")
+        void shouldThrowWhenCancelled() {
+            OptimizationStreamService.ProgressChannel channel =
+                    new OptimizationStreamService.ProgressChannel(LONG_INTERVAL, sink);
+
+            channel.cancel();
+
+            assertThatThrownBy(channel::wantsUpdate).isInstanceOf(CancellationException.class);
+        }
+
+        @Test
+        @DisplayName("Deve cancelar quando o envio ao cliente falha")
+        void shouldCancelWhenClientIsGone() {
+            OptimizationStreamService.ProgressChannel channel =
+                    new OptimizationStreamService.ProgressChannel(LONG_INTERVAL, sink);
+            sink.failing = true;
+
+            channel.onProgress(progress(1, false));
+            channel.complete(List.of());
+            channel.pump();
+
+            assertThat(channel.isCancelled()).isTrue();
+            assertThat(sink.completed.getCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Deve cancelar quando o emitter já expirou ou foi concluído")
+        void shouldCancelWhenEmitterIsClosed() {
+            OptimizationStreamService.ProgressChannel channel =
+                    new OptimizationStreamService.ProgressChannel(LONG_INTERVAL, sink);
+            sink.closed = true;
+
+            channel.onProgress(progress(1, false));
+            channel.complete(List.of());
+            channel.pump();
+
+            assertThat(channel.isCancelled()).isTrue();
+            assertThat(sink.completed.getCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Deve enviar evento de erro com status 404 para site sem estoque")
+        @SuppressWarnings("unchecked")
+        void shouldSendErrorEvent() {
+            OptimizationStreamService.ProgressChannel channel =
+                    new OptimizationStreamService.ProgressChannel(LONG_INTERVAL, sink);
+
+            channel.fail(new ResourceNotFoundException("No stock registered for site: SP01"));
+            channel.pump();
+
+            assertThat(sink.names).containsExactly("error");
+            Map<String, Object> body = (Map<String, Object>) sink.data.get(0);
+            assertThat(body).containsEntry("status", 404)
+                    .containsEntry("message", "No stock registered for site: SP01");
+        }
+    }
+
+    // ── Serviço ─────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("stream() / start()")
+    class Streaming {
+
+        @Test
+        @DisplayName("Deve rejeitar código de site inválido antes de abrir o stream")
+        void shouldRejectInvalidSite() {
+            service = new OptimizationStreamService(optimizer, LONG_INTERVAL, Duration.ofMinutes(1));
+
+            assertThatThrownBy(() -> service.stream("SP 01"))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(optimizer);
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar intervalo de progresso não positivo")
+        void shouldRejectNonPositiveInterval() {
+            assertThatThrownBy(() -> new OptimizationStreamService(optimizer, Duration.ZERO, Duration.ofMinutes(1)))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Deve executar a otimização em segundo plano e enviar o resultado")
+        void shouldRunInBackground() throws InterruptedException {
+            service = new OptimizationStreamService(optimizer, Duration.ofMillis(10), Duration.ofMinutes(1));
+            OptimizationStreamService.ProgressChannel channel =
+                    new OptimizationStreamService.ProgressChannel(Duration.ofMillis(10), sink);
+
+            service.start(channel, () -> {
+                channel.onProgress(progress(10, true));
+                return List.of();
+            });
+
+            assertThat(sink.completed.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(sink.names).containsExactly("progress", "result");
+        }
+    }
+}
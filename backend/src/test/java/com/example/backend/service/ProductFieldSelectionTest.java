@@ -0,0 +1,59 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ProductFieldSelection — Testes Unitários")
+class ProductFieldSelectionTest {
+
+    @Test
+    @DisplayName("Sem parâmetros deve manter a resposta completa")
+    void shouldBeDefaultWithoutParameters() {
+        assertThat(ProductFieldSelection.parse(null, null).isDefault()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve sempre incluir o id e manter a ordem dos campos")
+    void shouldAlwaysIncludeId() {
+        ProductFieldSelection selection = ProductFieldSelection.parse(" price , code ", null);
+
+        assertThat(selection.isDefault()).isFalse();
+        assertThat(selection.attributes()).containsExactly("id", "code", "priceMicros");
+        assertThat(selection.includesCompositions()).isFalse();
+    }
+
+    @Test
+    @DisplayName("include=compositions sem fields deve selecionar todos os campos")
+    void shouldSelectAllFieldsWithIncludeOnly() {
+        ProductFieldSelection selection = ProductFieldSelection.parse(null, "compositions");
+
+        assertThat(selection.fields()).containsExactly(ProductFieldSelection.Field.values());
+        assertThat(selection.includesCompositions()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve converter o preço de micro-reais para decimal")
+    void shouldConvertPrice() {
+        ProductFieldSelection selection = ProductFieldSelection.parse("price", null);
+
+        assertThat(selection.toRow(new Object[]{1L, 12_500_000L})).isEqualTo(Map.of("id", 1L, "price", 12.50));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar campos e inclusões desconhecidos")
+    void shouldRejectUnknownNames() {
+        assertThatThrownBy(() -> ProductFieldSelection.parse("code,priceMicros", null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("priceMicros");
+        assertThatThrownBy(() -> ProductFieldSelection.parse("compositions", null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("include=compositions");
+        assertThatThrownBy(() -> ProductFieldSelection.parse(null, "rawMaterials"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.CatalogChangeDTO;
+import com.example.backend.dto.ChangeSetDTO;
+import com.example.backend.dto.ProductChangeDTO;
 import com.example.backend.dto.ProductCompositionDTO;
 import com.example.backend.dto.ProductDTO;
 import com.example.backend.entity.Product;
@@ -7,6 +10,7 @@ import com.example.backend.entity.ProductComposition;
 import com.example.backend.entity.RawMaterial;
 import com.example.backend.exception.DuplicateCodeException;
 import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.repository.ProductCompositionRepository;
 import com.example.backend.repository.ProductRepository;
 import com.example.backend.repository.RawMaterialRepository;
 import org.junit.jupiter.api.DisplayName;
@@ -20,7 +24,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -38,6 +44,21 @@ class ProductServiceTest {
     @Mock
     private RawMaterialRepository rawMaterialRepository;
 
+    @Mock
+    private ProductCompositionRepository compositionRepository;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    @Mock
+    private CatalogChangeBroadcaster changeBroadcaster;
+
+    @Mock
+    private RowVersions rowVersions;
+
+    @Mock
+    private TombstoneService tombstones;
+
     @InjectMocks
     private ProductService service;
 
@@ -79,25 +100,123 @@ class ProductServiceTest {
         void shouldReturnAllProducts() {
             Product p1 = buildProduct(1L, "PRD001", "Pão", 12.50);
             Product p2 = buildProduct(2L, "PRD002", "Bolo", 35.00);
-            when(repository.findAll()).thenReturn(List.of(p1, p2));
+            when(repository.findAllWithCompositions()).thenReturn(List.of(p1, p2));
 
             List<Product> result = service.findAll();
 
             assertThat(result).hasSize(2);
             assertThat(result.get(0).getCode()).isEqualTo("PRD001");
             assertThat(result.get(1).getCode()).isEqualTo("PRD002");
-            verify(repository, times(1)).findAll();
+            verify(repository, times(1)).findAllWithCompositions();
         }
 
         @Test
         @DisplayName("Deve retornar lista vazia quando não há produtos")
         void shouldReturnEmptyListWhenNoProducts() {
-            when(repository.findAll()).thenReturn(Collections.emptyList());
+            when(repository.findAllWithCompositions()).thenReturn(Collections.emptyList());
 
             List<Product> result = service.findAll();
 
             assertThat(result).isEmpty();
-            verify(repository, times(1)).findAll();
+            verify(repository, times(1)).findAllWithCompositions();
+        }
+    }
+
+    // ── findAll(selection) ──────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("findAll(selection)")
+    class FindAllSparse {
+
+        @Test
+        @DisplayName("Deve consultar apenas as colunas pedidas, sem carregar composições")
+        void shouldSelectOnlyRequestedColumns() {
+            ProductFieldSelection selection = ProductFieldSelection.parse("code,price", null);
+            when(repository.findColumns(List.of("id", "code", "priceMicros"), null))
+                    .thenReturn(List.<Object[]>of(new Object[]{1L, "PRD001", 12_500_000L}));
+
+            List<Map<String, Object>> result = service.findAll(selection);
+
+            assertThat(result).containsExactly(Map.of("id", 1L, "code", "PRD001", "price", 12.50));
+            verifyNoInteractions(compositionRepository);
+            verify(repository, never()).findAll();
+        }
+
+        @Test
+        @DisplayName("Deve anexar as composições de cada produto com include=compositions")
+        void shouldAttachCompositions() {
+            ProductFieldSelection selection = ProductFieldSelection.parse("name", "compositions");
+            Product p1 = buildProduct(1L, "PRD001", "Pão", 12.50);
+            ProductComposition composition = ProductComposition.builder()
+                    .id(10L).product(p1).rawMaterial(buildRawMaterial(1L, "MP001", "Farinha", 500.0))
+                    .requiredQuantity(200.0).build();
+            when(repository.findColumns(List.of("id", "name"), null))
+                    .thenReturn(List.of(new Object[]{1L, "Pão"}, new Object[]{2L, "Bolo"}));
+            when(compositionRepository.findAllWithRawMaterial()).thenReturn(List.of(composition));
+
+            List<Map<String, Object>> result = service.findAll(selection);
+
+            assertThat(result.get(0).get("compositions")).isEqualTo(List.of(composition));
+            assertThat(result.get(1).get("compositions")).isEqualTo(List.of());
+        }
+
+        @Test
+        @DisplayName("Deve lançar ResourceNotFoundException quando o ID não existe")
+        void shouldThrowWhenIdNotFound() {
+            ProductFieldSelection selection = ProductFieldSelection.parse("code", null);
+            when(repository.findColumns(List.of("id", "code"), 99L)).thenReturn(List.of());
+
+            assertThatThrownBy(() -> service.findById(99L, selection))
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessageContaining("Product not found with id: 99");
+        }
+    }
+
+    // ── findChanges ─────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("findChanges()")
+    class FindChanges {
+
+        @Test
+        @DisplayName("Deve trazer as composições apenas com o id da matéria-prima")
+        void shouldReferenceRawMaterialById() {
+            Product pao = buildProduct(1L, "PRD001", "Pão", 12.50);
+            ProductComposition composition = ProductComposition.builder()
+                    .id(10L).product(pao).rawMaterial(buildRawMaterial(3L, "MP003", "Farinha", 50.0))
+                    .requiredQuantity(0.5).build();
+            when(rowVersions.resume("e:4")).thenReturn(OptionalLong.of(4L));
+            when(rowVersions.stable()).thenReturn(10L);
+            when(rowVersions.cursor(10L)).thenReturn("e:10");
+            when(repository.findChanges(4L, 10L)).thenReturn(List.of(pao));
+            when(compositionRepository.findByProductIds(List.of(1L))).thenReturn(List.of(composition));
+            when(tombstones.deletedIds(CatalogVersion.Table.PRODUCT, 4L, 10L)).thenReturn(List.of(5L));
+
+            ChangeSetDTO<ProductChangeDTO> result = service.findChanges("e:4");
+
+            assertThat(result.isReset()).isFalse();
+            assertThat(result.getVersion()).isEqualTo("e:10");
+            assertThat(result.getDeleted()).containsExactly(5L);
+            assertThat(result.getChanged()).singleElement().satisfies(change -> {
+                assertThat(change.getCode()).isEqualTo("PRD001");
+                assertThat(change.getCompositions()).singleElement().satisfies(item -> {
+                    assertThat(item.getRawMaterialId()).isEqualTo(3L);
+                    assertThat(item.getRequiredQuantity()).isEqualTo(0.5);
+                });
+            });
+        }
+
+        @Test
+        @DisplayName("Não deve consultar composições quando nenhum produto mudou")
+        void shouldSkipCompositionsWhenNothingChanged() {
+            when(rowVersions.resume("e:10")).thenReturn(OptionalLong.of(10L));
+            when(rowVersions.stable()).thenReturn(10L);
+            when(rowVersions.cursor(10L)).thenReturn("e:10");
+            when(repository.findChanges(10L, 10L)).thenReturn(List.of());
+            when(tombstones.deletedIds(CatalogVersion.Table.PRODUCT, 10L, 10L)).thenReturn(List.of());
+
+            assertThat(service.findChanges("e:10").getChanged()).isEmpty();
+            verifyNoInteractions(compositionRepository);
         }
     }
 
@@ -397,24 +516,27 @@ class ProductServiceTest {
         @Test
         @DisplayName("Deve deletar o produto quando o ID existe")
         void shouldDeleteProductWhenIdExists() {
-            when(repository.existsById(1L)).thenReturn(true);
+            Product existing = buildProduct(1L, "PROD001", "Bolo", 25.0);
+            when(repository.findById(1L)).thenReturn(Optional.of(existing));
 
             service.delete(1L);
 
-            verify(repository, times(1)).existsById(1L);
-            verify(repository, times(1)).deleteById(1L);
+            verify(repository, times(1)).delete(existing);
+            verify(catalogVersion).bump(CatalogVersion.Table.PRODUCT);
+            verify(changeBroadcaster).publish(CatalogVersion.Table.PRODUCT, CatalogChangeDTO.Action.DELETED, 1L);
+            verify(tombstones).record(CatalogVersion.Table.PRODUCT, 1L);
         }
 
         @Test
         @DisplayName("Deve lançar ResourceNotFoundException ao deletar ID inexistente")
         void shouldThrowExceptionWhenDeletingNonExistentProduct() {
-            when(repository.existsById(99L)).thenReturn(false);
+            when(repository.findById(99L)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> service.delete(99L))
                     .isInstanceOf(ResourceNotFoundException.class)
                     .hasMessageContaining("Product not found with id: 99");
 
-            verify(repository, never()).deleteById(anyLong());
+            verify(repository, never()).delete(any());
         }
     }
 }
@@ -1,24 +1,33 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.MultiSiteProductionDTO;
+import com.example.backend.dto.OptimizationProgressDTO;
 import com.example.backend.dto.ProductionSuggestionDTO;
 import com.example.backend.entity.Product;
 import com.example.backend.entity.ProductComposition;
 import com.example.backend.entity.RawMaterial;
+import com.example.backend.entity.SiteStock;
+import com.example.backend.exception.ResourceNotFoundException;
 import com.example.backend.repository.ProductRepository;
 import com.example.backend.repository.RawMaterialRepository;
+import com.example.backend.repository.SiteStockRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,9 +40,22 @@ class ProductionOptimizerServiceTest {
     @Mock
     private RawMaterialRepository rawMaterialRepository;
 
-    @InjectMocks
+    @Mock
+    private SiteStockRepository siteStockRepository;
+
+    @Mock
+    private LotInventory lotInventory;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private ProductionOptimizerService service;
 
+    @BeforeEach
+    void setUp() {
+        service = new ProductionOptimizerService(productRepository, rawMaterialRepository,
+                siteStockRepository, lotInventory, meterRegistry);
+    }
+
     // ── Helpers ─────────────────────────────────────────────────────────────────
 
     private RawMaterial buildRawMaterial(Long id, String code, String name, Double stock) {
@@ -74,7 +96,7 @@ class ProductionOptimizerServiceTest {
         @Test
         @DisplayName("Deve retornar lista vazia quando não há produtos cadastrados")
         void shouldReturnEmptyWhenNoProducts() {
-            when(productRepository.findAll()).thenReturn(Collections.emptyList());
+            when(productRepository.findAllWithCompositions()).thenReturn(Collections.emptyList());
             when(rawMaterialRepository.findAll()).thenReturn(Collections.emptyList());
 
             List<ProductionSuggestionDTO> result = service.optimize();
@@ -89,7 +111,7 @@ class ProductionOptimizerServiceTest {
             Product product = buildProductWithCompositions(1L, "PRD001", "Pão", 12.50,
                     List.of(new CompositionSpec(1L, rm, 200.0)));
 
-            when(productRepository.findAll()).thenReturn(new ArrayList<>(List.of(product)));
+            when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(product)));
             when(rawMaterialRepository.findAll()).thenReturn(List.of(rm));
 
             List<ProductionSuggestionDTO> result = service.optimize();
@@ -107,7 +129,7 @@ class ProductionOptimizerServiceTest {
 
             RawMaterial rm = buildRawMaterial(1L, "MP001", "Farinha", 500.0);
 
-            when(productRepository.findAll()).thenReturn(new ArrayList<>(List.of(product)));
+            when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(product)));
             when(rawMaterialRepository.findAll()).thenReturn(List.of(rm));
 
             List<ProductionSuggestionDTO> result = service.optimize();
@@ -125,7 +147,7 @@ class ProductionOptimizerServiceTest {
 
             RawMaterial rm = buildRawMaterial(1L, "MP001", "Farinha", 500.0);
 
-            when(productRepository.findAll()).thenReturn(new ArrayList<>(List.of(product)));
+            when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(product)));
             when(rawMaterialRepository.findAll()).thenReturn(List.of(rm));
 
             List<ProductionSuggestionDTO> result = service.optimize();
@@ -146,7 +168,7 @@ class ProductionOptimizerServiceTest {
             Product product = buildProductWithCompositions(1L, "PRD001", "Pão", 12.50,
                     List.of(new CompositionSpec(1L, rm, 200.0)));
 
-            when(productRepository.findAll()).thenReturn(new ArrayList<>(List.of(product)));
+            when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(product)));
             when(rawMaterialRepository.findAll()).thenReturn(List.of(rm));
 
             List<ProductionSuggestionDTO> result = service.optimize();
@@ -171,7 +193,7 @@ class ProductionOptimizerServiceTest {
                             new CompositionSpec(2L, leite, 50.0)
                     ));
 
-            when(productRepository.findAll()).thenReturn(new ArrayList<>(List.of(product)));
+            when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(product)));
             when(rawMaterialRepository.findAll()).thenReturn(List.of(farinha, leite));
 
             List<ProductionSuggestionDTO> result = service.optimize();
@@ -189,7 +211,7 @@ class ProductionOptimizerServiceTest {
             Product product = buildProductWithCompositions(1L, "PRD001", "Pão", 12.50,
                     List.of(new CompositionSpec(1L, rm, 200.0)));
 
-            when(productRepository.findAll()).thenReturn(new ArrayList<>(List.of(product)));
+            when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(product)));
             when(rawMaterialRepository.findAll()).thenReturn(List.of(rm));
 
             List<ProductionSuggestionDTO> result = service.optimize();
@@ -217,7 +239,7 @@ class ProductionOptimizerServiceTest {
             Product bolo = buildProductWithCompositions(2L, "PRD002", "Bolo", 35.0,
                     List.of(new CompositionSpec(2L, farinha, 200.0)));
 
-            when(productRepository.findAll()).thenReturn(new ArrayList<>(List.of(pao, bolo)));
+            when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(pao, bolo)));
             when(rawMaterialRepository.findAll()).thenReturn(List.of(farinha));
 
             List<ProductionSuggestionDTO> result = service.optimize();
@@ -249,7 +271,7 @@ class ProductionOptimizerServiceTest {
             Product bolo = buildProductWithCompositions(2L, "PRD002", "Bolo", 35.0,
                     List.of(new CompositionSpec(2L, farinha, 200.0)));
 
-            when(productRepository.findAll()).thenReturn(new ArrayList<>(List.of(pao, bolo)));
+            when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(pao, bolo)));
             when(rawMaterialRepository.findAll()).thenReturn(List.of(farinha));
 
             List<ProductionSuggestionDTO> result = service.optimize();
@@ -271,7 +293,7 @@ class ProductionOptimizerServiceTest {
             Product trufa = buildProductWithCompositions(2L, "PRD002", "Trufa", 25.0,
                     List.of(new CompositionSpec(2L, chocolate, 100.0)));
 
-            when(productRepository.findAll()).thenReturn(new ArrayList<>(List.of(pao, trufa)));
+            when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(pao, trufa)));
             when(rawMaterialRepository.findAll()).thenReturn(List.of(farinha, chocolate));
 
             List<ProductionSuggestionDTO> result = service.optimize();
@@ -307,7 +329,7 @@ class ProductionOptimizerServiceTest {
                             new CompositionSpec(2L, rm2, 0.0) // qty zero
                     ));
 
-            when(productRepository.findAll()).thenReturn(new ArrayList<>(List.of(product)));
+            when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(product)));
             when(rawMaterialRepository.findAll()).thenReturn(List.of(rm, rm2));
 
             List<ProductionSuggestionDTO> result = service.optimize();
@@ -324,7 +346,7 @@ class ProductionOptimizerServiceTest {
             Product product = buildProductWithCompositions(1L, "PRD001", "Pão", 12.50,
                     List.of(new CompositionSpec(1L, rm, 200.0)));
 
-            when(productRepository.findAll()).thenReturn(new ArrayList<>(List.of(product)));
+            when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(product)));
             when(rawMaterialRepository.findAll()).thenReturn(List.of(rm));
 
             List<ProductionSuggestionDTO> result = service.optimize();
@@ -334,6 +356,28 @@ class ProductionOptimizerServiceTest {
             assertThat(result.get(0).getTotalValue()).isEqualTo(25.0);
         }
 
+        @Test
+        @DisplayName("Deve consumir estoque fracionário de forma exata (sem drift de ponto flutuante)")
+        void shouldConsumeFractionalStockExactly() {
+            // Estoque: 0.3 kg | Bolo precisa 0.1 kg → 3 unidades, sobra exatamente 0
+            // Pão (mais barato) precisa 0.1 kg → 0 unidades
+            RawMaterial rm = buildRawMaterial(1L, "MP001", "Fermento", 0.3);
+            Product bolo = buildProductWithCompositions(1L, "PRD001", "Bolo", 20.0,
+                    List.of(new CompositionSpec(1L, rm, 0.1)));
+            Product pao = buildProductWithCompositions(2L, "PRD002", "Pão", 5.0,
+                    List.of(new CompositionSpec(2L, rm, 0.1)));
+
+            when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(pao, bolo)));
+            when(rawMaterialRepository.findAll()).thenReturn(List.of(rm));
+
+            List<ProductionSuggestionDTO> result = service.optimize();
+
+            assertThat(result).hasSize(1);
+            assertThat(result.get(0).getProductCode()).isEqualTo("PRD001");
+            assertThat(result.get(0).getQuantity()).isEqualTo(3);
+            assertThat(result.get(0).getTotalValue()).isEqualTo(60.0);
+        }
+
         @Test
         @DisplayName("Deve calcular totalValue como quantity × unitPrice")
         void shouldCalculateTotalValueCorrectly() {
@@ -341,7 +385,7 @@ class ProductionOptimizerServiceTest {
             Product product = buildProductWithCompositions(1L, "PRD001", "Pão", 7.50,
                     List.of(new CompositionSpec(1L, rm, 100.0)));
 
-            when(productRepository.findAll()).thenReturn(new ArrayList<>(List.of(product)));
+            when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(product)));
             when(rawMaterialRepository.findAll()).thenReturn(List.of(rm));
 
             List<ProductionSuggestionDTO> result = service.optimize();
@@ -363,7 +407,7 @@ class ProductionOptimizerServiceTest {
             // Estoque tem apenas ID=1
             RawMaterial rmEstoque = buildRawMaterial(1L, "MP001", "Farinha", 500.0);
 
-            when(productRepository.findAll()).thenReturn(new ArrayList<>(List.of(product)));
+            when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(product)));
             when(rawMaterialRepository.findAll()).thenReturn(List.of(rmEstoque));
 
             List<ProductionSuggestionDTO> result = service.optimize();
@@ -383,7 +427,7 @@ class ProductionOptimizerServiceTest {
             Product torta = buildProductWithCompositions(3L, "PRD003", "Torta", 50.0,
                     List.of(new CompositionSpec(3L, farinha, 1000.0)));
 
-            when(productRepository.findAll()).thenReturn(new ArrayList<>(List.of(pao, bolo, torta)));
+            when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(pao, bolo, torta)));
             when(rawMaterialRepository.findAll()).thenReturn(List.of(farinha));
 
             List<ProductionSuggestionDTO> result = service.optimize();
@@ -398,5 +442,279 @@ class ProductionOptimizerServiceTest {
             assertThat(result.get(0).getTotalValue()).isEqualTo(150.0);
         }
     }
-}
 
+    @Nested
+    @DisplayName("optimize(site) / optimizeAllSites() — Múltiplas plantas")
+    class Sites {
+
+        private SiteStock buildSiteStock(String site, RawMaterial rm, Double quantity) {
+            return SiteStock.builder().site(site).rawMaterial(rm).quantity(quantity).build();
+        }
+
+        @Test
+        @DisplayName("Deve usar apenas o estoque do site informado")
+        void shouldUseSiteStockOnly() {
+            // Estoque central: 1000g | SP01: 400g → 2 unidades
+            RawMaterial farinha = buildRawMaterial(1L, "MP001", "Farinha", 1000.0);
+            Product pao = buildProductWithCompositions(1L, "PRD001", "Pão", 10.0,
+                    List.of(new CompositionSpec(1L, farinha, 200.0)));
+
+            when(siteStockRepository.findBySite("SP01")).thenReturn(List.of(buildSiteStock("SP01", farinha, 400.0)));
+            when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(pao)));
+            when(rawMaterialRepository.findAll()).thenReturn(List.of(farinha));
+
+            List<ProductionSuggestionDTO> result = service.optimize("SP01");
+
+            assertThat(result).hasSize(1);
+            assertThat(result.get(0).getQuantity()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Deve lançar ResourceNotFoundException quando o site não tem estoque")
+        void shouldThrowWhenSiteHasNoStock() {
+            when(siteStockRepository.findBySite("XX")).thenReturn(Collections.emptyList());
+
+            assertThatThrownBy(() -> service.optimize("XX"))
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessageContaining("XX");
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar código de site inválido")
+        void shouldRejectInvalidSite() {
+            assertThatThrownBy(() -> service.optimize("SP 01"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Deve otimizar cada site de forma independente e consolidar o resultado")
+        void shouldOptimizeAllSitesAndMerge() {
+            // SP01: 1000g farinha → Bolo 2 (800g) + Pão 1 (200g)
+            // MG01:  300g farinha → Bolo 0 + Pão 1 (200g), sobra 100g
+            RawMaterial farinha = buildRawMaterial(1L, "MP001", "Farinha", 0.0);
+            Product pao = buildProductWithCompositions(1L, "PRD001", "Pão", 10.0,
+                    List.of(new CompositionSpec(1L, farinha, 200.0)));
+            Product bolo = buildProductWithCompositions(2L, "PRD002", "Bolo", 35.0,
+                    List.of(new CompositionSpec(2L, farinha, 400.0)));
+
+            when(siteStockRepository.findAll()).thenReturn(List.of(
+                    buildSiteStock("SP01", farinha, 1000.0),
+                    buildSiteStock("MG01", farinha, 300.0)));
+            when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(pao, bolo)));
+            when(rawMaterialRepository.findAll()).thenReturn(List.of(farinha));
+
+            MultiSiteProductionDTO result = service.optimizeAllSites();
+
+            assertThat(result.getSites()).containsOnlyKeys("MG01", "SP01");
+            assertThat(result.getSites().keySet()).containsExactly("MG01", "SP01");
+
+            List<ProductionSuggestionDTO> sp = result.getSites().get("SP01");
+            assertThat(sp).extracting(ProductionSuggestionDTO::getProductCode).containsExactly("PRD002", "PRD001");
+            assertThat(sp).extracting(ProductionSuggestionDTO::getQuantity).containsExactly(2, 1);
+
+            List<ProductionSuggestionDTO> mg = result.getSites().get("MG01");
+            assertThat(mg).extracting(ProductionSuggestionDTO::getProductCode).containsExactly("PRD001");
+            assertThat(mg.get(0).getQuantity()).isEqualTo(1);
+
+            assertThat(result.getMerged()).extracting(ProductionSuggestionDTO::getProductCode)
+                    .containsExactly("PRD002", "PRD001");
+            assertThat(result.getMerged()).extracting(ProductionSuggestionDTO::getQuantity).containsExactly(2, 2);
+            assertThat(result.getTotalValue()).isEqualTo(90.0);
+        }
+
+        @Test
+        @DisplayName("Deve retornar resultado vazio quando não há estoque por site")
+        void shouldReturnEmptyWhenNoSites() {
+            when(siteStockRepository.findAll()).thenReturn(Collections.emptyList());
+            when(productRepository.findAllWithCompositions()).thenReturn(Collections.emptyList());
+            when(rawMaterialRepository.findAll()).thenReturn(Collections.emptyList());
+
+            MultiSiteProductionDTO result = service.optimizeAllSites();
+
+            assertThat(result.getSites()).isEmpty();
+            assertThat(result.getMerged()).isEmpty();
+            assertThat(result.getTotalValue()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("optimize() — Lotes perecíveis")
+    class Lots {
+
+        @Test
+        @DisplayName("Deve descontar do estoque central o saldo de lotes vencidos")
+        void shouldIgnoreExpiredLots() {
+            // Estoque: 300 caixas, das quais 180 em lote vencido → 120 / 50 = 2 unidades
+            RawMaterial leite = buildRawMaterial(3L, "MP003", "Leite", 300.0);
+            Product pao = buildProductWithCompositions(1L, "PRD001", "Pão", 12.5,
+                    List.of(new CompositionSpec(1L, leite, 50.0)));
+
+            when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(pao)));
+            when(rawMaterialRepository.findAll()).thenReturn(List.of(leite));
+            when(lotInventory.expiredMicros(3L)).thenReturn(180_000_000L);
+
+            List<ProductionSuggestionDTO> result = service.optimize();
+
+            assertThat(result).hasSize(1);
+            assertThat(result.get(0).getQuantity()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Deve tratar como zero quando os lotes vencidos superam o estoque central")
+        void shouldClampUsableStockAtZero() {
+            RawMaterial ovos = buildRawMaterial(4L, "MP004", "Ovos", 10.0);
+            Product bolo = buildProductWithCompositions(1L, "PRD002", "Bolo", 35.0,
+                    List.of(new CompositionSpec(1L, ovos, 1.0)));
+
+            when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(bolo)));
+            when(rawMaterialRepository.findAll()).thenReturn(List.of(ovos));
+            when(lotInventory.expiredMicros(4L)).thenReturn(20_000_000L);
+
+            assertThat(service.optimize()).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("optimize(site, listener) — Progresso")
+    class Progress {
+
+        private final List<OptimizationProgressDTO> events = new ArrayList<>();
+
+        private final OptimizationProgressListener everyNode = new OptimizationProgressListener() {
+            @Override
+            public boolean wantsUpdate() {
+                return true;
+            }
+
+            @Override
+            public void onProgress(OptimizationProgressDTO progress) {
+                events.add(progress);
+            }
+        };
+
+        @Test
+        @DisplayName("Deve informar valor atual, limite superior e produtos avaliados")
+        void shouldReportIncumbentAndBound() {
+            // Bolo: 2 × R$35 = R$70; sobram 100g → Pão ainda pode render no máximo 1 × R$10
+            RawMaterial farinha = buildRawMaterial(1L, "MP001", "Farinha", 500.0);
+            Product pao = buildProductWithCompositions(1L, "PRD001", "Pão", 10.0,
+                    List.of(new CompositionSpec(1L, farinha, 100.0)));
+            Product bolo = buildProductWithCompositions(2L, "PRD002", "Bolo", 35.0,
+                    List.of(new CompositionSpec(2L, farinha, 200.0)));
+
+            when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(pao, bolo)));
+            when(rawMaterialRepository.findAll()).thenReturn(List.of(farinha));
+
+            List<ProductionSuggestionDTO> result = service.optimize(null, everyNode);
+
+            assertThat(result).hasSize(2);
+            assertThat(events).hasSize(3);
+
+            OptimizationProgressDTO first = events.get(0);
+            assertThat(first.getIncumbentValue()).isEqualTo(70.0);
+            assertThat(first.getBound()).isEqualTo(80.0);
+            assertThat(first.getNodesExplored()).isEqualTo(1);
+            assertThat(first.getTotalNodes()).isEqualTo(2);
+            assertThat(first.isDone()).isFalse();
+
+            OptimizationProgressDTO last = events.get(2);
+            assertThat(last.getIncumbentValue()).isEqualTo(80.0);
+            assertThat(last.getBound()).isEqualTo(80.0);
+            assertThat(last.getNodesExplored()).isEqualTo(2);
+            assertThat(last.isDone()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Deve emitir apenas o evento final quando o listener não pede atualizações")
+        void shouldEmitOnlyFinalEvent() {
+            RawMaterial farinha = buildRawMaterial(1L, "MP001", "Farinha", 500.0);
+            Product pao = buildProductWithCompositions(1L, "PRD001", "Pão", 10.0,
+                    List.of(new CompositionSpec(1L, farinha, 100.0)));
+
+            when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(pao)));
+            when(rawMaterialRepository.findAll()).thenReturn(List.of(farinha));
+
+            service.optimize(null, new OptimizationProgressListener() {
+                @Override
+                public boolean wantsUpdate() {
+                    return false;
+                }
+
+                @Override
+                public void onProgress(OptimizationProgressDTO progress) {
+                    events.add(progress);
+                }
+            });
+
+            assertThat(events).singleElement().satisfies(event -> {
+                assertThat(event.isDone()).isTrue();
+                assertThat(event.getIncumbentValue()).isEqualTo(50.0);
+            });
+        }
+
+        @Test
+        @DisplayName("Deve interromper a otimização quando o listener cancela")
+        void shouldStopWhenListenerCancels() {
+            RawMaterial farinha = buildRawMaterial(1L, "MP001", "Farinha", 500.0);
+            Product pao = buildProductWithCompositions(1L, "PRD001", "Pão", 10.0,
+                    List.of(new CompositionSpec(1L, farinha, 100.0)));
+
+            when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(pao)));
+            when(rawMaterialRepository.findAll()).thenReturn(List.of(farinha));
+
+            assertThatThrownBy(() -> service.optimize(null, new OptimizationProgressListener() {
+                @Override
+                public boolean wantsUpdate() {
+                    throw new CancellationException("closed");
+                }
+
+                @Override
+                public void onProgress(OptimizationProgressDTO progress) {
+                }
+            })).isInstanceOf(CancellationException.class);
+
+            assertThat(meterRegistry.get("optimizer.optimize")
+                    .tag("mode", "central").tag("outcome", "cancelled").timer().count()).isEqualTo(1);
+        }
+    }
+
+    // ── Métricas ────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("Métricas")
+    class Metrics {
+
+        @Test
+        @DisplayName("Deve registrar a duração total e de cada fase da otimização")
+        void shouldTimeEachPhase() {
+            RawMaterial farinha = buildRawMaterial(1L, "MP001", "Farinha", 500.0);
+            Product pao = buildProductWithCompositions(1L, "PRD001", "Pão", 10.0,
+                    List.of(new CompositionSpec(1L, farinha, 100.0)));
+
+            when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(pao)));
+            when(rawMaterialRepository.findAll()).thenReturn(List.of(farinha));
+
+            service.optimize();
+
+            assertThat(meterRegistry.get("optimizer.optimize")
+                    .tag("mode", "central").tag("outcome", "success").timer().count()).isEqualTo(1);
+            for (String phase : List.of("load", "compile", "solve", "map")) {
+                assertThat(meterRegistry.get("optimizer.phase").tag("phase", phase).timer().count())
+                        .as(phase).isEqualTo(1);
+            }
+            assertThat(meterRegistry.get("optimizer.products.evaluated").counter().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Deve registrar falhas com outcome=error")
+        void shouldTagFailures() {
+            when(siteStockRepository.findBySite("RJ01")).thenReturn(Collections.emptyList());
+
+            assertThatThrownBy(() -> service.optimize("RJ01"))
+                    .isInstanceOf(ResourceNotFoundException.class);
+
+            assertThat(meterRegistry.get("optimizer.optimize")
+                    .tag("mode", "site").tag("outcome", "error").timer().count()).isEqualTo(1);
+        }
+    }
+}
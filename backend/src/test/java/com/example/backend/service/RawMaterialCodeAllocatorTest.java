@@ -0,0 +1,121 @@
+package com.example.backend.service;
+
+import com.example.backend.repository.RawMaterialRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RawMaterialCodeAllocator — Testes Unitários")
+class RawMaterialCodeAllocatorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private RawMaterialRepository repository;
+
+    private RawMaterialCodeAllocator buildAllocator(int width, int blockSize, String... prefixes) {
+        return new RawMaterialCodeAllocator(jdbcTemplate, repository, List.of(prefixes), width, blockSize);
+    }
+
+    @Test
+    @DisplayName("Deve criar a sequence a partir do maior código existente")
+    void shouldSeedSequenceFromExistingCodes() {
+        when(repository.findCodesStartingWith("MP")).thenReturn(List.of("MP001", "MP005", "MPX"));
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(6L);
+
+        String code = buildAllocator(3, 50, "MP").next("MP");
+
+        assertThat(code).isEqualTo("MP006");
+        verify(jdbcTemplate).execute("CREATE SEQUENCE IF NOT EXISTS raw_material_code_seq_mp START WITH 6 INCREMENT BY 50");
+    }
+
+    @Test
+    @DisplayName("Deve acessar o banco apenas uma vez por bloco")
+    void shouldHitDatabaseOncePerBlock() {
+        when(repository.findCodesStartingWith("MP")).thenReturn(Collections.emptyList());
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(1L, 4L);
+        RawMaterialCodeAllocator allocator = buildAllocator(3, 3, "MP");
+
+        List<String> codes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            codes.add(allocator.next("MP"));
+        }
+
+        assertThat(codes).containsExactly("MP001", "MP002", "MP003", "MP004");
+        verify(jdbcTemplate, times(2)).queryForObject(anyString(), eq(Long.class));
+        verify(repository, times(1)).findCodesStartingWith("MP");
+    }
+
+    @Test
+    @DisplayName("Não deve limitar a numeração em MP999")
+    void shouldGrowBeyondConfiguredWidth() {
+        when(repository.findCodesStartingWith("MP")).thenReturn(List.of("MP999"));
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(1000L);
+
+        assertThat(buildAllocator(3, 10, "MP").next("MP")).isEqualTo("MP1000");
+    }
+
+    @Test
+    @DisplayName("Deve respeitar largura e prefixos configurados")
+    void shouldHonourWidthAndPrefixes() {
+        when(repository.findCodesStartingWith("INS")).thenReturn(Collections.emptyList());
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(1L);
+        RawMaterialCodeAllocator allocator = buildAllocator(5, 10, "MP", "INS");
+
+        assertThat(allocator.defaultPrefix()).isEqualTo("MP");
+        assertThat(allocator.next("INS")).isEqualTo("INS00001");
+        assertThatThrownBy(() -> allocator.next("XX")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar prefixos inválidos na configuração")
+    void shouldRejectInvalidPrefixConfiguration() {
+        assertThatThrownBy(() -> buildAllocator(3, 10, "mp; DROP"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Não deve repetir códigos sob concorrência")
+    void shouldNeverRepeatCodesConcurrently() throws Exception {
+        AtomicLong sequence = new AtomicLong(1);
+        when(repository.findCodesStartingWith("MP")).thenReturn(Collections.emptyList());
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class)))
+                .thenAnswer(invocation -> sequence.getAndAdd(7));
+        RawMaterialCodeAllocator allocator = buildAllocator(3, 7, "MP");
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                futures.add(executor.submit(() -> allocator.next("MP")));
+            }
+            Set<String> codes = new HashSet<>();
+            for (Future<String> future : futures) {
+                codes.add(future.get());
+            }
+            assertThat(codes).hasSize(500);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.CatalogChangeDTO;
+import com.example.backend.dto.ChangeSetDTO;
 import com.example.backend.dto.RawMaterialDTO;
 import com.example.backend.entity.RawMaterial;
 import com.example.backend.exception.DuplicateCodeException;
@@ -16,6 +18,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -30,6 +33,21 @@ class RawMaterialServiceTest {
     @Mock
     private RawMaterialRepository repository;
 
+    @Mock
+    private RawMaterialCodeAllocator codeAllocator;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    @Mock
+    private CatalogChangeBroadcaster changeBroadcaster;
+
+    @Mock
+    private RowVersions rowVersions;
+
+    @Mock
+    private TombstoneService tombstones;
+
     @InjectMocks
     private RawMaterialService service;
 
@@ -61,33 +79,35 @@ class RawMaterialServiceTest {
     class GenerateNextCode {
 
         @Test
-        @DisplayName("Deve retornar MP001 quando não há matérias-primas cadastradas")
-        void shouldReturnMP001WhenNoRawMaterials() {
-            when(repository.findMaxCodeWithPrefix()).thenReturn(Optional.empty());
+        @DisplayName("Deve alocar o código com o prefixo padrão")
+        void shouldAllocateWithDefaultPrefix() {
+            when(codeAllocator.defaultPrefix()).thenReturn("MP");
+            when(codeAllocator.next("MP")).thenReturn("MP006");
 
             String result = service.generateNextCode();
 
-            assertThat(result).isEqualTo("MP001");
+            assertThat(result).isEqualTo("MP006");
         }
 
         @Test
-        @DisplayName("Deve retornar MP006 quando o último código é MP005")
-        void shouldReturnMP006WhenLastIsMP005() {
-            when(repository.findMaxCodeWithPrefix()).thenReturn(Optional.of("MP005"));
+        @DisplayName("Não deve consultar o banco a cada código alocado")
+        void shouldNotQueryRepositoryPerCode() {
+            when(codeAllocator.next("MP")).thenReturn("MP006", "MP007");
 
-            String result = service.generateNextCode();
+            assertThat(service.generateNextCode("MP")).isEqualTo("MP006");
+            assertThat(service.generateNextCode("MP")).isEqualTo("MP007");
 
-            assertThat(result).isEqualTo("MP006");
+            verifyNoInteractions(repository);
         }
 
         @Test
-        @DisplayName("Deve retornar MP100 quando o último código é MP099")
-        void shouldReturnMP100WhenLastIsMP099() {
-            when(repository.findMaxCodeWithPrefix()).thenReturn(Optional.of("MP099"));
-
-            String result = service.generateNextCode();
+        @DisplayName("Deve propagar IllegalArgumentException para prefixo desconhecido")
+        void shouldRejectUnknownPrefix() {
+            when(codeAllocator.next("XX")).thenThrow(new IllegalArgumentException("Unknown raw material code prefix: XX"));
 
-            assertThat(result).isEqualTo("MP100");
+            assertThatThrownBy(() -> service.generateNextCode("XX"))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verify(repository, never()).existsByCode(any());
         }
     }
 
@@ -124,6 +144,68 @@ class RawMaterialServiceTest {
         }
     }
 
+    // ── findChanges ─────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("findChanges()")
+    class FindChanges {
+
+        @Test
+        @DisplayName("Deve retornar todos os registros com reset quando não há cursor")
+        void shouldReturnFullSetWithoutCursor() {
+            RawMaterial rm = buildRawMaterial(1L, "MP001", "Farinha", 500.0);
+            when(rowVersions.stable()).thenReturn(10L);
+            when(rowVersions.cursor(10L)).thenReturn("e:10");
+            when(repository.findAll()).thenReturn(List.of(rm));
+
+            ChangeSetDTO<RawMaterial> result = service.findChanges(null);
+
+            assertThat(result.isReset()).isTrue();
+            assertThat(result.getVersion()).isEqualTo("e:10");
+            assertThat(result.getChanged()).containsExactly(rm);
+            assertThat(result.getDeleted()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Deve retornar apenas alterados e removidos entre o cursor e a versão estável")
+        void shouldReturnOnlyChangesSinceCursor() {
+            RawMaterial rm = buildRawMaterial(2L, "MP002", "Leite", 200.0);
+            when(rowVersions.stable()).thenReturn(10L);
+            when(rowVersions.cursor(10L)).thenReturn("e:10");
+            when(rowVersions.resume("e:4")).thenReturn(OptionalLong.of(4L));
+            when(repository.findChanges(4L, 10L)).thenReturn(List.of(rm));
+            when(tombstones.deletedIds(CatalogVersion.Table.RAW_MATERIAL, 4L, 10L)).thenReturn(List.of(7L));
+
+            ChangeSetDTO<RawMaterial> result = service.findChanges("e:4");
+
+            assertThat(result.isReset()).isFalse();
+            assertThat(result.getVersion()).isEqualTo("e:10");
+            assertThat(result.getChanged()).containsExactly(rm);
+            assertThat(result.getDeleted()).containsExactly(7L);
+            verify(repository, never()).findAll();
+        }
+
+        @Test
+        @DisplayName("Deve retornar carga completa quando o cursor não pode ser continuado")
+        void shouldResetForUnknownCursor() {
+            when(rowVersions.stable()).thenReturn(10L);
+            when(rowVersions.resume("outra:99")).thenReturn(OptionalLong.empty());
+            when(repository.findAll()).thenReturn(Collections.emptyList());
+
+            assertThat(service.findChanges("outra:99").isReset()).isTrue();
+            verify(repository, never()).findChanges(anyLong(), anyLong());
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar cursor negativo")
+        void shouldRejectNegativeCursor() {
+            when(rowVersions.resume("e:-1")).thenThrow(new IllegalArgumentException("'since' must be a version returned by /changes."));
+
+            assertThatThrownBy(() -> service.findChanges("e:-1"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
     // ── findById ────────────────────────────────────────────────────────────────
 
     @Nested
@@ -179,6 +261,7 @@ class RawMaterialServiceTest {
             assertThat(result.getName()).isEqualTo("Farinha");
             assertThat(result.getStockQuantity()).isEqualTo(500.0);
             verify(repository, times(1)).save(any(RawMaterial.class));
+            verify(changeBroadcaster).publish(CatalogVersion.Table.RAW_MATERIAL, CatalogChangeDTO.Action.CREATED, 1L);
         }
 
         @Test
@@ -275,24 +358,27 @@ class RawMaterialServiceTest {
         @Test
         @DisplayName("Deve deletar a matéria-prima quando o ID existe")
         void shouldDeleteRawMaterialWhenIdExists() {
-            when(repository.existsById(1L)).thenReturn(true);
+            RawMaterial existing = buildRawMaterial(1L, "MP001", "Farinha", 10.0);
+            when(repository.findById(1L)).thenReturn(Optional.of(existing));
 
             service.delete(1L);
 
-            verify(repository, times(1)).existsById(1L);
-            verify(repository, times(1)).deleteById(1L);
+            verify(repository, times(1)).delete(existing);
+            verify(catalogVersion).bump(CatalogVersion.Table.RAW_MATERIAL);
+            verify(changeBroadcaster).publish(CatalogVersion.Table.RAW_MATERIAL, CatalogChangeDTO.Action.DELETED, 1L);
+            verify(tombstones).record(CatalogVersion.Table.RAW_MATERIAL, 1L);
         }
 
         @Test
         @DisplayName("Deve lançar ResourceNotFoundException ao deletar ID inexistente")
         void shouldThrowExceptionWhenDeletingNonExistentId() {
-            when(repository.existsById(99L)).thenReturn(false);
+            when(repository.findById(99L)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> service.delete(99L))
                     .isInstanceOf(ResourceNotFoundException.class)
                     .hasMessageContaining("Raw Material not found with id: 99");
 
-            verify(repository, never()).deleteById(anyLong());
+            verify(repository, never()).delete(any());
         }
     }
 }
@@ -0,0 +1,159 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RowVersions — Testes Unitários")
+class RowVersionsTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private RowVersions rowVersions;
+
+    @BeforeEach
+    void setUp() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(5L);
+        rowVersions = new RowVersions(jdbcTemplate);
+    }
+
+    // ── next / stable ───────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("next() / stable()")
+    class Allocation {
+
+        @Test
+        @DisplayName("Deve continuar a partir da maior versão do banco, lida uma única vez")
+        void shouldContinueFromDatabaseMaximum() {
+            assertThat(rowVersions.next()).isEqualTo(6L);
+            assertThat(rowVersions.next()).isEqualTo(7L);
+            assertThat(rowVersions.stable()).isEqualTo(7L);
+
+            verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(Long.class));
+        }
+
+        @Test
+        @DisplayName("Não deve avançar a versão estável além de uma transação em andamento")
+        void shouldHoldStableBelowInFlightTransaction() {
+            List<TransactionSynchronization> synchronizations;
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                assertThat(rowVersions.next()).isEqualTo(6L);
+                synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            // Outra escrita (já confirmada) recebe a versão 7
+            assertThat(rowVersions.next()).isEqualTo(7L);
+            assertThat(rowVersions.stable()).isEqualTo(5L);
+
+            synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+            assertThat(rowVersions.stable()).isEqualTo(7L);
+        }
+
+        @Test
+        @DisplayName("Deve liberar a versão também no rollback")
+        void shouldReleaseOnRollback() {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                rowVersions.next();
+                assertThat(rowVersions.stable()).isEqualTo(5L);
+
+                TransactionSynchronizationManager.getSynchronizations()
+                        .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            assertThat(rowVersions.stable()).isEqualTo(6L);
+        }
+    }
+
+    // ── requiresReset ───────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("requiresReset()")
+    class RequiresReset {
+
+        @Test
+        @DisplayName("Deve aceitar cursores dentro do intervalo conhecido")
+        void shouldAcceptKnownCursor() {
+            assertThat(rowVersions.requiresReset(0L)).isFalse();
+            assertThat(rowVersions.requiresReset(5L)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Deve exigir carga completa para cursor de outra execução do banco")
+        void shouldResetForFutureCursor() {
+            assertThat(rowVersions.requiresReset(42L)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Deve exigir carga completa para cursor anterior aos tombstones removidos")
+        void shouldResetAfterPurge() {
+            rowVersions.markPurged(3L);
+
+            assertThat(rowVersions.requiresReset(2L)).isTrue();
+            assertThat(rowVersions.requiresReset(3L)).isFalse();
+        }
+    }
+
+    // ── resume ──────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("resume()")
+    class Resume {
+
+        @Test
+        @DisplayName("Deve continuar um cursor desta execução")
+        void shouldResumeOwnCursor() {
+            assertThat(rowVersions.resume(rowVersions.cursor(3L))).hasValue(3L);
+        }
+
+        @Test
+        @DisplayName("Deve exigir carga completa para cursor de outra execução, mesmo com versão menor")
+        void shouldResetForCursorOfAnotherRun() {
+            RowVersions previousRun = new RowVersions(jdbcTemplate);
+
+            assertThat(rowVersions.resume(previousRun.cursor(3L))).isEmpty();
+            assertThat(rowVersions.resume(rowVersions.cursor(3L))).hasValue(3L);
+        }
+
+        @Test
+        @DisplayName("Deve exigir carga completa para cursor anterior aos tombstones removidos")
+        void shouldResetAfterPurge() {
+            rowVersions.markPurged(3L);
+
+            assertThat(rowVersions.resume(rowVersions.cursor(2L))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar cursor malformado ou com versão negativa")
+        void shouldRejectMalformedCursor() {
+            assertThatThrownBy(() -> rowVersions.resume("42")).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> rowVersions.resume("abc:x")).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> rowVersions.resume(rowVersions.cursor(-1L))).isInstanceOf(IllegalArgumentException.class);
+            assertThat(rowVersions.resume(rowVersions.cursor(0L))).hasValue(0L);
+        }
+    }
+}
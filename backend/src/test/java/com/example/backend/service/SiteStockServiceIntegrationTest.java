@@ -0,0 +1,64 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.StockQuantityDTO;
+import com.example.backend.entity.SiteStock;
+import com.example.backend.repository.SiteStockRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Executa o upsert de estoque por site contra o H2 da aplicação: a disputa entre dois {@code PUT}
+ * pela mesma linha ainda inexistente só aparece com transações e a restrição única reais.
+ */
+@SpringBootTest
+@DisplayName("SiteStockService — Testes de Integração")
+class SiteStockServiceIntegrationTest {
+
+    private static final String SITE = "RACE";
+    private static final int WRITERS = 8;
+
+    @Autowired
+    private SiteStockService service;
+
+    @Autowired
+    private SiteStockRepository repository;
+
+    @AfterEach
+    void removeCreated() {
+        repository.deleteAll(repository.findBySite(SITE));
+    }
+
+    @RepeatedTest(5)
+    @DisplayName("Deve aceitar PUTs concorrentes para a mesma linha nova sem violar a chave única")
+    void shouldUpsertConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            List<Future<SiteStock>> results = new ArrayList<>();
+            for (int i = 1; i <= WRITERS; i++) {
+                StockQuantityDTO quantity = StockQuantityDTO.builder().quantity((double) i).build();
+                results.add(executor.submit(() -> service.setQuantity(1L, SITE, quantity)));
+            }
+            for (Future<SiteStock> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS).getSite()).isEqualTo(SITE);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<SiteStock> rows = repository.findBySite(SITE);
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).getQuantity()).isBetween(1.0, (double) WRITERS);
+    }
+}
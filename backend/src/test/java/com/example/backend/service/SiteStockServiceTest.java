@@ -0,0 +1,195 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.StockQuantityDTO;
+import com.example.backend.entity.RawMaterial;
+import com.example.backend.entity.SiteStock;
+import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.repository.RawMaterialRepository;
+import com.example.backend.repository.SiteStockRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SiteStockService — Testes Unitários")
+class SiteStockServiceTest {
+
+    @Mock
+    private SiteStockRepository repository;
+
+    @Mock
+    private RawMaterialRepository rawMaterialRepository;
+
+    @InjectMocks
+    private SiteStockService service;
+
+    // ── Helpers ─────────────────────────────────────────────────────────────────
+
+    private RawMaterial buildRawMaterial(Long id) {
+        return RawMaterial.builder()
+                .id(id).code("MP001").name("Farinha").stockQuantity(0.0).unitOfMeasure("kg")
+                .build();
+    }
+
+    private StockQuantityDTO quantity(Double value) {
+        return StockQuantityDTO.builder().quantity(value).build();
+    }
+
+    // ── findByRawMaterial ───────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("findByRawMaterial()")
+    class FindByRawMaterial {
+
+        @Test
+        @DisplayName("Deve lançar ResourceNotFoundException quando a matéria-prima não existe")
+        void shouldThrowWhenRawMaterialNotFound() {
+            when(rawMaterialRepository.existsById(99L)).thenReturn(false);
+
+            assertThatThrownBy(() -> service.findByRawMaterial(99L))
+                    .isInstanceOf(ResourceNotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("Deve retornar o estoque de todas as plantas")
+        void shouldReturnAllSites() {
+            RawMaterial rm = buildRawMaterial(1L);
+            when(rawMaterialRepository.existsById(1L)).thenReturn(true);
+            when(repository.findByRawMaterial_IdOrderBySite(1L)).thenReturn(List.of(
+                    SiteStock.builder().site("MG01").rawMaterial(rm).quantity(200.0).build(),
+                    SiteStock.builder().site("SP01").rawMaterial(rm).quantity(800.0).build()));
+
+            List<SiteStock> result = service.findByRawMaterial(1L);
+
+            assertThat(result).extracting(SiteStock::getSite).containsExactly("MG01", "SP01");
+            assertThat(result.get(1).getQuantity()).isEqualTo(800.0);
+        }
+    }
+
+    // ── setQuantity ─────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("setQuantity()")
+    class SetQuantity {
+
+        @Test
+        @DisplayName("Deve gravar a quantidade com um único MERGE e devolver a linha")
+        void shouldUpsertRow() {
+            RawMaterial rm = buildRawMaterial(1L);
+            when(rawMaterialRepository.existsById(1L)).thenReturn(true);
+            when(repository.findBySiteAndRawMaterial_Id("SP01", 1L)).thenReturn(Optional.of(
+                    SiteStock.builder().site("SP01").rawMaterial(rm).quantityMicros(250_500_000L).build()));
+
+            SiteStock result = service.setQuantity(1L, "SP01", quantity(250.5));
+
+            assertThat(result.getSite()).isEqualTo("SP01");
+            assertThat(result.getRawMaterialId()).isEqualTo(1L);
+            assertThat(result.getQuantityMicros()).isEqualTo(250_500_000L);
+            verify(repository).upsert("SP01", 1L, 250_500_000L);
+            verify(repository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Deve repetir o MERGE quando outro PUT insere a mesma linha antes")
+        void shouldRetryWhenConcurrentInsertWins() {
+            RawMaterial rm = buildRawMaterial(1L);
+            when(rawMaterialRepository.existsById(1L)).thenReturn(true);
+            when(repository.upsert("SP01", 1L, 5_000_000L))
+                    .thenThrow(new DataIntegrityViolationException("uk_site_stock_site_raw_material"))
+                    .thenReturn(1);
+            when(repository.findBySiteAndRawMaterial_Id("SP01", 1L)).thenReturn(Optional.of(
+                    SiteStock.builder().site("SP01").rawMaterial(rm).quantityMicros(5_000_000L).build()));
+
+            SiteStock result = service.setQuantity(1L, "SP01", quantity(5.0));
+
+            assertThat(result.getQuantityMicros()).isEqualTo(5_000_000L);
+            verify(repository, times(2)).upsert("SP01", 1L, 5_000_000L);
+        }
+
+        @Test
+        @DisplayName("Deve lançar ResourceNotFoundException quando a matéria-prima não existe")
+        void shouldThrowWhenRawMaterialNotFound() {
+            when(rawMaterialRepository.existsById(99L)).thenReturn(false);
+
+            assertThatThrownBy(() -> service.setQuantity(99L, "SP01", quantity(1.0)))
+                    .isInstanceOf(ResourceNotFoundException.class);
+            verify(repository, never()).upsert(anyString(), anyLong(), anyLong());
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar quantidade negativa")
+        void shouldRejectNegativeQuantity() {
+            assertThatThrownBy(() -> service.setQuantity(1L, "SP01", quantity(-1.0)))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verify(repository, never()).save(any());
+            verify(repository, never()).upsert(anyString(), anyLong(), anyLong());
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar código de site inválido")
+        void shouldRejectInvalidSite() {
+            assertThatThrownBy(() -> service.setQuantity(1L, "SP/01", quantity(1.0)))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    // ── adjust ──────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("adjust()")
+    class Adjust {
+
+        @Test
+        @DisplayName("Deve aplicar a variação com um único UPDATE condicional")
+        void shouldApplyDeltaAtomically() {
+            RawMaterial rm = buildRawMaterial(1L);
+            when(repository.adjust("SP01", 1L, -100_000L)).thenReturn(1);
+            when(repository.findBySiteAndRawMaterial_Id("SP01", 1L)).thenReturn(Optional.of(
+                    SiteStock.builder().site("SP01").rawMaterial(rm).quantity(0.9).build()));
+
+            SiteStock result = service.adjust(1L, "SP01", quantity(-0.1));
+
+            assertThat(result.getQuantity()).isEqualTo(0.9);
+            verify(repository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Deve lançar IllegalArgumentException quando a baixa excede o estoque")
+        void shouldRejectInsufficientStock() {
+            RawMaterial rm = buildRawMaterial(1L);
+            when(repository.adjust(eq("SP01"), eq(1L), anyLong())).thenReturn(0);
+            when(repository.findBySiteAndRawMaterial_Id("SP01", 1L)).thenReturn(Optional.of(
+                    SiteStock.builder().site("SP01").rawMaterial(rm).quantity(1.0).build()));
+
+            assertThatThrownBy(() -> service.adjust(1L, "SP01", quantity(-5.0)))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Insufficient stock");
+        }
+
+        @Test
+        @DisplayName("Deve lançar ResourceNotFoundException quando o site não tem estoque cadastrado")
+        void shouldThrowWhenRowMissing() {
+            when(repository.adjust(anyString(), anyLong(), anyLong())).thenReturn(0);
+            when(repository.findBySiteAndRawMaterial_Id("SP01", 1L)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> service.adjust(1L, "SP01", quantity(5.0)))
+                    .isInstanceOf(ResourceNotFoundException.class);
+        }
+    }
+}
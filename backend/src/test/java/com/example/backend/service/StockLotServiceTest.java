@@ -0,0 +1,167 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.LotConsumptionDTO;
+import com.example.backend.dto.StockLotDTO;
+import com.example.backend.dto.StockQuantityDTO;
+import com.example.backend.entity.RawMaterial;
+import com.example.backend.entity.StockLot;
+import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.repository.RawMaterialRepository;
+import com.example.backend.repository.StockLotRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StockLotService — Testes Unitários")
+class StockLotServiceTest {
+
+    @Mock
+    private StockLotRepository repository;
+
+    @Mock
+    private RawMaterialRepository rawMaterialRepository;
+
+    @Mock
+    private LotInventory lotInventory;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    @Mock
+    private CatalogChangeBroadcaster changeBroadcaster;
+
+    @Mock
+    private RowVersions rowVersions;
+
+    @InjectMocks
+    private StockLotService service;
+
+    // ── Helpers ─────────────────────────────────────────────────────────────────
+
+    private RawMaterial buildRawMaterial(Long id) {
+        return RawMaterial.builder()
+                .id(id).code("MP003").name("Leite").stockQuantity(0.0).unitOfMeasure("caixas")
+                .build();
+    }
+
+    // ── receive ─────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("receive()")
+    class Receive {
+
+        @Test
+        @DisplayName("Deve salvar o lote, somar ao estoque central e indexar o lote")
+        void shouldReceiveLot() {
+            RawMaterial leite = buildRawMaterial(3L);
+            when(rawMaterialRepository.findById(3L)).thenReturn(Optional.of(leite));
+            when(repository.save(any(StockLot.class))).thenAnswer(inv -> {
+                StockLot lot = inv.getArgument(0);
+                lot.setId(10L);
+                return lot;
+            });
+            when(rowVersions.next()).thenReturn(7L);
+            when(rawMaterialRepository.adjustStock(eq(3L), eq(120_000_000L), eq(7L), any(Instant.class))).thenReturn(1);
+
+            StockLot result = service.receive(3L, StockLotDTO.builder()
+                    .lotCode(" LT-1 ").quantity(120.0).expiresAt(LocalDate.of(2026, 11, 5)).build());
+
+            assertThat(result.getLotCode()).isEqualTo("LT-1");
+            assertThat(result.getQuantity()).isEqualTo(120.0);
+            assertThat(result.getRawMaterialId()).isEqualTo(3L);
+            verify(lotInventory).add(result);
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar quantidade não positiva")
+        void shouldRejectNonPositiveQuantity() {
+            assertThatThrownBy(() -> service.receive(3L, StockLotDTO.builder().lotCode("LT-1").quantity(0.0).build()))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verify(repository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar lote sem código")
+        void shouldRejectBlankLotCode() {
+            assertThatThrownBy(() -> service.receive(3L, StockLotDTO.builder().lotCode(" ").quantity(1.0).build()))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Lot code");
+        }
+
+        @Test
+        @DisplayName("Deve lançar ResourceNotFoundException quando a matéria-prima não existe")
+        void shouldThrowWhenRawMaterialMissing() {
+            when(rawMaterialRepository.findById(99L)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> service.receive(99L, StockLotDTO.builder().lotCode("LT-1").quantity(1.0).build()))
+                    .isInstanceOf(ResourceNotFoundException.class);
+        }
+    }
+
+    // ── consume ─────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("consume()")
+    class Consume {
+
+        @Test
+        @DisplayName("Deve baixar os lotes escolhidos em ordem FEFO e o estoque central")
+        void shouldConsumeAllocatedLots() {
+            RawMaterial leite = buildRawMaterial(3L);
+            when(rawMaterialRepository.existsById(3L)).thenReturn(true);
+            when(lotInventory.consume(3L, 120_000_000L)).thenReturn(List.of(
+                    new LotInventory.Allocation(2L, 50_000_000L),
+                    new LotInventory.Allocation(1L, 70_000_000L)));
+            when(repository.consume(anyLong(), anyLong())).thenReturn(1);
+            when(rawMaterialRepository.adjustStock(eq(3L), eq(-120_000_000L), anyLong(), any(Instant.class))).thenReturn(1);
+            when(repository.findAllById(List.of(2L, 1L))).thenReturn(List.of(
+                    StockLot.builder().id(1L).lotCode("LT-1").rawMaterial(leite).receivedAt(Instant.EPOCH).build(),
+                    StockLot.builder().id(2L).lotCode("LT-2").rawMaterial(leite).receivedAt(Instant.EPOCH).build()));
+
+            List<LotConsumptionDTO> result = service.consume(3L, StockQuantityDTO.builder().quantity(120.0).build());
+
+            assertThat(result).extracting(LotConsumptionDTO::getLotCode).containsExactly("LT-2", "LT-1");
+            assertThat(result).extracting(LotConsumptionDTO::getQuantity).containsExactly(50.0, 70.0);
+            verify(repository).consume(2L, 50_000_000L);
+            verify(repository).consume(1L, 70_000_000L);
+        }
+
+        @Test
+        @DisplayName("Deve propagar IllegalArgumentException quando os lotes não vencidos não bastam")
+        void shouldRejectInsufficientLots() {
+            when(rawMaterialRepository.existsById(3L)).thenReturn(true);
+            when(lotInventory.consume(3L, 500_000_000L))
+                    .thenThrow(new IllegalArgumentException("Insufficient non-expired lots for raw material 3"));
+
+            assertThatThrownBy(() -> service.consume(3L, StockQuantityDTO.builder().quantity(500.0).build()))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verify(repository, never()).consume(anyLong(), anyLong());
+            verify(rawMaterialRepository, never()).adjustStock(eq(3L), anyLong(), anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar quantidade não positiva")
+        void shouldRejectNonPositiveQuantity() {
+            assertThatThrownBy(() -> service.consume(3L, StockQuantityDTO.builder().quantity(-1.0).build()))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(lotInventory);
+        }
+    }
+}
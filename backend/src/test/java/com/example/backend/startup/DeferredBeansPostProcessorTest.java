@@ -0,0 +1,90 @@
+package com.example.backend.startup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("DeferredBeansPostProcessor — Testes Unitários")
+class DeferredBeansPostProcessorTest {
+
+    private static final AtomicInteger created = new AtomicInteger();
+
+    static class Expensive {
+        Expensive() {
+            created.incrementAndGet();
+        }
+    }
+
+    static class ExpensiveCallback extends Expensive implements SmartInitializingSingleton {
+        @Override
+        public void afterSingletonsInstantiated() {
+        }
+    }
+
+    private GenericApplicationContext context(String... packages) {
+        created.set(0);
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.addBeanFactoryPostProcessor(new DeferredBeansPostProcessor(List.of(packages)));
+        context.registerBean("expensive", Expensive.class);
+        return context;
+    }
+
+    @Test
+    @DisplayName("Deve adiar a criação dos beans dos pacotes configurados até o primeiro uso")
+    void shouldDeferBeansInConfiguredPackages() {
+        try (GenericApplicationContext context = context(getClass().getName() + "$")) {
+            context.refresh();
+
+            assertThat(created).hasValue(0);
+            assertThat(context.getBean(Expensive.class)).isNotNull();
+            assertThat(created).hasValue(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve adiar os beans de um pacote informado sem o ponto final")
+    void shouldDeferBeansInPlainPackage() {
+        try (GenericApplicationContext context = context("com.example.backend.startup")) {
+            context.refresh();
+
+            assertThat(created).hasValue(0);
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve tratar um pacote como prefixo de outro")
+    void shouldNotMatchSiblingPackage() {
+        try (GenericApplicationContext context = context("com.example.backend.start")) {
+            context.refresh();
+
+            assertThat(created).hasValue(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve manter eager os beans fora dos pacotes configurados")
+    void shouldKeepOtherBeansEager() {
+        try (GenericApplicationContext context = context("org.springdoc")) {
+            context.refresh();
+
+            assertThat(created).hasValue(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve manter eager os beans que dependem de callbacks da subida")
+    void shouldKeepStartupCallbacksEager() {
+        try (GenericApplicationContext context = context(getClass().getName() + "$")) {
+            context.registerBean("callback", ExpensiveCallback.class);
+            context.refresh();
+
+            assertThat(created).hasValue(1);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.backend.tracing;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tracing — Testes Unitários")
+class TracingTest {
+
+    private final List<Trace> exported = new ArrayList<>();
+
+    @AfterEach
+    void clearThread() {
+        Span current = Tracing.current();
+        if (current != null) {
+            current.end();
+        }
+        MDC.clear();
+    }
+
+    // ── Spans ───────────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Deve encadear os spans filhos e exportar o trace ao encerrar a raiz")
+    void shouldNestSpansAndExportOnRootEnd() {
+        Span root = Tracing.startTrace("GET /api/products", SpanKind.SERVER, null, exported::add);
+        Span service = Tracing.startSpan("ProductService.findAll", SpanKind.INTERNAL);
+        Span query = Tracing.startSpan("SELECT", SpanKind.CLIENT);
+        query.end();
+        service.end();
+
+        assertThat(exported).isEmpty();
+        root.end();
+
+        assertThat(exported).hasSize(1);
+        assertThat(service.traceId()).isEqualTo(root.traceId());
+        assertThat(service.parentSpanId()).isEqualTo(root.spanId());
+        assertThat(query.parentSpanId()).isEqualTo(service.spanId());
+        assertThat(exported.get(0).spans()).extracting(Span::name)
+                .containsExactly("GET /api/products", "ProductService.findAll", "SELECT");
+        assertThat(Tracing.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve continuar o trace de um header traceparent válido")
+    void shouldContinueTraceparent() {
+        Span root = Tracing.startTrace("GET /api/products", SpanKind.SERVER,
+                "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01", exported::add);
+
+        assertThat(root.traceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(root.parentSpanId()).isEqualTo("00f067aa0ba902b7");
+        assertThat(Tracing.traceparent(root)).startsWith("00-4bf92f3577b34da6a3ce929d0e0e4736-" + root.spanId());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar traceparent inválido e gerar um novo trace")
+    void shouldIgnoreInvalidTraceparent() {
+        Span root = Tracing.startTrace("GET /api/products", SpanKind.SERVER, "garbage", exported::add);
+
+        assertThat(root.traceId()).hasSize(32).isNotEqualTo("0".repeat(32));
+        assertThat(root.parentSpanId()).isNull();
+    }
+
+    @Test
+    @DisplayName("Não deve registrar spans fora de um trace")
+    void shouldNotRecordOutsideTrace() {
+        Span span = Tracing.startSpan("ProductService.findAll", SpanKind.INTERNAL);
+
+        assertThat(span.isRecording()).isFalse();
+        assertThat(Tracing.current()).isNull();
+        assertThat(MDC.get(Tracing.TRACE_ID_KEY)).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve manter os ids do span corrente no MDC e limpá-los no fim")
+    void shouldExposeIdsInMdc() {
+        Span root = Tracing.startTrace("GET /api/products", SpanKind.SERVER, null, exported::add);
+        Span child = Tracing.startSpan("ProductService.findAll", SpanKind.INTERNAL);
+
+        assertThat(MDC.get(Tracing.TRACE_ID_KEY)).isEqualTo(root.traceId());
+        assertThat(MDC.get(Tracing.SPAN_ID_KEY)).isEqualTo(child.spanId());
+
+        child.end();
+        assertThat(MDC.get(Tracing.SPAN_ID_KEY)).isEqualTo(root.spanId());
+
+        root.end();
+        assertThat(MDC.get(Tracing.TRACE_ID_KEY)).isNull();
+        assertThat(MDC.get(Tracing.SPAN_ID_KEY)).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve continuar o trace em outra thread com withParent")
+    void shouldContinueTraceInOtherThread() {
+        Span root = Tracing.startTrace("GET /api/production/optimize/sites", SpanKind.SERVER, null, exported::add);
+
+        Span solve = CompletableFuture.supplyAsync(() -> Tracing.withParent(root, () -> {
+            Span span = Tracing.startSpan("optimizer.solve", SpanKind.INTERNAL);
+            span.end();
+            return span;
+        })).join();
+        root.end();
+
+        assertThat(solve.traceId()).isEqualTo(root.traceId());
+        assertThat(solve.parentSpanId()).isEqualTo(root.spanId());
+        assertThat(exported.get(0).spans()).extracting(Span::name).contains("optimizer.solve");
+    }
+
+    // ── Filtro e exportador ─────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Deve nomear o span HTTP pela rota e devolver o trace id na resposta")
+    @SuppressWarnings("unchecked")
+    void shouldTraceRequest() throws Exception {
+        InMemoryTraceExporter memory = new InMemoryTraceExporter(10);
+        TracingFilter filter = new TracingFilter(memory);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products/7"), response,
+                new MockFilterChain(new HttpServlet() {
+                    @Override
+                    protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                        req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/products/{id}");
+                        Tracing.startSpan("SELECT", SpanKind.CLIENT).setAttribute("db.query.text", "select 1").end();
+                        resp.setStatus(500);
+                    }
+                }));
+
+        String traceId = response.getHeader(TracingFilter.TRACE_ID_HEADER);
+        assertThat(memory.summaries(0)).singleElement()
+                .satisfies(summary -> {
+                    assertThat(summary).containsEntry("traceId", traceId)
+                            .containsEntry("name", "GET /api/products/{id}")
+                            .containsEntry("status", "ERROR");
+                });
+
+        Map<String, Object> root = (Map<String, Object>) memory.tree(traceId).orElseThrow().get("root");
+        List<Map<String, Object>> children = (List<Map<String, Object>>) root.get("children");
+        assertThat(children).singleElement()
+                .satisfies(child -> assertThat(child).containsEntry("name", "SELECT")
+                        .containsEntry("attributes", Map.of("db.query.text", "select 1")));
+        assertThat(Tracing.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve descartar os traces mais antigos além do limite")
+    void shouldEvictOldestTraces() {
+        InMemoryTraceExporter memory = new InMemoryTraceExporter(2);
+        for (int i = 0; i < 3; i++) {
+            Tracing.startTrace("GET /api/products/" + i, SpanKind.SERVER, null, memory).end();
+        }
+
+        assertThat(memory.summaries(0)).extracting(summary -> summary.get("name"))
+                .containsExactly("GET /api/products/2", "GET /api/products/1");
+    }
+}
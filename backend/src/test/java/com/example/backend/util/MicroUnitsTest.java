@@ -0,0 +1,61 @@
+package com.example.backend.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("MicroUnits — Testes Unitários")
+class MicroUnitsTest {
+
+    @Test
+    @DisplayName("Deve converter decimais para micro-unidades sem erro de ponto flutuante")
+    void shouldConvertDecimalsExactly() {
+        assertThat(MicroUnits.toMicros(0.1)).isEqualTo(100_000L);
+        assertThat(MicroUnits.toMicros(12.50)).isEqualTo(12_500_000L);
+        assertThat(MicroUnits.toMicros(0.0)).isZero();
+        assertThat(MicroUnits.toMicros(-2.5)).isEqualTo(-2_500_000L);
+    }
+
+    @Test
+    @DisplayName("Deve arredondar valores com mais de 6 casas decimais")
+    void shouldRoundBeyondSixDecimals() {
+        assertThat(MicroUnits.toMicros(0.0000005)).isEqualTo(1L);
+        assertThat(MicroUnits.toMicros(0.0000004)).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve converter micro-unidades de volta para decimal")
+    void shouldConvertBackToDouble() {
+        assertThat(MicroUnits.toDouble(12_500_000L)).isEqualTo(12.50);
+        assertThat(MicroUnits.toDouble(100_000L)).isEqualTo(0.1);
+    }
+
+    @Test
+    @DisplayName("Subtrações sucessivas de 0.1 devem zerar o saldo exatamente")
+    void shouldReachZeroAfterRepeatedSubtraction() {
+        long stock = MicroUnits.toMicros(1.0);
+        long step = MicroUnits.toMicros(0.1);
+        for (int i = 0; i < 10; i++) {
+            stock -= step;
+        }
+        assertThat(stock).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar null, NaN e infinito")
+    void shouldRejectInvalidValues() {
+        assertThatThrownBy(() -> MicroUnits.toMicros(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MicroUnits.toMicros(Double.NaN)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MicroUnits.toMicros(Double.POSITIVE_INFINITY))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MicroUnits.toMicros(1e300)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("times() deve falhar em caso de overflow")
+    void shouldFailOnOverflow() {
+        assertThatThrownBy(() -> MicroUnits.times(Long.MAX_VALUE, 2)).isInstanceOf(ArithmeticException.class);
+    }
+}
@@ -1,12 +1,14 @@
-import {beforeEach, describe, expect, it, vi} from 'vitest'
+import {afterEach, beforeEach, describe, expect, it, vi} from 'vitest'
 import {createPinia, setActivePinia} from 'pinia'
 import {useProductStore} from '@/stores/productStore'
+import {useRawMaterialStore} from '@/stores/rawMaterialStore'
 import productService from '@/services/productService'
 
 vi.mock('@/services/productService', () => ({
   default: {
     getAll: vi.fn(),
     getById: vi.fn(),
+    getChanges: vi.fn(),
     create: vi.fn(),
     update: vi.fn(),
     delete: vi.fn(),
@@ -19,6 +21,16 @@ describe('productStore', () => {
     vi.clearAllMocks()
   })
 
+  afterEach(() => {
+    vi.useRealTimers()
+  })
+
+  // Resolves the delta request scheduled by applyChange
+  async function flushChanges(...pending) {
+    await vi.advanceTimersByTimeAsync(100)
+    await Promise.all(pending)
+  }
+
   it('fetchAll sets items', async () => {
     const data = [
       { id: 1, code: 'PRD001', name: 'Pão', price: 12.5, description: 'Pão crocante', compositions: [] },
@@ -111,5 +123,102 @@ describe('productStore', () => {
     expect(store.getById(1).code).toBe('PRD001')
     expect(store.getById(99)).toBeUndefined()
   })
+
+  it('applyChange replaces the changed item in place', async () => {
+    vi.useFakeTimers()
+    const updated = { id: 1, code: 'X001', name: 'Pão 2', compositions: [] }
+    productService.getChanges.mockResolvedValue({
+      data: { version: 'e:5', reset: false, changed: [updated], deleted: [] },
+    })
+
+    const store = useProductStore()
+    store.items = [{ id: 1, code: 'X001', name: 'Pão' }, { id: 2, code: 'X002', name: 'Outro' }]
+    store.cursor = 'e:4'
+    await flushChanges(store.applyChange({ table: 'X', action: 'UPDATED', id: 1 }))
+
+    expect(store.items[0]).toEqual(updated)
+    expect(store.items.length).toBe(2)
+    expect(store.cursor).toBe('e:5')
+    expect(productService.getChanges).toHaveBeenCalledWith('e:4')
+    expect(productService.getAll).not.toHaveBeenCalled()
+    expect(productService.getById).not.toHaveBeenCalled()
+  })
+
+  it('applyChange appends created items and removes deleted ones', async () => {
+    vi.useFakeTimers()
+    productService.getChanges.mockResolvedValue({
+      data: { version: 'e:6', reset: false, changed: [{ id: 3, code: 'X003' }], deleted: [2] },
+    })
+
+    const store = useProductStore()
+    store.items = [{ id: 1, code: 'X001' }, { id: 2, code: 'X002' }]
+    store.cursor = 'e:4'
+    const created = store.applyChange({ action: 'CREATED', id: 3 })
+    await store.applyChange({ action: 'DELETED', id: 1 })
+    expect(store.items.map((item) => item.id)).toEqual([2])
+    await flushChanges(created)
+
+    expect(store.items.map((item) => item.id)).toEqual([3])
+    expect(store.loading).toBe(false)
+  })
+
+  it('applyChange fetches a burst of changes with a single delta request', async () => {
+    vi.useFakeTimers()
+    productService.getChanges.mockResolvedValue({
+      data: { version: 'e:9', reset: false, changed: [{ id: 1 }, { id: 2 }, { id: 3 }], deleted: [] },
+    })
+
+    const store = useProductStore()
+    store.cursor = 'e:4'
+    await flushChanges(
+      store.applyChange({ action: 'UPDATED', id: 1 }),
+      store.applyChange({ action: 'UPDATED', id: 2 }),
+      store.applyChange({ action: 'CREATED', id: 3 }),
+    )
+
+    expect(productService.getChanges).toHaveBeenCalledTimes(1)
+    expect(store.items.map((item) => item.id)).toEqual([1, 2, 3])
+    expect(store.cursor).toBe('e:9')
+  })
+
+  it('applyChange replaces the list when the server answers with a reset', async () => {
+    vi.useFakeTimers()
+    productService.getChanges.mockResolvedValue({
+      data: { version: 'f:1', reset: true, changed: [{ id: 7, code: 'X007' }], deleted: [] },
+    })
+
+    const store = useProductStore()
+    store.items = [{ id: 1, code: 'X001' }]
+    await flushChanges(store.applyChange({ action: 'UPDATED', id: 7 }))
+
+    expect(productService.getChanges).toHaveBeenCalledWith(null)
+    expect(store.items.map((item) => item.id)).toEqual([7])
+    expect(store.cursor).toBe('f:1')
+  })
+
+  it('applyChange resolves compositions from the raw material store', async () => {
+    vi.useFakeTimers()
+    productService.getChanges.mockResolvedValue({
+      data: {
+        version: 'e:5',
+        reset: false,
+        changed: [{ id: 1, code: 'X001', compositions: [
+          { rawMaterialId: 10, requiredQuantity: 0.5 },
+          { rawMaterialId: 99, requiredQuantity: 1 },
+        ] }],
+        deleted: [],
+      },
+    })
+
+    const rawMaterials = useRawMaterialStore()
+    rawMaterials.items = [{ id: 10, code: 'MP010', name: 'Farinha', unitOfMeasure: 'kg' }]
+    const store = useProductStore()
+    await flushChanges(store.applyChange({ action: 'UPDATED', id: 1 }))
+
+    const [known, unknown] = store.items[0].compositions
+    expect(known.rawMaterial).toEqual(rawMaterials.items[0])
+    expect(known.requiredQuantity).toBe(0.5)
+    expect(unknown.rawMaterial).toEqual({ id: 99 })
+  })
 })
 
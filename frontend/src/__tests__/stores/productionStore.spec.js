@@ -6,6 +6,7 @@ import productionService from '@/services/productionService'
 vi.mock('@/services/productionService', () => ({
   default: {
     optimize: vi.fn(),
+    optimizeStream: vi.fn(),
   },
 }))
 
@@ -42,6 +43,36 @@ describe('productionStore', () => {
     expect(store.loading).toBe(false)
   })
 
+  it('streamOptimization records progress and sets suggestions', async () => {
+    const data = [{ productCode: 'PRD002', quantity: 2, totalValue: 70.0 }]
+    const progress = { incumbentValue: 70.0, bound: 70.0, nodesExplored: 2, totalNodes: 2, elapsedMs: 4, done: true }
+    productionService.optimizeStream.mockImplementation(async (onProgress) => {
+      onProgress(progress)
+      return data
+    })
+
+    const store = useProductionStore()
+    await store.streamOptimization()
+
+    expect(store.progress).toEqual(progress)
+    expect(store.suggestions).toEqual(data)
+    expect(store.calculated).toBe(true)
+    expect(store.loading).toBe(false)
+  })
+
+  it('streamOptimization sets error from the server error event', async () => {
+    const err = new Error('No stock registered for site: SP01')
+    err.response = { status: 404, data: { message: 'No stock registered for site: SP01' } }
+    productionService.optimizeStream.mockRejectedValue(err)
+
+    const store = useProductionStore()
+    await expect(store.streamOptimization()).rejects.toThrow()
+
+    expect(store.error).toBe('No stock registered for site: SP01')
+    expect(store.calculated).toBe(false)
+    expect(store.loading).toBe(false)
+  })
+
   it('grandTotal getter sums all totalValues', () => {
     const store = useProductionStore()
     store.suggestions = [
@@ -77,12 +108,14 @@ describe('productionStore', () => {
     store.suggestions = [{ productCode: 'PRD001' }]
     store.calculated = true
     store.error = 'some error'
+    store.progress = { nodesExplored: 1 }
 
     store.reset()
 
     expect(store.suggestions).toEqual([])
     expect(store.calculated).toBe(false)
     expect(store.error).toBeNull()
+    expect(store.progress).toBeNull()
   })
 
   it('grandTotal returns 0 when no suggestions', () => {
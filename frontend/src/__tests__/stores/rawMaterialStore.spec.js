@@ -1,4 +1,4 @@
-import {beforeEach, describe, expect, it, vi} from 'vitest'
+import {afterEach, beforeEach, describe, expect, it, vi} from 'vitest'
 import {createPinia, setActivePinia} from 'pinia'
 import {useRawMaterialStore} from '@/stores/rawMaterialStore'
 import rawMaterialService from '@/services/rawMaterialService'
@@ -7,6 +7,7 @@ vi.mock('@/services/rawMaterialService', () => ({
   default: {
     getAll: vi.fn(),
     getById: vi.fn(),
+    getChanges: vi.fn(),
     getNextCode: vi.fn(),
     create: vi.fn(),
     update: vi.fn(),
@@ -20,6 +21,16 @@ describe('rawMaterialStore', () => {
     vi.clearAllMocks()
   })
 
+  afterEach(() => {
+    vi.useRealTimers()
+  })
+
+  // Resolves the delta request scheduled by applyChange
+  async function flushChanges(...pending) {
+    await vi.advanceTimersByTimeAsync(100)
+    await Promise.all(pending)
+  }
+
   it('fetchAll sets items', async () => {
     const data = [
       { id: 1, code: 'MP001', name: 'Farinha', stockQuantity: 500 },
@@ -96,5 +107,77 @@ describe('rawMaterialStore', () => {
     expect(store.items.length).toBe(1)
     expect(store.items[0].id).toBe(2)
   })
+
+  it('applyChange replaces the changed item in place', async () => {
+    vi.useFakeTimers()
+    const updated = { id: 1, code: 'X001', name: 'Farinha 2' }
+    rawMaterialService.getChanges.mockResolvedValue({
+      data: { version: 'e:5', reset: false, changed: [updated], deleted: [] },
+    })
+
+    const store = useRawMaterialStore()
+    store.items = [{ id: 1, code: 'X001', name: 'Farinha' }, { id: 2, code: 'X002', name: 'Outro' }]
+    store.cursor = 'e:4'
+    await flushChanges(store.applyChange({ table: 'X', action: 'UPDATED', id: 1 }))
+
+    expect(store.items[0]).toEqual(updated)
+    expect(store.items.length).toBe(2)
+    expect(store.cursor).toBe('e:5')
+    expect(rawMaterialService.getChanges).toHaveBeenCalledWith('e:4')
+    expect(rawMaterialService.getAll).not.toHaveBeenCalled()
+    expect(rawMaterialService.getById).not.toHaveBeenCalled()
+  })
+
+  it('applyChange appends created items and removes deleted ones', async () => {
+    vi.useFakeTimers()
+    rawMaterialService.getChanges.mockResolvedValue({
+      data: { version: 'e:6', reset: false, changed: [{ id: 3, code: 'X003' }], deleted: [2] },
+    })
+
+    const store = useRawMaterialStore()
+    store.items = [{ id: 1, code: 'X001' }, { id: 2, code: 'X002' }]
+    store.cursor = 'e:4'
+    const created = store.applyChange({ action: 'CREATED', id: 3 })
+    await store.applyChange({ action: 'DELETED', id: 1 })
+    expect(store.items.map((item) => item.id)).toEqual([2])
+    await flushChanges(created)
+
+    expect(store.items.map((item) => item.id)).toEqual([3])
+    expect(store.loading).toBe(false)
+  })
+
+  it('applyChange fetches a burst of changes with a single delta request', async () => {
+    vi.useFakeTimers()
+    rawMaterialService.getChanges.mockResolvedValue({
+      data: { version: 'e:9', reset: false, changed: [{ id: 1 }, { id: 2 }, { id: 3 }], deleted: [] },
+    })
+
+    const store = useRawMaterialStore()
+    store.cursor = 'e:4'
+    await flushChanges(
+      store.applyChange({ action: 'UPDATED', id: 1 }),
+      store.applyChange({ action: 'UPDATED', id: 2 }),
+      store.applyChange({ action: 'CREATED', id: 3 }),
+    )
+
+    expect(rawMaterialService.getChanges).toHaveBeenCalledTimes(1)
+    expect(store.items.map((item) => item.id)).toEqual([1, 2, 3])
+    expect(store.cursor).toBe('e:9')
+  })
+
+  it('applyChange replaces the list when the server answers with a reset', async () => {
+    vi.useFakeTimers()
+    rawMaterialService.getChanges.mockResolvedValue({
+      data: { version: 'f:1', reset: true, changed: [{ id: 7, code: 'X007' }], deleted: [] },
+    })
+
+    const store = useRawMaterialStore()
+    store.items = [{ id: 1, code: 'X001' }]
+    await flushChanges(store.applyChange({ action: 'UPDATED', id: 7 }))
+
+    expect(rawMaterialService.getChanges).toHaveBeenCalledWith(null)
+    expect(store.items.map((item) => item.id)).toEqual([7])
+    expect(store.cursor).toBe('f:1')
+  })
 })
 
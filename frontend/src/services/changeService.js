@@ -0,0 +1,21 @@
+import api from './api'
+
+export default {
+  /**
+   * Subscribes to catalog change notifications (Server-Sent Events).
+   * The browser reconnects on its own and resumes from the last event id.
+   *
+   * @param {{ onChange: (change: {table: string, action: string, id: number}) => void, onResync: () => void }} handlers
+   * @returns {() => void} closes the subscription
+   */
+  subscribe({ onChange, onResync }) {
+    if (typeof EventSource === 'undefined') {
+      return () => {}
+    }
+
+    const source = new EventSource(`${api.defaults.baseURL}/changes/stream`)
+    source.addEventListener('change', (event) => onChange(JSON.parse(event.data)))
+    source.addEventListener('resync', () => onResync())
+    return () => source.close()
+  },
+}
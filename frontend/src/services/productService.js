@@ -7,6 +7,9 @@ export default {
   getById(id) {
     return api.get(`/products/${id}`)
   },
+  getChanges(since) {
+    return api.get('/products/changes', { params: { since } })
+  },
   create(data) {
     return api.post('/products', data)
   },
@@ -4,5 +4,64 @@ export default {
   optimize() {
     return api.get('/production/optimize')
   },
-}
 
+  /**
+   * Runs the optimization over Server-Sent Events, reporting progress while it runs.
+   * Falls back to a background job when EventSource is not available.
+   *
+   * @param {(progress: object) => void} onProgress - called with each `progress` event
+   * @returns {Promise<Array>} the production suggestions
+   */
+  optimizeStream(onProgress) {
+    if (typeof EventSource === 'undefined') {
+      return this.runJob(onProgress)
+    }
+
+    return new Promise((resolve, reject) => {
+      const source = new EventSource(`${api.defaults.baseURL}/production/optimize/stream`)
+
+      source.addEventListener('progress', (event) => onProgress(JSON.parse(event.data)))
+      source.addEventListener('result', (event) => {
+        source.close()
+        resolve(JSON.parse(event.data))
+      })
+      // Fired both for the server's `error` event (with data) and for connection failures
+      source.addEventListener('error', (event) => {
+        source.close()
+        const body = event.data ? JSON.parse(event.data) : null
+        const err = new Error(body?.message || 'Network error')
+        if (body) {
+          err.response = { status: body.status, data: body }
+        }
+        reject(err)
+      })
+    })
+  },
+
+  /**
+   * Submits the optimization as a background job and polls it until it finishes,
+   * so long runs never hold a single request open past the proxy timeout.
+   *
+   * @param {(progress: object) => void} onProgress - called with the latest progress on each poll
+   * @param {number} [intervalMs=500] - delay between polls
+   * @returns {Promise<Array>} the production suggestions
+   */
+  async runJob(onProgress, intervalMs = 500) {
+    const { data: submitted } = await api.post('/production/jobs')
+    let job = submitted
+    while (job.status === 'QUEUED' || job.status === 'RUNNING') {
+      await new Promise((resolve) => setTimeout(resolve, intervalMs))
+      const { data } = await api.get(`/production/jobs/${submitted.id}`)
+      job = data
+      if (job.progress) {
+        onProgress(job.progress)
+      }
+    }
+    if (job.status === 'SUCCEEDED') {
+      return job.result
+    }
+    const err = new Error(job.error || `Optimization job ${job.status.toLowerCase()}`)
+    err.response = { status: 500, data: { message: job.error } }
+    throw err
+  },
+}
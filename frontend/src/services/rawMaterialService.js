@@ -7,8 +7,11 @@ export default {
   getById(id) {
     return api.get(`/raw-materials/${id}`)
   },
+  getChanges(since) {
+    return api.get('/raw-materials/changes', { params: { since } })
+  },
   getNextCode() {
-    return api.get('/raw-materials/next-code')
+    return api.post('/raw-materials/next-code')
   },
   create(data) {
     return api.post('/raw-materials', data)
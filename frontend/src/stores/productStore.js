@@ -1,5 +1,10 @@
 import {defineStore} from 'pinia'
 import productService from '@/services/productService'
+import {useRawMaterialStore} from '@/stores/rawMaterialStore'
+import {coalesce} from '@/utils/coalesce'
+
+// Change notifications arriving within this window are fetched together in one delta request
+const CHANGE_WINDOW_MS = 100
 
 export const useProductStore = defineStore('product', {
   state: () => ({
@@ -7,6 +12,9 @@ export const useProductStore = defineStore('product', {
     current: null,
     loading: false,
     error: null,
+    // Opaque `/changes?since=` cursor; null until the first delta request
+    cursor: null,
+    syncQueue: coalesce(CHANGE_WINDOW_MS),
   }),
 
   getters: {
@@ -87,6 +95,49 @@ export const useProductStore = defineStore('product', {
         this.loading = false
       }
     },
+
+    /**
+     * Applies a change notification from the server without reloading the whole list.
+     * Deletions are applied at once; other changes are fetched from `/changes?since=`,
+     * one request for every burst of notifications instead of one `GET /{id}` each.
+     * Runs in the background: does not touch `loading` or `error`.
+     */
+    applyChange(change) {
+      if (change.action === 'DELETED') {
+        this.items = this.items.filter((item) => item.id !== change.id)
+        return Promise.resolve()
+      }
+      return this.syncQueue(() => this.syncChanges())
+    },
+
+    /**
+     * Fetches what changed since `cursor` and merges it into `items`. Without a cursor the
+     * server answers with the whole table (`reset`), which replaces the list.
+     */
+    async syncChanges() {
+      const { data } = await productService.getChanges(this.cursor)
+      // The delta carries compositions by rawMaterialId only: resolve them from the raw material store
+      const rawMaterials = useRawMaterialStore()
+      const changed = data.changed.map((product) => ({
+        ...product,
+        compositions: (product.compositions || []).map((composition) => ({
+          ...composition,
+          rawMaterial: rawMaterials.getById(composition.rawMaterialId) ?? { id: composition.rawMaterialId },
+        })),
+      }))
+      if (data.reset) {
+        this.items = changed
+      } else {
+        for (const item of changed) {
+          const index = this.items.findIndex((existing) => existing.id === item.id)
+          if (index !== -1) this.items[index] = item
+          else this.items.push(item)
+        }
+        const deleted = new Set(data.deleted)
+        if (deleted.size > 0) this.items = this.items.filter((item) => !deleted.has(item.id))
+      }
+      this.cursor = data.version
+    },
   },
 })
 
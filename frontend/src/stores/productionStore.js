@@ -7,6 +7,7 @@ export const useProductionStore = defineStore('production', {
     loading: false,
     error: null,
     calculated: false,
+    progress: null,
   }),
 
   getters: {
@@ -34,10 +35,29 @@ export const useProductionStore = defineStore('production', {
       }
     },
 
+    async streamOptimization() {
+      this.loading = true
+      this.error = null
+      this.calculated = false
+      this.progress = null
+      try {
+        this.suggestions = await productionService.optimizeStream((progress) => {
+          this.progress = progress
+        })
+        this.calculated = true
+      } catch (err) {
+        this.error = err.response?.data?.message || err.message
+        throw err
+      } finally {
+        this.loading = false
+      }
+    },
+
     reset() {
       this.suggestions = []
       this.calculated = false
       this.error = null
+      this.progress = null
     },
   },
 })
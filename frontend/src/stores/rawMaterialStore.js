@@ -1,5 +1,9 @@
 import {defineStore} from 'pinia'
 import rawMaterialService from '@/services/rawMaterialService'
+import {coalesce} from '@/utils/coalesce'
+
+// Change notifications arriving within this window are fetched together in one delta request
+const CHANGE_WINDOW_MS = 100
 
 export const useRawMaterialStore = defineStore('rawMaterial', {
   state: () => ({
@@ -7,6 +11,9 @@ export const useRawMaterialStore = defineStore('rawMaterial', {
     current: null,
     loading: false,
     error: null,
+    // Opaque `/changes?since=` cursor; null until the first delta request
+    cursor: null,
+    syncQueue: coalesce(CHANGE_WINDOW_MS),
   }),
 
   getters: {
@@ -96,6 +103,41 @@ export const useRawMaterialStore = defineStore('rawMaterial', {
         this.loading = false
       }
     },
+
+    /**
+     * Applies a change notification from the server without reloading the whole list.
+     * Deletions are applied at once; other changes are fetched from `/changes?since=`,
+     * one request for every burst of notifications instead of one `GET /{id}` each.
+     * Runs in the background: does not touch `loading` or `error`.
+     */
+    applyChange(change) {
+      if (change.action === 'DELETED') {
+        this.items = this.items.filter((item) => item.id !== change.id)
+        return Promise.resolve()
+      }
+      return this.syncQueue(() => this.syncChanges())
+    },
+
+    /**
+     * Fetches what changed since `cursor` and merges it into `items`. Without a cursor the
+     * server answers with the whole table (`reset`), which replaces the list.
+     */
+    async syncChanges() {
+      const { data } = await rawMaterialService.getChanges(this.cursor)
+      const changed = data.changed
+      if (data.reset) {
+        this.items = changed
+      } else {
+        for (const item of changed) {
+          const index = this.items.findIndex((existing) => existing.id === item.id)
+          if (index !== -1) this.items[index] = item
+          else this.items.push(item)
+        }
+        const deleted = new Set(data.deleted)
+        if (deleted.size > 0) this.items = this.items.filter((item) => !deleted.has(item.id))
+      }
+      this.cursor = data.version
+    },
   },
 })
 
@@ -0,0 +1,28 @@
+/**
+ * Coalesce bursts of requests into one run of a task.
+ *
+ * Requests made within `delayMs` of the first one share a single run, and runs never overlap:
+ * a request made while a run is in flight waits for it and starts the next one. Errors are
+ * swallowed — the task runs in the background and the next request simply tries again.
+ *
+ * @param {number} delayMs window in which requests are merged
+ * @returns {(task: () => Promise<unknown>) => Promise<void>} resolves once a run that started
+ *   after the request has finished
+ */
+export function coalesce(delayMs) {
+  let queued = null
+  let running = Promise.resolve()
+
+  return (task) => {
+    if (!queued) {
+      queued = new Promise((resolve) => setTimeout(resolve, delayMs))
+        .then(() => running)
+        .then(() => {
+          queued = null
+          running = Promise.resolve().then(task).catch(() => {})
+          return running
+        })
+    }
+    return queued
+  }
+}